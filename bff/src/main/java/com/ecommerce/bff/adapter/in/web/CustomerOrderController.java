@@ -2,6 +2,7 @@ package com.ecommerce.bff.adapter.in.web;
 
 import com.ecommerce.bff.application.port.in.*;
 import com.ecommerce.bff.domain.view.CustomerOrderView;
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
 import com.ecommerce.bff.domain.view.OrderSummaryView;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,9 +13,14 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,17 +30,21 @@ import java.util.UUID;
 public class CustomerOrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerOrderController.class);
+    private static final Duration SSE_HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
 
     private final GetCustomerOrdersUseCase getCustomerOrdersUseCase;
     private final GetOrderDetailsUseCase getOrderDetailsUseCase;
     private final CreateOrderUseCase createOrderUseCase;
+    private final StreamOrderStatusUseCase streamOrderStatusUseCase;
 
     public CustomerOrderController(GetCustomerOrdersUseCase getCustomerOrdersUseCase,
                                    GetOrderDetailsUseCase getOrderDetailsUseCase,
-                                   CreateOrderUseCase createOrderUseCase) {
+                                   CreateOrderUseCase createOrderUseCase,
+                                   StreamOrderStatusUseCase streamOrderStatusUseCase) {
         this.getCustomerOrdersUseCase = getCustomerOrdersUseCase;
         this.getOrderDetailsUseCase = getOrderDetailsUseCase;
         this.createOrderUseCase = createOrderUseCase;
+        this.streamOrderStatusUseCase = streamOrderStatusUseCase;
     }
 
     @GetMapping("/customers/{customerId}/orders")
@@ -44,20 +54,19 @@ public class CustomerOrderController {
             @ApiResponse(responseCode = "400", description = "Invalid customer ID"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<OrderSummaryView>> getCustomerOrders(@PathVariable UUID customerId) {
+    public Mono<ResponseEntity<List<OrderSummaryView>>> getCustomerOrders(@PathVariable UUID customerId) {
         logger.info("Received request to get orders for customer: {}", customerId);
 
-        try {
-            var query = new GetCustomerOrdersQuery(customerId);
-            var orders = getCustomerOrdersUseCase.execute(query);
-
-            logger.info("Successfully retrieved {} orders for customer: {}", orders.size(), customerId);
-            return ResponseEntity.ok(orders);
-
-        } catch (Exception ex) {
-            logger.error("Failed to get orders for customer: {}", customerId, ex);
-            throw new BusinessException("CUSTOMER_ORDERS_FETCH_FAILED", "Failed to retrieve customer orders");
-        }
+        var query = new GetCustomerOrdersQuery(customerId);
+        return getCustomerOrdersUseCase.execute(query)
+                .map(orders -> {
+                    logger.info("Successfully retrieved {} orders for customer: {}", orders.size(), customerId);
+                    return ResponseEntity.ok(orders);
+                })
+                .onErrorMap(ex -> {
+                    logger.error("Failed to get orders for customer: {}", customerId, ex);
+                    return new BusinessException("CUSTOMER_ORDERS_FETCH_FAILED", "Failed to retrieve customer orders");
+                });
     }
 
     @GetMapping("/orders/{orderId}/details")
@@ -67,50 +76,63 @@ public class CustomerOrderController {
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CustomerOrderView> getOrderDetails(@PathVariable UUID orderId) {
+    public Mono<ResponseEntity<CustomerOrderView>> getOrderDetails(@PathVariable UUID orderId) {
         logger.info("Received request to get details for order: {}", orderId);
 
-        try {
-            var query = new GetOrderDetailsQuery(orderId);
-            var orderDetails = getOrderDetailsUseCase.execute(query);
+        var query = new GetOrderDetailsQuery(orderId);
+        return getOrderDetailsUseCase.execute(query)
+                .map(orderDetails -> {
+                    logger.info("Successfully retrieved details for order: {}", orderId);
+                    return ResponseEntity.ok(orderDetails);
+                })
+                .onErrorMap(ex -> !(ex instanceof BusinessException), ex -> {
+                    logger.error("Failed to get details for order: {}", orderId, ex);
+                    return new BusinessException("ORDER_DETAILS_FETCH_FAILED", "Failed to retrieve order details");
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.warn("Order not found: {}", orderId);
+                    return Mono.error(new BusinessException("ORDER_NOT_FOUND", "Order not found: " + orderId));
+                }));
+    }
+
+    @GetMapping(value = "/orders/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order status",
+            description = "Server-sent events with the order status, then payment/inventory/status changes as they happen")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    public Flux<ServerSentEvent<OrderStatusEventView>> streamOrderStatus(@PathVariable UUID orderId) {
+        logger.info("Received request to stream status for order: {}", orderId);
 
-            if (orderDetails.isEmpty()) {
-                logger.warn("Order not found: {}", orderId);
-                throw new BusinessException("ORDER_NOT_FOUND", "Order not found: " + orderId);
-            }
+        var events = streamOrderStatusUseCase.execute(new StreamOrderStatusQuery(orderId))
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.eventType())
+                        .build());
 
-            logger.info("Successfully retrieved details for order: {}", orderId);
-            return ResponseEntity.ok(orderDetails.get());
+        // Comentário periódico mantém a conexão viva através de proxies/load balancers
+        var heartbeats = Flux.interval(SSE_HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<OrderStatusEventView>builder().comment("keepalive").build());
 
-        } catch (BusinessException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Failed to get details for order: {}", orderId, ex);
-            throw new BusinessException("ORDER_DETAILS_FETCH_FAILED", "Failed to retrieve order details");
-        }
+        // publish(): one upstream subscription feeds both the events and the heartbeat stop signal
+        return events.publish(shared -> Flux.merge(shared, heartbeats.takeUntilOther(shared.then())));
     }
 
     @PostMapping("/orders")
     @Operation(summary = "Create order via BFF", description = "Creates a new order through the BFF")
-    public ResponseEntity<CreateOrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public Mono<ResponseEntity<CreateOrderResponse>> createOrder(@Valid @RequestBody CreateOrderRequest request) {
         logger.info("Received request to create order via BFF for customer: {}", request.customerId());
 
-        try {
-            var command = new CreateOrderCommand(request.customerId(), request.items());
-            var result = createOrderUseCase.execute(command);
-
-            if (result.isSuccess()) {
-                return ResponseEntity.status(HttpStatus.CREATED).body(result.getValue());
-            } else {
-                throw new BusinessException(result.getErrorCode(), result.getErrorMessage());
-            }
-
-        } catch (BusinessException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Failed to create order via BFF", ex);
-            throw new BusinessException("ORDER_CREATION_FAILED", "Failed to create order");
-        }
+        var command = new CreateOrderCommand(request.customerId(), request.items());
+        return createOrderUseCase.execute(command)
+                .flatMap(result -> result.isSuccess()
+                        ? Mono.just(ResponseEntity.status(HttpStatus.CREATED).body(result.getValue()))
+                        : Mono.<ResponseEntity<CreateOrderResponse>>error(
+                                new BusinessException(result.getErrorCode(), result.getErrorMessage())))
+                .onErrorMap(ex -> !(ex instanceof BusinessException), ex -> {
+                    logger.error("Failed to create order via BFF", ex);
+                    return new BusinessException("ORDER_CREATION_FAILED", "Failed to create order");
+                });
     }
 
-}
\ No newline at end of file
+}
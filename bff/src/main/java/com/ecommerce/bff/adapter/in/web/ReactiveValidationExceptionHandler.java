@@ -0,0 +1,64 @@
+package com.ecommerce.bff.adapter.in.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// WebFlux raises its own binding exceptions; same ProblemDetail shape as the shared GlobalExceptionHandler
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveValidationExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveValidationExceptionHandler.class);
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ProblemDetail handleValidationException(WebExchangeBindException ex) {
+        logger.warn("Validation exception: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                "Validation failed for request"
+        );
+
+        problemDetail.setTitle("Validation Error");
+        problemDetail.setType(URI.create("https://api.techbra.com/problems/validation-error"));
+        problemDetail.setProperty("timestamp", LocalDateTime.now());
+
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                validationErrors.put(error.getField(), error.getDefaultMessage())
+        );
+
+        problemDetail.setProperty("validationErrors", validationErrors);
+
+        return problemDetail;
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ProblemDetail handleInputException(ServerWebInputException ex) {
+        logger.warn("Request input exception: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                "Invalid JSON structure or data type"
+        );
+
+        problemDetail.setTitle("JSON Parse Error");
+        problemDetail.setType(URI.create("https://api.techbra.com/problems/json-parse-error"));
+        problemDetail.setProperty("timestamp", LocalDateTime.now());
+
+        return problemDetail;
+    }
+}
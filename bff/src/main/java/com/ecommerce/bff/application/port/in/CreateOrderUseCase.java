@@ -1,8 +1,9 @@
 package com.ecommerce.bff.application.port.in;
 
 import com.ecommerce.shared.domain.common.Result;
+import reactor.core.publisher.Mono;
 
 public interface CreateOrderUseCase {
     
-    Result<CreateOrderResponse> execute(CreateOrderCommand command);
-}
\ No newline at end of file
+    Mono<Result<CreateOrderResponse>> execute(CreateOrderCommand command);
+}
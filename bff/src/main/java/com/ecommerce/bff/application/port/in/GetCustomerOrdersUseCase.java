@@ -1,10 +1,11 @@
 package com.ecommerce.bff.application.port.in;
 
 import com.ecommerce.bff.domain.view.OrderSummaryView;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 public interface GetCustomerOrdersUseCase {
 
-    List<OrderSummaryView> execute(GetCustomerOrdersQuery query);
-}
\ No newline at end of file
+    Mono<List<OrderSummaryView>> execute(GetCustomerOrdersQuery query);
+}
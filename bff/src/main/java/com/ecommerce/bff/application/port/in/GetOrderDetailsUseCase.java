@@ -1,10 +1,9 @@
 package com.ecommerce.bff.application.port.in;
 
 import com.ecommerce.bff.domain.view.CustomerOrderView;
-
-import java.util.Optional;
+import reactor.core.publisher.Mono;
 
 public interface GetOrderDetailsUseCase {
     
-    Optional<CustomerOrderView> execute(GetOrderDetailsQuery query);
-}
\ No newline at end of file
+    Mono<CustomerOrderView> execute(GetOrderDetailsQuery query);
+}
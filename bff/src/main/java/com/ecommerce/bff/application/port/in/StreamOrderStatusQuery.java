@@ -0,0 +1,11 @@
+package com.ecommerce.bff.application.port.in;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record StreamOrderStatusQuery(
+    @NotNull(message = "Order ID is required")
+    UUID orderId
+) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.bff.application.port.in;
+
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
+import reactor.core.publisher.Flux;
+
+public interface StreamOrderStatusUseCase {
+
+    Flux<OrderStatusEventView> execute(StreamOrderStatusQuery query);
+}
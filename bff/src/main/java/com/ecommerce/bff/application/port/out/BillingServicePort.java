@@ -1,14 +1,18 @@
 package com.ecommerce.bff.application.port.out;
 
 import com.ecommerce.bff.infrastructure.external.dto.PaymentDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.Collection;
 import java.util.UUID;
 
 public interface BillingServicePort {
     
-    Optional<PaymentDto> getPaymentByOrderId(UUID orderId);
+    Mono<PaymentDto> getPaymentByOrderId(UUID orderId);
     
-    List<PaymentDto> getPaymentsByCustomerId(UUID customerId);
-}
\ No newline at end of file
+    Flux<PaymentDto> getPaymentsByCustomerId(UUID customerId);
+    
+    // One downstream call for a whole list view; orders without payment are absent
+    Flux<PaymentDto> getPaymentsByOrderIds(Collection<UUID> orderIds);
+}
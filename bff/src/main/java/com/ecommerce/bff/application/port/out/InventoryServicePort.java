@@ -1,11 +1,11 @@
 package com.ecommerce.bff.application.port.out;
 
 import com.ecommerce.bff.infrastructure.external.dto.InventoryReservationDto;
+import reactor.core.publisher.Flux;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface InventoryServicePort {
     
-    List<InventoryReservationDto> getReservationsByOrderId(UUID orderId);
-}
\ No newline at end of file
+    Flux<InventoryReservationDto> getReservationsByOrderId(UUID orderId);
+}
@@ -2,16 +2,16 @@ package com.ecommerce.bff.application.port.out;
 
 import com.ecommerce.bff.application.port.in.CreateOrderCommand;
 import com.ecommerce.bff.infrastructure.external.dto.OrderDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderServicePort {
     
-    List<OrderDto> getOrdersByCustomerId(UUID customerId);
+    Flux<OrderDto> getOrdersByCustomerId(UUID customerId);
     
-    Optional<OrderDto> getOrderById(UUID orderId);
+    Mono<OrderDto> getOrderById(UUID orderId);
 
-    Optional<OrderDto> createOrder(CreateOrderCommand command);
-}
\ No newline at end of file
+    Mono<OrderDto> createOrder(CreateOrderCommand command);
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.bff.application.port.out;
+
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+public interface OrderStatusStreamPort {
+
+    // Hot stream: only events published after subscription are delivered
+    Flux<OrderStatusEventView> subscribe(UUID orderId);
+}
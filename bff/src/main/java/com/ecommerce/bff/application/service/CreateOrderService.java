@@ -8,6 +8,7 @@ import com.ecommerce.shared.domain.common.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 @Service
 public class CreateOrderService implements CreateOrderUseCase {
@@ -21,15 +22,12 @@ public class CreateOrderService implements CreateOrderUseCase {
     }
 
     @Override
-    public Result<CreateOrderResponse> execute(CreateOrderCommand command) {
+    public Mono<Result<CreateOrderResponse>> execute(CreateOrderCommand command) {
         logger.info("Creating order via BFF for customer: {}", command.customerId());
         
-        try {
-            // Aqui o BFF chama o Order Service
-            var orderResult = orderServicePort.createOrder(command);
-            
-            if (orderResult.isPresent()) {
-                var order = orderResult.get();
+        // Aqui o BFF chama o Order Service
+        return orderServicePort.createOrder(command)
+            .map(order -> {
                 var response = new CreateOrderResponse(
                     order.orderId(),
                     order.orderNumber(),
@@ -42,13 +40,11 @@ public class CreateOrderService implements CreateOrderUseCase {
                 
                 logger.info("Order created successfully via BFF: {}", order.orderId());
                 return Result.success(response);
-            } else {
-                return Result.failure("ORDER_CREATION_FAILED", "Failed to create order");
-            }
-            
-        } catch (Exception ex) {
-            logger.error("Failed to create order via BFF", ex);
-            return Result.failure("ORDER_CREATION_FAILED", "Failed to create order: " + ex.getMessage());
-        }
+            })
+            .defaultIfEmpty(Result.failure("ORDER_CREATION_FAILED", "Failed to create order"))
+            .onErrorResume(ex -> {
+                logger.error("Failed to create order via BFF", ex);
+                return Mono.just(Result.failure("ORDER_CREATION_FAILED", "Failed to create order: " + ex.getMessage()));
+            });
     }
-}
\ No newline at end of file
+}
@@ -9,13 +9,18 @@ import com.ecommerce.bff.domain.view.CustomerOrderView;
 import com.ecommerce.bff.domain.view.InventoryInfoView;
 import com.ecommerce.bff.domain.view.PaymentInfoView;
 import com.ecommerce.bff.infrastructure.cache.FallbackService;
+import com.ecommerce.bff.infrastructure.cache.TwoTierCache;
+import com.ecommerce.bff.infrastructure.cache.TwoTierCacheManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
-import java.util.Collections;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class OrderDetailsService implements GetOrderDetailsUseCase {
@@ -26,89 +31,99 @@ public class OrderDetailsService implements GetOrderDetailsUseCase {
     private final BillingServicePort billingServicePort;
     private final InventoryServicePort inventoryServicePort;
     private final FallbackService fallbackService;
+    private final TwoTierCache orderDetailsCache;
+    private final Duration latencyBudget;
 
     public OrderDetailsService(OrderServicePort orderServicePort,
                              BillingServicePort billingServicePort,
                              InventoryServicePort inventoryServicePort,
-                             FallbackService fallbackService) {
+                             FallbackService fallbackService,
+                             TwoTierCacheManager cacheManager,
+                             @Value("${bff.order-details.latency-budget:2s}") Duration latencyBudget) {
         this.orderServicePort = orderServicePort;
         this.billingServicePort = billingServicePort;
         this.inventoryServicePort = inventoryServicePort;
         this.fallbackService = fallbackService;
+        this.orderDetailsCache = cacheManager.getTwoTierCache("order-details");
+        this.latencyBudget = latencyBudget;
     }
 
     @Override
-    @Cacheable(value = "order-details-l2", key = "#query.orderId", cacheManager = "redisCacheManager")
-    public Optional<CustomerOrderView> execute(GetOrderDetailsQuery query) {
-        try {
-            logger.info("Fetching order details from database for order: {}", query.orderId());
-            
-            // Fetch order data
-            var orderOpt = orderServicePort.getOrderById(query.orderId());
-            if (orderOpt.isEmpty()) {
-                logger.warn("Order not found: {}", query.orderId());
-                return Optional.empty();
-            }
-            
-            var order = orderOpt.get();
-            
-            // Fetch payment data (with fallback)
-            PaymentInfoView paymentInfo = null;
-            try {
-                var paymentOpt = billingServicePort.getPaymentByOrderId(query.orderId());
-                if (paymentOpt.isPresent()) {
-                    var payment = paymentOpt.get();
-                    paymentInfo = new PaymentInfoView(
-                        payment.paymentId(),
-                        payment.paymentReference(),
-                        payment.amount(),
-                        payment.currency(),
-                        payment.status(),
-                        payment.paymentMethod(),
-                        payment.processedAt()
-                    );
-                }
-            } catch (Exception ex) {
-                logger.warn("Failed to fetch payment for order: {}. Using fallback.", query.orderId(), ex);
-                paymentInfo = fallbackService.getFallbackPayment(query.orderId());
-            }
-            
-            // Fetch inventory data (with fallback)
-            var inventoryInfo = Collections.<InventoryInfoView>emptyList();
-            try {
-                var reservations = inventoryServicePort.getReservationsByOrderId(query.orderId());
-                inventoryInfo = reservations.stream()
-                    .map(res -> new InventoryInfoView(
-                        res.productId(),
-                        res.productName(),
-                        res.quantityReserved(),
-                        res.reservationReference(),
-                        res.status()
-                    ))
-                    .toList();
-            } catch (Exception ex) {
-                logger.warn("Failed to fetch inventory for order: {}. Using fallback.", query.orderId(), ex);
-                inventoryInfo = fallbackService.getFallbackInventory(query.orderId());
-            }
-            
-            var customerOrderView = CustomerOrderView.create(
-                order.orderId(),
-                order.orderNumber(),
-                order.customerId(),
-                order.totalAmount(),
-                order.currency(),
-                order.status(),
-                order.orderDate(),
-                paymentInfo,
-                inventoryInfo
-            );
-            
-            logger.info("Successfully aggregated order details for order: {}", query.orderId());
-            return Optional.of(customerOrderView);
-            
-        } catch (Exception ex) {
-            logger.error("Failed to fetch order details for order: {}", query.orderId(), ex);
-            return fallbackService.getFallbackOrderDetails(query.orderId());
-        }
+    public Mono<CustomerOrderView> execute(GetOrderDetailsQuery query) {
+        var orderId = query.orderId();
+
+        // L1 -> L2 -> fan-out; one fan-out and one cache write per order, however many requests miss together
+        return orderDetailsCache.getOrLoad(orderId, () -> aggregate(orderId));
+    }
+
+    private Mono<CustomerOrderView> aggregate(UUID orderId) {
+        logger.info("Fetching order details from downstream services for order: {}", orderId);
+        var degraded = new AtomicBoolean(false);
+
+        // All three legs are subscribed together: latency is the slowest leg, capped by the budget
+        var orderLeg = orderServicePort.getOrderById(orderId)
+            .timeout(latencyBudget);
+
+        var paymentLeg = billingServicePort.getPaymentByOrderId(orderId)
+            .map(payment -> Optional.of(new PaymentInfoView(
+                payment.paymentId(),
+                payment.paymentReference(),
+                payment.amount(),
+                payment.currency(),
+                payment.status(),
+                payment.paymentMethod(),
+                payment.processedAt()
+            )))
+            .defaultIfEmpty(Optional.empty())
+            .timeout(latencyBudget)
+            .onErrorResume(ex -> {
+                logger.warn("Failed to fetch payment for order: {}. Using fallback.", orderId, ex);
+                degraded.set(true);
+                return Mono.fromSupplier(() -> Optional.ofNullable(fallbackService.getFallbackPayment(orderId)));
+            });
+
+        var inventoryLeg = inventoryServicePort.getReservationsByOrderId(orderId)
+            .map(res -> new InventoryInfoView(
+                res.productId(),
+                res.productName(),
+                res.quantityReserved(),
+                res.reservationReference(),
+                res.status()
+            ))
+            .collectList()
+            .timeout(latencyBudget)
+            .onErrorResume(ex -> {
+                logger.warn("Failed to fetch inventory for order: {}. Using fallback.", orderId, ex);
+                degraded.set(true);
+                return Mono.fromSupplier(() -> fallbackService.getFallbackInventory(orderId));
+            });
+
+        // Order not found completes the zip empty and cancels the other legs
+        return Mono.zip(orderLeg, paymentLeg, inventoryLeg)
+            .map(legs -> {
+                var order = legs.getT1();
+                return CustomerOrderView.create(
+                    order.orderId(),
+                    order.orderNumber(),
+                    order.customerId(),
+                    order.totalAmount(),
+                    order.currency(),
+                    order.status(),
+                    order.orderDate(),
+                    legs.getT2().orElse(null),
+                    legs.getT3()
+                );
+            })
+            // Views built from fallbacks are not cached, so the next request retries the failed leg
+            .flatMap(view -> degraded.get()
+                ? Mono.just(view)
+                : orderDetailsCache.store(orderId, view).thenReturn(view))
+            .doOnNext(view -> logger.info("Successfully aggregated order details for order: {}", orderId))
+            .switchIfEmpty(Mono.fromRunnable(() -> logger.warn("Order not found: {}", orderId)))
+            .onErrorResume(ex -> {
+                logger.error("Failed to fetch order details for order: {}", orderId, ex);
+                return Mono.fromSupplier(() -> fallbackService.getFallbackOrderDetails(orderId))
+                    .flatMap(Mono::justOrEmpty);
+            });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.bff.application.service;
+
+import com.ecommerce.bff.application.port.in.StreamOrderStatusQuery;
+import com.ecommerce.bff.application.port.in.StreamOrderStatusUseCase;
+import com.ecommerce.bff.application.port.out.OrderServicePort;
+import com.ecommerce.bff.application.port.out.OrderStatusStreamPort;
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Service
+public class OrderStatusStreamService implements StreamOrderStatusUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusStreamService.class);
+
+    private final OrderServicePort orderServicePort;
+    private final OrderStatusStreamPort orderStatusStream;
+    private final Duration maxDuration;
+
+    public OrderStatusStreamService(OrderServicePort orderServicePort,
+                                    OrderStatusStreamPort orderStatusStream,
+                                    @Value("${bff.order-status-stream.max-duration:30m}") Duration maxDuration) {
+        this.orderServicePort = orderServicePort;
+        this.orderStatusStream = orderStatusStream;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public Flux<OrderStatusEventView> execute(StreamOrderStatusQuery query) {
+        var orderId = query.orderId();
+
+        // Snapshot: one call to order-service (order_summary já traz pagamento e reserva), no fan-out
+        var snapshot = orderServicePort.getOrderById(orderId)
+            .switchIfEmpty(Mono.error(() -> new BusinessException("ORDER_NOT_FOUND", "Order not found: " + orderId)))
+            // Stamped with the summary's last change, not the read time: an event still on its way to the
+            // summary (older than the read, newer than the row) must not lose against the snapshot
+            .map(order -> OrderStatusEventView.snapshot(orderId, order.status(), order.paymentStatus(),
+                order.reservationStatus(), order.updatedAt() != null ? order.updatedAt() : order.orderDate()));
+
+        // Live events are subscribed together with the snapshot so nothing published meanwhile is lost;
+        // clients keep the newest value per field (occurredOn)
+        return Flux.merge(snapshot, orderStatusStream.subscribe(orderId))
+            .takeUntil(OrderStatusEventView::isTerminal)
+            // EventSource reconnects on its own; a bounded stream keeps idle connections from piling up
+            .take(maxDuration)
+            .doOnSubscribe(s -> logger.debug("Order status stream opened for order: {}", orderId))
+            .doFinally(signal -> logger.debug("Order status stream closed for order: {} ({})", orderId, signal));
+    }
+}
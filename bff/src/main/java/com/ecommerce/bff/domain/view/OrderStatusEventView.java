@@ -0,0 +1,45 @@
+package com.ecommerce.bff.domain.view;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One SSE message: only the fields the event changed are set (a Snapshot carries all three)
+public record OrderStatusEventView(
+    UUID orderId,
+    String eventType,
+    String orderStatus,
+    String paymentStatus,
+    String reservationStatus,
+    LocalDateTime occurredOn
+) {
+
+    public static final String SNAPSHOT = "Snapshot";
+
+    // asOf: newest change the read model reflects - a live event newer than that still wins over the snapshot
+    public static OrderStatusEventView snapshot(UUID orderId, String orderStatus, String paymentStatus,
+                                                String reservationStatus, LocalDateTime asOf) {
+        return new OrderStatusEventView(orderId, SNAPSHOT, orderStatus, paymentStatus, reservationStatus, asOf);
+    }
+
+    // Maps a downstream event to the status it implies; null for event types that change nothing visible
+    public static OrderStatusEventView fromEvent(UUID orderId, String eventType, String orderStatus,
+                                                 LocalDateTime occurredOn) {
+        return switch (eventType) {
+            case "OrderCreated" -> new OrderStatusEventView(orderId, eventType, "PENDING", null, null, occurredOn);
+            case "OrderStatusChanged" -> new OrderStatusEventView(orderId, eventType, orderStatus, null, null, occurredOn);
+            case "PaymentCompleted" -> new OrderStatusEventView(orderId, eventType, null, "COMPLETED", null, occurredOn);
+            case "PaymentFailed" -> new OrderStatusEventView(orderId, eventType, null, "FAILED", null, occurredOn);
+            case "InventoryReserved" -> new OrderStatusEventView(orderId, eventType, null, null, "RESERVED", occurredOn);
+            case "InventoryReleased" -> new OrderStatusEventView(orderId, eventType, null, null, "RELEASED", occurredOn);
+            default -> null;
+        };
+    }
+
+    // Nothing else happens to the order after these
+    @JsonIgnore
+    public boolean isTerminal() {
+        return "CANCELLED".equals(orderStatus) || "DELIVERED".equals(orderStatus);
+    }
+}
@@ -10,6 +10,8 @@ public record OrderSummaryView(
     BigDecimal totalAmount,
     String currency,
     String status,
-    LocalDateTime orderDate
+    LocalDateTime orderDate,
+    String paymentStatus,
+    String reservationStatus
 ) {
 }
\ No newline at end of file
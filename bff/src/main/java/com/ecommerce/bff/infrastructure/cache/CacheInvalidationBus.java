@@ -0,0 +1,104 @@
+package com.ecommerce.bff.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    static final String CHANNEL = "bff:cache:invalidation";
+    static final String ALL_KEYS = "*";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<String>> localEvictors = new ConcurrentHashMap<>();
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+
+    private volatile Disposable subscription;
+
+    public CacheInvalidationBus(ReactiveStringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+
+        this.publishedCounter = Counter.builder("bff.cache.invalidations.published")
+                .description("Number of L1 invalidations broadcast to other replicas")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("bff.cache.invalidations.received")
+                .description("Number of L1 invalidations applied from other replicas")
+                .register(meterRegistry);
+    }
+
+    void register(String cacheName, Consumer<String> evictor) {
+        localEvictors.put(cacheName, evictor);
+    }
+
+    public void publish(String cacheName, String key) {
+        // Mensagem: instanceId|cacheName|key - a própria réplica já removeu o L1 antes de publicar
+        redisTemplate.convertAndSend(CHANNEL, instanceId + "|" + cacheName + "|" + key)
+                .doOnNext(receivers -> publishedCounter.increment())
+                .onErrorResume(ex -> {
+                    logger.warn("Failed to broadcast cache invalidation - cache: {}, key: {}", cacheName, key, ex);
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // listenToChannel connects eagerly; defer it off the startup thread so a Redis outage only delays coherence
+        subscription = Flux.defer(() -> redisTemplate.listenToChannel(CHANNEL))
+                .subscribeOn(Schedulers.boundedElastic())
+                // Invalidations may have been missed while disconnected: start (or restart) from an empty L1
+                .doOnSubscribe(s -> localEvictors.values().forEach(evictor -> evictor.accept(ALL_KEYS)))
+                .map(ReactiveSubscription.Message::getMessage)
+                .doOnNext(this::onMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> logger.warn("Cache invalidation subscription lost, reconnecting",
+                                signal.failure())))
+                .subscribe();
+
+        logger.info("Listening for cache invalidations on channel: {}", CHANNEL);
+    }
+
+    private void onMessage(String message) {
+        var parts = message.split("\\|", 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        var evictor = localEvictors.get(parts[1]);
+        if (evictor != null) {
+            evictor.accept(parts[2]);
+            receivedCounter.increment();
+            logger.debug("Applied remote cache invalidation - cache: {}, key: {}", parts[1], parts[2]);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
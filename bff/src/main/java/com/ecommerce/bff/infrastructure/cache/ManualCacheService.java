@@ -1,63 +1,93 @@
 package com.ecommerce.bff.infrastructure.cache;
 
+import com.ecommerce.bff.infrastructure.cache.codec.CacheCodec;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Optional;
 
 @Service
 public class ManualCacheService {
 
     private static final Logger logger = LoggerFactory.getLogger(ManualCacheService.class);
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final CacheCodec codec;
 
     public ManualCacheService(
-            RedisTemplate<String, String> redisTemplate,
-            @Qualifier("redisObjectMapper") ObjectMapper objectMapper) {
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+            ReactiveRedisTemplate<String, byte[]> reactiveBytesRedisTemplate,
+            CacheCodec codec) {
+        this.redisTemplate = reactiveBytesRedisTemplate;
+        this.codec = codec;
     }
 
-    public <T> void put(String key, T value, Duration ttl) {
-        try {
-            String jsonValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, jsonValue, ttl);
-            logger.debug("L2 cache stored for key: {}", key);
-        } catch (Exception e) {
-            logger.error("Failed to store L2 cache for key: {}", key, e);
-        }
+    // Cache errors never fail the request: put/evict complete empty, get behaves as a miss
+    public <T> Mono<Void> put(String key, T value, Duration ttl) {
+        return Mono.fromCallable(() -> codec.encode(value))
+                .flatMap(bytes -> redisTemplate.opsForValue().set(versioned(codec.version(), key), bytes, ttl))
+                .doOnNext(stored -> logger.debug("L2 cache stored for key: {}", key))
+                .onErrorResume(e -> {
+                    logger.error("Failed to store L2 cache for key: {}", key, e);
+                    return Mono.empty();
+                })
+                .then();
     }
 
-    public <T> Optional<T> get(String key, TypeReference<T> typeRef) {
-        try {
-            String jsonValue = redisTemplate.opsForValue().get(key);
-            if (jsonValue != null) {
-                T value = objectMapper.readValue(jsonValue, typeRef);
-                logger.debug("L2 cache hit for key: {}", key);
-                return Optional.of(value);
-            }
-            logger.debug("L2 cache miss for key: {}", key);
-            return Optional.empty();
-        } catch (Exception e) {
-            logger.error("Failed to get L2 cache for key: {}", key, e);
-            return Optional.empty();
-        }
+    public <T> Mono<T> get(String key, TypeReference<T> typeRef) {
+        return redisTemplate.opsForValue().get(versioned(codec.version(), key))
+                .map(bytes -> decode(bytes, typeRef))
+                .doOnNext(value -> logger.debug("L2 cache hit for key: {}", key))
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.debug("L2 cache miss for key: {}", key)))
+                .onErrorResume(e -> {
+                    logger.error("Failed to get L2 cache for key: {}", key, e);
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> evict(String key) {
+        // Um único DEL cobre todas as versões de formato
+        var keys = CacheCodec.KNOWN_VERSIONS.stream()
+                .map(version -> versioned(version, key))
+                .toArray(String[]::new);
+
+        return redisTemplate.delete(keys)
+                .doOnNext(deleted -> logger.debug("L2 cache evicted for key: {}", key))
+                .onErrorResume(e -> {
+                    logger.error("Failed to evict L2 cache for key: {}", key, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    public Mono<Void> evictByPrefix(String prefix) {
+        return Flux.fromIterable(CacheCodec.KNOWN_VERSIONS)
+                .concatMap(version -> redisTemplate.scan(
+                        ScanOptions.scanOptions().match(versioned(version, prefix) + "*").count(500).build()))
+                .buffer(500)
+                .flatMap(keys -> redisTemplate.delete(keys.toArray(String[]::new)))
+                .doOnComplete(() -> logger.debug("L2 cache evicted for prefix: {}", prefix))
+                .onErrorResume(e -> {
+                    logger.error("Failed to evict L2 cache for prefix: {}", prefix, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static String versioned(String version, String key) {
+        return version + ":" + key;
     }
 
-    public void evict(String key) {
+    private <T> T decode(byte[] bytes, TypeReference<T> typeRef) {
         try {
-            redisTemplate.delete(key);
-            logger.debug("L2 cache evicted for key: {}", key);
+            return codec.decode(bytes, typeRef);
         } catch (Exception e) {
-            logger.error("Failed to evict L2 cache for key: {}", key, e);
+            throw new IllegalStateException("Failed to decode L2 cache value", e);
         }
     }
-}
\ No newline at end of file
+}
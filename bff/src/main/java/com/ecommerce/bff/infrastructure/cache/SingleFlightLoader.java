@@ -0,0 +1,65 @@
+package com.ecommerce.bff.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+public class SingleFlightLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlightLoader.class);
+
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightLoader(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("bff.cache.singleflight.in_flight", inFlight, Map::size)
+                .description("Number of cache keys with a load in progress")
+                .register(meterRegistry);
+    }
+
+    // Concurrent misses for the same key subscribe to one shared load; the entry is dropped when it terminates
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> load(String cacheName, String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            var leader = new AtomicBoolean(false);
+            var flight = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                var self = new AtomicReference<Mono<?>>();
+                // share(): a single upstream subscription; cancelled only when every waiter has cancelled
+                Mono<T> shared = Mono.defer(loader)
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .share();
+                self.set(shared);
+                return shared;
+            });
+
+            if (leader.get()) {
+                counter("bff.cache.singleflight.loads", "Number of cache loads sent downstream", cacheName).increment();
+            } else {
+                logger.debug("Coalesced cache miss for key: {}", key);
+                counter("bff.cache.singleflight.coalesced", "Number of cache misses that joined an in-flight load", cacheName).increment();
+            }
+            return flight;
+        });
+    }
+
+    private Counter counter(String name, String description, String cacheName) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.bff.infrastructure.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> l1;
+    private final TypeReference<?> valueType;
+    private final Duration l2Ttl;
+    private final ManualCacheService l2;
+    private final SingleFlightLoader singleFlightLoader;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+
+    TwoTierCache(String name, Cache<String, Object> l1, TypeReference<?> valueType, Duration l2Ttl,
+                 ManualCacheService l2, SingleFlightLoader singleFlightLoader,
+                 CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.valueType = valueType;
+        this.l2Ttl = l2Ttl;
+        this.l2 = l2;
+        this.singleFlightLoader = singleFlightLoader;
+        this.invalidationBus = invalidationBus;
+
+        this.l1Hits = requests(meterRegistry, "l1_hit");
+        this.l2Hits = requests(meterRegistry, "l2_hit");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    // L1 -> L2 -> loader. The L2 read and the load are single-flight per key; the loader stores its own result
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getOrLoad(Object key, Supplier<Mono<T>> loader) {
+        var localKey = localKey(key);
+        return Mono.defer(() -> {
+            var cached = l1.getIfPresent(localKey);
+            if (cached != null) {
+                l1Hits.increment();
+                return Mono.just((T) cached);
+            }
+
+            return singleFlightLoader.load(name, l2Key(localKey), () ->
+                l2.get(l2Key(localKey), (TypeReference<T>) valueType)
+                    .doOnNext(value -> {
+                        l2Hits.increment();
+                        l1.put(localKey, value);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        misses.increment();
+                        return loader.get();
+                    })));
+        });
+    }
+
+    // Populates both tiers
+    public Mono<Void> store(Object key, Object value) {
+        var localKey = localKey(key);
+        return Mono.defer(() -> {
+            l1.put(localKey, value);
+            return l2.put(l2Key(localKey), value, l2Ttl);
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    // Sync Cache API (FallbackService, actuator) only sees L1 - never blocks on Redis
+    @Override
+    protected Object lookup(Object key) {
+        return l1.getIfPresent(localKey(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(l1.get(localKey(key), k -> {
+            try {
+                return toStoreValue(valueLoader.call());
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, toStoreValue(value)).subscribe();
+    }
+
+    @Override
+    public void evict(Object key) {
+        var localKey = localKey(key);
+        l1.invalidate(localKey);
+        l2.evict(l2Key(localKey)).subscribe();
+        invalidationBus.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        l2.evictByPrefix(name + "::").subscribe();
+        invalidationBus.publish(name, CacheInvalidationBus.ALL_KEYS);
+    }
+
+    // Applied when another replica evicted the key; L2 was already handled there
+    void evictLocal(String key) {
+        if (CacheInvalidationBus.ALL_KEYS.equals(key)) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(key);
+        }
+    }
+
+    // UUID and String keys for the same id must hit the same entry (services use UUID, Kafka events carry String)
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private String l2Key(String localKey) {
+        return name + "::" + localKey;
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("bff.cache.requests")
+                .description("Two-tier cache lookups by tier")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
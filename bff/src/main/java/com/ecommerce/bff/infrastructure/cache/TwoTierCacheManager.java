@@ -0,0 +1,67 @@
+package com.ecommerce.bff.infrastructure.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TwoTierCacheManager implements CacheManager {
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ManualCacheService l2;
+    private final SingleFlightLoader singleFlightLoader;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    public TwoTierCacheManager(ManualCacheService l2,
+                               SingleFlightLoader singleFlightLoader,
+                               CacheInvalidationBus invalidationBus,
+                               MeterRegistry meterRegistry) {
+        this.l2 = l2;
+        this.singleFlightLoader = singleFlightLoader;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // L2 precisa do tipo para desserializar o JSON do Redis
+    public TwoTierCacheManager register(String name, TypeReference<?> valueType,
+                                        Duration l1Ttl, Duration l2Ttl, long l1MaximumSize) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaximumSize)
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, name);
+
+        var cache = new TwoTierCache(name, l1, valueType, l2Ttl, l2, singleFlightLoader, invalidationBus, meterRegistry);
+        caches.put(name, cache);
+        invalidationBus.register(name, cache::evictLocal);
+        return this;
+    }
+
+    public TwoTierCache getTwoTierCache(String name) {
+        var cache = caches.get(name);
+        if (cache == null) {
+            throw new IllegalArgumentException("Cache not registered: " + name);
+        }
+        return cache;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+}
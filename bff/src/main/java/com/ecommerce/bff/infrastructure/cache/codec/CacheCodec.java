@@ -0,0 +1,19 @@
+package com.ecommerce.bff.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface CacheCodec {
+
+    // Every format ever written to L2; evictions delete all of them so a format switch never leaves stale entries
+    List<String> KNOWN_VERSIONS = List.of("json1", "json1-lz4", "smile1", "smile1-lz4");
+
+    // Goes into the Redis key: replicas on different formats never read each other's bytes
+    String version();
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] bytes, TypeReference<T> type) throws IOException;
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.bff.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+public class JacksonCacheCodec implements CacheCodec {
+
+    private final String version;
+    private final ObjectMapper objectMapper;
+
+    // JSON (ObjectMapper padrão) ou Smile (ObjectMapper com SmileFactory) - mesmo mapeamento dos records
+    public JacksonCacheCodec(String version, ObjectMapper objectMapper) {
+        this.version = version;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, TypeReference<T> type) throws IOException {
+        return objectMapper.readValue(bytes, type);
+    }
+}
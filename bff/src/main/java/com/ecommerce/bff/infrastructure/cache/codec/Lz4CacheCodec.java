@@ -0,0 +1,71 @@
+package com.ecommerce.bff.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Lz4CacheCodec implements CacheCodec {
+
+    private static final byte RAW = 0;
+    private static final byte COMPRESSED = 1;
+    private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+    private final CacheCodec delegate;
+    private final int thresholdBytes;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public Lz4CacheCodec(CacheCodec delegate, int thresholdBytes) {
+        this.delegate = delegate;
+        this.thresholdBytes = thresholdBytes;
+        var factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public String version() {
+        return delegate.version() + "-lz4";
+    }
+
+    // Layout: [flag][tamanho original][payload]; valores pequenos não compensam o custo de comprimir
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        var raw = delegate.encode(value);
+        if (raw.length < thresholdBytes) {
+            var out = new byte[raw.length + 1];
+            out[0] = RAW;
+            System.arraycopy(raw, 0, out, 1, raw.length);
+            return out;
+        }
+
+        var out = new byte[HEADER_SIZE + compressor.maxCompressedLength(raw.length)];
+        out[0] = COMPRESSED;
+        ByteBuffer.wrap(out, 1, Integer.BYTES).putInt(raw.length);
+        int compressedLength = compressor.compress(raw, 0, raw.length, out, HEADER_SIZE);
+        return Arrays.copyOf(out, HEADER_SIZE + compressedLength);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, TypeReference<T> type) throws IOException {
+        if (bytes.length == 0) {
+            throw new IOException("Empty cache payload");
+        }
+        if (bytes[0] == RAW) {
+            return delegate.decode(Arrays.copyOfRange(bytes, 1, bytes.length), type);
+        }
+        if (bytes[0] != COMPRESSED) {
+            throw new IOException("Unknown cache payload flag: " + bytes[0]);
+        }
+
+        int originalLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        var raw = new byte[originalLength];
+        decompressor.decompress(bytes, HEADER_SIZE, raw, 0, originalLength);
+        return delegate.decode(raw, type);
+    }
+}
@@ -3,45 +3,56 @@ package com.ecommerce.bff.infrastructure.config;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ecommerce.bff.domain.view.CustomerOrderView;
+import com.ecommerce.bff.domain.view.OrderSummaryView;
+import com.ecommerce.bff.infrastructure.cache.CacheInvalidationBus;
+import com.ecommerce.bff.infrastructure.cache.ManualCacheService;
+import com.ecommerce.bff.infrastructure.cache.SingleFlightLoader;
+import com.ecommerce.bff.infrastructure.cache.TwoTierCacheManager;
+import com.ecommerce.bff.infrastructure.cache.codec.CacheCodec;
+import com.ecommerce.bff.infrastructure.cache.codec.JacksonCacheCodec;
+import com.ecommerce.bff.infrastructure.cache.codec.Lz4CacheCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // L1 (Caffeine, por réplica) + L2 (Redis); evictions propagadas via pub/sub mantêm os L1 coerentes,
+    // por isso os TTLs de L1 podem ser longos
     @Bean
     @Primary
-    public CacheManager caffeineCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(1000)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .recordStats()
-        );
-
-        // Define cache names for L1 cache
-        cacheManager.setCacheNames(Arrays.asList("customer-orders", "order-details"));
-
-        return cacheManager;
+    public TwoTierCacheManager cacheManager(ManualCacheService manualCacheService,
+                                            SingleFlightLoader singleFlightLoader,
+                                            CacheInvalidationBus cacheInvalidationBus,
+                                            MeterRegistry meterRegistry) {
+        return new TwoTierCacheManager(manualCacheService, singleFlightLoader, cacheInvalidationBus, meterRegistry)
+                .register("customer-orders", new TypeReference<List<OrderSummaryView>>() {},
+                        Duration.ofMinutes(30), Duration.ofHours(1), 10_000)
+                .register("order-details", new TypeReference<CustomerOrderView>() {},
+                        Duration.ofMinutes(15), Duration.ofMinutes(30), 10_000);
     }
 
     // Simplificar Redis Cache Manager para não conflitar
@@ -57,21 +68,33 @@ public class CacheConfig {
                 .build();
     }
 
-    // Adicionar RedisTemplate para cache manual
+    // Template reativo para o cache manual (L2) - não bloqueia o event loop do Netty
     @Bean
-    public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, String> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
 
-        // Usar String serializer para tudo
-        StringRedisSerializer stringSerializer = new StringRedisSerializer();
-        template.setKeySerializer(stringSerializer);
-        template.setValueSerializer(stringSerializer);
-        template.setHashKeySerializer(stringSerializer);
-        template.setHashValueSerializer(stringSerializer);
+    // Valores do L2 são bytes do CacheCodec (chaves continuam String)
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> reactiveBytesRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, byte[]> serializationContext = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(new StringRedisSerializer())
+                .value(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
 
-        template.afterPropertiesSet();
-        return template;
+    // smile (binário, padrão) ou json; LZ4 acima do limite em bytes (0 desliga)
+    @Bean
+    public CacheCodec cacheCodec(@Qualifier("redisObjectMapper") ObjectMapper redisObjectMapper,
+                                 @Value("${bff.cache.codec.format:smile}") String format,
+                                 @Value("${bff.cache.codec.lz4-threshold-bytes:1024}") int lz4ThresholdBytes) {
+        CacheCodec codec = switch (format) {
+            case "json" -> new JacksonCacheCodec("json1", redisObjectMapper);
+            case "smile" -> new JacksonCacheCodec("smile1", redisObjectMapper.copyWith(new SmileFactory()));
+            default -> throw new IllegalArgumentException("Unknown cache codec format: " + format);
+        };
+        return lz4ThresholdBytes > 0 ? new Lz4CacheCodec(codec, lz4ThresholdBytes) : codec;
     }
 
     // ObjectMapper específico para Redis
@@ -1,94 +1,101 @@
 package com.ecommerce.bff.infrastructure.event;
 
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
+import com.ecommerce.shared.infrastructure.messaging.EventEnvelope;
+import com.ecommerce.shared.infrastructure.messaging.EventEnvelopeDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 @Component
 public class CacheInvalidationEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationEventListener.class);
 
-    private final CacheManager caffeineCacheManager;
+    private final CacheManager cacheManager;
     private final CacheManager redisCacheManager;
+    private final OrderStatusStreamRegistry orderStatusStream;
 
-    public CacheInvalidationEventListener(CacheManager caffeineCacheManager, CacheManager redisCacheManager) {
-        this.caffeineCacheManager = caffeineCacheManager;
+    public CacheInvalidationEventListener(CacheManager cacheManager,
+                                          @Qualifier("redisCacheManager") CacheManager redisCacheManager,
+                                          OrderStatusStreamRegistry orderStatusStream) {
+        this.cacheManager = cacheManager;
         this.redisCacheManager = redisCacheManager;
+        this.orderStatusStream = orderStatusStream;
     }
 
-    @KafkaListener(topics = "order-events", groupId = "bff-cache-invalidation")
+    @KafkaListener(topics = "order.events", groupId = "bff-cache-invalidation")
     public void handleOrderEvent(String message) {
-        logger.info("Received order event for cache invalidation: {}", message);
-        
-        try {
-            // Parse event to extract order and customer IDs
-            var eventData = parseOrderEvent(message);
-            
-            if (eventData != null) {
-                // Invalidate L1 caches
-                invalidateCache(caffeineCacheManager, "customer-orders", eventData.customerId());
-                invalidateCache(caffeineCacheManager, "order-details", eventData.orderId());
-                
-                // Invalidate L2 caches
-                invalidateCache(redisCacheManager, "customer-orders-l2", eventData.customerId());
-                invalidateCache(redisCacheManager, "order-details-l2", eventData.orderId());
-                invalidateCache(redisCacheManager, "aggregated-views", "customer-dashboard-" + eventData.customerId());
-                invalidateCache(redisCacheManager, "aggregated-views", "order-full-view-" + eventData.orderId());
-                
-                logger.info("Successfully invalidated caches for order: {} and customer: {}", 
-                           eventData.orderId(), eventData.customerId());
-            }
-        } catch (Exception ex) {
-            logger.error("Failed to process order event for cache invalidation: {}", message, ex);
+        var event = decode(message, "order");
+        if (event == null || event.aggregateId() == null) {
+            return;
         }
+
+        var orderId = event.aggregateId().toString();
+        logger.debug("Received {} event for cache invalidation - order: {}", event.eventType(), orderId);
+
+        // Invalidate two-tier caches (L1 on every replica + L2)
+        invalidateCache(cacheManager, "order-details", orderId);
+        invalidateCache(redisCacheManager, "aggregated-views", "order-full-view-" + orderId);
+
+        if (event.customerId() != null) {
+            var customerId = event.customerId().toString();
+            invalidateCache(cacheManager, "customer-orders", customerId);
+            invalidateCache(redisCacheManager, "aggregated-views", "customer-dashboard-" + customerId);
+        }
+
+        publishStatus(event);
     }
 
-    @KafkaListener(topics = "payment-events", groupId = "bff-cache-invalidation")
+    @KafkaListener(topics = "billing.events", groupId = "bff-cache-invalidation")
     public void handlePaymentEvent(String message) {
-        logger.info("Received payment event for cache invalidation: {}", message);
-        
-        try {
-            var eventData = parsePaymentEvent(message);
-            
-            if (eventData != null) {
-                // Invalidate L1 caches
-                invalidateCache(caffeineCacheManager, "order-details", eventData.orderId());
-                
-                // Invalidate L2 caches
-                invalidateCache(redisCacheManager, "order-details-l2", eventData.orderId());
-                invalidateCache(redisCacheManager, "aggregated-views", "customer-dashboard-" + eventData.customerId());
-                invalidateCache(redisCacheManager, "aggregated-views", "order-full-view-" + eventData.orderId());
-                
-                logger.info("Successfully invalidated caches for payment event - order: {} and customer: {}", 
-                           eventData.orderId(), eventData.customerId());
-            }
-        } catch (Exception ex) {
-            logger.error("Failed to process payment event for cache invalidation: {}", message, ex);
+        var event = decode(message, "payment");
+        if (event == null || event.orderId() == null) {
+            return;
+        }
+
+        var orderId = event.orderId().toString();
+        logger.debug("Received {} event for cache invalidation - order: {}", event.eventType(), orderId);
+
+        invalidateCache(cacheManager, "order-details", orderId);
+        invalidateCache(redisCacheManager, "aggregated-views", "order-full-view-" + orderId);
+
+        if (event.customerId() != null) {
+            invalidateCache(redisCacheManager, "aggregated-views", "customer-dashboard-" + event.customerId());
         }
+
+        publishStatus(event);
     }
 
-    @KafkaListener(topics = "inventory-events", groupId = "bff-cache-invalidation")
+    @KafkaListener(topics = "inventory.events", groupId = "bff-cache-invalidation")
     public void handleInventoryEvent(String message) {
-        logger.info("Received inventory event for cache invalidation: {}", message);
-        
+        var event = decode(message, "inventory");
+        if (event == null || event.orderId() == null) {
+            return;
+        }
+
+        var orderId = event.orderId().toString();
+        logger.debug("Received {} event for cache invalidation - order: {}", event.eventType(), orderId);
+
+        invalidateCache(cacheManager, "order-details", orderId);
+        invalidateCache(redisCacheManager, "aggregated-views", "order-full-view-" + orderId);
+
+        publishStatus(event);
+    }
+
+    private EventEnvelope decode(String message, String source) {
         try {
-            var eventData = parseInventoryEvent(message);
-            
-            if (eventData != null) {
-                // Invalidate L1 caches
-                invalidateCache(caffeineCacheManager, "order-details", eventData.orderId());
-                
-                // Invalidate L2 caches
-                invalidateCache(redisCacheManager, "order-details-l2", eventData.orderId());
-                invalidateCache(redisCacheManager, "aggregated-views", "order-full-view-" + eventData.orderId());
-                
-                logger.info("Successfully invalidated caches for inventory event - order: {}", eventData.orderId());
-            }
-        } catch (Exception ex) {
-            logger.error("Failed to process inventory event for cache invalidation: {}", message, ex);
+            return EventEnvelopeDecoder.decode(message);
+        } catch (IllegalArgumentException ex) {
+            // Payload only at DEBUG - events carry customer data
+            logger.warn("Ignoring malformed {} event: {}", source, ex.getMessage());
+            logger.debug("Malformed {} event payload: {}", source, message);
+            return null;
         }
     }
 
@@ -104,55 +111,18 @@ public class CacheInvalidationEventListener {
         }
     }
 
-    private OrderEventData parseOrderEvent(String message) {
-        try {
-            // Simple parsing - in production, use proper JSON parsing
-            if (message.contains("orderId") && message.contains("customerId")) {
-                // Extract IDs from message (simplified implementation)
-                String orderId = extractValue(message, "orderId");
-                String customerId = extractValue(message, "customerId");
-                return new OrderEventData(orderId, customerId);
-            }
-        } catch (Exception ex) {
-            logger.warn("Failed to parse order event: {}", message, ex);
+    // Pushes the change to open SSE streams of the order (no-op when nobody is watching it)
+    private void publishStatus(EventEnvelope event) {
+        if (event.eventType() == null) {
+            return;
         }
-        return null;
-    }
-
-    private PaymentEventData parsePaymentEvent(String message) {
-        try {
-            if (message.contains("orderId") && message.contains("customerId")) {
-                String orderId = extractValue(message, "orderId");
-                String customerId = extractValue(message, "customerId");
-                return new PaymentEventData(orderId, customerId);
-            }
-        } catch (Exception ex) {
-            logger.warn("Failed to parse payment event: {}", message, ex);
-        }
-        return null;
-    }
-
-    private InventoryEventData parseInventoryEvent(String message) {
-        try {
-            if (message.contains("orderId")) {
-                String orderId = extractValue(message, "orderId");
-                return new InventoryEventData(orderId);
-            }
-        } catch (Exception ex) {
-            logger.warn("Failed to parse inventory event: {}", message, ex);
+        var statusEvent = OrderStatusEventView.fromEvent(
+                event.orderIdOrAggregateId(),
+                event.eventType(),
+                event.status(),
+                event.occurredOn() != null ? event.occurredOn() : LocalDateTime.now());
+        if (statusEvent != null) {
+            orderStatusStream.publish(statusEvent);
         }
-        return null;
     }
-
-    private String extractValue(String message, String key) {
-        // Simplified extraction - in production, use proper JSON parsing
-        int startIndex = message.indexOf(key + "\":\"") + key.length() + 3;
-        int endIndex = message.indexOf("\"", startIndex);
-        return message.substring(startIndex, endIndex);
-    }
-
-    // Event data records
-    private record OrderEventData(String orderId, String customerId) {}
-    private record PaymentEventData(String orderId, String customerId) {}
-    private record InventoryEventData(String orderId) {}
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.bff.infrastructure.event;
+
+import com.ecommerce.bff.application.port.out.OrderStatusStreamPort;
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-order subscription registry for the SSE endpoint. Kafka delivers each event to one BFF replica
+// (shared consumer group), so events are relayed over Redis pub/sub to the replicas holding the streams.
+@Component
+public class OrderStatusStreamRegistry implements OrderStatusStreamPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusStreamRegistry.class);
+
+    static final String CHANNEL = "bff:order:status";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<UUID, OrderStream> streams = new ConcurrentHashMap<>();
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    private volatile Disposable subscription;
+
+    public OrderStatusStreamRegistry(ReactiveStringRedisTemplate redisTemplate,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("bff.order.status.streams", streams, Map::size)
+                .description("Orders with at least one open status stream")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("bff.order.status.events.delivered")
+                .description("Order status events pushed to open streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("bff.order.status.events.dropped")
+                .description("Order status events not delivered to a slow subscriber")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<OrderStatusEventView> subscribe(UUID orderId) {
+        return Flux.defer(() -> {
+            // Subscriber count is changed inside compute() so a stream is never removed while being joined
+            var stream = streams.compute(orderId, (id, existing) -> {
+                var current = existing != null ? existing : new OrderStream();
+                current.subscribers.incrementAndGet();
+                return current;
+            });
+            return stream.sink.asFlux()
+                    .doFinally(signal -> streams.computeIfPresent(orderId,
+                            (id, current) -> current.subscribers.decrementAndGet() == 0 ? null : current));
+        });
+    }
+
+    // Called by the Kafka listeners: deliver locally and relay to the other replicas
+    public void publish(OrderStatusEventView event) {
+        deliver(event);
+        try {
+            var message = instanceId + "|" + objectMapper.writeValueAsString(event);
+            redisTemplate.convertAndSend(CHANNEL, message)
+                    .onErrorResume(ex -> {
+                        logger.warn("Failed to relay order status event for order: {}", event.orderId(), ex);
+                        return Mono.empty();
+                    })
+                    .subscribe();
+        } catch (JsonProcessingException ex) {
+            logger.warn("Failed to serialize order status event for order: {}", event.orderId(), ex);
+        }
+    }
+
+    private void deliver(OrderStatusEventView event) {
+        var stream = streams.get(event.orderId());
+        if (stream == null) {
+            return;
+        }
+        // Listener threads of different topics may emit for the same order at once
+        synchronized (stream) {
+            var result = stream.sink.tryEmitNext(event);
+            if (result.isSuccess()) {
+                deliveredCounter.increment();
+            } else {
+                droppedCounter.increment();
+                logger.debug("Order status event not delivered for order: {} ({})", event.orderId(), result);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.defer(() -> redisTemplate.listenToChannel(CHANNEL))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ReactiveSubscription.Message::getMessage)
+                .doOnNext(this::onMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> logger.warn("Order status relay subscription lost, reconnecting",
+                                signal.failure())))
+                .subscribe();
+
+        logger.info("Listening for order status events on channel: {}", CHANNEL);
+    }
+
+    private void onMessage(String message) {
+        var separator = message.indexOf('|');
+        if (separator < 0 || message.startsWith(instanceId + "|")) {
+            return;
+        }
+        try {
+            deliver(objectMapper.readValue(message.substring(separator + 1), OrderStatusEventView.class));
+        } catch (JsonProcessingException ex) {
+            logger.warn("Ignoring malformed order status relay message", ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        streams.values().forEach(stream -> stream.sink.tryEmitComplete());
+    }
+
+    private static final class OrderStream {
+
+        // Best effort: a slow SSE client misses events instead of holding back the others
+        private final Sinks.Many<OrderStatusEventView> sink = Sinks.many().multicast().directBestEffort();
+        private final AtomicInteger subscribers = new AtomicInteger();
+    }
+}
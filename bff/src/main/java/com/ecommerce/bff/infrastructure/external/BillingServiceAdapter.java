@@ -2,83 +2,88 @@ package com.ecommerce.bff.infrastructure.external;
 
 import com.ecommerce.bff.application.port.out.BillingServicePort;
 import com.ecommerce.bff.infrastructure.external.dto.PaymentDto;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class BillingServiceAdapter implements BillingServicePort {
 
     private static final Logger logger = LoggerFactory.getLogger(BillingServiceAdapter.class);
+    private static final String RESILIENCE_INSTANCE = "billing-service";
+    private static final int MAX_ORDER_IDS_PER_CALL = 500;
 
     private final WebClient webClient;
     private final String billingServiceBaseUrl;
+    private final ReactiveResilience resilience;
 
     public BillingServiceAdapter(WebClient webClient,
-                                @Value("${microservices.billing-service.base-url}") String billingServiceBaseUrl) {
+                                @Value("${microservices.billing-service.base-url}") String billingServiceBaseUrl,
+                                ReactiveResilience resilience) {
         this.webClient = webClient;
         this.billingServiceBaseUrl = billingServiceBaseUrl;
+        this.resilience = resilience;
     }
 
     @Override
-    @CircuitBreaker(name = "billing-service", fallbackMethod = "getPaymentByOrderIdFallback")
-    @Retry(name = "billing-service")
-    public Optional<PaymentDto> getPaymentByOrderId(UUID orderId) {
+    public Mono<PaymentDto> getPaymentByOrderId(UUID orderId) {
         logger.debug("Fetching payment for order: {} from {}", orderId, billingServiceBaseUrl);
         
-        try {
-            var payment = webClient.get()
-                .uri(billingServiceBaseUrl + "/api/v1/payments/order/{orderId}", orderId)
-                .retrieve()
-                .bodyToMono(PaymentDto.class)
-                .timeout(Duration.ofSeconds(30))
-                .block();
-                
-            return Optional.ofNullable(payment);
-        } catch (Exception ex) {
-            logger.error("Error fetching payment for order: {}", orderId, ex);
-            return Optional.empty();
-        }
+        var call = webClient.get()
+            .uri(billingServiceBaseUrl + "/api/v1/payments/order/{orderId}", orderId)
+            .retrieve()
+            .bodyToMono(PaymentDto.class)
+            .timeout(Duration.ofSeconds(30))
+            // Pedido ainda sem pagamento
+            .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty());
+
+        return resilience.decorate(RESILIENCE_INSTANCE, call)
+            .doOnError(ex -> logger.error("Error fetching payment for order: {}", orderId, ex));
     }
 
     @Override
-    @CircuitBreaker(name = "billing-service", fallbackMethod = "getPaymentsByCustomerIdFallback")
-    @Retry(name = "billing-service")
-    public List<PaymentDto> getPaymentsByCustomerId(UUID customerId) {
+    public Flux<PaymentDto> getPaymentsByCustomerId(UUID customerId) {
         logger.debug("Fetching payments for customer: {} from {}", customerId, billingServiceBaseUrl);
         
-        try {
-            return webClient.get()
-                .uri(billingServiceBaseUrl + "/api/v1/customers/{customerId}/payments", customerId)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<PaymentDto>>() {})
-                .timeout(Duration.ofSeconds(30))
-                .block();
-        } catch (Exception ex) {
-            logger.error("Error fetching payments for customer: {}", customerId, ex);
-            return Collections.emptyList();
-        }
-    }
+        var call = webClient.get()
+            .uri(billingServiceBaseUrl + "/api/v1/customers/{customerId}/payments", customerId)
+            .retrieve()
+            .bodyToFlux(PaymentDto.class)
+            .timeout(Duration.ofSeconds(30));
 
-    // Fallback methods
-    public Optional<PaymentDto> getPaymentByOrderIdFallback(UUID orderId, Exception ex) {
-        logger.warn("Using fallback for getPaymentByOrderId. Order: {}", orderId);
-        return Optional.empty();
+        return resilience.decorate(RESILIENCE_INSTANCE, call)
+            .doOnError(ex -> logger.error("Error fetching payments for customer: {}", customerId, ex));
     }
 
-    public List<PaymentDto> getPaymentsByCustomerIdFallback(UUID customerId, Exception ex) {
-        logger.warn("Using fallback for getPaymentsByCustomerId. Customer: {}", customerId);
-        return Collections.emptyList();
+    @Override
+    public Flux<PaymentDto> getPaymentsByOrderIds(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Flux.empty();
+        }
+        logger.debug("Fetching payments for {} orders from {}", orderIds.size(), billingServiceBaseUrl);
+
+        // Billing aceita até 500 ids por chamada; listas maiores vão em blocos sequenciais,
+        // cada bloco com seu próprio retry para não reemitir o que já chegou
+        return Flux.fromIterable(new LinkedHashSet<>(orderIds))
+            .buffer(MAX_ORDER_IDS_PER_CALL)
+            .concatMap(chunk -> resilience.decorate(RESILIENCE_INSTANCE, webClient.post()
+                .uri(billingServiceBaseUrl + "/api/v1/payments/by-orders")
+                .header("Content-Type", "application/json")
+                .bodyValue(Map.of("orderIds", chunk))
+                .retrieve()
+                .bodyToFlux(PaymentDto.class)
+                .timeout(Duration.ofSeconds(30))))
+            .doOnError(ex -> logger.error("Error fetching payments for {} orders", orderIds.size(), ex));
     }
-}
\ No newline at end of file
+}
@@ -2,56 +2,45 @@ package com.ecommerce.bff.infrastructure.external;
 
 import com.ecommerce.bff.application.port.out.InventoryServicePort;
 import com.ecommerce.bff.infrastructure.external.dto.InventoryReservationDto;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.List;
 import java.util.UUID;
 
 @Component
 public class InventoryServiceAdapter implements InventoryServicePort {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryServiceAdapter.class);
+    private static final String RESILIENCE_INSTANCE = "inventory-service";
 
     private final WebClient webClient;
     private final String inventoryServiceBaseUrl;
+    private final ReactiveResilience resilience;
 
     public InventoryServiceAdapter(WebClient webClient,
-                                  @Value("${microservices.inventory-service.base-url}") String inventoryServiceBaseUrl) {
+                                  @Value("${microservices.inventory-service.base-url}") String inventoryServiceBaseUrl,
+                                  ReactiveResilience resilience) {
         this.webClient = webClient;
         this.inventoryServiceBaseUrl = inventoryServiceBaseUrl;
+        this.resilience = resilience;
     }
 
     @Override
-    @CircuitBreaker(name = "inventory-service", fallbackMethod = "getReservationsByOrderIdFallback")
-    @Retry(name = "inventory-service")
-    public List<InventoryReservationDto> getReservationsByOrderId(UUID orderId) {
+    public Flux<InventoryReservationDto> getReservationsByOrderId(UUID orderId) {
         logger.debug("Fetching reservations for order: {} from {}", orderId, inventoryServiceBaseUrl);
         
-        try {
-            return webClient.get()
-                .uri(inventoryServiceBaseUrl + "/api/v1/reservations/order/{orderId}", orderId)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<InventoryReservationDto>>() {})
-                .timeout(Duration.ofSeconds(30))
-                .block();
-        } catch (Exception ex) {
-            logger.error("Error fetching reservations for order: {}", orderId, ex);
-            return Collections.emptyList();
-        }
+        var call = webClient.get()
+            .uri(inventoryServiceBaseUrl + "/api/v1/reservations/order/{orderId}", orderId)
+            .retrieve()
+            .bodyToFlux(InventoryReservationDto.class)
+            .timeout(Duration.ofSeconds(30));
+
+        return resilience.decorate(RESILIENCE_INSTANCE, call)
+            .doOnError(ex -> logger.error("Error fetching reservations for order: {}", orderId, ex));
     }
-
-    // Fallback method
-    public List<InventoryReservationDto> getReservationsByOrderIdFallback(UUID orderId, Exception ex) {
-        logger.warn("Using fallback for getReservationsByOrderId. Order: {}", orderId);
-        return Collections.emptyList();
-    }
-}
\ No newline at end of file
+}
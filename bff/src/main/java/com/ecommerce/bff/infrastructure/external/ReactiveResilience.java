@@ -0,0 +1,42 @@
+package com.ecommerce.bff.infrastructure.external;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class ReactiveResilience {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ReactiveResilience(CircuitBreakerRegistry circuitBreakerRegistry,
+                              RetryRegistry retryRegistry,
+                              BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    // Mesma ordem dos aspects: Retry(CircuitBreaker(Bulkhead(call))), sem bloquear thread
+    public <T> Mono<T> decorate(String instance, Mono<T> call) {
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(instance)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(instance)))
+            .transformDeferred(RetryOperator.of(retryRegistry.retry(instance)));
+    }
+
+    public <T> Flux<T> decorate(String instance, Flux<T> call) {
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(instance)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(instance)))
+            .transformDeferred(RetryOperator.of(retryRegistry.retry(instance)));
+    }
+}
@@ -13,6 +13,9 @@ public record OrderDto(
     @JsonProperty("totalAmount") BigDecimal totalAmount,
     @JsonProperty("currency") String currency,
     @JsonProperty("status") String status,
-    @JsonProperty("orderDate") LocalDateTime orderDate
+    @JsonProperty("orderDate") LocalDateTime orderDate,
+    @JsonProperty("paymentStatus") String paymentStatus,
+    @JsonProperty("reservationStatus") String reservationStatus,
+    @JsonProperty("updatedAt") LocalDateTime updatedAt
 ) {
 }
\ No newline at end of file
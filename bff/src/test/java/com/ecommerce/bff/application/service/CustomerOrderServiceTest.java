@@ -2,15 +2,26 @@ package com.ecommerce.bff.application.service;
 
 import com.ecommerce.bff.application.port.in.GetCustomerOrdersQuery;
 import com.ecommerce.bff.application.port.out.OrderServicePort;
+import com.ecommerce.bff.domain.view.OrderSummaryView;
+import com.ecommerce.bff.infrastructure.cache.CacheInvalidationBus;
 import com.ecommerce.bff.infrastructure.cache.FallbackService;
+import com.ecommerce.bff.infrastructure.cache.ManualCacheService;
+import com.ecommerce.bff.infrastructure.cache.SingleFlightLoader;
+import com.ecommerce.bff.infrastructure.cache.TwoTierCacheManager;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.ecommerce.bff.infrastructure.external.dto.OrderDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +29,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +41,30 @@ class CustomerOrderServiceTest {
     @Mock
     private FallbackService fallbackService;
 
-    @InjectMocks
+    @Mock
+    private ManualCacheService manualCacheService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwoTierCacheManager cacheManager;
+
     private CustomerOrderService customerOrderService;
 
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoTierCacheManager(manualCacheService, new SingleFlightLoader(meterRegistry),
+                invalidationBus, meterRegistry)
+                .register("customer-orders", new TypeReference<List<OrderSummaryView>>() {},
+                        Duration.ofMinutes(5), Duration.ofHours(1), 100);
+        customerOrderService = new CustomerOrderService(orderServicePort, fallbackService, cacheManager);
+
+        lenient().when(manualCacheService.get(anyString(), any())).thenReturn(Mono.empty());
+        lenient().when(manualCacheService.put(anyString(), any(), any())).thenReturn(Mono.empty());
+    }
+
     @Test
     void shouldGetCustomerOrdersSuccessfully() {
         // Given
@@ -45,24 +78,47 @@ class CustomerOrderServiceTest {
             new BigDecimal("100.00"),
             "USD",
             "PENDING",
+            LocalDateTime.now(),
+            "PENDING",
+            "PENDING",
             LocalDateTime.now()
         );
         
-        when(orderServicePort.getOrdersByCustomerId(customerId)).thenReturn(List.of(orderDto));
+        when(orderServicePort.getOrdersByCustomerId(customerId)).thenReturn(Flux.just(orderDto));
 
-        // When
-        var result = customerOrderService.execute(query);
-
-        // Then
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
-        assertEquals(orderDto.orderId(), result.get(0).orderId());
-        assertEquals(orderDto.orderNumber(), result.get(0).orderNumber());
+        // When / Then
+        StepVerifier.create(customerOrderService.execute(query))
+            .assertNext(result -> {
+                assertFalse(result.isEmpty());
+                assertEquals(1, result.size());
+                assertEquals(orderDto.orderId(), result.get(0).orderId());
+                assertEquals(orderDto.orderNumber(), result.get(0).orderNumber());
+            })
+            .verifyComplete();
         
         verify(orderServicePort).getOrdersByCustomerId(customerId);
+        verify(manualCacheService).put(eq("customer-orders::" + customerId), any(), any());
         verify(fallbackService, never()).getFallbackOrders(any());
     }
 
+    @Test
+    void shouldReturnL2CachedOrdersWithoutCallingOrderService() {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        var query = new GetCustomerOrdersQuery(customerId);
+        var cached = List.of(new OrderSummaryView(
+            UUID.randomUUID(), "ORD-1", new BigDecimal("10.00"), "USD", "PENDING", LocalDateTime.now(), "PENDING", "PENDING"));
+
+        when(manualCacheService.get(eq("customer-orders::" + customerId), any())).thenReturn(Mono.just(cached));
+
+        // When / Then
+        StepVerifier.create(customerOrderService.execute(query))
+            .expectNext(cached)
+            .verifyComplete();
+
+        verify(orderServicePort, never()).getOrdersByCustomerId(any());
+    }
+
     @Test
     void shouldUseFallbackWhenOrderServiceFails() {
         // Given
@@ -70,17 +126,113 @@ class CustomerOrderServiceTest {
         var query = new GetCustomerOrdersQuery(customerId);
         
         when(orderServicePort.getOrdersByCustomerId(customerId))
-            .thenThrow(new RuntimeException("Service unavailable"));
+            .thenReturn(Flux.error(new RuntimeException("Service unavailable")));
         when(fallbackService.getFallbackOrders(customerId))
             .thenReturn(Collections.emptyList());
 
-        // When
-        var result = customerOrderService.execute(query);
-
-        // Then
-        assertTrue(result.isEmpty());
+        // When / Then
+        StepVerifier.create(customerOrderService.execute(query))
+            .assertNext(result -> assertTrue(result.isEmpty()))
+            .verifyComplete();
         
         verify(orderServicePort).getOrdersByCustomerId(customerId);
         verify(fallbackService).getFallbackOrders(customerId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneDownstreamCall() {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        var query = new GetCustomerOrdersQuery(customerId);
+
+        var orderDto = new OrderDto(
+            UUID.randomUUID(),
+            "ORD-123456",
+            customerId,
+            new BigDecimal("100.00"),
+            "USD",
+            "PENDING",
+            LocalDateTime.now(),
+            "PENDING",
+            "PENDING",
+            LocalDateTime.now()
+        );
+
+        when(orderServicePort.getOrdersByCustomerId(customerId))
+            .thenReturn(Flux.just(orderDto).delayElements(Duration.ofMillis(100)));
+
+        // When - three requests miss at the same time
+        StepVerifier.create(Mono.zip(
+                customerOrderService.execute(query),
+                customerOrderService.execute(query),
+                customerOrderService.execute(query)))
+            .assertNext(results -> {
+                assertEquals(1, results.getT1().size());
+                assertEquals(results.getT1(), results.getT2());
+                assertEquals(results.getT1(), results.getT3());
+            })
+            .verifyComplete();
+
+        // Then
+        verify(orderServicePort, times(1)).getOrdersByCustomerId(customerId);
+        verify(manualCacheService, times(1)).put(eq("customer-orders::" + customerId), any(), any());
+        assertEquals(1.0, meterRegistry.get("bff.cache.singleflight.loads").tag("cache", "customer-orders").counter().count());
+        assertEquals(2.0, meterRegistry.get("bff.cache.singleflight.coalesced").tag("cache", "customer-orders").counter().count());
+    }
+
+    @Test
+    void shouldServeRepeatedRequestFromL1WithoutRedisRoundTrip() {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        var query = new GetCustomerOrdersQuery(customerId);
+
+        var orderDto = new OrderDto(
+            UUID.randomUUID(),
+            "ORD-123456",
+            customerId,
+            new BigDecimal("100.00"),
+            "USD",
+            "PENDING",
+            LocalDateTime.now(),
+            "PENDING",
+            "PENDING",
+            LocalDateTime.now()
+        );
+
+        when(orderServicePort.getOrdersByCustomerId(customerId)).thenReturn(Flux.just(orderDto));
+
+        // When
+        customerOrderService.execute(query).block();
+        var second = customerOrderService.execute(query).block();
+
+        // Then
+        assertEquals(1, second.size());
+        verify(manualCacheService, times(1)).get(anyString(), any());
+        verify(orderServicePort, times(1)).getOrdersByCustomerId(customerId);
+        assertEquals(1.0, meterRegistry.get("bff.cache.requests")
+            .tag("cache", "customer-orders").tag("result", "l1_hit").counter().count());
+    }
+
+    @Test
+    void shouldDropL1AndBroadcastWhenEvicted() {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        var query = new GetCustomerOrdersQuery(customerId);
+        var cache = cacheManager.getCache("customer-orders");
+
+        when(orderServicePort.getOrdersByCustomerId(customerId)).thenReturn(Flux.just(new OrderDto(
+            UUID.randomUUID(), "ORD-1", customerId, new BigDecimal("10.00"), "USD", "PENDING", LocalDateTime.now(), "PENDING", "PENDING",
+            LocalDateTime.now())));
+        when(manualCacheService.evict(anyString())).thenReturn(Mono.empty());
+        customerOrderService.execute(query).block();
+        assertNotNull(cache.get(customerId));
+
+        // When - Kafka events carry the id as String
+        cache.evict(customerId.toString());
+
+        // Then
+        assertNull(cache.get(customerId));
+        verify(manualCacheService).evict("customer-orders::" + customerId);
+        verify(invalidationBus).publish("customer-orders", customerId.toString());
+    }
+}
@@ -4,16 +4,27 @@ import com.ecommerce.bff.application.port.in.GetOrderDetailsQuery;
 import com.ecommerce.bff.application.port.out.BillingServicePort;
 import com.ecommerce.bff.application.port.out.InventoryServicePort;
 import com.ecommerce.bff.application.port.out.OrderServicePort;
+import com.ecommerce.bff.domain.view.CustomerOrderView;
+import com.ecommerce.bff.infrastructure.cache.CacheInvalidationBus;
 import com.ecommerce.bff.infrastructure.cache.FallbackService;
+import com.ecommerce.bff.infrastructure.cache.ManualCacheService;
+import com.ecommerce.bff.infrastructure.cache.SingleFlightLoader;
+import com.ecommerce.bff.infrastructure.cache.TwoTierCacheManager;
 import com.ecommerce.bff.infrastructure.external.dto.OrderDto;
 import com.ecommerce.bff.infrastructure.external.dto.PaymentDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
@@ -21,6 +32,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,54 +50,65 @@ class OrderDetailsServiceTest {
     @Mock
     private FallbackService fallbackService;
 
-    @InjectMocks
+    @Mock
+    private ManualCacheService manualCacheService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
     private OrderDetailsService orderDetailsService;
 
+    @BeforeEach
+    void setUp() {
+        orderDetailsService = new OrderDetailsService(orderServicePort, billingServicePort, inventoryServicePort,
+                fallbackService, cacheManager(), Duration.ofMillis(500));
+
+        lenient().when(manualCacheService.get(anyString(), any())).thenReturn(Mono.empty());
+        lenient().when(manualCacheService.put(anyString(), any(), any())).thenReturn(Mono.empty());
+        lenient().when(billingServicePort.getPaymentByOrderId(any())).thenReturn(Mono.empty());
+        lenient().when(inventoryServicePort.getReservationsByOrderId(any())).thenReturn(Flux.empty());
+    }
+
     @Test
     void shouldGetOrderDetailsSuccessfully() {
         // Given
         UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
         
-        var orderDto = new OrderDto(
-            orderId,
-            "ORD-123456",
-            customerId,
-            new BigDecimal("100.00"),
-            "USD",
-            "PENDING",
-            LocalDateTime.now()
-        );
-        
-        var paymentDto = new PaymentDto(
-            UUID.randomUUID(),
-            orderId,
-            "PAY-123456",
-            new BigDecimal("100.00"),
-            "USD",
-            "COMPLETED",
-            "CREDIT_CARD",
-            LocalDateTime.now()
-        );
-        
-        when(orderServicePort.getOrderById(orderId)).thenReturn(Optional.of(orderDto));
-        when(billingServicePort.getPaymentByOrderId(orderId)).thenReturn(Optional.of(paymentDto));
-        when(inventoryServicePort.getReservationsByOrderId(orderId)).thenReturn(Collections.emptyList());
-
-        // When
-        var result = orderDetailsService.execute(query);
-
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(orderId, result.get().orderId());
-        assertEquals("ORD-123456", result.get().orderNumber());
-        assertNotNull(result.get().payment());
-        assertEquals("COMPLETED", result.get().payment().status());
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId)));
+        when(billingServicePort.getPaymentByOrderId(orderId)).thenReturn(Mono.just(payment(orderId)));
+
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .assertNext(result -> {
+                assertEquals(orderId, result.orderId());
+                assertEquals("ORD-123456", result.orderNumber());
+                assertNotNull(result.payment());
+                assertEquals("COMPLETED", result.payment().status());
+            })
+            .verifyComplete();
         
         verify(orderServicePort).getOrderById(orderId);
         verify(billingServicePort).getPaymentByOrderId(orderId);
         verify(inventoryServicePort).getReservationsByOrderId(orderId);
+        verify(manualCacheService).put(eq("order-details::" + orderId), any(), any());
+    }
+
+    @Test
+    void shouldReturnL2CachedDetailsWithoutCallingDownstream() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        var query = new GetOrderDetailsQuery(orderId);
+        var cached = mock(CustomerOrderView.class);
+
+        when(manualCacheService.get(eq("order-details::" + orderId), any())).thenReturn(Mono.just(cached));
+
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .expectNext(cached)
+            .verifyComplete();
+
+        verify(orderServicePort, never()).getOrderById(any());
     }
 
     @Test
@@ -94,100 +117,59 @@ class OrderDetailsServiceTest {
         UUID orderId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
         
-        when(orderServicePort.getOrderById(orderId)).thenReturn(Optional.empty());
-
-        // When
-        var result = orderDetailsService.execute(query);
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.empty());
 
-        // Then
-        assertTrue(result.isEmpty());
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .verifyComplete();
         
         verify(orderServicePort).getOrderById(orderId);
-        verify(billingServicePort, never()).getPaymentByOrderId(any());
-        verify(inventoryServicePort, never()).getReservationsByOrderId(any());
+        verify(fallbackService, never()).getFallbackOrderDetails(any());
+        verify(manualCacheService, never()).put(anyString(), any(), any());
     }
 
     @Test
     void shouldUseFallbackForPaymentWhenServiceFails() {
         // Given
         UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
         
-        var orderDto = new OrderDto(
-            orderId,
-            "ORD-123456",
-            customerId,
-            new BigDecimal("100.00"),
-            "USD",
-            "PENDING",
-            LocalDateTime.now()
-        );
-        
-        when(orderServicePort.getOrderById(orderId)).thenReturn(Optional.of(orderDto));
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId)));
         when(billingServicePort.getPaymentByOrderId(orderId))
-            .thenThrow(new RuntimeException("Service unavailable"));
-        when(fallbackService.getFallbackPayment(orderId))
-            .thenReturn(null);
-        when(inventoryServicePort.getReservationsByOrderId(orderId)).thenReturn(Collections.emptyList());
-
-        // When
-        var result = orderDetailsService.execute(query);
+            .thenReturn(Mono.error(new RuntimeException("Service unavailable")));
+        when(fallbackService.getFallbackPayment(orderId)).thenReturn(null);
 
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(orderId, result.get().orderId());
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .assertNext(result -> assertEquals(orderId, result.orderId()))
+            .verifyComplete();
         
-        verify(orderServicePort).getOrderById(orderId);
         verify(billingServicePort).getPaymentByOrderId(orderId);
         verify(fallbackService).getFallbackPayment(orderId);
+        // Degraded views are not cached
+        verify(manualCacheService, never()).put(anyString(), any(), any());
     }
 
     @Test
     void shouldUseFallbackForInventoryWhenServiceFails() {
         // Given
         UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
 
-        var orderDto = new OrderDto(
-                orderId,
-                "ORD-123456",
-                customerId,
-                new BigDecimal("100.00"),
-                "USD",
-                "PENDING",
-                LocalDateTime.now()
-        );
-
-        var paymentDto = new PaymentDto(
-                UUID.randomUUID(),
-                orderId,
-                "PAY-123456",
-                new BigDecimal("100.00"),
-                "USD",
-                "COMPLETED",
-                "CREDIT_CARD",
-                LocalDateTime.now()
-        );
-
-        when(orderServicePort.getOrderById(orderId)).thenReturn(Optional.of(orderDto));
-        when(billingServicePort.getPaymentByOrderId(orderId)).thenReturn(Optional.of(paymentDto));
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId)));
+        when(billingServicePort.getPaymentByOrderId(orderId)).thenReturn(Mono.just(payment(orderId)));
         when(inventoryServicePort.getReservationsByOrderId(orderId))
-                .thenThrow(new RuntimeException("Inventory service unavailable"));
-        when(fallbackService.getFallbackInventory(orderId))
-                .thenReturn(Collections.emptyList());
-
-        // When
-        var result = orderDetailsService.execute(query);
+                .thenReturn(Flux.error(new RuntimeException("Inventory service unavailable")));
+        when(fallbackService.getFallbackInventory(orderId)).thenReturn(Collections.emptyList());
 
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(orderId, result.get().orderId());
-        assertTrue(result.get().inventory().isEmpty());
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .assertNext(result -> {
+                assertEquals(orderId, result.orderId());
+                assertTrue(result.inventory().isEmpty());
+            })
+            .verifyComplete();
 
-        verify(orderServicePort).getOrderById(orderId);
-        verify(billingServicePort).getPaymentByOrderId(orderId);
         verify(inventoryServicePort).getReservationsByOrderId(orderId);
         verify(fallbackService).getFallbackInventory(orderId);
     }
@@ -196,35 +178,24 @@ class OrderDetailsServiceTest {
     void shouldUseFallbackForBothPaymentAndInventoryWhenServicesFail() {
         // Given
         UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
 
-        var orderDto = new OrderDto(
-                orderId,
-                "ORD-123456",
-                customerId,
-                new BigDecimal("100.00"),
-                "USD",
-                "PENDING",
-                LocalDateTime.now()
-        );
-
-        when(orderServicePort.getOrderById(orderId)).thenReturn(Optional.of(orderDto));
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId)));
         when(billingServicePort.getPaymentByOrderId(orderId))
-                .thenThrow(new RuntimeException("Billing service unavailable"));
+                .thenReturn(Mono.error(new RuntimeException("Billing service unavailable")));
         when(inventoryServicePort.getReservationsByOrderId(orderId))
-                .thenThrow(new RuntimeException("Inventory service unavailable"));
+                .thenReturn(Flux.error(new RuntimeException("Inventory service unavailable")));
         when(fallbackService.getFallbackPayment(orderId)).thenReturn(null);
         when(fallbackService.getFallbackInventory(orderId)).thenReturn(Collections.emptyList());
 
-        // When
-        var result = orderDetailsService.execute(query);
-
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(orderId, result.get().orderId());
-        assertNull(result.get().payment());
-        assertTrue(result.get().inventory().isEmpty());
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .assertNext(result -> {
+                assertEquals(orderId, result.orderId());
+                assertNull(result.payment());
+                assertTrue(result.inventory().isEmpty());
+            })
+            .verifyComplete();
 
         verify(fallbackService).getFallbackPayment(orderId);
         verify(fallbackService).getFallbackInventory(orderId);
@@ -237,54 +208,34 @@ class OrderDetailsServiceTest {
         var query = new GetOrderDetailsQuery(orderId);
 
         when(orderServicePort.getOrderById(orderId))
-                .thenThrow(new RuntimeException("Order service unavailable"));
-        when(fallbackService.getFallbackOrderDetails(orderId))
-                .thenReturn(Optional.empty());
-
-        // When
-        var result = orderDetailsService.execute(query);
+                .thenReturn(Mono.error(new RuntimeException("Order service unavailable")));
+        when(fallbackService.getFallbackOrderDetails(orderId)).thenReturn(Optional.empty());
 
-        // Then
-        assertTrue(result.isEmpty());
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .verifyComplete();
 
         verify(orderServicePort).getOrderById(orderId);
         verify(fallbackService).getFallbackOrderDetails(orderId);
-        verify(billingServicePort, never()).getPaymentByOrderId(any());
-        verify(inventoryServicePort, never()).getReservationsByOrderId(any());
     }
 
     @Test
     void shouldHandlePaymentNotFoundScenario() {
         // Given
         UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
 
-        var orderDto = new OrderDto(
-                orderId,
-                "ORD-123456",
-                customerId,
-                new BigDecimal("100.00"),
-                "USD",
-                "PENDING",
-                LocalDateTime.now()
-        );
-
-        when(orderServicePort.getOrderById(orderId)).thenReturn(Optional.of(orderDto));
-        when(billingServicePort.getPaymentByOrderId(orderId)).thenReturn(Optional.empty());
-        when(inventoryServicePort.getReservationsByOrderId(orderId)).thenReturn(Collections.emptyList());
-
-        // When
-        var result = orderDetailsService.execute(query);
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId)));
 
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(orderId, result.get().orderId());
-        assertNull(result.get().payment());
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .assertNext(result -> {
+                assertEquals(orderId, result.orderId());
+                assertNull(result.payment());
+            })
+            .verifyComplete();
 
-        verify(orderServicePort).getOrderById(orderId);
         verify(billingServicePort).getPaymentByOrderId(orderId);
-        verify(inventoryServicePort).getReservationsByOrderId(orderId);
         verify(fallbackService, never()).getFallbackPayment(any());
     }
 
@@ -293,22 +244,73 @@ class OrderDetailsServiceTest {
         // Given
         UUID orderId = UUID.randomUUID();
         var query = new GetOrderDetailsQuery(orderId);
-
-        var fallbackOrderView = mock(com.ecommerce.bff.domain.view.CustomerOrderView.class);
+        var fallbackOrderView = mock(CustomerOrderView.class);
 
         when(orderServicePort.getOrderById(orderId))
-                .thenThrow(new RuntimeException("Unexpected error"));
+                .thenReturn(Mono.error(new RuntimeException("Unexpected error")));
         when(fallbackService.getFallbackOrderDetails(orderId))
                 .thenReturn(Optional.of(fallbackOrderView));
 
-        // When
-        var result = orderDetailsService.execute(query);
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .expectNext(fallbackOrderView)
+            .verifyComplete();
 
-        // Then
-        assertTrue(result.isPresent());
-        assertEquals(fallbackOrderView, result.get());
-
-        verify(orderServicePort).getOrderById(orderId);
         verify(fallbackService).getFallbackOrderDetails(orderId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldUseFallbackForPaymentWhenLegExceedsLatencyBudget() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        var query = new GetOrderDetailsQuery(orderId);
+
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId)));
+        when(billingServicePort.getPaymentByOrderId(orderId)).thenReturn(Mono.never());
+        when(fallbackService.getFallbackPayment(orderId)).thenReturn(null);
+
+        // When / Then
+        StepVerifier.create(orderDetailsService.execute(query))
+            .assertNext(result -> assertEquals(orderId, result.orderId()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+
+        verify(fallbackService).getFallbackPayment(orderId);
+    }
+
+    private TwoTierCacheManager cacheManager() {
+        var meterRegistry = new SimpleMeterRegistry();
+        return new TwoTierCacheManager(manualCacheService, new SingleFlightLoader(meterRegistry),
+                invalidationBus, meterRegistry)
+                .register("order-details", new TypeReference<CustomerOrderView>() {},
+                        Duration.ofMinutes(5), Duration.ofMinutes(30), 100);
+    }
+
+    private OrderDto order(UUID orderId) {
+        return new OrderDto(
+            orderId,
+            "ORD-123456",
+            UUID.randomUUID(),
+            new BigDecimal("100.00"),
+            "USD",
+            "PENDING",
+            LocalDateTime.now(),
+            "PENDING",
+            "PENDING",
+            LocalDateTime.now()
+        );
+    }
+
+    private PaymentDto payment(UUID orderId) {
+        return new PaymentDto(
+            UUID.randomUUID(),
+            orderId,
+            "PAY-123456",
+            new BigDecimal("100.00"),
+            "USD",
+            "COMPLETED",
+            "CREDIT_CARD",
+            LocalDateTime.now()
+        );
+    }
+}
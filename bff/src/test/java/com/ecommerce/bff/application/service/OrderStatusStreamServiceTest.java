@@ -0,0 +1,108 @@
+package com.ecommerce.bff.application.service;
+
+import com.ecommerce.bff.application.port.in.StreamOrderStatusQuery;
+import com.ecommerce.bff.application.port.out.OrderServicePort;
+import com.ecommerce.bff.application.port.out.OrderStatusStreamPort;
+import com.ecommerce.bff.domain.view.OrderStatusEventView;
+import com.ecommerce.bff.infrastructure.external.dto.OrderDto;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusStreamServiceTest {
+
+    @Mock
+    private OrderServicePort orderServicePort;
+
+    @Mock
+    private OrderStatusStreamPort orderStatusStream;
+
+    private OrderStatusStreamService orderStatusStreamService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusStreamService = new OrderStatusStreamService(orderServicePort, orderStatusStream,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldEmitSnapshotThenLiveEventsUntilTerminalStatus() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var live = Sinks.many().multicast().<OrderStatusEventView>directBestEffort();
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId, "PENDING")));
+        when(orderStatusStream.subscribe(orderId)).thenReturn(live.asFlux());
+
+        // When / Then
+        StepVerifier.create(orderStatusStreamService.execute(new StreamOrderStatusQuery(orderId)))
+            .assertNext(snapshot -> {
+                assertEquals(OrderStatusEventView.SNAPSHOT, snapshot.eventType());
+                assertEquals("PENDING", snapshot.orderStatus());
+                assertEquals("PENDING", snapshot.paymentStatus());
+            })
+            .then(() -> live.tryEmitNext(OrderStatusEventView.fromEvent(orderId, "PaymentFailed", null,
+                LocalDateTime.now())))
+            .assertNext(event -> assertEquals("FAILED", event.paymentStatus()))
+            .then(() -> live.tryEmitNext(OrderStatusEventView.fromEvent(orderId, "OrderStatusChanged", "CANCELLED",
+                LocalDateTime.now())))
+            .assertNext(event -> assertEquals("CANCELLED", event.orderStatus()))
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldStampSnapshotWithLastChangeOfTheSummary() {
+        // Given - read now, but the row was last changed a minute ago
+        var orderId = UUID.randomUUID();
+        var lastChange = LocalDateTime.now().minusMinutes(1);
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.just(order(orderId, "PENDING", lastChange)));
+        when(orderStatusStream.subscribe(orderId)).thenReturn(Sinks.many().multicast()
+            .<OrderStatusEventView>directBestEffort().asFlux());
+
+        // When / Then - an event from 30s ago that the summary hasn't applied yet is newer than the snapshot
+        StepVerifier.create(orderStatusStreamService.execute(new StreamOrderStatusQuery(orderId)))
+            .assertNext(snapshot -> {
+                assertEquals(lastChange, snapshot.occurredOn());
+                assertTrue(snapshot.occurredOn().isBefore(LocalDateTime.now().minusSeconds(30)));
+            })
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void shouldFailWhenOrderDoesNotExist() {
+        // Given
+        var orderId = UUID.randomUUID();
+        when(orderServicePort.getOrderById(orderId)).thenReturn(Mono.empty());
+        when(orderStatusStream.subscribe(orderId)).thenReturn(Sinks.many().multicast()
+            .<OrderStatusEventView>directBestEffort().asFlux());
+
+        // When / Then
+        StepVerifier.create(orderStatusStreamService.execute(new StreamOrderStatusQuery(orderId)))
+            .expectErrorSatisfies(ex -> assertEquals("ORDER_NOT_FOUND", ((BusinessException) ex).getErrorCode()))
+            .verify();
+    }
+
+    private OrderDto order(UUID orderId, String status) {
+        return order(orderId, status, LocalDateTime.now());
+    }
+
+    private OrderDto order(UUID orderId, String status, LocalDateTime updatedAt) {
+        return new OrderDto(orderId, "ORD-1", UUID.randomUUID(), new BigDecimal("10.00"), "USD", status,
+            LocalDateTime.now(), "PENDING", "PENDING", updatedAt);
+    }
+}
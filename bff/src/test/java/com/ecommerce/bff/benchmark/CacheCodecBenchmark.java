@@ -0,0 +1,147 @@
+package com.ecommerce.bff.benchmark;
+
+import com.ecommerce.bff.domain.view.CustomerOrderView;
+import com.ecommerce.bff.domain.view.InventoryInfoView;
+import com.ecommerce.bff.domain.view.OrderSummaryView;
+import com.ecommerce.bff.domain.view.PaymentInfoView;
+import com.ecommerce.bff.infrastructure.cache.codec.CacheCodec;
+import com.ecommerce.bff.infrastructure.cache.codec.JacksonCacheCodec;
+import com.ecommerce.bff.infrastructure.cache.codec.Lz4CacheCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho atual do L2 (JSON em String) com os codecs binários: bytes gravados e custo de um hit.
+ * Rodar com: mvn -pl bff test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.bff.benchmark.CacheCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "--enable-preview")
+public class CacheCodecBenchmark {
+
+    private static final TypeReference<List<OrderSummaryView>> ORDER_LIST_TYPE = new TypeReference<>() {};
+    private static final TypeReference<CustomerOrderView> ORDER_DETAILS_TYPE = new TypeReference<>() {};
+
+    @Param({"json-string", "json-lz4", "smile", "smile-lz4"})
+    private String codec;
+
+    @Param({"customer-orders-200", "order-details"})
+    private String payload;
+
+    private ObjectMapper jsonMapper;
+    private CacheCodec cacheCodec;
+    private Object value;
+    private TypeReference<?> type;
+    private byte[] stored;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = new ObjectMapper();
+        jsonMapper.registerModule(new JavaTimeModule());
+        jsonMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        jsonMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        cacheCodec = switch (codec) {
+            case "json-string" -> null;
+            case "json-lz4" -> new Lz4CacheCodec(new JacksonCacheCodec("json1", jsonMapper), 1024);
+            case "smile" -> new JacksonCacheCodec("smile1", jsonMapper.copyWith(new SmileFactory()));
+            case "smile-lz4" -> new Lz4CacheCodec(
+                new JacksonCacheCodec("smile1", jsonMapper.copyWith(new SmileFactory())), 1024);
+            default -> throw new IllegalArgumentException(codec);
+        };
+
+        if ("customer-orders-200".equals(payload)) {
+            value = customerOrders(200);
+            type = ORDER_LIST_TYPE;
+        } else {
+            value = orderDetails();
+            type = ORDER_DETAILS_TYPE;
+        }
+
+        stored = encode();
+        if (!value.equals(decode())) {
+            throw new IllegalStateException("Round trip mismatch for codec " + codec);
+        }
+        System.out.printf("%n[bytes stored] codec=%s payload=%s bytes=%d%n", codec, payload, stored.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return encode();
+    }
+
+    @Benchmark
+    public Object hit() throws IOException {
+        return decode();
+    }
+
+    // json-string = ManualCacheService antes do codec: ObjectMapper -> String -> StringRedisSerializer
+    private byte[] encode() throws IOException {
+        if (cacheCodec == null) {
+            return jsonMapper.writeValueAsString(value).getBytes(StandardCharsets.UTF_8);
+        }
+        return cacheCodec.encode(value);
+    }
+
+    private Object decode() throws IOException {
+        if (cacheCodec == null) {
+            return jsonMapper.readValue(new String(stored, StandardCharsets.UTF_8), type);
+        }
+        return cacheCodec.decode(stored, type);
+    }
+
+    private static List<OrderSummaryView> customerOrders(int count) {
+        var orders = new ArrayList<OrderSummaryView>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new OrderSummaryView(
+                UUID.randomUUID(),
+                "ORD-" + (100000 + i),
+                new BigDecimal("149.90").add(BigDecimal.valueOf(i)),
+                "BRL",
+                i % 3 == 0 ? "CONFIRMED" : "PENDING",
+                LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(i),
+                i % 3 == 0 ? "COMPLETED" : "PENDING",
+                i % 3 == 0 ? "RESERVED" : "PENDING"
+            ));
+        }
+        return orders;
+    }
+
+    private static CustomerOrderView orderDetails() {
+        var inventory = new ArrayList<InventoryInfoView>();
+        for (int i = 0; i < 10; i++) {
+            inventory.add(new InventoryInfoView(UUID.randomUUID(), "Product " + i, 1 + i, "RES-" + i, "RESERVED"));
+        }
+        var payment = new PaymentInfoView(UUID.randomUUID(), "PAY-123456", new BigDecimal("1499.00"), "BRL",
+            "COMPLETED", "CREDIT_CARD", LocalDateTime.of(2025, 1, 1, 10, 5));
+        return CustomerOrderView.create(UUID.randomUUID(), "ORD-123456", UUID.randomUUID(), new BigDecimal("1499.00"),
+            "BRL", "CONFIRMED", LocalDateTime.of(2025, 1, 1, 10, 0), payment, inventory);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CacheCodecBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
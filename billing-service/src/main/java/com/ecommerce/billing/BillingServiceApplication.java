@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {
         "com.ecommerce.billing",
@@ -13,6 +14,7 @@ import org.springframework.kafka.annotation.EnableKafka;
 })
 @EnableKafka
 @EnableCaching
+@EnableScheduling
 @EntityScan(basePackages = {
         "com.ecommerce.billing.domain.model",
         "com.ecommerce.shared.domain.entity"
@@ -1,37 +1,52 @@
 package com.ecommerce.billing.adapter.in.messaging;
 
 import com.ecommerce.billing.application.port.in.ProcessPaymentCommand;
-import com.ecommerce.billing.application.port.in.ProcessPaymentUseCase;
+import com.ecommerce.billing.application.port.in.ProcessPaymentBatchUseCase;
+import com.ecommerce.billing.application.port.in.RefundPaymentsUseCase;
+import com.ecommerce.shared.infrastructure.messaging.KeyOrderedParallelProcessor;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.annotation.Observed;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
 @Component
 @Observed(name = "kafka.consumer", contextualName = "order-events-consumer")
 public class OrderEventConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderEventConsumer.class);
 
-    private final ProcessPaymentUseCase processPaymentUseCase;
+    private final ProcessPaymentBatchUseCase processPaymentBatchUseCase;
+    private final RefundPaymentsUseCase refundPaymentsUseCase;
+    private final KeyOrderedParallelProcessor parallelProcessor;
     private final ObjectMapper objectMapper;
+    private final int shards;
     private final Counter orderEventsProcessedCounter;
     private final Counter orderEventsFailedCounter;
 
-    public OrderEventConsumer(ProcessPaymentUseCase processPaymentUseCase,
+    public OrderEventConsumer(ProcessPaymentBatchUseCase processPaymentBatchUseCase,
+                             RefundPaymentsUseCase refundPaymentsUseCase,
+                             KeyOrderedParallelProcessor parallelProcessor,
                              ObjectMapper objectMapper,
-                             MeterRegistry meterRegistry) {
-        this.processPaymentUseCase = processPaymentUseCase;
+                             MeterRegistry meterRegistry,
+                             @Value("${billing.kafka.parallel.shards:8}") int shards) {
+        this.processPaymentBatchUseCase = processPaymentBatchUseCase;
+        this.refundPaymentsUseCase = refundPaymentsUseCase;
+        this.parallelProcessor = parallelProcessor;
         this.objectMapper = objectMapper;
+        this.shards = shards;
         this.orderEventsProcessedCounter = Counter.builder("billing.order.events.processed")
                 .description("Number of order events processed")
                 .register(meterRegistry);
@@ -43,57 +58,82 @@ public class OrderEventConsumer {
     @KafkaListener(
         topics = "order.events",
         groupId = "billing-service",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void handleOrderEvent(
-            @Payload String eventPayload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-
-        logger.info("Received order event from topic: {}, partition: {}, offset: {}, key: {}", 
-            topic, partition, offset, key);
-
-        try {
-            var orderEvent = objectMapper.readValue(eventPayload, OrderCreatedEventDto.class);
-            
-            // Only process OrderCreated events
-            if ("OrderCreated".equals(orderEvent.eventType())) {
-                processOrderCreatedEvent(orderEvent);
+    public void handleOrderEvents(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer) {
+        logger.info("Received batch of {} order events", records.size());
+
+        // Sub-batches keyed by orderId run in parallel, each in its own transaction
+        var outcome = parallelProcessor.processInShards(records, shards, this::processShard);
+
+        // Offsets committed per partition only up to the first failed record
+        parallelProcessor.commit(outcome, consumer);
+        logger.info("Order event batch processed. Records: {}, Failed partitions: {}", 
+            records.size(), outcome.retryFrom().size());
+    }
+
+    private void processShard(List<ConsumerRecord<String, String>> records) {
+        var commands = new ArrayList<ProcessPaymentCommand>(records.size());
+        var cancelledOrderIds = new LinkedHashSet<UUID>();
+        for (var record : records) {
+            try {
+                var event = objectMapper.readTree(record.value());
+                var eventType = event.path("eventType").asText(null);
+
+                if ("OrderCreated".equals(eventType)) {
+                    commands.add(toCommand(objectMapper.treeToValue(event, OrderCreatedEventDto.class)));
+                } else if ("OrderStatusChanged".equals(eventType)) {
+                    // Compensation: a cancelled order must not keep a captured payment
+                    var statusChanged = objectMapper.treeToValue(event, OrderStatusChangedEventDto.class);
+                    if ("CANCELLED".equals(statusChanged.status()) && statusChanged.aggregateId() != null) {
+                        cancelledOrderIds.add(statusChanged.aggregateId());
+                    }
+                } else {
+                    logger.debug("Ignoring event type: {} at offset: {}", eventType, record.offset());
+                }
+
+            } catch (JsonProcessingException ex) {
+                // Malformed messages are skipped so they don't block the rest of the batch
+                logger.error("Failed to deserialize order event. Partition: {}, Offset: {}, Payload: {}", 
+                    record.partition(), record.offset(), record.value(), ex);
+                orderEventsFailedCounter.increment();
+            }
+        }
+
+        // Exceptions escape on purpose: the shard is marked failed and redelivered
+        if (!commands.isEmpty()) {
+            processPayments(commands);
+        }
+        // After the payments: an OrderCreated and its cancellation may arrive in the same shard
+        if (!cancelledOrderIds.isEmpty()) {
+            var refunded = refundPaymentsUseCase.execute(cancelledOrderIds);
+            logger.info("Cancelled orders: {}, payments refunded: {}", cancelledOrderIds.size(), refunded);
+        }
+    }
+
+    private void processPayments(List<ProcessPaymentCommand> commands) {
+        var results = processPaymentBatchUseCase.execute(commands);
+
+        for (int i = 0; i < results.size(); i++) {
+            var result = results.get(i);
+            if (result.isSuccess()) {
                 orderEventsProcessedCounter.increment();
-                logger.info("Successfully processed OrderCreated event for order: {}", orderEvent.aggregateId());
             } else {
-                logger.debug("Ignoring event type: {} for order: {}", 
-                    orderEvent.eventType(), orderEvent.aggregateId());
+                orderEventsFailedCounter.increment();
+                logger.error("Failed to process payment for order: {}. Error: {}", 
+                    commands.get(i).orderId(), result.getErrorMessage());
             }
-
-            // Manual acknowledgment after successful processing
-            acknowledgment.acknowledge();
-
-        } catch (JsonProcessingException ex) {
-            logger.error("Failed to deserialize order event payload: {}", eventPayload, ex);
-            orderEventsFailedCounter.increment();
-            // Still acknowledge to avoid infinite retries for malformed messages
-            acknowledgment.acknowledge();
-            
-        } catch (Exception ex) {
-            logger.error("Failed to process order event. Payload: {}", eventPayload, ex);
-            orderEventsFailedCounter.increment();
-            // Could implement retry logic here or send to DLQ
-            acknowledgment.acknowledge();
         }
     }
 
-    private void processOrderCreatedEvent(OrderCreatedEventDto orderEvent) {
+    private ProcessPaymentCommand toCommand(OrderCreatedEventDto orderEvent) {
         // Generate idempotency key based on order ID
         String idempotencyKey = "order-" + orderEvent.aggregateId().toString();
         
         // Default payment method for MVP
         String defaultPaymentMethod = "CREDIT_CARD";
         
-        var command = new ProcessPaymentCommand(
+        return new ProcessPaymentCommand(
             orderEvent.aggregateId(),  // orderId
             orderEvent.customerId(),
             orderEvent.totalAmount(),
@@ -101,16 +141,5 @@ public class OrderEventConsumer {
             defaultPaymentMethod,
             idempotencyKey
         );
-
-        var result = processPaymentUseCase.execute(command);
-        
-        if (result.isFailure()) {
-            logger.error("Failed to process payment for order: {}. Error: {}", 
-                orderEvent.aggregateId(), result.getErrorMessage());
-            throw new RuntimeException("Payment processing failed: " + result.getErrorMessage());
-        }
-        
-        logger.info("Payment processed successfully for order: {}. Payment ID: {}", 
-            orderEvent.aggregateId(), result.getValue().paymentId());
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.ecommerce.billing.application.port.in.*;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -18,14 +19,18 @@ import java.util.UUID;
 public class PaymentController {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final GetPaymentByOrderUseCase getPaymentByOrderUseCase;
     private final GetPaymentsByCustomerUseCase getPaymentsByCustomerUseCase;
+    private final GetPaymentsByOrdersUseCase getPaymentsByOrdersUseCase;
 
     public PaymentController(GetPaymentByOrderUseCase getPaymentByOrderUseCase,
-                             GetPaymentsByCustomerUseCase getPaymentsByCustomerUseCase) {
+                             GetPaymentsByCustomerUseCase getPaymentsByCustomerUseCase,
+                             GetPaymentsByOrdersUseCase getPaymentsByOrdersUseCase) {
         this.getPaymentByOrderUseCase = getPaymentByOrderUseCase;
         this.getPaymentsByCustomerUseCase = getPaymentsByCustomerUseCase;
+        this.getPaymentsByOrdersUseCase = getPaymentsByOrdersUseCase;
     }
 
     @GetMapping("/payments/order/{orderId}")
@@ -55,13 +60,13 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/customers/{customerId}/payments")
-    @Operation(summary = "Get payments by customer", description = "Retrieves all payments for a specific customer")
-    public ResponseEntity<List<PaymentResponseDto>> getPaymentsByCustomer(@PathVariable UUID customerId) {
-        logger.info("Received request to get payments for customer: {}", customerId);
+    @PostMapping("/payments/by-orders")
+    @Operation(summary = "Get payments by order IDs",
+            description = "Retrieves the payments of several orders in one call; orders without payment are omitted")
+    public ResponseEntity<List<PaymentResponseDto>> getPaymentsByOrderIds(@Valid @RequestBody PaymentsByOrdersRequest request) {
+        logger.info("Received request to get payments for {} orders", request.orderIds().size());
 
-        var query = new GetPaymentsByCustomerQuery(customerId);
-        var payments = getPaymentsByCustomerUseCase.execute(query);
+        var payments = getPaymentsByOrdersUseCase.execute(new GetPaymentsByOrdersQuery(request.orderIds()));
 
         var response = payments.stream()
                 .map(payment -> new PaymentResponseDto(
@@ -78,4 +83,39 @@ public class PaymentController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/customers/{customerId}/payments")
+    @Operation(summary = "Get payments by customer",
+            description = "Retrieves a page of payments for a specific customer, newest first. " +
+                    "Pass the X-Next-Cursor header of the previous response as 'cursor' to get the next page")
+    public ResponseEntity<List<PaymentResponseDto>> getPaymentsByCustomer(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + GetPaymentsByCustomerQuery.DEFAULT_LIMIT) int size) {
+        logger.info("Received request to get payments for customer: {}", customerId);
+
+        var after = cursor != null && !cursor.isBlank() ? PaymentCursor.decode(cursor) : null;
+        var query = new GetPaymentsByCustomerQuery(customerId, after, size);
+        var page = getPaymentsByCustomerUseCase.execute(query);
+
+        var response = page.payments().stream()
+                .map(payment -> new PaymentResponseDto(
+                        payment.paymentId(),
+                        payment.orderId(),
+                        payment.paymentReference(),
+                        payment.amount(),
+                        payment.currency(),
+                        payment.status(),
+                        payment.paymentMethod(),
+                        payment.processedAt()
+                ))
+                .toList();
+
+        // Corpo continua sendo a lista (compatível com o BFF); o cursor vai no header
+        var builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+        }
+        return builder.body(response);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.billing.adapter.in.web;
+
+import com.ecommerce.billing.application.port.in.GetPaymentsByOrdersQuery;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request to look up the payments of several orders at once")
+public record PaymentsByOrdersRequest(
+    @NotEmpty(message = "Order IDs cannot be empty")
+    @Size(max = GetPaymentsByOrdersQuery.MAX_ORDER_IDS,
+          message = "At most " + GetPaymentsByOrdersQuery.MAX_ORDER_IDS + " order IDs per request")
+    @Schema(description = "Order IDs to look up")
+    List<@NotNull UUID> orderIds
+) {
+}
@@ -0,0 +1,238 @@
+package com.ecommerce.billing.adapter.out.gateway;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentGatewayPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Non-blocking client (JDK HttpClient.sendAsync): no thread waits on the socket. In-flight batch requests
+// are capped by the "payment-gateway" bulkhead, and every request is bounded by the request timeout.
+@Component
+@ConditionalOnProperty(name = "billing.gateway.mode", havingValue = "http")
+public class HttpPaymentGatewayAdapter implements PaymentGatewayPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpPaymentGatewayAdapter.class);
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final URI batchUri;
+    private final URI refundUri;
+    private final Duration requestTimeout;
+
+    public HttpPaymentGatewayAdapter(ObjectMapper objectMapper,
+                                     BulkheadRegistry bulkheadRegistry,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${billing.gateway.url}") String gatewayUrl,
+                                     @Value("${billing.gateway.connect-timeout-ms:1000}") long connectTimeoutMs,
+                                     @Value("${billing.gateway.request-timeout-ms:3000}") long requestTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.bulkhead = bulkheadRegistry.bulkhead("payment-gateway");
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("billing.gateway.batch.size")
+                .description("Payments per gateway authorization request")
+                .register(meterRegistry);
+        this.batchUri = URI.create(gatewayUrl.replaceAll("/+$", "") + "/authorizations/batch");
+        this.refundUri = URI.create(gatewayUrl.replaceAll("/+$", "") + "/refunds");
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<List<PaymentAuthorization>> authorizeBatch(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        batchSize.record(payments.size());
+        var sample = Timer.start(meterRegistry);
+        // Called from the batcher's scheduler thread: waiting for a bulkhead permit (max-wait-duration)
+        // happens on a virtual thread so a full bulkhead doesn't hold back the flush of other batches
+        return CompletableFuture.supplyAsync(() -> bulkhead.executeCompletionStage(() -> send(payments)), executor)
+                .thenCompose(Function.identity())
+                .handle((authorizations, error) -> {
+                    sample.stop(Timer.builder("billing.gateway.authorization.duration")
+                            .description("Payment gateway batch authorization round-trip")
+                            .tag("outcome", error != null ? "error" : "success")
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+                    if (error != null) {
+                        throw new CompletionException(unavailable(payments.size(), unwrap(error)));
+                    }
+                    return authorizations;
+                });
+    }
+
+    private CompletableFuture<List<PaymentAuthorization>> send(List<Payment> payments) {
+        HttpRequest request;
+        try {
+            // Each item carries its own idempotency key: the gateway must not authorize a payment twice on retry
+            var body = new BatchRequest(payments.stream()
+                    .map(payment -> new AuthorizationRequest(payment.getPaymentReference(), payment.getIdempotencyKey(),
+                            payment.getAmount(), payment.getCurrency(), payment.getPaymentMethod().name()))
+                    .toList());
+            request = HttpRequest.newBuilder(batchUri)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> toAuthorizations(payments, response));
+    }
+
+    private List<PaymentAuthorization> toAuthorizations(List<Payment> payments, HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Gateway responded with status " + response.statusCode());
+        }
+        BatchResponse body;
+        try {
+            body = objectMapper.readValue(response.body(), BatchResponse.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Malformed gateway response", ex);
+        }
+
+        // Results are matched by payment reference; payments the gateway left out get no authorization
+        var results = body.results() != null ? body.results() : List.<AuthorizationResponse>of();
+        var byReference = results.stream()
+                .collect(Collectors.toMap(AuthorizationResponse::paymentReference, Function.identity(), (first, second) -> first));
+        var authorizations = new ArrayList<PaymentAuthorization>(payments.size());
+        for (var payment : payments) {
+            var result = byReference.get(payment.getPaymentReference());
+            if (result == null) {
+                logger.warn("Gateway returned no result for payment: {}", payment.getId());
+                continue;
+            }
+            authorizations.add(result.approved()
+                    ? PaymentAuthorization.approved(payment.getId(), result.authorizationCode())
+                    : PaymentAuthorization.declined(payment.getId(), result.declineReason()));
+        }
+        return authorizations;
+    }
+
+    @Override
+    public CompletableFuture<String> refund(Payment payment) {
+        HttpRequest request;
+        try {
+            // Same key on every retry: the gateway returns the existing refund instead of refunding twice
+            var body = new RefundRequest(payment.getPaymentReference(), payment.getAuthorizationCode(),
+                    "refund-" + payment.getIdempotencyKey(), payment.getAmount(), payment.getCurrency());
+            request = HttpRequest.newBuilder(refundUri)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        return CompletableFuture.supplyAsync(() -> bulkhead.executeCompletionStage(
+                        () -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())), executor)
+                .thenCompose(Function.identity())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new CompletionException(unavailable(1, unwrap(error)));
+                    }
+                    return toRefundReference(response);
+                });
+    }
+
+    private String toRefundReference(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new BusinessException("PAYMENT_REFUND_FAILED",
+                    "Gateway refused the refund with status " + response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), RefundResponse.class).refundReference();
+        } catch (IOException ex) {
+            throw new BusinessException("PAYMENT_REFUND_FAILED", "Malformed gateway refund response", ex);
+        }
+    }
+
+    private BusinessException unavailable(int payments, Throwable error) {
+        if (error instanceof BulkheadFullException) {
+            logger.warn("Payment gateway bulkhead full, {} payments stay pending", payments);
+            return new BusinessException("PAYMENT_GATEWAY_BUSY", "Payment gateway at capacity", error);
+        }
+        if (error instanceof HttpTimeoutException) {
+            logger.warn("Payment gateway timed out for a batch of {} payments", payments);
+            return new BusinessException("PAYMENT_GATEWAY_TIMEOUT", "Payment gateway timed out", error);
+        }
+        logger.warn("Payment gateway call failed for a batch of {} payments", payments, error);
+        return new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE", "Payment gateway unavailable", error);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.close();
+        executor.close();
+    }
+
+    record AuthorizationRequest(String paymentReference, String idempotencyKey, BigDecimal amount,
+                                String currency, String paymentMethod) {
+    }
+
+    record BatchRequest(List<AuthorizationRequest> authorizations) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record AuthorizationResponse(String paymentReference, boolean approved, String authorizationCode,
+                                 String declineReason) {
+    }
+
+    record RefundRequest(String paymentReference, String authorizationCode, String idempotencyKey,
+                         BigDecimal amount, String currency) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RefundResponse(String refundReference) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BatchResponse(List<AuthorizationResponse> results) {
+    }
+}
@@ -3,78 +3,33 @@ package com.ecommerce.billing.adapter.out.messaging;
 import com.ecommerce.billing.application.port.out.PaymentEventPublisherPort;
 import com.ecommerce.billing.domain.event.PaymentCompletedEvent;
 import com.ecommerce.billing.domain.event.PaymentFailedEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.micrometer.observation.ObservationRegistry;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import com.ecommerce.billing.domain.event.PaymentRefundedEvent;
+import com.ecommerce.shared.infrastructure.outbox.OutboxWriter;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.CompletableFuture;
-
 @Component
 public class PaymentEventPublisherAdapter implements PaymentEventPublisherPort {
 
-    private static final Logger logger = LoggerFactory.getLogger(PaymentEventPublisherAdapter.class);
     private static final String BILLING_EVENTS_TOPIC = "billing.events";
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
-    private final ObservationRegistry observationRegistry;
-
-    public PaymentEventPublisherAdapter(KafkaTemplate<String, String> kafkaTemplate,
-                                      ObjectMapper objectMapper,
-                                      ObservationRegistry observationRegistry) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
-        this.observationRegistry = observationRegistry;
+    private final OutboxWriter outboxWriter;
 
-        // Configurar observação no KafkaTemplate
-        this.kafkaTemplate.setObservationEnabled(true);
+    public PaymentEventPublisherAdapter(OutboxWriter outboxWriter) {
+        this.outboxWriter = outboxWriter;
     }
 
     @Override
     public void publishPaymentCompleted(PaymentCompletedEvent event) {
-        publishEvent(event, "PaymentCompleted");
+        outboxWriter.append(BILLING_EVENTS_TOPIC, event.orderId().toString(), "PaymentCompleted", event);
     }
 
     @Override
     public void publishPaymentFailed(PaymentFailedEvent event) {
-        publishEvent(event, "PaymentFailed");
-    }
-
-    private void publishEvent(Object event, String eventType) {
-        try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            String key = extractKeyFromEvent(event);
-
-            CompletableFuture<SendResult<String, String>> future = 
-                kafkaTemplate.send(BILLING_EVENTS_TOPIC, key, eventJson);
-
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    logger.info("{} event published successfully. Topic: {}, Key: {}, Offset: {}", 
-                        eventType, BILLING_EVENTS_TOPIC, key, result.getRecordMetadata().offset());
-                } else {
-                    logger.error("Failed to publish {} event. Topic: {}, Key: {}", 
-                        eventType, BILLING_EVENTS_TOPIC, key, ex);
-                }
-            });
-
-        } catch (JsonProcessingException ex) {
-            logger.error("Failed to serialize {} event", eventType, ex);
-            throw new RuntimeException("Failed to publish event", ex);
-        }
+        outboxWriter.append(BILLING_EVENTS_TOPIC, event.orderId().toString(), "PaymentFailed", event);
     }
 
-    private String extractKeyFromEvent(Object event) {
-        if (event instanceof PaymentCompletedEvent completedEvent) {
-            return completedEvent.orderId().toString();
-        } else if (event instanceof PaymentFailedEvent failedEvent) {
-            return failedEvent.orderId().toString();
-        }
-        return "unknown";
+    @Override
+    public void publishPaymentRefunded(PaymentRefundedEvent event) {
+        outboxWriter.append(BILLING_EVENTS_TOPIC, event.orderId().toString(), "PaymentRefunded", event);
     }
-}
\ No newline at end of file
+}
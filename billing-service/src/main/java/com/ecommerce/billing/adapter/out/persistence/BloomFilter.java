@@ -0,0 +1,111 @@
+package com.ecommerce.billing.adapter.out.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free Bloom filter: no false negatives, so "absent" is answered without touching the database.
+// k positions come from double hashing (h1 + i*h2) over one 64-bit hash.
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long bitCount, int hashCount, long capacity) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k, n);
+    }
+
+    void put(String value) {
+        put(hash(value));
+    }
+
+    void put(UUID value) {
+        put(hash(value));
+    }
+
+    boolean mightContain(String value) {
+        return mightContain(hash(value));
+    }
+
+    boolean mightContain(UUID value) {
+        return mightContain(hash(value));
+    }
+
+    // Distinct values added (approximate - a value whose bits were all set already is not counted)
+    long size() {
+        return insertions.sum();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    private void put(long hash) {
+        long h2 = mix64(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            changed |= setBit(Math.floorMod(hash + i * h2, bitCount));
+        }
+        if (changed) {
+            insertions.increment();
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        long h2 = mix64(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * h2, bitCount);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the UTF-8 bytes, finalized with the murmur3 mixer
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    private static long hash(UUID value) {
+        return mix64(value.getMostSignificantBits() ^ mix64(value.getLeastSignificantBits()));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,217 @@
+package com.ecommerce.billing.adapter.out.persistence;
+
+import com.ecommerce.billing.application.port.out.PaymentIdempotencyPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Bloom filters of seen idempotency keys and order ids, rebuilt from the payments table at startup,
+// updated on insert and refreshed with rows written by other replicas. A negative answer skips the query;
+// the unique constraints on payments remain the authority for the short cross-replica window.
+@Component
+public class PaymentIdempotencyAdapter implements PaymentIdempotencyPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIdempotencyAdapter.class);
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    // Tolerância para clock skew entre réplicas (createdAt vem do relógio de quem inseriu)
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final PaymentJpaRepository jpaRepository;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final Cache<String, Payment> recentPayments;
+
+    private final Counter cacheHits;
+    private final Counter filterNegatives;
+    private final Counter databaseHits;
+    private final Counter falsePositives;
+
+    // null until the first rebuild completes - every check goes to the database meanwhile
+    private volatile Filters filters;
+    private volatile Filters building;
+    private volatile LocalDateTime lastRefresh;
+
+    public PaymentIdempotencyAdapter(PaymentJpaRepository jpaRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${billing.idempotency.expected-keys:1000000}") long expectedKeys,
+                                     @Value("${billing.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+                                     @Value("${billing.idempotency.cache-size:10000}") long cacheSize) {
+        this.jpaRepository = jpaRepository;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.recentPayments = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recentPayments, "payment-idempotency");
+        Gauge.builder("billing.idempotency.filter.size", this, adapter -> {
+                    var current = adapter.filters;
+                    return current != null ? current.keys().size() : 0;
+                })
+                .description("Idempotency keys in the Bloom filter")
+                .register(meterRegistry);
+        this.cacheHits = lookupCounter(meterRegistry, "cache");
+        this.filterNegatives = lookupCounter(meterRegistry, "filter_negative");
+        this.databaseHits = lookupCounter(meterRegistry, "db_hit");
+        this.falsePositives = lookupCounter(meterRegistry, "db_miss");
+    }
+
+    @Override
+    public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
+        var cached = recentPayments.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            cacheHits.increment();
+            return Optional.of(cached);
+        }
+
+        var current = filters;
+        if (current != null && !current.keys().mightContain(idempotencyKey)) {
+            filterNegatives.increment();
+            return Optional.empty();
+        }
+
+        var payment = jpaRepository.findByIdempotencyKey(idempotencyKey);
+        if (payment.isPresent()) {
+            databaseHits.increment();
+            recentPayments.put(idempotencyKey, payment.get());
+        } else {
+            falsePositives.increment();
+        }
+        return payment;
+    }
+
+    @Override
+    public boolean existsByOrderId(UUID orderId) {
+        var current = filters;
+        if (current != null && !current.orders().mightContain(orderId)) {
+            filterNegatives.increment();
+            return false;
+        }
+
+        var exists = jpaRepository.existsByOrderId(orderId);
+        (exists ? databaseHits : falsePositives).increment();
+        return exists;
+    }
+
+    @Override
+    public void registerAll(Collection<Payment> payments) {
+        // Filtros são atualizados já: um rollback só gera um falso positivo (consulta ao banco)
+        for (var payment : payments) {
+            add(filters, payment.getIdempotencyKey(), payment.getOrderId());
+            add(building, payment.getIdempotencyKey(), payment.getOrderId());
+        }
+        // O cache de resultados só recebe pagamentos commitados
+        afterCommit(() -> payments.forEach(payment -> recentPayments.put(payment.getIdempotencyKey(), payment)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var startedAt = LocalDateTime.now();
+        var total = jpaRepository.count();
+        var next = new Filters(
+                BloomFilter.create(Math.max(expectedKeys, total * 2), falsePositiveRate),
+                BloomFilter.create(Math.max(expectedKeys, total * 2), falsePositiveRate));
+        building = next;
+
+        try {
+            // Keyset pagination over the UUIDv7 id
+            var afterId = MIN_UUID;
+            List<PaymentIdempotencyEntry> page;
+            do {
+                page = jpaRepository.findIdempotencyEntriesAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                page.forEach(entry -> add(next, entry.idempotencyKey(), entry.orderId()));
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            filters = next;
+            lastRefresh = startedAt;
+            logger.info("Idempotency filters rebuilt with {} payments (capacity {})",
+                    next.keys().size(), next.keys().capacity());
+        } catch (Exception ex) {
+            logger.error("Failed to rebuild idempotency filters, checks stay on the database", ex);
+        } finally {
+            building = null;
+        }
+    }
+
+    // Picks up payments inserted by other replicas
+    @Scheduled(fixedDelayString = "${billing.idempotency.refresh-interval-ms:5000}")
+    public void refresh() {
+        var current = filters;
+        if (current == null || lastRefresh == null) {
+            return;
+        }
+
+        if (current.keys().size() > current.keys().capacity()) {
+            logger.warn("Idempotency filter over capacity ({} keys), rebuilding", current.keys().size());
+            rebuild();
+            return;
+        }
+
+        try {
+            var startedAt = LocalDateTime.now();
+            jpaRepository.findIdempotencyEntriesCreatedSince(lastRefresh.minus(REFRESH_OVERLAP))
+                    .forEach(entry -> add(current, entry.idempotencyKey(), entry.orderId()));
+            lastRefresh = startedAt;
+        } catch (Exception ex) {
+            logger.warn("Failed to refresh idempotency filters", ex);
+        }
+    }
+
+    private static void add(Filters target, String idempotencyKey, UUID orderId) {
+        if (target != null) {
+            target.keys().put(idempotencyKey);
+            target.orders().put(orderId);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("billing.idempotency.lookups")
+                .description("Idempotency checks by where they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Filters(BloomFilter keys, BloomFilter orders) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.billing.adapter.out.persistence;
+
+import java.util.UUID;
+
+// Projection used to (re)build the idempotency filters without loading whole payments
+public record PaymentIdempotencyEntry(UUID id, String idempotencyKey, UUID orderId) {
+}
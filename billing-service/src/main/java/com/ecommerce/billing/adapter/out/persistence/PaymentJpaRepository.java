@@ -1,11 +1,17 @@
 package com.ecommerce.billing.adapter.out.persistence;
 
+import com.ecommerce.billing.application.port.out.PaymentHistoryView;
 import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,10 +21,56 @@ public interface PaymentJpaRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByOrderId(UUID orderId);
     
+    @Query("SELECT p FROM Payment p WHERE p.orderId IN :orderIds")
+    List<Payment> findByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+    
     Optional<Payment> findByIdempotencyKey(String idempotencyKey);
     
-    @Query("SELECT p FROM Payment p WHERE p.customerId = :customerId ORDER BY p.createdAt DESC")
-    List<Payment> findByCustomerIdOrderByCreatedAtDesc(@Param("customerId") UUID customerId);
+    @Query("SELECT p FROM Payment p WHERE p.idempotencyKey IN :idempotencyKeys")
+    List<Payment> findByIdempotencyKeyIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+    
+    // Oldest first, served by idx_payments_status_created
+    @Query("SELECT p FROM Payment p WHERE p.status = :status AND p.createdAt < :createdBefore ORDER BY p.createdAt")
+    List<Payment> findByStatusCreatedBefore(@Param("status") PaymentStatus status,
+                                            @Param("createdBefore") LocalDateTime createdBefore,
+                                            Limit limit);
+    
+    String VIEW_SELECT = "SELECT new com.ecommerce.billing.application.port.out.PaymentHistoryView(" +
+            "p.id, p.orderId, p.paymentReference, p.amount, p.currency, p.status, p.paymentMethod, " +
+            "p.processedAt, p.createdAt) FROM Payment p ";
+    
+    // order_id is unique, so at most one row per id
+    @Query(VIEW_SELECT + "WHERE p.orderId IN :orderIds")
+    List<PaymentHistoryView> findViewsByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+    
+    // Served by idx_payments_customer_created (customer_id, created_at DESC, id DESC)
+    @Query(VIEW_SELECT +
+           "WHERE p.customerId = :customerId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentHistoryView> findFirstPage(@Param("customerId") UUID customerId, Limit limit);
+    
+    // createdAt <= :afterCreatedAt is the index range condition (the scan starts at the cursor);
+    // the OR only drops rows already returned with the same createdAt
+    @Query(VIEW_SELECT +
+           "WHERE p.customerId = :customerId " +
+           "AND p.createdAt <= :afterCreatedAt " +
+           "AND (p.createdAt < :afterCreatedAt OR p.id < :afterId) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentHistoryView> findPageAfter(@Param("customerId") UUID customerId,
+                                           @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                           @Param("afterId") UUID afterId,
+                                           Limit limit);
     
     boolean existsByOrderId(UUID orderId);
-}
\ No newline at end of file
+    
+    @Query("SELECT p.orderId FROM Payment p WHERE p.orderId IN :orderIds")
+    List<UUID> findOrderIdsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+    
+    @Query("SELECT new com.ecommerce.billing.adapter.out.persistence.PaymentIdempotencyEntry(p.id, p.idempotencyKey, p.orderId) " +
+           "FROM Payment p WHERE p.id > :afterId ORDER BY p.id")
+    List<PaymentIdempotencyEntry> findIdempotencyEntriesAfter(@Param("afterId") UUID afterId, Pageable pageable);
+    
+    @Query("SELECT new com.ecommerce.billing.adapter.out.persistence.PaymentIdempotencyEntry(p.id, p.idempotencyKey, p.orderId) " +
+           "FROM Payment p WHERE p.createdAt >= :since")
+    List<PaymentIdempotencyEntry> findIdempotencyEntriesCreatedSince(@Param("since") LocalDateTime since);
+}
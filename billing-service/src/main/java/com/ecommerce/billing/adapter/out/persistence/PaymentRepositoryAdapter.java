@@ -1,11 +1,18 @@
 package com.ecommerce.billing.adapter.out.persistence;
 
+import com.ecommerce.billing.application.port.out.PaymentHistoryView;
 import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
 import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
@@ -22,28 +29,82 @@ public class PaymentRepositoryAdapter implements PaymentRepositoryPort {
         return jpaRepository.save(payment);
     }
 
+    @Override
+    public List<Payment> saveAll(List<Payment> payments) {
+        return jpaRepository.saveAll(payments);
+    }
+
     @Override
     public Optional<Payment> findById(UUID id) {
         return jpaRepository.findById(id);
     }
 
+    @Override
+    public List<Payment> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllById(ids);
+    }
+
     @Override
     public Optional<Payment> findByOrderId(UUID orderId) {
         return jpaRepository.findByOrderId(orderId);
     }
 
+    @Override
+    public List<PaymentHistoryView> findByOrderIds(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findViewsByOrderIds(orderIds);
+    }
+
+    @Override
+    public List<Payment> findAllByOrderIds(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findByOrderIdIn(orderIds);
+    }
+
     @Override
     public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
         return jpaRepository.findByIdempotencyKey(idempotencyKey);
     }
 
     @Override
-    public List<Payment> findByCustomerId(UUID customerId) {
-        return jpaRepository.findByCustomerIdOrderByCreatedAtDesc(customerId);
+    public List<Payment> findByIdempotencyKeys(Collection<String> idempotencyKeys) {
+        if (idempotencyKeys.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findByIdempotencyKeyIn(idempotencyKeys);
+    }
+
+    @Override
+    public List<PaymentHistoryView> findPageByCustomerId(UUID customerId, LocalDateTime afterCreatedAt,
+                                                         UUID afterId, int limit) {
+        if (afterCreatedAt == null) {
+            return jpaRepository.findFirstPage(customerId, Limit.of(limit));
+        }
+        return jpaRepository.findPageAfter(customerId, afterCreatedAt, afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<Payment> findStalePending(LocalDateTime createdBefore, int limit) {
+        return jpaRepository.findByStatusCreatedBefore(PaymentStatus.PENDING, createdBefore, Limit.of(limit));
     }
 
     @Override
     public boolean existsByOrderId(UUID orderId) {
         return jpaRepository.existsByOrderId(orderId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<UUID> findOrderIdsWithPayment(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jpaRepository.findOrderIdsByOrderIdIn(orderIds));
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.billing.application.port.in;
+
+import java.util.List;
+
+public record CustomerPaymentsPage(
+    List<GetPaymentResponse> payments,
+    PaymentCursor nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // A page with a PENDING payment changes when it completes - not cached
+    public boolean hasPending() {
+        return payments.stream().anyMatch(payment -> "PENDING".equals(payment.status()));
+    }
+}
@@ -3,6 +3,27 @@ package com.ecommerce.billing.application.port.in;
 import java.util.UUID;
 
 public record GetPaymentsByCustomerQuery(
-    UUID customerId
+    UUID customerId,
+    PaymentCursor after,
+    int limit
 ) {
-}
\ No newline at end of file
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public GetPaymentsByCustomerQuery {
+        limit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    // Primeira página (só tamanho padrão, chave = customerId) é invalidada quando um pagamento do cliente muda;
+    // páginas seguintes ficam atrás do cursor, onde pagamentos novos nunca aparecem
+    public boolean isCacheable() {
+        return after != null || limit == DEFAULT_LIMIT;
+    }
+
+    public String cacheKey() {
+        return after == null
+            ? customerId.toString()
+            : customerId + ":" + after.createdAt() + ":" + after.paymentId() + ":" + limit;
+    }
+}
@@ -1,8 +1,6 @@
 package com.ecommerce.billing.application.port.in;
 
-import java.util.List;
-
 public interface GetPaymentsByCustomerUseCase {
 
-    List<GetPaymentResponse> execute(GetPaymentsByCustomerQuery query);
-}
\ No newline at end of file
+    CustomerPaymentsPage execute(GetPaymentsByCustomerQuery query);
+}
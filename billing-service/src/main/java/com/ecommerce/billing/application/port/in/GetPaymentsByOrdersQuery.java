@@ -0,0 +1,11 @@
+package com.ecommerce.billing.application.port.in;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GetPaymentsByOrdersQuery(
+    List<UUID> orderIds
+) {
+
+    public static final int MAX_ORDER_IDS = 500;
+}
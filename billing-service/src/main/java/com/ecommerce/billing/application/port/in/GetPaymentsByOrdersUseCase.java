@@ -0,0 +1,9 @@
+package com.ecommerce.billing.application.port.in;
+
+import java.util.List;
+
+public interface GetPaymentsByOrdersUseCase {
+
+    // Orders without payment are simply absent from the result
+    List<GetPaymentResponse> execute(GetPaymentsByOrdersQuery query);
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.billing.application.port.in;
+
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset position (created_at, id) of the last payment returned; opaque to clients
+public record PaymentCursor(
+    LocalDateTime createdAt,
+    UUID paymentId
+) {
+
+    public String encode() {
+        var raw = createdAt + "|" + paymentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PaymentCursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf('|');
+            return new PaymentCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new BusinessException("INVALID_CURSOR", "Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.billing.application.port.in;
+
+import com.ecommerce.shared.domain.common.Result;
+
+import java.util.List;
+
+public interface ProcessPaymentBatchUseCase {
+
+    // One result per command, in the same order
+    List<Result<ProcessPaymentResponse>> execute(List<ProcessPaymentCommand> commands);
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.billing.application.port.in;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface RefundPaymentsUseCase {
+
+    // Refunds the captured payments of cancelled orders; returns how many were refunded by this call
+    int execute(Collection<UUID> cancelledOrderIds);
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.billing.application.port.out;
+
+import java.util.UUID;
+
+public record PaymentAuthorization(
+    UUID paymentId,
+    boolean approved,
+    String authorizationCode,
+    String declineReason
+) {
+
+    public static PaymentAuthorization approved(UUID paymentId, String authorizationCode) {
+        return new PaymentAuthorization(paymentId, true, authorizationCode, null);
+    }
+
+    public static PaymentAuthorization declined(UUID paymentId, String declineReason) {
+        return new PaymentAuthorization(paymentId, false, null, declineReason);
+    }
+}
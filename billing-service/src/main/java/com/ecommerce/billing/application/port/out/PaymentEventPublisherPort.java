@@ -2,10 +2,13 @@ package com.ecommerce.billing.application.port.out;
 
 import com.ecommerce.billing.domain.event.PaymentCompletedEvent;
 import com.ecommerce.billing.domain.event.PaymentFailedEvent;
+import com.ecommerce.billing.domain.event.PaymentRefundedEvent;
 
 public interface PaymentEventPublisherPort {
     
     void publishPaymentCompleted(PaymentCompletedEvent event);
     
     void publishPaymentFailed(PaymentFailedEvent event);
+    
+    void publishPaymentRefunded(PaymentRefundedEvent event);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.ecommerce.billing.application.port.out;
+
+import com.ecommerce.billing.domain.model.Payment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentGatewayPort {
+
+    // One gateway request for the whole batch, one authorization per payment (matched by paymentId).
+    // Non-blocking: completes exceptionally with a BusinessException when the gateway is unavailable,
+    // times out or the in-flight limit is reached - the payments must then stay PENDING
+    CompletableFuture<List<PaymentAuthorization>> authorizeBatch(List<Payment> payments);
+
+    // Returns the captured amount of a COMPLETED payment; completes with the gateway's refund reference.
+    // Idempotent on the gateway side (keyed by the payment's idempotency key), so a redelivered refund is safe
+    CompletableFuture<String> refund(Payment payment);
+}
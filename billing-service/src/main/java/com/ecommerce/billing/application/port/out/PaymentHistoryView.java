@@ -0,0 +1,22 @@
+package com.ecommerce.billing.application.port.out;
+
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Projeção da listagem por cliente - sem entidade, sem dirty checking
+public record PaymentHistoryView(
+    UUID id,
+    UUID orderId,
+    String paymentReference,
+    BigDecimal amount,
+    String currency,
+    PaymentStatus status,
+    PaymentMethod paymentMethod,
+    LocalDateTime processedAt,
+    LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.billing.application.port.out;
+
+import com.ecommerce.billing.domain.model.Payment;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+// Duplicate checks on the payment hot path; the database is only consulted when a key may have been seen
+public interface PaymentIdempotencyPort {
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    boolean existsByOrderId(UUID orderId);
+
+    void registerAll(Collection<Payment> payments);
+}
@@ -2,21 +2,40 @@ package com.ecommerce.billing.application.port.out;
 
 import com.ecommerce.billing.domain.model.Payment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface PaymentRepositoryPort {
     
     Payment save(Payment payment);
     
+    List<Payment> saveAll(List<Payment> payments);
+    
     Optional<Payment> findById(UUID id);
     
+    List<Payment> findAllById(Collection<UUID> ids);
+    
     Optional<Payment> findByOrderId(UUID orderId);
     
+    List<PaymentHistoryView> findByOrderIds(Collection<UUID> orderIds);
+    
+    List<Payment> findAllByOrderIds(Collection<UUID> orderIds);
+    
     Optional<Payment> findByIdempotencyKey(String idempotencyKey);
     
-    List<Payment> findByCustomerId(UUID customerId);
+    List<Payment> findByIdempotencyKeys(Collection<String> idempotencyKeys);
+    
+    // Keyset page, newest first; afterCreatedAt/afterId null for the first page
+    List<PaymentHistoryView> findPageByCustomerId(UUID customerId, LocalDateTime afterCreatedAt, UUID afterId, int limit);
+    
+    // PENDING payments created before the given time, oldest first
+    List<Payment> findStalePending(LocalDateTime createdBefore, int limit);
     
     boolean existsByOrderId(UUID orderId);
+    
+    Set<UUID> findOrderIdsWithPayment(Collection<UUID> orderIds);
 }
\ No newline at end of file
@@ -1,16 +1,17 @@
 package com.ecommerce.billing.application.service;
 
+import com.ecommerce.billing.application.port.in.CustomerPaymentsPage;
 import com.ecommerce.billing.application.port.in.GetPaymentResponse;
 import com.ecommerce.billing.application.port.in.GetPaymentsByCustomerQuery;
 import com.ecommerce.billing.application.port.in.GetPaymentsByCustomerUseCase;
+import com.ecommerce.billing.application.port.in.PaymentCursor;
+import com.ecommerce.billing.application.port.out.PaymentHistoryView;
 import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class GetPaymentsByCustomerService implements GetPaymentsByCustomerUseCase {
 
@@ -23,26 +24,44 @@ public class GetPaymentsByCustomerService implements GetPaymentsByCustomerUseCas
     }
 
     @Override
-    @Cacheable(value = "payment-methods", key = "#query.customerId()")
-    public List<GetPaymentResponse> execute(GetPaymentsByCustomerQuery query) {
-        logger.info("Getting payments for customer from database: {}", query.customerId());
-        
-        var payments = paymentRepository.findByCustomerId(query.customerId());
-        
-        var response = payments.stream()
-            .map(payment -> new GetPaymentResponse(
-                payment.getId(),
-                payment.getOrderId(),
-                payment.getPaymentReference(),
-                payment.getAmount(),
-                payment.getCurrency(),
-                payment.getStatus().name(),
-                payment.getPaymentMethod().name(),
-                payment.getProcessedAt()
-            ))
+    @Cacheable(value = "customer-payments", key = "#query.cacheKey()",
+               condition = "#query.isCacheable()", unless = "#result.hasPending()")
+    public CustomerPaymentsPage execute(GetPaymentsByCustomerQuery query) {
+        logger.info("Getting payments page for customer from database: {}", query.customerId());
+
+        var after = query.after();
+        // Pede um a mais só para saber se existe próxima página
+        var rows = paymentRepository.findPageByCustomerId(
+            query.customerId(),
+            after != null ? after.createdAt() : null,
+            after != null ? after.paymentId() : null,
+            query.limit() + 1
+        );
+
+        var hasNext = rows.size() > query.limit();
+        var page = hasNext ? rows.subList(0, query.limit()) : rows;
+
+        var payments = page.stream()
+            .map(GetPaymentsByCustomerService::toResponse)
             .toList();
-        
-        logger.info("Found {} payments for customer: {}", response.size(), query.customerId());
-        return response;
+
+        var last = page.isEmpty() ? null : page.get(page.size() - 1);
+        var nextCursor = hasNext ? new PaymentCursor(last.createdAt(), last.id()) : null;
+
+        logger.info("Found {} payments for customer: {} (hasNext: {})", payments.size(), query.customerId(), hasNext);
+        return new CustomerPaymentsPage(payments, nextCursor);
+    }
+
+    static GetPaymentResponse toResponse(PaymentHistoryView payment) {
+        return new GetPaymentResponse(
+            payment.id(),
+            payment.orderId(),
+            payment.paymentReference(),
+            payment.amount(),
+            payment.currency(),
+            payment.status().name(),
+            payment.paymentMethod().name(),
+            payment.processedAt()
+        );
     }
-}
\ No newline at end of file
+}
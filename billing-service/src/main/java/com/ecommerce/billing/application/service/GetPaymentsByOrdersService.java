@@ -0,0 +1,71 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.in.GetPaymentResponse;
+import com.ecommerce.billing.application.port.in.GetPaymentsByOrdersQuery;
+import com.ecommerce.billing.application.port.in.GetPaymentsByOrdersUseCase;
+import com.ecommerce.billing.application.port.out.PaymentHistoryView;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class GetPaymentsByOrdersService implements GetPaymentsByOrdersUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(GetPaymentsByOrdersService.class);
+
+    private final PaymentRepositoryPort paymentRepository;
+    private final CacheManager cacheManager;
+
+    public GetPaymentsByOrdersService(PaymentRepositoryPort paymentRepository, CacheManager cacheManager) {
+        this.paymentRepository = paymentRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public List<GetPaymentResponse> execute(GetPaymentsByOrdersQuery query) {
+        var orderIds = new LinkedHashSet<>(query.orderIds());
+        var cache = cacheManager.getCache("payments");
+
+        // Mesmo cache/chave do GetPaymentByOrderService: entrada nula = pedido sem pagamento
+        var found = new ArrayList<GetPaymentResponse>(orderIds.size());
+        var misses = new ArrayList<UUID>();
+        for (var orderId : orderIds) {
+            var cached = cache != null ? cache.get(orderId) : null;
+            if (cached == null) {
+                misses.add(orderId);
+            } else if (cached.get() instanceof GetPaymentResponse payment) {
+                found.add(payment);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            // Um único SELECT ... WHERE order_id IN (...) para tudo que não estava no cache
+            var loaded = paymentRepository.findByOrderIds(misses).stream()
+                .collect(Collectors.toMap(PaymentHistoryView::orderId, Function.identity()));
+
+            for (var orderId : misses) {
+                var row = loaded.get(orderId);
+                var payment = row != null ? GetPaymentsByCustomerService.toResponse(row) : null;
+                if (cache != null) {
+                    cache.put(orderId, payment);
+                }
+                if (payment != null) {
+                    found.add(payment);
+                }
+            }
+        }
+
+        logger.info("Payments lookup for {} orders - cache hits: {}, loaded: {}, found: {}",
+            orderIds.size(), orderIds.size() - misses.size(), misses.size(), found.size());
+        return found;
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentGatewayPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Micro-batching stage in front of the gateway: authorizations from concurrent callers are collected
+// until max-size payments or max-delay-ms after the first one, then sent as one authorizeBatch.
+// max-delay-ms is the latency ceiling the batching adds to a single payment.
+@Service
+public class PaymentAuthorizationBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAuthorizationBatcher.class);
+
+    private final PaymentGatewayPort paymentGateway;
+    private final int maxBatchSize;
+    private final long maxDelayMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "payment-authorization-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<PendingAuthorization> current = new ArrayList<>();
+
+    public PaymentAuthorizationBatcher(PaymentGatewayPort paymentGateway,
+                                       @Value("${billing.gateway.batch.max-size:50}") int maxBatchSize,
+                                       @Value("${billing.gateway.batch.max-delay-ms:5}") long maxDelayMs) {
+        this.paymentGateway = paymentGateway;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxDelayMs = Math.max(0, maxDelayMs);
+    }
+
+    public CompletableFuture<PaymentAuthorization> authorize(Payment payment) {
+        var pending = new PendingAuthorization(payment, new CompletableFuture<>());
+        if (maxBatchSize == 1 || maxDelayMs == 0) {
+            submit(List.of(pending));
+            return pending.result();
+        }
+
+        List<PendingAuthorization> full = null;
+        lock.lock();
+        try {
+            current.add(pending);
+            if (current.size() == 1) {
+                // Timer belongs to this batch: it is a no-op if the batch was already sent for being full
+                var batch = current;
+                scheduler.schedule(() -> flush(batch), maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+            if (current.size() >= maxBatchSize) {
+                full = current;
+                current = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full != null) {
+            submit(full);
+        }
+        return pending.result();
+    }
+
+    private void flush(List<PendingAuthorization> batch) {
+        lock.lock();
+        try {
+            if (current != batch || batch.isEmpty()) {
+                return;
+            }
+            current = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        submit(batch);
+    }
+
+    private void submit(List<PendingAuthorization> batch) {
+        logger.debug("Submitting authorization batch of {} payments", batch.size());
+        CompletableFuture<List<PaymentAuthorization>> response;
+        try {
+            response = paymentGateway.authorizeBatch(batch.stream().map(PendingAuthorization::payment).toList());
+        } catch (RuntimeException ex) {
+            response = CompletableFuture.failedFuture(ex);
+        }
+
+        // Fan-out: each caller gets its own payment's authorization
+        response.whenComplete((authorizations, error) -> {
+            if (error != null) {
+                var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                batch.forEach(pending -> pending.result().completeExceptionally(cause));
+                return;
+            }
+            var byPaymentId = authorizations.stream()
+                .collect(Collectors.toMap(PaymentAuthorization::paymentId, Function.identity(), (first, second) -> first));
+            for (var pending : batch) {
+                var authorization = byPaymentId.get(pending.payment().getId());
+                if (authorization != null) {
+                    pending.result().complete(authorization);
+                } else {
+                    pending.result().completeExceptionally(new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE",
+                        "No authorization returned for payment: " + pending.payment().getId()));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<PendingAuthorization> remaining;
+        lock.lock();
+        try {
+            remaining = current;
+            current = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        if (!remaining.isEmpty()) {
+            submit(remaining);
+        }
+        scheduler.shutdown();
+    }
+
+    private record PendingAuthorization(Payment payment, CompletableFuture<PaymentAuthorization> result) {
+    }
+}
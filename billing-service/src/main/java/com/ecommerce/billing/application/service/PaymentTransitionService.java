@@ -0,0 +1,262 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentEventPublisherPort;
+import com.ecommerce.billing.application.port.out.PaymentIdempotencyPort;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.event.PaymentCompletedEvent;
+import com.ecommerce.billing.domain.event.PaymentFailedEvent;
+import com.ecommerce.billing.domain.event.PaymentRefundedEvent;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// The two short transactions around a gateway call: PENDING is committed before the call,
+// the decision is applied after it - no database connection is held during the network round-trip
+@Service
+public class PaymentTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentTransitionService.class);
+
+    private final PaymentRepositoryPort paymentRepository;
+    private final PaymentEventPublisherPort eventPublisher;
+    private final PaymentIdempotencyPort paymentIdempotency;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentTransitionService(PaymentRepositoryPort paymentRepository,
+                                    PaymentEventPublisherPort eventPublisher,
+                                    PaymentIdempotencyPort paymentIdempotency,
+                                    CacheManager cacheManager,
+                                    PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.eventPublisher = eventPublisher;
+        this.paymentIdempotency = paymentIdempotency;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Returns one payment per input, in order: the inserted PENDING one, or the one that already existed
+    // for its idempotency key / order (it may no longer be PENDING). Not @Transactional: the unique
+    // violation only surfaces at commit, and the re-read needs a transaction that is not aborted
+    public List<Payment> createPending(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return insertPending(payments);
+        } catch (DataIntegrityViolationException ex) {
+            // Another replica inserted the same key/order inside the Bloom filter refresh window
+            logger.warn("Duplicate payment on insert of {} payments, re-reading existing ones", payments.size());
+            return resolveDuplicates(payments);
+        }
+    }
+
+    private List<Payment> insertPending(List<Payment> payments) {
+        return transactionTemplate.execute(status -> {
+            // Single saveAll - inserts go out as JDBC batches (hibernate.jdbc.batch_size)
+            var savedPayments = paymentRepository.saveAll(payments);
+            paymentIdempotency.registerAll(savedPayments);
+            // A read that found no payment for the order may have cached that answer
+            afterCommit(() -> savedPayments.forEach(this::evictCaches));
+            return savedPayments;
+        });
+    }
+
+    private List<Payment> resolveDuplicates(List<Payment> payments) {
+        var existingByKey = paymentRepository.findByIdempotencyKeys(
+                payments.stream().map(Payment::getIdempotencyKey).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Payment::getIdempotencyKey, Function.identity()));
+        var ordersWithPayment = paymentRepository.findOrderIdsWithPayment(
+            payments.stream().map(Payment::getOrderId).collect(Collectors.toSet()));
+
+        var resolved = new ArrayList<Payment>(payments.size());
+        var existingByOrder = new HashMap<UUID, Payment>();
+        var toInsert = new ArrayList<Payment>();
+        var insertPositions = new ArrayList<Integer>();
+        for (var payment : payments) {
+            var existing = existingByKey.get(payment.getIdempotencyKey());
+            if (existing == null && ordersWithPayment.contains(payment.getOrderId())) {
+                existing = existingByOrder.computeIfAbsent(payment.getOrderId(),
+                    orderId -> paymentRepository.findByOrderId(orderId).orElse(null));
+            }
+            if (existing != null) {
+                resolved.add(existing);
+                continue;
+            }
+            // The rolled-back instance already carries an id and a version; insert a fresh copy
+            insertPositions.add(resolved.size());
+            toInsert.add(copyOf(payment));
+            resolved.add(null);
+        }
+
+        if (!toInsert.isEmpty()) {
+            // A second conflict escapes: the caller's batch is redelivered and hits the existing rows
+            var inserted = insertPending(toInsert);
+            for (int i = 0; i < inserted.size(); i++) {
+                resolved.set(insertPositions.get(i), inserted.get(i));
+            }
+        }
+        return resolved;
+    }
+
+    private static Payment copyOf(Payment payment) {
+        return new Payment(payment.getOrderId(), payment.getCustomerId(), payment.getPaymentReference(),
+            payment.getAmount(), payment.getCurrency(), payment.getPaymentMethod(), payment.getIdempotencyKey());
+    }
+
+    // Returns the payments in the order of the authorizations; already completed ones are returned as they are
+    @Transactional
+    public List<Payment> complete(List<PaymentAuthorization> authorizations) {
+        if (authorizations.isEmpty()) {
+            return List.of();
+        }
+
+        var payments = paymentRepository.findAllById(
+                authorizations.stream().map(PaymentAuthorization::paymentId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+        var completed = new ArrayList<Payment>(authorizations.size());
+        var changed = new ArrayList<Payment>();
+        for (var authorization : authorizations) {
+            var payment = payments.get(authorization.paymentId());
+            if (payment == null) {
+                logger.warn("No payment found for authorization of payment: {}", authorization.paymentId());
+                continue;
+            }
+            completed.add(payment);
+
+            // Redelivered authorization for a payment another attempt already completed
+            if (payment.getStatus() != PaymentStatus.PENDING) {
+                continue;
+            }
+
+            if (authorization.approved()) {
+                payment.markAsCompleted(authorization.authorizationCode());
+            } else {
+                payment.markAsFailed(authorization.declineReason());
+            }
+            changed.add(payment);
+        }
+
+        if (changed.isEmpty()) {
+            return completed;
+        }
+
+        paymentRepository.saveAll(changed);
+        changed.forEach(this::publishEvent);
+        afterCommit(() -> changed.forEach(this::evictCaches));
+        paymentIdempotency.registerAll(changed);
+
+        logger.info("Payments completed. Authorizations: {}, Changed: {}", authorizations.size(), changed.size());
+        return completed;
+    }
+
+    // refundReferences: paymentId -> gateway refund reference. Payments no longer COMPLETED (refund applied by
+    // an earlier delivery) are left as they are; returns the ones refunded now
+    @Transactional
+    public List<Payment> refund(Map<UUID, String> refundReferences) {
+        if (refundReferences.isEmpty()) {
+            return List.of();
+        }
+
+        var refunded = new ArrayList<Payment>(refundReferences.size());
+        for (var payment : paymentRepository.findAllById(refundReferences.keySet())) {
+            if (payment.getStatus() != PaymentStatus.COMPLETED) {
+                continue;
+            }
+            payment.markAsRefunded(refundReferences.get(payment.getId()));
+            refunded.add(payment);
+        }
+
+        if (refunded.isEmpty()) {
+            return refunded;
+        }
+
+        paymentRepository.saveAll(refunded);
+        refunded.forEach(payment -> eventPublisher.publishPaymentRefunded(PaymentRefundedEvent.create(
+            payment.getId(),
+            payment.getOrderId(),
+            payment.getCustomerId(),
+            payment.getPaymentReference(),
+            payment.getAmount(),
+            payment.getCurrency(),
+            payment.getRefundReference()
+        )));
+        afterCommit(() -> refunded.forEach(this::evictCaches));
+
+        logger.info("Payments refunded: {}", refunded.size());
+        return refunded;
+    }
+
+    private void publishEvent(Payment payment) {
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            eventPublisher.publishPaymentCompleted(PaymentCompletedEvent.create(
+                payment.getId(),
+                payment.getOrderId(),
+                payment.getCustomerId(),
+                payment.getPaymentReference(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getPaymentMethod().name()
+            ));
+        } else {
+            eventPublisher.publishPaymentFailed(PaymentFailedEvent.create(
+                payment.getId(),
+                payment.getOrderId(),
+                payment.getCustomerId(),
+                payment.getPaymentReference(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getFailureReason()
+            ));
+        }
+    }
+
+    // Evicting before the commit lets a concurrent read (GetPaymentByOrderService caches misses too)
+    // put the old row back into the cache
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evictCaches(Payment payment) {
+        var payments = cacheManager.getCache("payments");
+        if (payments != null) {
+            payments.evict(payment.getOrderId());
+        }
+        // Só a primeira página do histórico; as seguintes não recebem pagamentos novos e não são
+        // cacheadas enquanto tiverem PENDING
+        var customerPayments = cacheManager.getCache("customer-payments");
+        if (customerPayments != null) {
+            customerPayments.evict(payment.getCustomerId().toString());
+        }
+    }
+}
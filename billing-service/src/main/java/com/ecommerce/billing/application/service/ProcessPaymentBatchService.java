@@ -0,0 +1,147 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.in.ProcessPaymentBatchUseCase;
+import com.ecommerce.billing.application.port.in.ProcessPaymentCommand;
+import com.ecommerce.billing.application.port.in.ProcessPaymentResponse;
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import com.ecommerce.shared.domain.common.Result;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProcessPaymentBatchService implements ProcessPaymentBatchUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessPaymentBatchService.class);
+
+    private final PaymentRepositoryPort paymentRepository;
+    private final PaymentTransitionService paymentTransitions;
+    private final PaymentAuthorizationBatcher authorizationBatcher;
+
+    public ProcessPaymentBatchService(PaymentRepositoryPort paymentRepository,
+                                      PaymentTransitionService paymentTransitions,
+                                      PaymentAuthorizationBatcher authorizationBatcher) {
+        this.paymentRepository = paymentRepository;
+        this.paymentTransitions = paymentTransitions;
+        this.authorizationBatcher = authorizationBatcher;
+    }
+
+    // Not @Transactional: one transaction inserts the PENDING payments, the gateway calls run outside it,
+    // a second one applies all decisions
+    @Override
+    public List<Result<ProcessPaymentResponse>> execute(List<ProcessPaymentCommand> commands) {
+        logger.info("Processing payment batch of {} commands", commands.size());
+
+        // Idempotency and duplicate-order checks for the whole batch: two queries instead of 2 per command
+        var existingByKey = paymentRepository.findByIdempotencyKeys(
+                commands.stream().map(ProcessPaymentCommand::idempotencyKey).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Payment::getIdempotencyKey, Function.identity()));
+        var ordersWithPayment = paymentRepository.findOrderIdsWithPayment(
+            commands.stream().map(ProcessPaymentCommand::orderId).collect(Collectors.toSet()));
+
+        var results = new ArrayList<Result<ProcessPaymentResponse>>(commands.size());
+        var resumedPayments = new ArrayList<Payment>();
+        var resumedPositions = new ArrayList<Integer>();
+        var newPayments = new ArrayList<Payment>();
+        var newPositions = new ArrayList<Integer>();
+        var keysInBatch = new HashSet<String>();
+        var ordersInBatch = new HashSet<>(ordersWithPayment);
+
+        for (var command : commands) {
+            var existing = existingByKey.get(command.idempotencyKey());
+            if (existing != null) {
+                logger.info("Payment already processed for idempotency key: {}", command.idempotencyKey());
+                if (existing.getStatus() == PaymentStatus.PENDING && keysInBatch.add(command.idempotencyKey())) {
+                    // Redelivery after the gateway call failed: authorize again with the same key
+                    resumedPositions.add(results.size());
+                    resumedPayments.add(existing);
+                    results.add(null);
+                } else {
+                    results.add(ProcessPaymentService.createResponseFromPayment(existing));
+                }
+                continue;
+            }
+
+            // Same key twice in one poll (redelivery) - the first occurrence wins
+            if (!keysInBatch.add(command.idempotencyKey()) || !ordersInBatch.add(command.orderId())) {
+                results.add(Result.failure("PAYMENT_ALREADY_EXISTS",
+                    "Payment already exists for order: " + command.orderId()));
+                continue;
+            }
+
+            PaymentMethod paymentMethodEnum;
+            try {
+                paymentMethodEnum = PaymentMethod.valueOf(command.paymentMethod().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                results.add(Result.failure("INVALID_PAYMENT_METHOD",
+                    "Invalid payment method: " + command.paymentMethod()));
+                continue;
+            }
+
+            newPositions.add(results.size());
+            newPayments.add(ProcessPaymentService.newPayment(command, paymentMethodEnum));
+            results.add(null); // preenchido depois da autorização
+        }
+
+        var toAuthorize = new ArrayList<>(resumedPayments);
+        var positions = new ArrayList<>(resumedPositions);
+        var created = paymentTransitions.createPending(newPayments);
+        for (int i = 0; i < created.size(); i++) {
+            // Another replica won the insert and already finished the payment
+            if (created.get(i).getStatus() != PaymentStatus.PENDING) {
+                results.set(newPositions.get(i), ProcessPaymentService.createResponseFromPayment(created.get(i)));
+                continue;
+            }
+            toAuthorize.add(created.get(i));
+            positions.add(newPositions.get(i));
+        }
+
+        // All authorizations in flight at once; the batcher groups them (and those of other shards) into gateway batches
+        var futures = toAuthorize.stream().map(authorizationBatcher::authorize).toList();
+        var authorizations = new ArrayList<PaymentAuthorization>(futures.size());
+        var authorizedPositions = new ArrayList<Integer>(futures.size());
+        int unavailable = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                authorizations.add(futures.get(i).join());
+                authorizedPositions.add(positions.get(i));
+            } catch (CompletionException ex) {
+                unavailable++;
+                logger.warn("Payment authorization not completed for order: {} - {}",
+                    toAuthorize.get(i).getOrderId(), ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+            }
+        }
+
+        var completedById = paymentTransitions.complete(authorizations).stream()
+            .collect(Collectors.toMap(Payment::getId, Function.identity()));
+        for (int i = 0; i < authorizations.size(); i++) {
+            var completed = completedById.get(authorizations.get(i).paymentId());
+            results.set(authorizedPositions.get(i), completed != null
+                ? ProcessPaymentService.createResponseFromPayment(completed)
+                : Result.failure("PAYMENT_NOT_FOUND", "Payment not found: " + authorizations.get(i).paymentId()));
+        }
+
+        // Payments left PENDING are resumed when the shard is redelivered
+        if (unavailable > 0) {
+            throw new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE",
+                unavailable + " payment authorizations not completed, batch will be retried");
+        }
+
+        logger.info("Payment batch processed. Commands: {}, New payments: {}, Resumed: {}",
+            commands.size(), newPayments.size(), resumedPayments.size());
+        return results;
+    }
+}
@@ -3,64 +3,62 @@ package com.ecommerce.billing.application.service;
 import com.ecommerce.billing.application.port.in.ProcessPaymentCommand;
 import com.ecommerce.billing.application.port.in.ProcessPaymentResponse;
 import com.ecommerce.billing.application.port.in.ProcessPaymentUseCase;
-import com.ecommerce.billing.application.port.out.PaymentEventPublisherPort;
-import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
-import com.ecommerce.billing.domain.event.PaymentCompletedEvent;
-import com.ecommerce.billing.domain.event.PaymentFailedEvent;
+import com.ecommerce.billing.application.port.out.PaymentIdempotencyPort;
 import com.ecommerce.billing.domain.model.Payment;
 import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.billing.domain.model.PaymentStatus;
 import com.ecommerce.shared.domain.common.Result;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class ProcessPaymentService implements ProcessPaymentUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessPaymentService.class);
 
-    private final PaymentRepositoryPort paymentRepository;
-    private final PaymentEventPublisherPort eventPublisher;
+    private final PaymentTransitionService paymentTransitions;
+    private final PaymentAuthorizationBatcher authorizationBatcher;
+    private final PaymentIdempotencyPort paymentIdempotency;
 
-    public ProcessPaymentService(PaymentRepositoryPort paymentRepository, 
-                               PaymentEventPublisherPort eventPublisher) {
-        this.paymentRepository = paymentRepository;
-        this.eventPublisher = eventPublisher;
+    public ProcessPaymentService(PaymentTransitionService paymentTransitions,
+                               PaymentAuthorizationBatcher authorizationBatcher,
+                               PaymentIdempotencyPort paymentIdempotency) {
+        this.paymentTransitions = paymentTransitions;
+        this.authorizationBatcher = authorizationBatcher;
+        this.paymentIdempotency = paymentIdempotency;
     }
 
+    // Not @Transactional: PENDING is committed, the gateway is called, then the result is applied
+    // in a second short transaction (see PaymentTransitionService)
     @Override
-    @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "payments", key = "#command.orderId()"),
-        @CacheEvict(value = "payment-methods", key = "#command.customerId()")
-    })
     public Result<ProcessPaymentResponse> execute(ProcessPaymentCommand command) {
         try {
             logger.info("Processing payment for order: {} with idempotency key: {}", 
                 command.orderId(), command.idempotencyKey());
 
-            // Check idempotency
-            var existingPayment = paymentRepository.findByIdempotencyKey(command.idempotencyKey());
+            // Check idempotency (new keys are answered by the Bloom filter, without a query)
+            var existingPayment = paymentIdempotency.findByIdempotencyKey(command.idempotencyKey());
             if (existingPayment.isPresent()) {
                 logger.info("Payment already processed for idempotency key: {}", command.idempotencyKey());
+                // A previous attempt committed PENDING but never got the gateway's answer
+                if (existingPayment.get().getStatus() == PaymentStatus.PENDING) {
+                    return authorizeAndComplete(existingPayment.get());
+                }
                 return createResponseFromPayment(existingPayment.get());
             }
 
             // Check if payment already exists for this order
-            if (paymentRepository.existsByOrderId(command.orderId())) {
+            if (paymentIdempotency.existsByOrderId(command.orderId())) {
                 return Result.failure("PAYMENT_ALREADY_EXISTS", 
                     "Payment already exists for order: " + command.orderId());
             }
 
-            // Generate payment reference
-            String paymentReference = generatePaymentReference();
-            
             // Parse payment method
             PaymentMethod paymentMethodEnum;
             try {
@@ -70,65 +68,12 @@ public class ProcessPaymentService implements ProcessPaymentUseCase {
                     "Invalid payment method: " + command.paymentMethod());
             }
 
-            // Create payment
-            var payment = new Payment(
-                command.orderId(),
-                command.customerId(),
-                paymentReference,
-                command.amount(),
-                command.currency(),
-                paymentMethodEnum,
-                command.idempotencyKey()
-            );
-
-            // Simulate payment processing
-            boolean paymentSuccessful = simulatePaymentProcessing(payment);
-
-            if (paymentSuccessful) {
-                payment.markAsCompleted();
-                var savedPayment = paymentRepository.save(payment);
-                
-                logger.info("Payment completed successfully. Reference: {}", paymentReference);
-
-                // Publish success event
-                var event = PaymentCompletedEvent.create(
-                    savedPayment.getId(),
-                    savedPayment.getOrderId(),
-                    savedPayment.getCustomerId(),
-                    savedPayment.getPaymentReference(),
-                    savedPayment.getAmount(),
-                    savedPayment.getCurrency(),
-                    savedPayment.getPaymentMethod().name()
-                );
-                
-                eventPublisher.publishPaymentCompleted(event);
-                logger.info("PaymentCompleted event published for order: {}", command.orderId());
-
-                return createResponseFromPayment(savedPayment);
-
-            } else {
-                String failureReason = "Payment processing failed - insufficient funds";
-                payment.markAsFailed(failureReason);
-                var savedPayment = paymentRepository.save(payment);
-                
-                logger.warn("Payment failed for order: {}. Reason: {}", command.orderId(), failureReason);
-
-                // Publish failure event
-                var event = PaymentFailedEvent.create(
-                    savedPayment.getId(),
-                    savedPayment.getOrderId(),
-                    savedPayment.getCustomerId(),
-                    savedPayment.getPaymentReference(),
-                    savedPayment.getAmount(),
-                    savedPayment.getCurrency(),
-                    failureReason
-                );
-                
-                eventPublisher.publishPaymentFailed(event);
-                logger.info("PaymentFailed event published for order: {}", command.orderId());
-
-                return createResponseFromPayment(savedPayment);
+            var pendingPayment = paymentTransitions.createPending(List.of(newPayment(command, paymentMethodEnum))).get(0);
+            // Lost the insert race to another replica that already finished this payment
+            if (pendingPayment.getStatus() != PaymentStatus.PENDING) {
+                return createResponseFromPayment(pendingPayment);
             }
+            return authorizeAndComplete(pendingPayment);
 
         } catch (BusinessException ex) {
             logger.error("Business error processing payment: {}", ex.getMessage());
@@ -139,26 +84,45 @@ public class ProcessPaymentService implements ProcessPaymentUseCase {
         }
     }
 
-    private boolean simulatePaymentProcessing(Payment payment) {
-        // Simulate payment processing logic
-        // In real implementation, this would call external payment gateway
-
-        // For amounts <= 100, always succeed (to make tests predictable)
-        if (payment.getAmount().doubleValue() <= 100.0) {
-            return true;
+    private Result<ProcessPaymentResponse> authorizeAndComplete(Payment pendingPayment) {
+        try {
+            // Caller waits here without a database connection; the batcher and the gateway client bound the wait
+            var authorization = authorizationBatcher.authorize(pendingPayment).join();
+            var completedPayment = paymentTransitions.complete(List.of(authorization)).get(0);
+
+            logger.info("Payment {} for order: {}. Reference: {}", completedPayment.getStatus(),
+                completedPayment.getOrderId(), completedPayment.getPaymentReference());
+            return createResponseFromPayment(completedPayment);
+
+        } catch (CompletionException ex) {
+            // Payment stays PENDING; a retry with the same idempotency key resumes it
+            var cause = ex.getCause() instanceof BusinessException businessException
+                ? businessException
+                : new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE", "Payment gateway unavailable", ex.getCause());
+            logger.warn("Payment authorization not completed for order: {} - {}",
+                pendingPayment.getOrderId(), cause.getMessage());
+            return Result.failure(cause.getErrorCode(), cause.getMessage());
         }
+    }
 
-        // Simulate 80% success rate for demonstration
-        // Fail payments with amount > 2000 to simulate insufficient funds
-        return payment.getAmount().doubleValue() <= 2000.0 && Math.random() > 0.2;
+    static Payment newPayment(ProcessPaymentCommand command, PaymentMethod paymentMethod) {
+        return new Payment(
+            command.orderId(),
+            command.customerId(),
+            generatePaymentReference(),
+            command.amount(),
+            command.currency(),
+            paymentMethod,
+            command.idempotencyKey()
+        );
     }
 
-    private String generatePaymentReference() {
+    static String generatePaymentReference() {
         return "PAY-" + System.currentTimeMillis() + "-" + 
                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
-    private Result<ProcessPaymentResponse> createResponseFromPayment(Payment payment) {
+    static Result<ProcessPaymentResponse> createResponseFromPayment(Payment payment) {
         var response = new ProcessPaymentResponse(
             payment.getId(),
             payment.getOrderId(),
@@ -0,0 +1,87 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.in.RefundPaymentsUseCase;
+import com.ecommerce.billing.application.port.out.PaymentGatewayPort;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Compensation of the saga: an order cancelled after its payment was captured (e.g. the stock
+// reservation was released) gets the payment refunded at the gateway and marked REFUNDED
+@Service
+public class RefundPaymentsService implements RefundPaymentsUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefundPaymentsService.class);
+
+    private final PaymentRepositoryPort paymentRepository;
+    private final PaymentGatewayPort paymentGateway;
+    private final PaymentTransitionService paymentTransitions;
+
+    public RefundPaymentsService(PaymentRepositoryPort paymentRepository,
+                                 PaymentGatewayPort paymentGateway,
+                                 PaymentTransitionService paymentTransitions) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.paymentTransitions = paymentTransitions;
+    }
+
+    // Not @Transactional: the gateway refunds run outside any transaction, the transition is one short one.
+    // Redelivery is safe: REFUNDED payments are skipped here and the gateway refund is keyed
+    @Override
+    public int execute(Collection<UUID> cancelledOrderIds) {
+        if (cancelledOrderIds.isEmpty()) {
+            return 0;
+        }
+
+        var captured = new ArrayList<Payment>();
+        for (var payment : paymentRepository.findAllByOrderIds(cancelledOrderIds)) {
+            if (payment.getStatus() == PaymentStatus.COMPLETED) {
+                captured.add(payment);
+            } else if (payment.getStatus() == PaymentStatus.PENDING) {
+                // The saga only cancels after a payment outcome; a PENDING one here is left to the sweeper
+                logger.warn("Order {} cancelled while its payment {} is still pending", 
+                    payment.getOrderId(), payment.getId());
+            }
+        }
+        if (captured.isEmpty()) {
+            return 0;
+        }
+
+        var refunds = captured.stream().map(paymentGateway::refund).toList();
+        CompletableFuture.allOf(refunds.toArray(CompletableFuture[]::new))
+            .exceptionally(error -> null)
+            .join();
+
+        var refundReferences = new HashMap<UUID, String>();
+        BusinessException failure = null;
+        for (int i = 0; i < captured.size(); i++) {
+            var payment = captured.get(i);
+            try {
+                refundReferences.put(payment.getId(), refunds.get(i).join());
+            } catch (CompletionException ex) {
+                logger.warn("Refund of payment {} for order {} failed", payment.getId(), payment.getOrderId(), ex.getCause());
+                failure = ex.getCause() instanceof BusinessException business ? business
+                    : new BusinessException("PAYMENT_REFUND_FAILED", "Payment refund failed", ex.getCause());
+            }
+        }
+
+        // Refunds that went through are recorded even when others failed
+        var refunded = paymentTransitions.refund(refundReferences);
+        if (failure != null) {
+            // Escapes so the batch is redelivered; after the retries it ends up in the DLT
+            throw failure;
+        }
+        return refunded.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
+
+// A crash between createPending and complete leaves the payment PENDING, and the Kafka path only resumes it
+// if the order event is redelivered. Stale PENDING payments are re-sent to the gateway with the same
+// idempotency key (it answers with the original decision instead of authorizing twice); those the gateway
+// still can't answer after give-up-after are failed so the order saga can cancel.
+@Service
+public class StalePaymentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StalePaymentSweeper.class);
+
+    static final String GIVE_UP_REASON = "Authorization not confirmed by the payment gateway";
+
+    private final PaymentRepositoryPort paymentRepository;
+    private final PaymentAuthorizationBatcher authorizationBatcher;
+    private final PaymentTransitionService paymentTransitions;
+    private final Duration staleAfter;
+    private final Duration giveUpAfter;
+    private final int batchSize;
+
+    public StalePaymentSweeper(PaymentRepositoryPort paymentRepository,
+                               PaymentAuthorizationBatcher authorizationBatcher,
+                               PaymentTransitionService paymentTransitions,
+                               @Value("${billing.payments.stale-after:2m}") Duration staleAfter,
+                               @Value("${billing.payments.give-up-after:30m}") Duration giveUpAfter,
+                               @Value("${billing.payments.stale-batch-size:100}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.authorizationBatcher = authorizationBatcher;
+        this.paymentTransitions = paymentTransitions;
+        this.staleAfter = staleAfter;
+        this.giveUpAfter = giveUpAfter;
+        this.batchSize = batchSize;
+    }
+
+    // Returns how many stale payments got a decision applied
+    @Scheduled(fixedDelayString = "${billing.payments.stale-sweep-interval-ms:60000}")
+    public int sweep() {
+        var now = LocalDateTime.now();
+        var stale = paymentRepository.findStalePending(now.minus(staleAfter), batchSize);
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        // Same path as a live payment: the batcher groups them into gateway batches
+        var futures = stale.stream().map(authorizationBatcher::authorize).toList();
+        var authorizations = new ArrayList<PaymentAuthorization>(stale.size());
+        int givenUp = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            var payment = stale.get(i);
+            try {
+                authorizations.add(futures.get(i).join());
+            } catch (CompletionException ex) {
+                if (isExpired(payment, now)) {
+                    authorizations.add(PaymentAuthorization.declined(payment.getId(), GIVE_UP_REASON));
+                    givenUp++;
+                } else {
+                    logger.warn("Stale payment {} still not authorized, retrying on next sweep - {}",
+                        payment.getId(), ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+                }
+            }
+        }
+
+        if (authorizations.isEmpty()) {
+            return 0;
+        }
+        try {
+            paymentTransitions.complete(authorizations);
+        } catch (RuntimeException ex) {
+            // Typically a @Version conflict: a redelivered order event or another replica completed it first
+            logger.warn("Failed to apply {} stale payment decisions, retrying on next sweep", authorizations.size(), ex);
+            return 0;
+        }
+
+        logger.info("Stale payments swept. Found: {}, Resolved: {}, Given up: {}",
+            stale.size(), authorizations.size(), givenUp);
+        return authorizations.size();
+    }
+
+    private boolean isExpired(Payment payment, LocalDateTime now) {
+        return payment.getCreatedAt() != null && payment.getCreatedAt().isBefore(now.minus(giveUpAfter));
+    }
+}
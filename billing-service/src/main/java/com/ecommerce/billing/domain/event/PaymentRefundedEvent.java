@@ -0,0 +1,46 @@
+package com.ecommerce.billing.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record PaymentRefundedEvent(
+    @JsonProperty("eventId") UUID eventId,
+    @JsonProperty("eventType") String eventType,
+    @JsonProperty("aggregateId") UUID aggregateId,
+    @JsonProperty("occurredOn") LocalDateTime occurredOn,
+    @JsonProperty("version") Integer version,
+    @JsonProperty("orderId") UUID orderId,
+    @JsonProperty("customerId") UUID customerId,
+    @JsonProperty("paymentReference") String paymentReference,
+    @JsonProperty("amount") BigDecimal amount,
+    @JsonProperty("currency") String currency,
+    @JsonProperty("refundReference") String refundReference
+) {
+
+    @JsonCreator
+    public PaymentRefundedEvent {
+        // Compact constructor
+    }
+
+    public static PaymentRefundedEvent create(UUID paymentId, UUID orderId, UUID customerId,
+                                              String paymentReference, BigDecimal amount,
+                                              String currency, String refundReference) {
+        return new PaymentRefundedEvent(
+            UUID.randomUUID(),
+            "PaymentRefunded",
+            paymentId,
+            LocalDateTime.now(),
+            1,
+            orderId,
+            customerId,
+            paymentReference,
+            amount,
+            currency,
+            refundReference
+        );
+    }
+}
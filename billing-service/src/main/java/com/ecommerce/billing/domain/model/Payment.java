@@ -8,10 +8,16 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_created_at", columnList = "created_at"),
+    // Customer history: keyset pages newest first
+    @Index(name = "idx_payments_customer_created", columnList = "customer_id, created_at DESC, id DESC"),
+    // Sweep of payments left PENDING by a crash between the insert and the gateway answer
+    @Index(name = "idx_payments_status_created", columnList = "status, created_at")
+})
 public class Payment extends BaseEntity {
 
-    @Column(name = "order_id", nullable = false)
+    @Column(name = "order_id", unique = true, nullable = false)
     private UUID orderId;
 
     @Column(name = "customer_id", nullable = false)
@@ -40,6 +46,15 @@ public class Payment extends BaseEntity {
     @Column(name = "failure_reason")
     private String failureReason;
 
+    @Column(name = "authorization_code")
+    private String authorizationCode;
+
+    @Column(name = "refund_reference")
+    private String refundReference;
+
+    @Column(name = "refunded_at")
+    private LocalDateTime refundedAt;
+
     @Column(name = "idempotency_key", unique = true, nullable = false)
     private String idempotencyKey;
 
@@ -61,10 +76,15 @@ public class Payment extends BaseEntity {
     }
 
     public void markAsCompleted() {
+        markAsCompleted(null);
+    }
+
+    public void markAsCompleted(String authorizationCode) {
         if (this.status != PaymentStatus.PENDING) {
             throw new IllegalStateException("Only pending payments can be completed");
         }
         this.status = PaymentStatus.COMPLETED;
+        this.authorizationCode = authorizationCode;
         this.processedAt = LocalDateTime.now();
     }
 
@@ -77,6 +97,15 @@ public class Payment extends BaseEntity {
         this.processedAt = LocalDateTime.now();
     }
 
+    public void markAsRefunded(String refundReference) {
+        if (this.status != PaymentStatus.COMPLETED) {
+            throw new IllegalStateException("Only completed payments can be refunded");
+        }
+        this.status = PaymentStatus.REFUNDED;
+        this.refundReference = refundReference;
+        this.refundedAt = LocalDateTime.now();
+    }
+
     // Getters
     public UUID getOrderId() {
         return orderId;
@@ -117,4 +146,16 @@ public class Payment extends BaseEntity {
     public String getIdempotencyKey() {
         return idempotencyKey;
     }
-}
\ No newline at end of file
+
+    public String getAuthorizationCode() {
+        return authorizationCode;
+    }
+
+    public String getRefundReference() {
+        return refundReference;
+    }
+
+    public LocalDateTime getRefundedAt() {
+        return refundedAt;
+    }
+}
@@ -4,5 +4,7 @@ public enum PaymentStatus {
     PENDING,
     COMPLETED,
     FAILED,
-    CANCELLED
+    CANCELLED,
+    // Captured, then returned because the order was cancelled downstream (e.g. out of stock)
+    REFUNDED
 }
\ No newline at end of file
@@ -21,7 +21,7 @@ public class CacheConfig {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeineCacheBuilder());
         // Cache names específicos para o domínio de billing
-        cacheManager.setCacheNames(Arrays.asList("payments", "payment-methods", "billing-validations"));
+        cacheManager.setCacheNames(Arrays.asList("payments", "customer-payments", "billing-validations"));
         return cacheManager;
     }
 
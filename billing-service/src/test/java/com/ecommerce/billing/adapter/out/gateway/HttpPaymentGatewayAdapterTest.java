@@ -0,0 +1,233 @@
+package com.ecommerce.billing.adapter.out.gateway;
+
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the client against a local stub gateway (JDK HttpServer)
+class HttpPaymentGatewayAdapterTest {
+
+    private HttpServer server;
+    private volatile StubHandler handler;
+    private HttpPaymentGatewayAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/authorizations/batch", exchange -> handler.handle(exchange));
+        server.start();
+        adapter = adapter(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldAuthorizeWholeBatchInOneRequest() {
+        // Given
+        var requests = new AtomicInteger();
+        var requestBody = new AtomicReference<String>();
+        var approved = payment("PAY-1");
+        var declined = payment("PAY-2");
+        handler = exchange -> {
+            requests.incrementAndGet();
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, 200, """
+                    {"results":[
+                      {"paymentReference":"PAY-2","approved":false,"declineReason":"Insufficient funds"},
+                      {"paymentReference":"PAY-1","approved":true,"authorizationCode":"AUTH-1","network":"visa"}
+                    ]}""");
+        };
+
+        // When
+        var authorizations = adapter.authorizeBatch(List.of(approved, declined)).join();
+
+        // Then
+        assertEquals(1, requests.get());
+        assertTrue(requestBody.get().contains(approved.getIdempotencyKey()));
+        assertEquals(2, authorizations.size());
+        assertEquals(approved.getId(), authorizations.get(0).paymentId());
+        assertTrue(authorizations.get(0).approved());
+        assertEquals("AUTH-1", authorizations.get(0).authorizationCode());
+        assertEquals(declined.getId(), authorizations.get(1).paymentId());
+        assertFalse(authorizations.get(1).approved());
+        assertEquals("Insufficient funds", authorizations.get(1).declineReason());
+    }
+
+    @Test
+    void shouldLeaveOutPaymentsMissingFromResponse() {
+        // Given
+        handler = exchange -> respond(exchange, 200, "{\"results\":[{\"paymentReference\":\"PAY-1\",\"approved\":true}]}");
+
+        // When
+        var authorizations = adapter.authorizeBatch(List.of(payment("PAY-1"), payment("PAY-2"))).join();
+
+        // Then
+        assertEquals(1, authorizations.size());
+    }
+
+    @Test
+    void shouldFailWhenGatewayTimesOut() {
+        // Given
+        handler = exchange -> {
+            sleep(Duration.ofSeconds(2));
+            respond(exchange, 200, "{\"results\":[]}");
+        };
+
+        // When / Then
+        assertGatewayError("PAYMENT_GATEWAY_TIMEOUT", adapter.authorizeBatch(List.of(payment())));
+    }
+
+    @Test
+    void shouldFailWhenGatewayReturnsServerError() {
+        // Given
+        handler = exchange -> respond(exchange, 503, "");
+
+        // When / Then
+        assertGatewayError("PAYMENT_GATEWAY_UNAVAILABLE", adapter.authorizeBatch(List.of(payment())));
+    }
+
+    @Test
+    void shouldRejectCallsBeyondBulkheadLimit() throws InterruptedException {
+        // Given
+        adapter.close();
+        adapter = adapter(1);
+        var received = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        handler = exchange -> {
+            received.countDown();
+            await(release);
+            respond(exchange, 200, "{\"results\":[]}");
+        };
+
+        // When
+        var inFlight = adapter.authorizeBatch(List.of(payment()));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        var rejected = adapter.authorizeBatch(List.of(payment()));
+
+        // Then
+        assertGatewayError("PAYMENT_GATEWAY_BUSY", rejected);
+        release.countDown();
+        assertTrue(inFlight.join().isEmpty());
+    }
+
+    @Test
+    void shouldNotBlockCallerWhileWaitingForBulkheadPermit() throws InterruptedException {
+        // Given
+        adapter.close();
+        adapter = adapter(1, Duration.ofSeconds(2));
+        var received = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        handler = exchange -> {
+            received.countDown();
+            await(release);
+            respond(exchange, 200, "{\"results\":[]}");
+        };
+        var inFlight = adapter.authorizeBatch(List.of(payment()));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        // When - the batcher's scheduler thread must return at once, not after max-wait-duration
+        var startedAt = System.nanoTime();
+        var queued = adapter.authorizeBatch(List.of(payment()));
+        var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // Then
+        assertTrue(elapsed.compareTo(Duration.ofMillis(500)) < 0, "caller blocked for " + elapsed);
+        assertFalse(queued.isDone());
+        release.countDown();
+        assertTrue(inFlight.join().isEmpty());
+        assertTrue(queued.join().isEmpty());
+    }
+
+    private HttpPaymentGatewayAdapter adapter(int maxConcurrentCalls) {
+        return adapter(maxConcurrentCalls, Duration.ZERO);
+    }
+
+    private HttpPaymentGatewayAdapter adapter(int maxConcurrentCalls, Duration maxWait) {
+        var bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        return new HttpPaymentGatewayAdapter(new ObjectMapper(), bulkheads, new SimpleMeterRegistry(),
+                "http://localhost:" + server.getAddress().getPort() + "/", 500, 300);
+    }
+
+    private static void assertGatewayError(String errorCode, CompletableFuture<?> future) {
+        var ex = assertThrows(CompletionException.class, future::join);
+        var cause = assertInstanceOf(BusinessException.class, ex.getCause());
+        assertEquals(errorCode, cause.getErrorCode());
+    }
+
+    private static Payment payment() {
+        return payment("PAY-" + UUID.randomUUID());
+    }
+
+    private static Payment payment(String paymentReference) {
+        var payment = new Payment(UUID.randomUUID(), UUID.randomUUID(), paymentReference, new BigDecimal("50.00"), "USD",
+                PaymentMethod.CREDIT_CARD, "order-" + UUID.randomUUID());
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        return payment;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
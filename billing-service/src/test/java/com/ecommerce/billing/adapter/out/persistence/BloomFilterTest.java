@@ -0,0 +1,69 @@
+package com.ecommerce.billing.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldHaveNoFalseNegativesAfterAdd() {
+        // Given
+        var filter = BloomFilter.create(10_000, 0.01);
+        var keys = new ArrayList<String>();
+        var orders = new ArrayList<UUID>();
+        for (int i = 0; i < 10_000; i++) {
+            keys.add("order-" + i + "-payment");
+            orders.add(UUID.randomUUID());
+        }
+
+        // When
+        keys.forEach(filter::put);
+        orders.forEach(filter::put);
+
+        // Then
+        keys.forEach(key -> assertTrue(filter.mightContain(key), key));
+        orders.forEach(order -> assertTrue(filter.mightContain(order), order.toString()));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateWithinBoundAtCapacity() {
+        // Given
+        var filter = BloomFilter.create(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("key-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then - 1% target, with slack for the sample
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < 0.015, "false positive rate " + rate);
+    }
+
+    @Test
+    void shouldCountDistinctInsertionsAndExposeCapacity() {
+        // Given
+        var filter = BloomFilter.create(1_000, 0.01);
+
+        // When
+        filter.put("a");
+        filter.put("a");
+        filter.put("b");
+
+        // Then
+        assertEquals(2, filter.size());
+        assertEquals(1_000, filter.capacity());
+        assertFalse(BloomFilter.create(1_000, 0.01).mightContain("a"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.billing.adapter.out.persistence;
+
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIdempotencyAdapterTest {
+
+    @Mock
+    private PaymentJpaRepository jpaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentIdempotencyAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new PaymentIdempotencyAdapter(jpaRepository, meterRegistry, 1_000, 0.01, 100);
+    }
+
+    @Test
+    void shouldGoToDatabaseUntilFirstRebuild() {
+        // Given
+        when(jpaRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.empty());
+
+        // When
+        var result = adapter.findByIdempotencyKey("key-1");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(jpaRepository).findByIdempotencyKey("key-1");
+    }
+
+    @Test
+    void shouldRebuildFiltersAcrossKeysetPages() {
+        // Given - one full page and a partial one
+        var entries = new ArrayList<PaymentIdempotencyEntry>();
+        for (int i = 0; i < 10_001; i++) {
+            entries.add(new PaymentIdempotencyEntry(UUID.randomUUID(), "key-" + i, UUID.randomUUID()));
+        }
+        var firstPage = entries.subList(0, 10_000);
+        var lastPage = entries.subList(10_000, 10_001);
+        when(jpaRepository.count()).thenReturn((long) entries.size());
+        when(jpaRepository.findIdempotencyEntriesAfter(any(UUID.class), any(Pageable.class)))
+                .thenReturn(firstPage, lastPage);
+        when(jpaRepository.findByIdempotencyKey("key-10000")).thenReturn(Optional.of(payment("key-10000")));
+
+        // When
+        adapter.rebuild();
+
+        // Then - second page starts after the last id of the first
+        verify(jpaRepository).findIdempotencyEntriesAfter(eq(firstPage.get(9_999).id()), any(Pageable.class));
+        assertTrue(adapter.findByIdempotencyKey("key-10000").isPresent());
+        assertTrue(adapter.findByIdempotencyKey("never-seen").isEmpty());
+        assertFalse(adapter.existsByOrderId(UUID.randomUUID()));
+        verify(jpaRepository, never()).findByIdempotencyKey("never-seen");
+        verify(jpaRepository, never()).existsByOrderId(any());
+        assertEquals(2.0, meterRegistry.get("billing.idempotency.lookups").tag("result", "filter_negative").counter().count());
+        assertEquals(10_001.0, meterRegistry.get("billing.idempotency.filter.size").gauge().value(), 5.0);
+    }
+
+    @Test
+    void shouldPickUpPaymentsFromOtherReplicasOnRefresh() {
+        // Given
+        when(jpaRepository.count()).thenReturn(0L);
+        when(jpaRepository.findIdempotencyEntriesAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of());
+        adapter.rebuild();
+        var orderId = UUID.randomUUID();
+        when(jpaRepository.findIdempotencyEntriesCreatedSince(any(LocalDateTime.class)))
+                .thenReturn(List.of(new PaymentIdempotencyEntry(UUID.randomUUID(), "other-replica", orderId)));
+        when(jpaRepository.findByIdempotencyKey("other-replica")).thenReturn(Optional.of(payment("other-replica")));
+        when(jpaRepository.existsByOrderId(orderId)).thenReturn(true);
+        assertTrue(adapter.findByIdempotencyKey("other-replica").isEmpty());
+
+        // When
+        adapter.refresh();
+
+        // Then
+        assertTrue(adapter.findByIdempotencyKey("other-replica").isPresent());
+        assertTrue(adapter.existsByOrderId(orderId));
+        verify(jpaRepository, times(1)).findByIdempotencyKey(anyString());
+    }
+
+    @Test
+    void shouldKeepDatabaseFallbackWhenRebuildFails() {
+        // Given
+        when(jpaRepository.count()).thenReturn(10L);
+        when(jpaRepository.findIdempotencyEntriesAfter(any(UUID.class), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection refused"));
+        when(jpaRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.empty());
+
+        // When
+        adapter.rebuild();
+        adapter.refresh();
+
+        // Then - no filter yet, so nothing is answered without a query
+        adapter.findByIdempotencyKey("key-1");
+        verify(jpaRepository).findByIdempotencyKey("key-1");
+        verify(jpaRepository, never()).findIdempotencyEntriesCreatedSince(any());
+    }
+
+    @Test
+    void shouldServeRegisteredPaymentsWithoutQuery() {
+        // Given
+        when(jpaRepository.count()).thenReturn(0L);
+        when(jpaRepository.findIdempotencyEntriesAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of());
+        adapter.rebuild();
+        var payment = payment("fresh");
+
+        // When - no transaction active, so the cache is filled right away
+        adapter.registerAll(List.of(payment));
+
+        // Then
+        assertSame(payment, adapter.findByIdempotencyKey("fresh").orElseThrow());
+        verify(jpaRepository, never()).findByIdempotencyKey(anyString());
+    }
+
+    private static Payment payment(String idempotencyKey) {
+        return new Payment(UUID.randomUUID(), UUID.randomUUID(), "PAY-" + idempotencyKey,
+                new BigDecimal("10.00"), "USD", PaymentMethod.CREDIT_CARD, idempotencyKey);
+    }
+}
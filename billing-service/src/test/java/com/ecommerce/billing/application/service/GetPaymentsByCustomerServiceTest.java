@@ -0,0 +1,113 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.in.GetPaymentsByCustomerQuery;
+import com.ecommerce.billing.application.port.in.PaymentCursor;
+import com.ecommerce.billing.application.port.out.PaymentHistoryView;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetPaymentsByCustomerServiceTest {
+
+    @Mock
+    private PaymentRepositoryPort paymentRepository;
+
+    @InjectMocks
+    private GetPaymentsByCustomerService getPaymentsByCustomerService;
+
+    @Test
+    void shouldReturnFirstPageWithNextCursor() {
+        // Given
+        var customerId = UUID.randomUUID();
+        var rows = rows(3, PaymentStatus.COMPLETED);
+        when(paymentRepository.findPageByCustomerId(eq(customerId), isNull(), isNull(), eq(3)))
+            .thenReturn(rows);
+
+        // When
+        var page = getPaymentsByCustomerService.execute(new GetPaymentsByCustomerQuery(customerId, null, 2));
+
+        // Then
+        assertEquals(2, page.payments().size());
+        assertTrue(page.hasNext());
+        assertEquals(rows.get(1).id(), page.nextCursor().paymentId());
+        assertEquals(rows.get(1).createdAt(), page.nextCursor().createdAt());
+        assertFalse(page.hasPending());
+    }
+
+    @Test
+    void shouldPassCursorAndStopOnLastPage() {
+        // Given
+        var customerId = UUID.randomUUID();
+        var cursor = new PaymentCursor(LocalDateTime.now(), UUID.randomUUID());
+        when(paymentRepository.findPageByCustomerId(customerId, cursor.createdAt(), cursor.paymentId(), 3))
+            .thenReturn(rows(1, PaymentStatus.PENDING));
+
+        // When
+        var page = getPaymentsByCustomerService.execute(new GetPaymentsByCustomerQuery(customerId, cursor, 2));
+
+        // Then
+        assertEquals(1, page.payments().size());
+        assertFalse(page.hasNext());
+        assertEquals("PENDING", page.payments().get(0).status());
+        assertEquals("PIX", page.payments().get(0).paymentMethod());
+        assertTrue(page.hasPending());
+    }
+
+    @Test
+    void shouldClampPageSizeAndKeyOnlyFirstDefaultPageByCustomer() {
+        var customerId = UUID.randomUUID();
+        var cursor = new PaymentCursor(LocalDateTime.now(), UUID.randomUUID());
+
+        assertEquals(GetPaymentsByCustomerQuery.MAX_LIMIT, new GetPaymentsByCustomerQuery(customerId, null, 10_000).limit());
+        assertEquals(GetPaymentsByCustomerQuery.DEFAULT_LIMIT, new GetPaymentsByCustomerQuery(customerId, null, 0).limit());
+
+        // Só a primeira página padrão usa a chave que o PaymentTransitionService invalida
+        assertEquals(customerId.toString(), new GetPaymentsByCustomerQuery(customerId, null, 0).cacheKey());
+        assertFalse(new GetPaymentsByCustomerQuery(customerId, null, 10).isCacheable());
+        assertTrue(new GetPaymentsByCustomerQuery(customerId, cursor, 10).isCacheable());
+    }
+
+    @Test
+    void shouldRoundTripCursorAndRejectGarbage() {
+        var cursor = new PaymentCursor(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000), UUID.randomUUID());
+
+        assertEquals(cursor, PaymentCursor.decode(cursor.encode()));
+
+        var ex = assertThrows(BusinessException.class, () -> PaymentCursor.decode("not-a-cursor"));
+        assertEquals("INVALID_CURSOR", ex.getErrorCode());
+    }
+
+    private List<PaymentHistoryView> rows(int count, PaymentStatus status) {
+        var now = LocalDateTime.now();
+        return IntStream.range(0, count)
+            .mapToObj(i -> new PaymentHistoryView(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                "PAY-" + i,
+                new BigDecimal("10.00"),
+                "USD",
+                status,
+                PaymentMethod.PIX,
+                status == PaymentStatus.PENDING ? null : now.minusMinutes(i),
+                now.minusMinutes(i)
+            ))
+            .toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.in.GetPaymentResponse;
+import com.ecommerce.billing.application.port.in.GetPaymentsByOrdersQuery;
+import com.ecommerce.billing.application.port.out.PaymentHistoryView;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetPaymentsByOrdersServiceTest {
+
+    @Mock
+    private PaymentRepositoryPort paymentRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private GetPaymentsByOrdersService getPaymentsByOrdersService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("payments");
+        getPaymentsByOrdersService = new GetPaymentsByOrdersService(paymentRepository, cacheManager);
+    }
+
+    @Test
+    void shouldLoadOnlyCacheMissesInOneQuery() {
+        // Given
+        var cachedOrderId = UUID.randomUUID();
+        var withoutPaymentOrderId = UUID.randomUUID();
+        var loadedOrderId = UUID.randomUUID();
+        var cached = response(cachedOrderId);
+        cacheManager.getCache("payments").put(cachedOrderId, cached);
+        cacheManager.getCache("payments").put(withoutPaymentOrderId, null);
+
+        var row = row(loadedOrderId);
+        when(paymentRepository.findByOrderIds(List.of(loadedOrderId))).thenReturn(List.of(row));
+
+        // When - ids repetidos contam uma vez
+        var payments = getPaymentsByOrdersService.execute(new GetPaymentsByOrdersQuery(
+            List.of(cachedOrderId, withoutPaymentOrderId, loadedOrderId, loadedOrderId)));
+
+        // Then
+        assertEquals(2, payments.size());
+        assertSame(cached, payments.get(0));
+        assertEquals(row.id(), payments.get(1).paymentId());
+        verify(paymentRepository, times(1)).findByOrderIds(anyCollection());
+    }
+
+    @Test
+    void shouldCacheLoadedPaymentsAndMissingOrders() {
+        // Given
+        var paidOrderId = UUID.randomUUID();
+        var unpaidOrderId = UUID.randomUUID();
+        when(paymentRepository.findByOrderIds(List.of(paidOrderId, unpaidOrderId))).thenReturn(List.of(row(paidOrderId)));
+
+        // When
+        getPaymentsByOrdersService.execute(new GetPaymentsByOrdersQuery(List.of(paidOrderId, unpaidOrderId)));
+        var second = getPaymentsByOrdersService.execute(new GetPaymentsByOrdersQuery(List.of(paidOrderId, unpaidOrderId)));
+
+        // Then - segunda chamada servida inteira pelo cache
+        assertEquals(1, second.size());
+        assertEquals(paidOrderId, second.get(0).orderId());
+        var unpaid = cacheManager.getCache("payments").get(unpaidOrderId);
+        assertNotNull(unpaid);
+        assertNull(unpaid.get());
+        verify(paymentRepository, times(1)).findByOrderIds(anyCollection());
+    }
+
+    private PaymentHistoryView row(UUID orderId) {
+        var now = LocalDateTime.now();
+        return new PaymentHistoryView(UUID.randomUUID(), orderId, "PAY-1", new BigDecimal("10.00"), "USD",
+            PaymentStatus.COMPLETED, PaymentMethod.CREDIT_CARD, now, now);
+    }
+
+    private GetPaymentResponse response(UUID orderId) {
+        return new GetPaymentResponse(UUID.randomUUID(), orderId, "PAY-0", new BigDecimal("5.00"), "USD",
+            "COMPLETED", "PIX", LocalDateTime.now());
+    }
+}
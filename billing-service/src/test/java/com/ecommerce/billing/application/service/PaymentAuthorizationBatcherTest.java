@@ -0,0 +1,125 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentGatewayPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentAuthorizationBatcherTest {
+
+    @Mock
+    private PaymentGatewayPort paymentGateway;
+
+    private PaymentAuthorizationBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void shouldSendOneGatewayBatchWhenMaxSizeIsReached() {
+        // Given - delay longo: só o tamanho dispara o envio
+        batcher = new PaymentAuthorizationBatcher(paymentGateway, 3, 60_000);
+        when(paymentGateway.authorizeBatch(anyList())).thenAnswer(invocation -> approveAll(invocation.getArgument(0)));
+        var payments = List.of(payment(), payment(), payment());
+
+        // When
+        var futures = payments.stream().map(batcher::authorize).toList();
+
+        // Then
+        for (int i = 0; i < payments.size(); i++) {
+            var authorization = futures.get(i).join();
+            assertEquals(payments.get(i).getId(), authorization.paymentId());
+            assertTrue(authorization.approved());
+        }
+        verify(paymentGateway, times(1)).authorizeBatch(payments);
+    }
+
+    @Test
+    void shouldSendPartialBatchAfterMaxDelay() throws Exception {
+        // Given
+        batcher = new PaymentAuthorizationBatcher(paymentGateway, 50, 20);
+        when(paymentGateway.authorizeBatch(anyList())).thenAnswer(invocation -> approveAll(invocation.getArgument(0)));
+        var first = payment();
+        var second = payment();
+
+        // When
+        var firstResult = batcher.authorize(first);
+        var secondResult = batcher.authorize(second);
+
+        // Then
+        assertTrue(firstResult.get(5, TimeUnit.SECONDS).approved());
+        assertTrue(secondResult.get(5, TimeUnit.SECONDS).approved());
+        verify(paymentGateway, times(1)).authorizeBatch(List.of(first, second));
+    }
+
+    @Test
+    void shouldFailEveryPaymentOfBatchWhenGatewayFails() {
+        // Given
+        batcher = new PaymentAuthorizationBatcher(paymentGateway, 2, 60_000);
+        when(paymentGateway.authorizeBatch(anyList())).thenReturn(CompletableFuture.failedFuture(
+                new BusinessException("PAYMENT_GATEWAY_TIMEOUT", "Payment gateway timed out")));
+
+        // When
+        var first = batcher.authorize(payment());
+        var second = batcher.authorize(payment());
+
+        // Then
+        for (var result : List.of(first, second)) {
+            var ex = assertThrows(CompletionException.class, result::join);
+            assertEquals("PAYMENT_GATEWAY_TIMEOUT", ((BusinessException) ex.getCause()).getErrorCode());
+        }
+    }
+
+    @Test
+    void shouldFailOnlyPaymentMissingFromGatewayResponse() {
+        // Given
+        batcher = new PaymentAuthorizationBatcher(paymentGateway, 2, 60_000);
+        var answered = payment();
+        var missing = payment();
+        when(paymentGateway.authorizeBatch(anyList())).thenReturn(CompletableFuture.completedFuture(
+                List.of(PaymentAuthorization.approved(answered.getId(), "AUTH-1"))));
+
+        // When
+        var answeredResult = batcher.authorize(answered);
+        var missingResult = batcher.authorize(missing);
+
+        // Then
+        assertTrue(answeredResult.join().approved());
+        var ex = assertThrows(CompletionException.class, missingResult::join);
+        assertEquals("PAYMENT_GATEWAY_UNAVAILABLE", ((BusinessException) ex.getCause()).getErrorCode());
+    }
+
+    private static CompletableFuture<List<PaymentAuthorization>> approveAll(List<Payment> payments) {
+        return CompletableFuture.completedFuture(payments.stream()
+                .map(payment -> PaymentAuthorization.approved(payment.getId(), "AUTH-" + payment.getPaymentReference()))
+                .toList());
+    }
+
+    private static Payment payment() {
+        var payment = new Payment(UUID.randomUUID(), UUID.randomUUID(), "PAY-" + UUID.randomUUID(),
+                new BigDecimal("50.00"), "USD", PaymentMethod.CREDIT_CARD, "key-" + UUID.randomUUID());
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        return payment;
+    }
+}
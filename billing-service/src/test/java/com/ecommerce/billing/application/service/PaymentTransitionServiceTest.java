@@ -0,0 +1,232 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentEventPublisherPort;
+import com.ecommerce.billing.application.port.out.PaymentIdempotencyPort;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.billing.domain.model.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentTransitionServiceTest {
+
+    @Mock
+    private PaymentRepositoryPort paymentRepository;
+
+    @Mock
+    private PaymentEventPublisherPort eventPublisher;
+
+    @Mock
+    private PaymentIdempotencyPort paymentIdempotency;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PaymentTransitionService paymentTransitionService;
+
+    @Test
+    void shouldPersistPendingPaymentsAndRegisterKeys() {
+        // Given
+        var payment = payment();
+        when(paymentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var saved = paymentTransitionService.createPending(List.of(payment));
+
+        // Then
+        assertEquals(PaymentStatus.PENDING, saved.get(0).getStatus());
+        verify(paymentIdempotency).registerAll(List.of(payment));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldEvictCachedMissOfTheOrderOnInsert() {
+        // Given - GET /payments/order/{id} ran before the payment existed and cached the miss
+        var payment = payment();
+        when(paymentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache(any())).thenReturn(cache);
+
+        // When
+        paymentTransitionService.createPending(List.of(payment));
+
+        // Then
+        verify(cache).evict(payment.getOrderId());
+        verify(cache).evict(payment.getCustomerId().toString());
+    }
+
+    @Test
+    void shouldEvictCachesOnlyAfterCommit() {
+        // Given
+        var payment = payment();
+        when(paymentRepository.findAllById(anyCollection())).thenReturn(List.of(payment));
+        when(cacheManager.getCache(any())).thenReturn(cache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            paymentTransitionService.complete(List.of(PaymentAuthorization.approved(payment.getId(), "AUTH-1")));
+
+            // Then - a read before the commit would still see PENDING and must not be evicted-then-recached
+            verify(cache, never()).evict(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(cache).evict(payment.getOrderId());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldReturnExistingPaymentsWhenAnotherReplicaWonTheInsert() {
+        // Given - the filter of this replica had not seen the key yet
+        var duplicate = payment();
+        var fresh = payment();
+        var existing = new Payment(duplicate.getOrderId(), duplicate.getCustomerId(), "PAY-OTHER",
+                duplicate.getAmount(), duplicate.getCurrency(), duplicate.getPaymentMethod(), duplicate.getIdempotencyKey());
+        existing.markAsCompleted();
+        when(paymentRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_payments_idempotency_key"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of(existing));
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of(duplicate.getOrderId()));
+
+        // When
+        var saved = paymentTransitionService.createPending(List.of(duplicate, fresh));
+
+        // Then - the existing one is returned as is, the other one is inserted on its own
+        assertSame(existing, saved.get(0));
+        assertEquals(fresh.getIdempotencyKey(), saved.get(1).getIdempotencyKey());
+        assertEquals(PaymentStatus.PENDING, saved.get(1).getStatus());
+        verify(paymentRepository).saveAll(argThat(payments -> payments.size() == 1
+                && payments.get(0).getIdempotencyKey().equals(fresh.getIdempotencyKey())));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void shouldReadExistingPaymentByOrderWhenKeyDiffers() {
+        // Given
+        var payment = payment();
+        var existing = payment();
+        when(paymentRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("uk_payments_order_id"));
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of(payment.getOrderId()));
+        when(paymentRepository.findByOrderId(payment.getOrderId())).thenReturn(Optional.of(existing));
+
+        // When
+        var saved = paymentTransitionService.createPending(List.of(payment));
+
+        // Then
+        assertEquals(List.of(existing), saved);
+        verify(paymentRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldApplyGatewayDecisionsAndPublishEvents() {
+        // Given
+        var approved = payment();
+        var declined = payment();
+        when(paymentRepository.findAllById(anyCollection())).thenReturn(List.of(approved, declined));
+        when(cacheManager.getCache(any())).thenReturn(cache);
+
+        // When
+        var completed = paymentTransitionService.complete(List.of(
+                PaymentAuthorization.approved(approved.getId(), "AUTH-1"),
+                PaymentAuthorization.declined(declined.getId(), "Insufficient funds")));
+
+        // Then
+        assertEquals(List.of(approved, declined), completed);
+        assertEquals(PaymentStatus.COMPLETED, approved.getStatus());
+        assertEquals("AUTH-1", approved.getAuthorizationCode());
+        assertEquals(PaymentStatus.FAILED, declined.getStatus());
+        assertNull(declined.getAuthorizationCode());
+        assertEquals("Insufficient funds", declined.getFailureReason());
+
+        verify(paymentRepository).saveAll(List.of(approved, declined));
+        verify(eventPublisher).publishPaymentCompleted(any());
+        verify(eventPublisher).publishPaymentFailed(any());
+        verify(cache).evict(approved.getOrderId());
+        verify(paymentIdempotency).registerAll(List.of(approved, declined));
+    }
+
+    @Test
+    void shouldIgnoreAuthorizationForAlreadyCompletedPayment() {
+        // Given
+        var payment = payment();
+        payment.markAsCompleted();
+        when(paymentRepository.findAllById(anyCollection())).thenReturn(List.of(payment));
+
+        // When
+        var completed = paymentTransitionService.complete(List.of(
+                PaymentAuthorization.declined(payment.getId(), "Late decline")));
+
+        // Then
+        assertEquals(PaymentStatus.COMPLETED, completed.get(0).getStatus());
+        verify(paymentRepository, never()).saveAll(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRefundCompletedPaymentOnlyOnce() {
+        // Given - the second one was refunded by an earlier delivery
+        var captured = payment();
+        captured.markAsCompleted("AUTH-1");
+        var alreadyRefunded = payment();
+        alreadyRefunded.markAsCompleted("AUTH-2");
+        alreadyRefunded.markAsRefunded("REF-2");
+        when(paymentRepository.findAllById(anyCollection())).thenReturn(List.of(captured, alreadyRefunded));
+        when(cacheManager.getCache(any())).thenReturn(cache);
+
+        // When
+        var refunded = paymentTransitionService.refund(Map.of(
+                captured.getId(), "REF-1", alreadyRefunded.getId(), "REF-2-AGAIN"));
+
+        // Then
+        assertEquals(List.of(captured), refunded);
+        assertEquals(PaymentStatus.REFUNDED, captured.getStatus());
+        assertEquals("REF-1", captured.getRefundReference());
+        assertEquals("REF-2", alreadyRefunded.getRefundReference());
+        verify(paymentRepository).saveAll(List.of(captured));
+        verify(eventPublisher).publishPaymentRefunded(argThat(event ->
+                event.orderId().equals(captured.getOrderId()) && "REF-1".equals(event.refundReference())));
+    }
+
+    private Payment payment() {
+        var payment = new Payment(UUID.randomUUID(), UUID.randomUUID(), "PAY-" + UUID.randomUUID(),
+                new BigDecimal("50.00"), "USD", PaymentMethod.CREDIT_CARD, "key-" + UUID.randomUUID());
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        return payment;
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.in.ProcessPaymentCommand;
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessPaymentBatchServiceTest {
+
+    @Mock
+    private PaymentRepositoryPort paymentRepository;
+
+    @Mock
+    private PaymentTransitionService paymentTransitions;
+
+    @Mock
+    private PaymentAuthorizationBatcher authorizationBatcher;
+
+    @InjectMocks
+    private ProcessPaymentBatchService processPaymentBatchService;
+
+    private final Map<UUID, Payment> pendingById = new HashMap<>();
+
+    @Test
+    void shouldProcessWholeBatchWithSingleLookupAndSave() {
+        // Given
+        var first = command(UUID.randomUUID(), "order-1");
+        var second = command(UUID.randomUUID(), "order-2");
+
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of());
+        stubPendingInsertAndApprovals();
+
+        // When
+        var results = processPaymentBatchService.execute(List.of(first, second));
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(first.orderId(), results.get(0).getValue().orderId());
+        assertEquals(second.orderId(), results.get(1).getValue().orderId());
+        assertEquals("COMPLETED", results.get(0).getValue().status());
+
+        verify(paymentRepository, times(1)).findByIdempotencyKeys(anyCollection());
+        verify(paymentTransitions, times(1)).createPending(argThat(payments -> payments.size() == 2));
+        verify(authorizationBatcher, times(2)).authorize(any(Payment.class));
+        verify(paymentTransitions, times(1)).complete(argThat(authorizations -> authorizations.size() == 2));
+    }
+
+    @Test
+    void shouldReturnExistingPaymentForKnownIdempotencyKey() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var command = command(orderId, "order-1");
+        var existing = new Payment(orderId, command.customerId(), "PAY-1", command.amount(), "USD",
+                PaymentMethod.CREDIT_CARD, "order-1");
+        existing.markAsCompleted();
+
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of(existing));
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of(orderId));
+        when(paymentTransitions.createPending(anyList())).thenReturn(List.of());
+
+        // When
+        var results = processPaymentBatchService.execute(List.of(command));
+
+        // Then
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("PAY-1", results.get(0).getValue().paymentReference());
+
+        verify(paymentTransitions).createPending(List.of());
+        verifyNoInteractions(authorizationBatcher);
+    }
+
+    @Test
+    void shouldResumePendingPaymentOnRedelivery() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var command = command(orderId, "order-1");
+        var pending = new Payment(orderId, command.customerId(), "PAY-1", command.amount(), "USD",
+                PaymentMethod.CREDIT_CARD, "order-1");
+        ReflectionTestUtils.setField(pending, "id", UUID.randomUUID());
+
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of(pending));
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of(orderId));
+        stubPendingInsertAndApprovals();
+        when(paymentTransitions.complete(anyList())).thenAnswer(invocation -> {
+            pending.markAsCompleted();
+            return List.of(pending);
+        });
+
+        // When
+        var results = processPaymentBatchService.execute(List.of(command));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("COMPLETED", results.get(0).getValue().status());
+        verify(authorizationBatcher).authorize(pending);
+    }
+
+    @Test
+    void shouldRejectDuplicateKeyWithinSameBatch() {
+        // Given
+        var command = command(UUID.randomUUID(), "order-1");
+
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of());
+        stubPendingInsertAndApprovals();
+
+        // When
+        var results = processPaymentBatchService.execute(List.of(command, command));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isFailure());
+        assertEquals("PAYMENT_ALREADY_EXISTS", results.get(1).getErrorCode());
+
+        verify(authorizationBatcher, times(1)).authorize(any(Payment.class));
+    }
+
+    @Test
+    void shouldCompleteAuthorizedPaymentsAndRetryBatchWhenGatewayFails() {
+        // Given
+        var first = command(UUID.randomUUID(), "order-1");
+        var second = command(UUID.randomUUID(), "order-2");
+
+        when(paymentRepository.findByIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        when(paymentRepository.findOrderIdsWithPayment(anyCollection())).thenReturn(Set.of());
+        stubPendingInsertAndApprovals();
+        when(authorizationBatcher.authorize(argThat(payment -> payment != null && payment.getOrderId().equals(second.orderId()))))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new BusinessException("PAYMENT_GATEWAY_TIMEOUT", "Payment gateway timed out")));
+
+        // When / Then - second payment stays PENDING and the shard is redelivered
+        var ex = assertThrows(BusinessException.class,
+                () -> processPaymentBatchService.execute(List.of(first, second)));
+        assertEquals("PAYMENT_GATEWAY_UNAVAILABLE", ex.getErrorCode());
+
+        verify(paymentTransitions).complete(argThat(authorizations -> authorizations.size() == 1));
+    }
+
+    private void stubPendingInsertAndApprovals() {
+        lenient().when(paymentTransitions.createPending(anyList())).thenAnswer(invocation -> {
+            List<Payment> payments = invocation.getArgument(0);
+            payments.forEach(payment -> {
+                ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+                pendingById.put(payment.getId(), payment);
+            });
+            return payments;
+        });
+        lenient().when(authorizationBatcher.authorize(any(Payment.class))).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(
+                        PaymentAuthorization.approved(invocation.<Payment>getArgument(0).getId(), "AUTH-1")));
+        lenient().when(paymentTransitions.complete(anyList())).thenAnswer(invocation -> {
+            List<PaymentAuthorization> authorizations = invocation.getArgument(0);
+            return authorizations.stream().map(authorization -> {
+                var payment = pendingById.get(authorization.paymentId());
+                payment.markAsCompleted();
+                return payment;
+            }).toList();
+        });
+    }
+
+    private ProcessPaymentCommand command(UUID orderId, String idempotencyKey) {
+        return new ProcessPaymentCommand(
+                orderId,
+                UUID.randomUUID(),
+                new BigDecimal("50.00"),
+                "USD",
+                "CREDIT_CARD",
+                idempotencyKey
+        );
+    }
+}
@@ -1,34 +1,40 @@
 package com.ecommerce.billing.application.service;
 
 import com.ecommerce.billing.application.port.in.ProcessPaymentCommand;
-import com.ecommerce.billing.application.port.out.PaymentEventPublisherPort;
-import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentIdempotencyPort;
 import com.ecommerce.billing.domain.model.Payment;
 import com.ecommerce.billing.domain.model.PaymentMethod;
-import com.ecommerce.billing.domain.model.PaymentStatus;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ProcessPaymentServiceTest {
 
     @Mock
-    private PaymentRepositoryPort paymentRepository;
+    private PaymentTransitionService paymentTransitions;
 
     @Mock
-    private PaymentEventPublisherPort eventPublisher;
+    private PaymentAuthorizationBatcher authorizationBatcher;
+
+    @Mock
+    private PaymentIdempotencyPort paymentIdempotency;
 
     @InjectMocks
     private ProcessPaymentService processPaymentService;
@@ -36,35 +42,16 @@ class ProcessPaymentServiceTest {
     @Test
     void shouldProcessPaymentSuccessfully() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
-        String idempotencyKey = "test-key-123";
-
-        var command = new ProcessPaymentCommand(
-                orderId,
-                customerId,
-                new BigDecimal("100.00"),
-                "USD",
-                "CREDIT_CARD",
-                idempotencyKey
-        );
-
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-        when(paymentRepository.existsByOrderId(orderId)).thenReturn(false);
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
-            Payment payment = invocation.getArgument(0);
-            // Mock the ID that would be set by JPA
-            var paymentMock = mock(Payment.class);
-            when(paymentMock.getId()).thenReturn(UUID.randomUUID());
-            when(paymentMock.getOrderId()).thenReturn(payment.getOrderId());
-            when(paymentMock.getCustomerId()).thenReturn(payment.getCustomerId());
-            when(paymentMock.getPaymentReference()).thenReturn("PAY-123456789-ABCD1234");
-            when(paymentMock.getAmount()).thenReturn(payment.getAmount());
-            when(paymentMock.getCurrency()).thenReturn(payment.getCurrency());
-            when(paymentMock.getStatus()).thenReturn(PaymentStatus.COMPLETED);
-            when(paymentMock.getPaymentMethod()).thenReturn(payment.getPaymentMethod());
-            when(paymentMock.getProcessedAt()).thenReturn(java.time.LocalDateTime.now());
-            return paymentMock;
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.empty());
+        when(paymentIdempotency.existsByOrderId(command.orderId())).thenReturn(false);
+        when(paymentTransitions.createPending(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+        when(authorizationBatcher.authorize(any(Payment.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                PaymentAuthorization.approved(invocation.<Payment>getArgument(0).getId(), "AUTH-1")));
+        when(paymentTransitions.complete(anyList())).thenAnswer(invocation -> {
+            var payment = payment(command);
+            payment.markAsCompleted();
+            return List.of(payment);
         });
 
         // When
@@ -73,83 +60,72 @@ class ProcessPaymentServiceTest {
         // Then
         assertTrue(result.isSuccess());
         assertNotNull(result.getValue());
-        assertEquals(orderId, result.getValue().orderId());
+        assertEquals(command.orderId(), result.getValue().orderId());
         assertEquals("USD", result.getValue().currency());
-
-        verify(paymentRepository).save(any(Payment.class));
-        verify(eventPublisher).publishPaymentCompleted(any());
+        assertEquals("COMPLETED", result.getValue().status());
+
+        // PENDING committed before the gateway call, decision applied after it
+        var inOrder = inOrder(paymentTransitions, authorizationBatcher);
+        inOrder.verify(paymentTransitions).createPending(argThat(payments -> payments.size() == 1));
+        inOrder.verify(authorizationBatcher).authorize(any(Payment.class));
+        inOrder.verify(paymentTransitions).complete(argThat(authorizations ->
+                authorizations.size() == 1 && authorizations.get(0).approved()));
     }
 
     @Test
-    void shouldReturnExistingPaymentWhenIdempotencyKeyExists() {
+    void shouldReturnExistingPaymentForSameIdempotencyKey() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        String idempotencyKey = "existing-key";
-
-        var existingPayment = mock(Payment.class);
-        when(existingPayment.getId()).thenReturn(UUID.randomUUID());
-        when(existingPayment.getOrderId()).thenReturn(orderId);
-        when(existingPayment.getPaymentReference()).thenReturn("PAY-EXISTING-REF");
-        when(existingPayment.getAmount()).thenReturn(new BigDecimal("100.00"));
-        when(existingPayment.getCurrency()).thenReturn("USD");
-        when(existingPayment.getStatus()).thenReturn(PaymentStatus.COMPLETED);
-        when(existingPayment.getPaymentMethod()).thenReturn(PaymentMethod.CREDIT_CARD);
-        when(existingPayment.getProcessedAt()).thenReturn(java.time.LocalDateTime.now());
-
-        var command = new ProcessPaymentCommand(
-                orderId,
-                UUID.randomUUID(),
-                new BigDecimal("100.00"),
-                "USD",
-                "CREDIT_CARD",
-                idempotencyKey
-        );
-
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(existingPayment));
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        var existingPayment = payment(command);
+        existingPayment.markAsCompleted();
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.of(existingPayment));
 
         // When
         var result = processPaymentService.execute(command);
 
         // Then
         assertTrue(result.isSuccess());
-        assertEquals(orderId, result.getValue().orderId());
+        assertEquals(command.orderId(), result.getValue().orderId());
+        assertEquals("COMPLETED", result.getValue().status());
 
-        verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventPublisher, never()).publishPaymentCompleted(any());
+        verifyNoInteractions(paymentTransitions, authorizationBatcher);
     }
 
     @Test
-    void shouldProcessPaymentWithFailure() {
+    void shouldResumePendingPaymentLeftByPreviousAttempt() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        UUID customerId = UUID.randomUUID();
-        String idempotencyKey = "test-key-123";
-
-        // Use amount > 2000 to force payment failure in simulatePaymentProcessing
-        var command = new ProcessPaymentCommand(
-                orderId,
-                customerId,
-                new BigDecimal("3000.00"),
-                "USD",
-                "CREDIT_CARD",
-                idempotencyKey
-        );
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        var pendingPayment = payment(command);
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.of(pendingPayment));
+        when(authorizationBatcher.authorize(pendingPayment)).thenReturn(CompletableFuture.completedFuture(
+                PaymentAuthorization.approved(pendingPayment.getId(), "AUTH-1")));
+        when(paymentTransitions.complete(anyList())).thenAnswer(invocation -> {
+            pendingPayment.markAsCompleted();
+            return List.of(pendingPayment);
+        });
+
+        // When
+        var result = processPaymentService.execute(command);
+
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals("COMPLETED", result.getValue().status());
+        verify(paymentTransitions, never()).createPending(anyList());
+    }
 
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-        when(paymentRepository.existsByOrderId(orderId)).thenReturn(false);
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
-            Payment payment = invocation.getArgument(0);
-            var paymentMock = mock(Payment.class);
-            when(paymentMock.getId()).thenReturn(UUID.randomUUID());
-            when(paymentMock.getOrderId()).thenReturn(payment.getOrderId());
-            when(paymentMock.getCustomerId()).thenReturn(payment.getCustomerId());
-            when(paymentMock.getPaymentReference()).thenReturn("PAY-123456789-ABCD1234");
-            when(paymentMock.getAmount()).thenReturn(payment.getAmount());
-            when(paymentMock.getCurrency()).thenReturn(payment.getCurrency());
-            when(paymentMock.getStatus()).thenReturn(PaymentStatus.FAILED);
-            when(paymentMock.getPaymentMethod()).thenReturn(payment.getPaymentMethod());
-            when(paymentMock.getProcessedAt()).thenReturn(java.time.LocalDateTime.now());
-            return paymentMock;
+    @Test
+    void shouldProcessPaymentWithFailure() {
+        // Given
+        var command = command(new BigDecimal("3000.00"), "CREDIT_CARD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.empty());
+        when(paymentIdempotency.existsByOrderId(command.orderId())).thenReturn(false);
+        when(paymentTransitions.createPending(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+        when(authorizationBatcher.authorize(any(Payment.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                PaymentAuthorization.declined(invocation.<Payment>getArgument(0).getId(), "Insufficient funds")));
+        when(paymentTransitions.complete(anyList())).thenAnswer(invocation -> {
+            var payment = payment(command);
+            payment.markAsFailed("Insufficient funds");
+            return List.of(payment);
         });
 
         // When
@@ -157,32 +133,37 @@ class ProcessPaymentServiceTest {
 
         // Then
         assertTrue(result.isSuccess());
-        assertNotNull(result.getValue());
-        assertEquals(orderId, result.getValue().orderId());
+        assertEquals(command.orderId(), result.getValue().orderId());
         assertEquals("FAILED", result.getValue().status());
 
-        verify(paymentRepository).save(any(Payment.class));
-        verify(eventPublisher).publishPaymentFailed(any());
-        verify(eventPublisher, never()).publishPaymentCompleted(any());
+        verify(paymentTransitions).complete(argThat(authorizations -> !authorizations.get(0).approved()));
     }
 
     @Test
-    void shouldFailWhenPaymentAlreadyExistsForOrder() {
+    void shouldLeavePaymentPendingWhenGatewayIsUnavailable() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        String idempotencyKey = "test-key-123";
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.empty());
+        when(paymentIdempotency.existsByOrderId(command.orderId())).thenReturn(false);
+        when(paymentTransitions.createPending(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+        when(authorizationBatcher.authorize(any(Payment.class))).thenReturn(CompletableFuture.failedFuture(
+                new BusinessException("PAYMENT_GATEWAY_TIMEOUT", "Payment gateway timed out")));
 
-        var command = new ProcessPaymentCommand(
-                orderId,
-                UUID.randomUUID(),
-                new BigDecimal("100.00"),
-                "USD",
-                "CREDIT_CARD",
-                idempotencyKey
-        );
+        // When
+        var result = processPaymentService.execute(command);
 
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-        when(paymentRepository.existsByOrderId(orderId)).thenReturn(true);
+        // Then
+        assertTrue(result.isFailure());
+        assertEquals("PAYMENT_GATEWAY_TIMEOUT", result.getErrorCode());
+        verify(paymentTransitions, never()).complete(anyList());
+    }
+
+    @Test
+    void shouldFailWhenPaymentAlreadyExistsForOrder() {
+        // Given
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.empty());
+        when(paymentIdempotency.existsByOrderId(command.orderId())).thenReturn(true);
 
         // When
         var result = processPaymentService.execute(command);
@@ -192,28 +173,15 @@ class ProcessPaymentServiceTest {
         assertEquals("PAYMENT_ALREADY_EXISTS", result.getErrorCode());
         assertTrue(result.getErrorMessage().contains("Payment already exists for order"));
 
-        verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventPublisher, never()).publishPaymentCompleted(any());
-        verify(eventPublisher, never()).publishPaymentFailed(any());
+        verifyNoInteractions(paymentTransitions, authorizationBatcher);
     }
 
     @Test
     void shouldFailWhenInvalidPaymentMethod() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        String idempotencyKey = "test-key-123";
-
-        var command = new ProcessPaymentCommand(
-                orderId,
-                UUID.randomUUID(),
-                new BigDecimal("100.00"),
-                "USD",
-                "INVALID_METHOD",
-                idempotencyKey
-        );
-
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-        when(paymentRepository.existsByOrderId(orderId)).thenReturn(false);
+        var command = command(new BigDecimal("100.00"), "INVALID_METHOD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.empty());
+        when(paymentIdempotency.existsByOrderId(command.orderId())).thenReturn(false);
 
         // When
         var result = processPaymentService.execute(command);
@@ -223,60 +191,34 @@ class ProcessPaymentServiceTest {
         assertEquals("INVALID_PAYMENT_METHOD", result.getErrorCode());
         assertTrue(result.getErrorMessage().contains("Invalid payment method"));
 
-        verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventPublisher, never()).publishPaymentCompleted(any());
-        verify(eventPublisher, never()).publishPaymentFailed(any());
+        verifyNoInteractions(paymentTransitions, authorizationBatcher);
     }
 
     @Test
     void shouldFailWhenBusinessExceptionOccurs() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        String idempotencyKey = "test-key-123";
-
-        var command = new ProcessPaymentCommand(
-                orderId,
-                UUID.randomUUID(),
-                new BigDecimal("100.00"),
-                "USD",
-                "CREDIT_CARD",
-                idempotencyKey
-        );
-
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-        when(paymentRepository.existsByOrderId(orderId)).thenReturn(false);
-        when(paymentRepository.save(any(Payment.class)))
-                .thenThrow(new BusinessException("PAYMENT_GATEWAY_ERROR", "Payment gateway unavailable"));
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey())).thenReturn(Optional.empty());
+        when(paymentIdempotency.existsByOrderId(command.orderId())).thenReturn(false);
+        when(paymentTransitions.createPending(anyList()))
+                .thenThrow(new BusinessException("PAYMENT_STORAGE_ERROR", "Could not store payment"));
 
         // When
         var result = processPaymentService.execute(command);
 
         // Then
         assertTrue(result.isFailure());
-        assertEquals("PAYMENT_GATEWAY_ERROR", result.getErrorCode());
-        assertEquals("Payment gateway unavailable", result.getErrorMessage());
+        assertEquals("PAYMENT_STORAGE_ERROR", result.getErrorCode());
+        assertEquals("Could not store payment", result.getErrorMessage());
 
-        verify(paymentRepository).save(any(Payment.class));
-        verify(eventPublisher, never()).publishPaymentCompleted(any());
-        verify(eventPublisher, never()).publishPaymentFailed(any());
+        verifyNoInteractions(authorizationBatcher);
     }
 
     @Test
     void shouldFailWhenUnexpectedExceptionOccurs() {
         // Given
-        UUID orderId = UUID.randomUUID();
-        String idempotencyKey = "test-key-123";
-
-        var command = new ProcessPaymentCommand(
-                orderId,
-                UUID.randomUUID(),
-                new BigDecimal("100.00"),
-                "USD",
-                "CREDIT_CARD",
-                idempotencyKey
-        );
-
-        when(paymentRepository.findByIdempotencyKey(idempotencyKey))
+        var command = command(new BigDecimal("100.00"), "CREDIT_CARD");
+        when(paymentIdempotency.findByIdempotencyKey(command.idempotencyKey()))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // When
@@ -287,8 +229,30 @@ class ProcessPaymentServiceTest {
         assertEquals("PAYMENT_PROCESSING_FAILED", result.getErrorCode());
         assertEquals("Failed to process payment", result.getErrorMessage());
 
-        verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventPublisher, never()).publishPaymentCompleted(any());
-        verify(eventPublisher, never()).publishPaymentFailed(any());
+        verifyNoInteractions(paymentTransitions, authorizationBatcher);
+    }
+
+    private ProcessPaymentCommand command(BigDecimal amount, String paymentMethod) {
+        return new ProcessPaymentCommand(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                amount,
+                "USD",
+                paymentMethod,
+                "test-key-123"
+        );
+    }
+
+    private Payment payment(ProcessPaymentCommand command) {
+        var payment = new Payment(command.orderId(), command.customerId(), "PAY-123456789-ABCD1234",
+                command.amount(), command.currency(), PaymentMethod.CREDIT_CARD, command.idempotencyKey());
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        return payment;
+    }
+
+    private static List<Payment> withIds(List<Payment> payments) {
+        // Id que o JPA atribuiria no insert
+        payments.forEach(payment -> ReflectionTestUtils.setField(payment, "id", UUID.randomUUID()));
+        return payments;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentGatewayPort;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefundPaymentsServiceTest {
+
+    @Mock
+    private PaymentRepositoryPort paymentRepository;
+
+    @Mock
+    private PaymentGatewayPort paymentGateway;
+
+    @Mock
+    private PaymentTransitionService paymentTransitions;
+
+    @InjectMocks
+    private RefundPaymentsService refundPaymentsService;
+
+    @Test
+    void shouldRefundCapturedPaymentsOfCancelledOrders() {
+        // Given - one captured, one that was declined (nothing to give back)
+        var captured = payment();
+        captured.markAsCompleted("AUTH-1");
+        var declined = payment();
+        declined.markAsFailed("Insufficient funds");
+        when(paymentRepository.findAllByOrderIds(anyCollection())).thenReturn(List.of(captured, declined));
+        when(paymentGateway.refund(captured)).thenReturn(CompletableFuture.completedFuture("REF-1"));
+        when(paymentTransitions.refund(any())).thenReturn(List.of(captured));
+
+        // When
+        var refunded = refundPaymentsService.execute(Set.of(captured.getOrderId(), declined.getOrderId()));
+
+        // Then
+        assertEquals(1, refunded);
+        verify(paymentGateway, never()).refund(declined);
+        verify(paymentTransitions).refund(Map.of(captured.getId(), "REF-1"));
+    }
+
+    @Test
+    void shouldRecordSuccessfulRefundsAndFailWhenGatewayRefusesOne() {
+        // Given
+        var refundable = payment();
+        refundable.markAsCompleted("AUTH-1");
+        var unavailable = payment();
+        unavailable.markAsCompleted("AUTH-2");
+        when(paymentRepository.findAllByOrderIds(anyCollection())).thenReturn(List.of(refundable, unavailable));
+        when(paymentGateway.refund(refundable)).thenReturn(CompletableFuture.completedFuture("REF-1"));
+        when(paymentGateway.refund(unavailable)).thenReturn(CompletableFuture.failedFuture(
+                new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE", "Payment gateway unavailable")));
+
+        // When / Then - the batch is redelivered, the refunded one is skipped next time
+        var ex = assertThrows(BusinessException.class, () ->
+                refundPaymentsService.execute(Set.of(refundable.getOrderId(), unavailable.getOrderId())));
+        assertEquals("PAYMENT_GATEWAY_UNAVAILABLE", ex.getErrorCode());
+        verify(paymentTransitions).refund(Map.of(refundable.getId(), "REF-1"));
+    }
+
+    @Test
+    void shouldSkipOrdersWithoutCapturedPayment() {
+        // Given - redelivery after the refund was applied
+        var payment = payment();
+        payment.markAsCompleted("AUTH-1");
+        payment.markAsRefunded("REF-1");
+        when(paymentRepository.findAllByOrderIds(anyCollection())).thenReturn(List.of(payment));
+
+        // When
+        var refunded = refundPaymentsService.execute(Set.of(payment.getOrderId()));
+
+        // Then
+        assertEquals(0, refunded);
+        verifyNoInteractions(paymentGateway, paymentTransitions);
+    }
+
+    private Payment payment() {
+        var payment = new Payment(UUID.randomUUID(), UUID.randomUUID(), "PAY-" + UUID.randomUUID(),
+                new BigDecimal("50.00"), "USD", PaymentMethod.CREDIT_CARD, "key-" + UUID.randomUUID());
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        return payment;
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.billing.application.service;
+
+import com.ecommerce.billing.application.port.out.PaymentAuthorization;
+import com.ecommerce.billing.application.port.out.PaymentRepositoryPort;
+import com.ecommerce.billing.domain.model.Payment;
+import com.ecommerce.billing.domain.model.PaymentMethod;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StalePaymentSweeperTest {
+
+    @Mock
+    private PaymentRepositoryPort paymentRepository;
+
+    @Mock
+    private PaymentAuthorizationBatcher authorizationBatcher;
+
+    @Mock
+    private PaymentTransitionService paymentTransitions;
+
+    private StalePaymentSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new StalePaymentSweeper(paymentRepository, authorizationBatcher, paymentTransitions,
+                Duration.ofMinutes(2), Duration.ofMinutes(30), 100);
+    }
+
+    @Test
+    void shouldReauthorizeStalePendingPaymentsAndApplyDecision() {
+        // Given - PENDING committed, then the instance died before the gateway answer was applied
+        var payment = payment(LocalDateTime.now().minusMinutes(5));
+        when(paymentRepository.findStalePending(any(), eq(100))).thenReturn(List.of(payment));
+        var authorization = PaymentAuthorization.approved(payment.getId(), "AUTH-1");
+        when(authorizationBatcher.authorize(payment)).thenReturn(CompletableFuture.completedFuture(authorization));
+
+        // When
+        var resolved = sweeper.sweep();
+
+        // Then
+        assertEquals(1, resolved);
+        verify(paymentTransitions).complete(List.of(authorization));
+    }
+
+    @Test
+    void shouldLeavePaymentPendingWhileGatewayIsUnavailable() {
+        // Given
+        var payment = payment(LocalDateTime.now().minusMinutes(5));
+        when(paymentRepository.findStalePending(any(), anyInt())).thenReturn(List.of(payment));
+        when(authorizationBatcher.authorize(payment)).thenReturn(CompletableFuture.failedFuture(
+                new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE", "Payment gateway unavailable")));
+
+        // When
+        var resolved = sweeper.sweep();
+
+        // Then
+        assertEquals(0, resolved);
+        verifyNoInteractions(paymentTransitions);
+    }
+
+    @Test
+    void shouldFailPaymentWhenGatewayCannotConfirmAfterGiveUpWindow() {
+        // Given
+        var payment = payment(LocalDateTime.now().minusHours(1));
+        when(paymentRepository.findStalePending(any(), anyInt())).thenReturn(List.of(payment));
+        when(authorizationBatcher.authorize(payment)).thenReturn(CompletableFuture.failedFuture(
+                new BusinessException("PAYMENT_GATEWAY_UNAVAILABLE", "Payment gateway unavailable")));
+
+        // When
+        var resolved = sweeper.sweep();
+
+        // Then
+        assertEquals(1, resolved);
+        verify(paymentTransitions).complete(List.of(
+                PaymentAuthorization.declined(payment.getId(), StalePaymentSweeper.GIVE_UP_REASON)));
+    }
+
+    @Test
+    void shouldQueryOnlyPaymentsOlderThanStaleAfter() {
+        // Given
+        when(paymentRepository.findStalePending(any(), anyInt())).thenReturn(List.of());
+        var before = LocalDateTime.now();
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(paymentRepository).findStalePending(argThat(cutoff ->
+                !cutoff.isAfter(LocalDateTime.now().minusMinutes(2)) && cutoff.isAfter(before.minusMinutes(3))), eq(100));
+        verifyNoInteractions(authorizationBatcher, paymentTransitions);
+    }
+
+    @Test
+    void shouldRetryOnNextSweepWhenAnotherInstanceCompletedFirst() {
+        // Given
+        var payment = payment(LocalDateTime.now().minusMinutes(5));
+        when(paymentRepository.findStalePending(any(), anyInt())).thenReturn(List.of(payment));
+        when(authorizationBatcher.authorize(payment)).thenReturn(CompletableFuture.completedFuture(
+                PaymentAuthorization.approved(payment.getId(), "AUTH-1")));
+        when(paymentTransitions.complete(any())).thenThrow(
+                new ObjectOptimisticLockingFailureException(Payment.class, payment.getId()));
+
+        // When / Then
+        assertEquals(0, sweeper.sweep());
+    }
+
+    private Payment payment(LocalDateTime createdAt) {
+        var payment = new Payment(UUID.randomUUID(), UUID.randomUUID(), "PAY-" + UUID.randomUUID(),
+                new BigDecimal("50.00"), "USD", PaymentMethod.CREDIT_CARD, "key-" + UUID.randomUUID());
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(payment, "createdAt", createdAt);
+        return payment;
+    }
+}
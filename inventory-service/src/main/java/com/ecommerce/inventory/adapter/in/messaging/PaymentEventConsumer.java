@@ -3,17 +3,16 @@ package com.ecommerce.inventory.adapter.in.messaging;
 import com.ecommerce.inventory.application.port.in.ReserveInventoryCommand;
 import com.ecommerce.inventory.application.port.in.ReserveInventoryItemCommand;
 import com.ecommerce.inventory.application.port.in.ReserveInventoryUseCase;
+import com.ecommerce.shared.infrastructure.messaging.KeyOrderedParallelProcessor;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -24,15 +23,20 @@ public class PaymentEventConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentEventConsumer.class);
 
+    private static final String RESERVATION_ERROR = "INVENTORY_RESERVATION_FAILED";
+
     private final ReserveInventoryUseCase reserveInventoryUseCase;
+    private final KeyOrderedParallelProcessor parallelProcessor;
     private final ObjectMapper objectMapper;
     private final Counter paymentEventsProcessedCounter;
     private final Counter paymentEventsFailedCounter;
 
     public PaymentEventConsumer(ReserveInventoryUseCase reserveInventoryUseCase,
+                               KeyOrderedParallelProcessor parallelProcessor,
                                ObjectMapper objectMapper,
                                MeterRegistry meterRegistry) {
         this.reserveInventoryUseCase = reserveInventoryUseCase;
+        this.parallelProcessor = parallelProcessor;
         this.objectMapper = objectMapper;
         this.paymentEventsProcessedCounter = Counter.builder("inventory.payment.events.processed")
                 .description("Number of payment events processed")
@@ -45,48 +49,49 @@ public class PaymentEventConsumer {
     @KafkaListener(
         topics = "billing.events",
         groupId = "inventory-service",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void handlePaymentEvent(
-            @Payload String eventPayload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    public void handlePaymentEvents(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer) {
+        logger.info("Received batch of {} payment events", records.size());
 
-        logger.info("Received payment event from topic: {}, partition: {}, offset: {}, key: {}", 
-            topic, partition, offset, key);
+        // Different orders fan out on virtual threads; events of the same order stay in sequence
+        var outcome = parallelProcessor.processEach(records, this::handlePaymentEvent);
 
-        try {
-            var paymentEvent = objectMapper.readValue(eventPayload, PaymentCompletedEventDto.class);
-            
-            // Only process PaymentCompleted events
-            if ("PaymentCompleted".equals(paymentEvent.eventType())) {
-                processPaymentCompletedEvent(paymentEvent);
-                paymentEventsProcessedCounter.increment();
-                logger.info("Successfully processed PaymentCompleted event for order: {}", paymentEvent.orderId());
-            } else {
-                logger.debug("Ignoring event type: {} for order: {}", 
-                    paymentEvent.eventType(), paymentEvent.orderId());
-            }
+        parallelProcessor.commit(outcome, consumer);
+    }
 
-            // Manual acknowledgment after successful processing
-            acknowledgment.acknowledge();
+    // Only malformed payloads and business rejections are swallowed here; anything else escapes so the
+    // processor retries the record and dead-letters it after the max attempts
+    private void handlePaymentEvent(ConsumerRecord<String, String> record) {
+        logger.debug("Processing payment event from topic: {}, partition: {}, offset: {}, key: {}", 
+            record.topic(), record.partition(), record.offset(), record.key());
 
+        PaymentCompletedEventDto paymentEvent;
+        try {
+            paymentEvent = objectMapper.readValue(record.value(), PaymentCompletedEventDto.class);
         } catch (JsonProcessingException ex) {
-            logger.error("Failed to deserialize payment event payload: {}", eventPayload, ex);
+            // Redelivering a malformed message would fail the same way
+            logger.error("Failed to deserialize payment event payload: {}", record.value(), ex);
             paymentEventsFailedCounter.increment();
-            acknowledgment.acknowledge();
-            
-        } catch (Exception ex) {
-            logger.error("Failed to process payment event. Payload: {}", eventPayload, ex);
+            return;
+        }
+
+        // Only process PaymentCompleted events
+        if (!"PaymentCompleted".equals(paymentEvent.eventType())) {
+            logger.debug("Ignoring event type: {} for order: {}", 
+                paymentEvent.eventType(), paymentEvent.orderId());
+            return;
+        }
+
+        if (processPaymentCompletedEvent(paymentEvent)) {
+            paymentEventsProcessedCounter.increment();
+            logger.info("Successfully processed PaymentCompleted event for order: {}", paymentEvent.orderId());
+        } else {
             paymentEventsFailedCounter.increment();
-            acknowledgment.acknowledge();
         }
     }
 
-    private void processPaymentCompletedEvent(PaymentCompletedEventDto paymentEvent) {
+    private boolean processPaymentCompletedEvent(PaymentCompletedEventDto paymentEvent) {
         // Generate idempotency key based on order ID
         String idempotencyKey = "payment-" + paymentEvent.orderId().toString();
         
@@ -104,13 +109,20 @@ public class PaymentEventConsumer {
         var result = reserveInventoryUseCase.execute(command);
         
         if (result.isFailure()) {
-            logger.error("Failed to reserve inventory for order: {}. Error: {}", 
-                paymentEvent.orderId(), result.getErrorMessage());
-            throw new RuntimeException("Inventory reservation failed: " + result.getErrorMessage());
+            // ReserveInventoryService reports unexpected (infrastructure) errors with this code
+            if (RESERVATION_ERROR.equals(result.getErrorCode())) {
+                throw new IllegalStateException("Inventory reservation failed for order " + paymentEvent.orderId() 
+                    + ": " + result.getErrorMessage());
+            }
+            // Business rejection (e.g. insufficient stock): retrying would give the same answer
+            logger.warn("Inventory not reserved for order: {}. Error: {} - {}", 
+                paymentEvent.orderId(), result.getErrorCode(), result.getErrorMessage());
+            return false;
         }
         
         logger.info("Inventory reserved successfully for order: {}. Reference: {}", 
             paymentEvent.orderId(), result.getValue().reservationReference());
+        return true;
     }
 
     private List<ReserveInventoryItemCommand> createMockInventoryItems(PaymentCompletedEventDto paymentEvent) {
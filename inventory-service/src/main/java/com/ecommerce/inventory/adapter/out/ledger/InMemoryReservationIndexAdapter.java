@@ -0,0 +1,60 @@
+package com.ecommerce.inventory.adapter.out.ledger;
+
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import com.ecommerce.inventory.domain.model.ReservationStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class InMemoryReservationIndexAdapter implements ReservationIndexPort {
+
+    private final Cache<UUID, List<ReservationSnapshot>> reservationsByOrder;
+
+    public InMemoryReservationIndexAdapter(@Value("${inventory.reservation-index.max-orders:100000}") long maxOrders,
+                                           @Value("${inventory.reservation-index.ttl:24h}") Duration ttl) {
+        // TTL alinhado com a expiração das reservas (24h)
+        this.reservationsByOrder = Caffeine.newBuilder()
+                .maximumSize(maxOrders)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<List<ReservationSnapshot>> findByOrderId(UUID orderId) {
+        return Optional.ofNullable(reservationsByOrder.getIfPresent(orderId));
+    }
+
+    @Override
+    public void put(UUID orderId, List<ReservationSnapshot> reservations) {
+        var snapshots = List.copyOf(reservations);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reservationsByOrder.put(orderId, snapshots);
+            return;
+        }
+        // Indexed only once the reserving transaction commits - a rolled back reservation is never visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reservationsByOrder.put(orderId, snapshots);
+            }
+        });
+    }
+
+    @Override
+    public void updateStatus(UUID orderId, UUID productId, ReservationStatus status) {
+        // Snapshots are immutable; swap the list atomically so readers never see a half-updated order
+        reservationsByOrder.asMap().computeIfPresent(orderId, (id, reservations) -> reservations.stream()
+                .map(reservation -> reservation.productId().equals(productId) ? reservation.withStatus(status) : reservation)
+                .toList());
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.inventory.adapter.out.ledger;
+
+import com.ecommerce.inventory.application.port.out.InventoryRepositoryPort;
+import com.ecommerce.inventory.application.port.out.StockLedgerPort;
+import com.ecommerce.inventory.domain.model.StockLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class InMemoryStockLedgerAdapter implements StockLedgerPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryStockLedgerAdapter.class);
+
+    private final InventoryRepositoryPort inventoryRepository;
+    private final Map<UUID, StockEntry> entries = new ConcurrentHashMap<>();
+
+    public InMemoryStockLedgerAdapter(InventoryRepositoryPort inventoryRepository) {
+        this.inventoryRepository = inventoryRepository;
+    }
+
+    @Override
+    public Optional<StockLevel> getStockLevel(UUID productId) {
+        return entry(productId).map(entry -> entry.toStockLevel(productId));
+    }
+
+    @Override
+    public boolean canReserve(UUID productId, int quantity) {
+        return quantity > 0 && entry(productId)
+            .map(entry -> entry.available.get() >= quantity)
+            .orElse(false);
+    }
+
+    @Override
+    public OptionalInt reserve(UUID productId, int quantity) {
+        if (quantity <= 0) {
+            return OptionalInt.empty();
+        }
+
+        var entryOpt = entry(productId);
+        if (entryOpt.isEmpty()) {
+            return OptionalInt.empty();
+        }
+
+        // CAS loop - admission control without taking a row lock in the database
+        var available = entryOpt.get().available;
+        while (true) {
+            int current = available.get();
+            if (current < quantity) {
+                return OptionalInt.empty();
+            }
+            if (available.compareAndSet(current, current - quantity)) {
+                return OptionalInt.of(current - quantity);
+            }
+        }
+    }
+
+    @Override
+    public void release(UUID productId, int quantity) {
+        var entry = entries.get(productId);
+        if (entry != null) {
+            entry.available.addAndGet(quantity);
+        }
+    }
+
+    @Override
+    public void resync(UUID productId, int availableQuantity) {
+        var entry = entries.get(productId);
+        if (entry != null) {
+            var resynced = Math.max(availableQuantity, 0);
+            var previous = entry.available.getAndSet(resynced);
+            if (previous != resynced) {
+                logger.info("Stock ledger resynced for product: {}. Available: {} -> {}", productId, previous, resynced);
+            }
+        }
+    }
+
+    @Override
+    public Set<UUID> trackedProducts() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    private Optional<StockEntry> entry(UUID productId) {
+        var entry = entries.get(productId);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+
+        // Seed lazily from the database; putIfAbsent keeps the first loaded value if two threads race
+        var inventoryOpt = inventoryRepository.findByProductId(productId);
+        if (inventoryOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        var inventory = inventoryOpt.get();
+        var seeded = new StockEntry(inventory.getId(), inventory.getProductName(), inventory.getAvailableQuantity());
+        var existing = entries.putIfAbsent(productId, seeded);
+        if (existing == null) {
+            logger.debug("Stock ledger seeded for product: {} with {} units", productId, inventory.getAvailableQuantity());
+            return Optional.of(seeded);
+        }
+        return Optional.of(existing);
+    }
+
+    private static final class StockEntry {
+
+        private final UUID inventoryId;
+        private final String productName;
+        private final AtomicInteger available;
+
+        private StockEntry(UUID inventoryId, String productName, int available) {
+            this.inventoryId = inventoryId;
+            this.productName = productName;
+            this.available = new AtomicInteger(available);
+        }
+
+        private StockLevel toStockLevel(UUID productId) {
+            return new StockLevel(inventoryId, productId, productName, available.get());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.inventory.adapter.out.persistence;
+
+import com.ecommerce.inventory.domain.model.InventoryReservation;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InventoryReservationJpaRepository extends JpaRepository<InventoryReservation, UUID> {
+
+    // Projection straight from the order_id index - no Inventory aggregate or reservation collection is loaded
+    @Query("SELECT new com.ecommerce.inventory.domain.model.ReservationSnapshot(" +
+           "r.orderId, i.productId, i.productName, r.quantity, r.reservationReference, r.status) " +
+           "FROM InventoryReservation r JOIN r.inventory i WHERE r.orderId = :orderId")
+    List<ReservationSnapshot> findSnapshotsByOrderId(@Param("orderId") UUID orderId);
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.inventory.adapter.out.persistence;
+
+import com.ecommerce.inventory.domain.model.ReservationJournalEntry;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReservationJournalJpaRepository extends JpaRepository<ReservationJournalEntry, UUID> {
+
+    // Claims the entries for the flush transaction: a replica replaying the same entries waits here
+    // and then finds them deleted, so each reservation is applied exactly once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM ReservationJournalEntry e WHERE e.id IN :ids")
+    List<ReservationJournalEntry> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    // Admitted but not yet flushed, so still PENDING
+    @Query("SELECT new com.ecommerce.inventory.domain.model.ReservationSnapshot(" +
+           "e.orderId, e.productId, e.productName, e.quantity, e.reservationReference, " +
+           "com.ecommerce.inventory.domain.model.ReservationStatus.PENDING) " +
+           "FROM ReservationJournalEntry e WHERE e.orderId = :orderId")
+    List<ReservationSnapshot> findSnapshotsByOrderId(@Param("orderId") UUID orderId);
+
+    @Query("SELECT e FROM ReservationJournalEntry e WHERE e.createdAt < :createdBefore ORDER BY e.createdAt")
+    List<ReservationJournalEntry> findStale(@Param("createdBefore") LocalDateTime createdBefore, Limit limit);
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.inventory.adapter.out.persistence;
+
+import com.ecommerce.inventory.application.port.out.ReservationRepositoryPort;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class ReservationRepositoryAdapter implements ReservationRepositoryPort {
+
+    private final InventoryReservationJpaRepository jpaRepository;
+    private final ReservationJournalJpaRepository journalRepository;
+
+    public ReservationRepositoryAdapter(InventoryReservationJpaRepository jpaRepository,
+                                        ReservationJournalJpaRepository journalRepository) {
+        this.jpaRepository = jpaRepository;
+        this.journalRepository = journalRepository;
+    }
+
+    @Override
+    public List<ReservationSnapshot> findByOrderId(UUID orderId) {
+        // An entry leaves the journal in the transaction that applies it. Reading the journal first means a
+        // flush committing in between shows up twice rather than not at all; the applied row wins.
+        var byProduct = new LinkedHashMap<UUID, ReservationSnapshot>();
+        journalRepository.findSnapshotsByOrderId(orderId).forEach(snapshot -> byProduct.put(snapshot.productId(), snapshot));
+        jpaRepository.findSnapshotsByOrderId(orderId).forEach(snapshot -> byProduct.put(snapshot.productId(), snapshot));
+        return List.copyOf(byProduct.values());
+    }
+}
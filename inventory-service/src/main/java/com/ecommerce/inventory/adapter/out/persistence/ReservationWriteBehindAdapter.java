@@ -0,0 +1,402 @@
+package com.ecommerce.inventory.adapter.out.persistence;
+
+import com.ecommerce.inventory.application.port.out.InventoryEventPublisherPort;
+import com.ecommerce.inventory.application.port.out.InventoryRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.application.port.out.ReservationWriterPort;
+import com.ecommerce.inventory.application.port.out.StockLedgerPort;
+import com.ecommerce.inventory.domain.event.InventoryReleasedEvent;
+import com.ecommerce.inventory.domain.model.PendingReservation;
+import com.ecommerce.inventory.domain.model.ReservationJournalEntry;
+import com.ecommerce.inventory.domain.model.ReservationStatus;
+import com.ecommerce.shared.domain.entity.BaseEntity;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Write-behind for ledger reservations. Each reservation is journaled (append-only insert, no lock on the
+// inventory row) in the reserving transaction, next to its InventoryReserved outbox event, and only queued
+// in memory after that commit. The flush applies a batch per product and deletes its journal entries in the
+// same transaction; entries left behind by a crash or a failed flush are replayed from the journal.
+@Component
+public class ReservationWriteBehindAdapter implements ReservationWriterPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationWriteBehindAdapter.class);
+
+    private final InventoryRepositoryPort inventoryRepository;
+    private final ReservationJournalJpaRepository journalRepository;
+    private final StockLedgerPort stockLedger;
+    private final InventoryEventPublisherPort eventPublisher;
+    private final ReservationIndexPort reservationIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration staleAfter;
+
+    private final Queue<QueuedReservation> pending = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> queuedIds = ConcurrentHashMap.newKeySet();
+    private final Semaphore capacity;
+    // Flush and ledger resync never interleave: a resync must not see a batch drained but not yet applied
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+    private final Counter conflictCounter;
+    private final Counter recoveredCounter;
+    private final Counter resyncedCounter;
+
+    public ReservationWriteBehindAdapter(InventoryRepositoryPort inventoryRepository,
+                                         ReservationJournalJpaRepository journalRepository,
+                                         StockLedgerPort stockLedger,
+                                         InventoryEventPublisherPort eventPublisher,
+                                         ReservationIndexPort reservationIndex,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${inventory.ledger.flush-batch-size:500}") int batchSize,
+                                         @Value("${inventory.ledger.max-pending:10000}") int maxPending,
+                                         @Value("${inventory.ledger.journal-stale-after:30s}") Duration staleAfter) {
+        this.inventoryRepository = inventoryRepository;
+        this.journalRepository = journalRepository;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.reservationIndex = reservationIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.staleAfter = staleAfter;
+        this.capacity = new Semaphore(maxPending);
+
+        Gauge.builder("inventory.ledger.pending", pending, Queue::size)
+                .description("Number of reservations waiting to be flushed to the database")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("inventory.ledger.flushed")
+                .description("Number of reservations flushed to the database")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("inventory.ledger.rejected")
+                .description("Number of reservations rejected by the database during flush")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("inventory.ledger.conflicts")
+                .description("Number of flush attempts that hit an optimistic lock conflict")
+                .register(meterRegistry);
+        this.recoveredCounter = Counter.builder("inventory.ledger.recovered")
+                .description("Number of reservations replayed from the journal")
+                .register(meterRegistry);
+        this.resyncedCounter = Counter.builder("inventory.ledger.resynced")
+                .description("Number of ledger entries checked against the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void enqueue(List<PendingReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reservations must be enqueued inside the reserving transaction");
+        }
+
+        // All items of an order enter the backlog together or not at all
+        var size = reservations.size();
+        if (!capacity.tryAcquire(size)) {
+            throw new BusinessException("INVENTORY_WRITE_BACKLOG_FULL",
+                "Inventory reservation backlog is full, try again later");
+        }
+
+        var queued = new ArrayList<QueuedReservation>(size);
+        try {
+            var entries = journalRepository.saveAll(reservations.stream().map(ReservationJournalEntry::new).toList());
+            for (int i = 0; i < size; i++) {
+                queued.add(new QueuedReservation(entries.get(i).getId(), reservations.get(i), false));
+            }
+        } catch (RuntimeException ex) {
+            capacity.release(size);
+            throw ex;
+        }
+
+        // Só entra na fila depois do commit: o flush nunca aplica uma reserva cuja transação foi desfeita
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    queued.forEach(reservation -> queuedIds.add(reservation.journalId()));
+                    pending.addAll(queued);
+                } else {
+                    capacity.release(size);
+                    reservations.forEach(reservation -> stockLedger.release(reservation.productId(), reservation.quantity()));
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:100}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (true) {
+                var batch = drain();
+                if (batch.isEmpty()) {
+                    return;
+                }
+
+                // One transaction (and one version bump) per product, regardless of how many orders hit it
+                var byProduct = batch.stream()
+                    .collect(Collectors.groupingBy(queued -> queued.reservation().productId(),
+                        LinkedHashMap::new, Collectors.toList()));
+                byProduct.forEach(this::flushProduct);
+
+                if (batch.size() < batchSize) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Each ledger entry is seeded once; without this it only sees the stock other replicas take (or any
+    // change made straight in the database) when one of its own flushes gets rejected
+    @Scheduled(fixedDelayString = "${inventory.ledger.resync-interval-ms:60000}",
+               initialDelayString = "${inventory.ledger.resync-interval-ms:60000}")
+    public void resyncLedger() {
+        var tracked = List.copyOf(stockLedger.trackedProducts());
+        if (tracked.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            for (int from = 0; from < tracked.size(); from += batchSize) {
+                var inventories = inventoryRepository.findByProductIds(
+                    tracked.subList(from, Math.min(from + batchSize, tracked.size())));
+                // Read after the database, so a reservation committed in between is still subtracted;
+                // one admitted but not yet committed is not - its flush rejects it if stock ran out meanwhile
+                var queued = queuedQuantities();
+                for (var inventory : inventories) {
+                    var productId = inventory.getProductId();
+                    stockLedger.resync(productId, inventory.getAvailableQuantity() - queued.getOrDefault(productId, 0));
+                }
+                resyncedCounter.increment(inventories.size());
+            }
+            logger.debug("Stock ledger resynced for {} products", tracked.size());
+
+        } catch (Exception ex) {
+            logger.error("Failed to resync stock ledger", ex);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Replays everything journaled before this instance started (its own backlog lost in a crash,
+    // or another replica's in-flight entries - claiming makes replaying those harmless)
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recover(LocalDateTime.now());
+    }
+
+    // Entries no replica flushed in time: an instance that died, or a flush that failed and could not discard
+    @Scheduled(fixedDelayString = "${inventory.ledger.recovery-interval-ms:30000}",
+               initialDelayString = "${inventory.ledger.recovery-interval-ms:30000}")
+    public void recoverStale() {
+        recover(LocalDateTime.now().minus(staleAfter));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // Whatever does not make it stays in the journal for the next replay
+        logger.info("Flushing {} pending reservations before shutdown", pending.size());
+        flush();
+    }
+
+    private void recover(LocalDateTime createdBefore) {
+        try {
+            var recovered = journalRepository.findStale(createdBefore, Limit.of(batchSize)).stream()
+                .filter(entry -> !queuedIds.contains(entry.getId()))
+                .map(entry -> new QueuedReservation(entry.getId(), entry.toPendingReservation(), true))
+                .toList();
+            if (recovered.isEmpty()) {
+                return;
+            }
+            if (!capacity.tryAcquire(recovered.size())) {
+                logger.warn("Reservation backlog full, postponing replay of {} journal entries", recovered.size());
+                return;
+            }
+
+            recovered.forEach(reservation -> queuedIds.add(reservation.journalId()));
+            pending.addAll(recovered);
+            recoveredCounter.increment(recovered.size());
+            logger.warn("Replaying {} unflushed reservations from the journal", recovered.size());
+
+        } catch (Exception ex) {
+            logger.error("Failed to replay reservation journal", ex);
+        }
+    }
+
+    private List<QueuedReservation> drain() {
+        var batch = new ArrayList<QueuedReservation>(Math.min(batchSize, pending.size()));
+        QueuedReservation reservation;
+        while (batch.size() < batchSize && (reservation = pending.poll()) != null) {
+            queuedIds.remove(reservation.journalId());
+            batch.add(reservation);
+        }
+        capacity.release(batch.size());
+        return batch;
+    }
+
+    private void flushProduct(UUID productId, List<QueuedReservation> reservations) {
+        try {
+            var outcome = transactionTemplate.execute(status -> applyReservations(productId, reservations));
+
+            flushedCounter.increment(outcome.applied());
+            markCancelled(productId, outcome.rejected());
+            logger.debug("Flushed {} reservations for product: {}", outcome.applied(), productId);
+
+        } catch (OptimisticLockingFailureException ex) {
+            // Row was changed outside the ledger - put the batch back and retry on the next cycle
+            conflictCounter.increment();
+            logger.warn("Optimistic lock conflict flushing reservations for product: {}. Retrying.", productId);
+            requeue(productId, reservations);
+
+        } catch (Exception ex) {
+            logger.error("Failed to flush {} reservations for product: {}", reservations.size(), productId, ex);
+            discard(productId, reservations, "Failed to persist reservation");
+        }
+    }
+
+    private FlushOutcome applyReservations(UUID productId, List<QueuedReservation> reservations) {
+        // Entries already gone were applied (or discarded) by another replica replaying the journal
+        var claimed = claim(reservations);
+        if (claimed.isEmpty()) {
+            return new FlushOutcome(0, List.of());
+        }
+
+        var inventory = inventoryRepository.findByProductId(productId)
+            .orElseThrow(() -> new IllegalStateException("Inventory not found for product: " + productId));
+
+        var rejected = new ArrayList<PendingReservation>();
+        for (var queued : claimed) {
+            var reservation = queued.reservation();
+            if (inventory.canReserve(reservation.quantity())) {
+                inventory.reserve(reservation.quantity(), reservation.orderId(), reservation.reservationReference());
+            } else {
+                rejected.add(reservation);
+            }
+        }
+        inventoryRepository.save(inventory);
+        journalRepository.deleteAllByIdInBatch(claimed.stream().map(QueuedReservation::journalId).toList());
+        // Same transaction as the journal delete: a rejected reservation is never left without its release event
+        rejected.forEach(reservation -> publishReleased(reservation, "Stock no longer available when persisting reservation"));
+
+        if (!rejected.isEmpty() || claimed.stream().anyMatch(QueuedReservation::recovered)) {
+            // Ledger drifted from the database (another instance, or replayed entries it never admitted);
+            // realign it with what is still queued
+            stockLedger.resync(productId, inventory.getAvailableQuantity() - queuedQuantity(productId));
+        }
+        return new FlushOutcome(claimed.size() - rejected.size(), rejected);
+    }
+
+    private void requeue(UUID productId, List<QueuedReservation> reservations) {
+        if (capacity.tryAcquire(reservations.size())) {
+            reservations.forEach(reservation -> queuedIds.add(reservation.journalId()));
+            pending.addAll(reservations);
+        } else {
+            // Still journaled - the stale replay picks them up once the backlog drains
+            logger.warn("Reservation backlog full while retrying {} reservations for product: {}",
+                reservations.size(), productId);
+        }
+    }
+
+    // Gives up on reservations that cannot be applied: journal entries and release events go together
+    private void discard(UUID productId, List<QueuedReservation> reservations, String reason) {
+        try {
+            var discarded = transactionTemplate.execute(status -> {
+                var claimed = claim(reservations);
+                journalRepository.deleteAllByIdInBatch(claimed.stream().map(QueuedReservation::journalId).toList());
+                claimed.forEach(queued -> publishReleased(queued.reservation(), reason));
+                return claimed.stream().map(QueuedReservation::reservation).toList();
+            });
+
+            discarded.forEach(reservation -> stockLedger.release(productId, reservation.quantity()));
+            markCancelled(productId, discarded);
+
+        } catch (Exception ex) {
+            logger.error("Failed to discard {} reservations for product: {}. Left in the journal for replay.",
+                reservations.size(), productId, ex);
+        }
+    }
+
+    private List<QueuedReservation> claim(List<QueuedReservation> reservations) {
+        var present = journalRepository.lockAllById(reservations.stream().map(QueuedReservation::journalId).toList())
+            .stream()
+            .map(BaseEntity::getId)
+            .collect(Collectors.toSet());
+        return reservations.stream()
+            .filter(reservation -> present.contains(reservation.journalId()))
+            .toList();
+    }
+
+    private void publishReleased(PendingReservation reservation, String reason) {
+        logger.warn("Releasing reservation for order: {} product: {}. Reason: {}",
+            reservation.orderId(), reservation.productId(), reason);
+        eventPublisher.publishInventoryReleased(InventoryReleasedEvent.create(
+            reservation.inventoryId(),
+            reservation.orderId(),
+            reservation.productId(),
+            reservation.productName(),
+            reservation.quantity(),
+            reason
+        ));
+    }
+
+    private void markCancelled(UUID productId, List<PendingReservation> reservations) {
+        rejectedCounter.increment(reservations.size());
+        reservations.forEach(reservation ->
+            reservationIndex.updateStatus(reservation.orderId(), productId, ReservationStatus.CANCELLED));
+    }
+
+    private int queuedQuantity(UUID productId) {
+        return pending.stream()
+            .filter(queued -> queued.reservation().productId().equals(productId))
+            .mapToInt(queued -> queued.reservation().quantity())
+            .sum();
+    }
+
+    private Map<UUID, Integer> queuedQuantities() {
+        return pending.stream()
+            .collect(Collectors.groupingBy(queued -> queued.reservation().productId(),
+                Collectors.summingInt(queued -> queued.reservation().quantity())));
+    }
+
+    private record QueuedReservation(UUID journalId, PendingReservation reservation, boolean recovered) {
+    }
+
+    private record FlushOutcome(int applied, List<PendingReservation> rejected) {
+    }
+}
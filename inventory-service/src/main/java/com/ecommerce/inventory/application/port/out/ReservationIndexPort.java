@@ -0,0 +1,17 @@
+package com.ecommerce.inventory.application.port.out;
+
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import com.ecommerce.inventory.domain.model.ReservationStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ReservationIndexPort {
+
+    Optional<List<ReservationSnapshot>> findByOrderId(UUID orderId);
+
+    void put(UUID orderId, List<ReservationSnapshot> reservations);
+
+    void updateStatus(UUID orderId, UUID productId, ReservationStatus status);
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.inventory.application.port.out;
+
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ReservationRepositoryPort {
+
+    List<ReservationSnapshot> findByOrderId(UUID orderId);
+}
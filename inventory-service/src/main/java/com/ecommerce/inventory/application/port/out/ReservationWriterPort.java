@@ -0,0 +1,11 @@
+package com.ecommerce.inventory.application.port.out;
+
+import com.ecommerce.inventory.domain.model.PendingReservation;
+
+import java.util.List;
+
+public interface ReservationWriterPort {
+
+    // Joins the reserving transaction: the reservations become durable (and get flushed) only if it commits
+    void enqueue(List<PendingReservation> reservations);
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.inventory.application.port.out;
+
+import com.ecommerce.inventory.domain.model.StockLevel;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+
+public interface StockLedgerPort {
+
+    Optional<StockLevel> getStockLevel(UUID productId);
+
+    boolean canReserve(UUID productId, int quantity);
+
+    OptionalInt reserve(UUID productId, int quantity);
+
+    void release(UUID productId, int quantity);
+
+    void resync(UUID productId, int availableQuantity);
+
+    Set<UUID> trackedProducts();
+}
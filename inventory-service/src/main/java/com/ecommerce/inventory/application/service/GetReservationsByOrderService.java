@@ -3,10 +3,10 @@ package com.ecommerce.inventory.application.service;
 import com.ecommerce.inventory.application.port.in.GetReservationResponse;
 import com.ecommerce.inventory.application.port.in.GetReservationsByOrderQuery;
 import com.ecommerce.inventory.application.port.in.GetReservationsByOrderUseCase;
-import com.ecommerce.inventory.application.port.out.InventoryRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.application.port.out.ReservationRepositoryPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,32 +16,40 @@ public class GetReservationsByOrderService implements GetReservationsByOrderUseC
 
     private static final Logger logger = LoggerFactory.getLogger(GetReservationsByOrderService.class);
 
-    private final InventoryRepositoryPort inventoryRepository;
+    private final ReservationRepositoryPort reservationRepository;
+    private final ReservationIndexPort reservationIndex;
 
-    public GetReservationsByOrderService(InventoryRepositoryPort inventoryRepository) {
-        this.inventoryRepository = inventoryRepository;
+    public GetReservationsByOrderService(ReservationRepositoryPort reservationRepository,
+                                         ReservationIndexPort reservationIndex) {
+        this.reservationRepository = reservationRepository;
+        this.reservationIndex = reservationIndex;
     }
 
     @Override
-    @Cacheable(value = "stock-reservations", key = "#query.orderId()")
     public List<GetReservationResponse> execute(GetReservationsByOrderQuery query) {
-        logger.info("Getting reservations for order from database: {}", query.orderId());
-        
-        var inventories = inventoryRepository.findAll();
-        
-        var reservations = inventories.stream()
-            .flatMap(inventory -> inventory.getReservations().stream())
-            .filter(reservation -> reservation.getOrderId().equals(query.orderId()))
+        var indexed = reservationIndex.findByOrderId(query.orderId());
+
+        var snapshots = indexed.orElseGet(() -> {
+            logger.info("Getting reservations for order from database: {}", query.orderId());
+            var fromDatabase = reservationRepository.findByOrderId(query.orderId());
+            // Empty results are not indexed - the reservation may still be created by another instance
+            if (!fromDatabase.isEmpty()) {
+                reservationIndex.put(query.orderId(), fromDatabase);
+            }
+            return fromDatabase;
+        });
+
+        var reservations = snapshots.stream()
             .map(reservation -> new GetReservationResponse(
-                reservation.getInventory().getProductId(),
-                reservation.getInventory().getProductName(),
-                reservation.getQuantity(),
-                reservation.getReservationReference(),
-                reservation.getStatus().name()
+                reservation.productId(),
+                reservation.productName(),
+                reservation.quantity(),
+                reservation.reservationReference(),
+                reservation.status().name()
             ))
             .toList();
         
         logger.info("Found {} reservations for order: {}", reservations.size(), query.orderId());
         return reservations;
     }
-}
\ No newline at end of file
+}
@@ -3,8 +3,16 @@ package com.ecommerce.inventory.application.service;
 import com.ecommerce.inventory.application.port.in.*;
 import com.ecommerce.inventory.application.port.out.InventoryEventPublisherPort;
 import com.ecommerce.inventory.application.port.out.InventoryRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.application.port.out.ReservationRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationWriterPort;
+import com.ecommerce.inventory.application.port.out.StockLedgerPort;
 import com.ecommerce.inventory.domain.event.InventoryReservedEvent;
 import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.PendingReservation;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import com.ecommerce.inventory.domain.model.ReservationStatus;
+import com.ecommerce.inventory.domain.model.StockLevel;
 import com.ecommerce.shared.domain.common.Result;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import org.slf4j.Logger;
@@ -25,19 +33,30 @@ public class ReserveInventoryService implements ReserveInventoryUseCase {
 
     private final InventoryRepositoryPort inventoryRepository;
     private final InventoryEventPublisherPort eventPublisher;
+    private final StockLedgerPort stockLedger;
+    private final ReservationWriterPort reservationWriter;
+    private final ReservationIndexPort reservationIndex;
+    private final ReservationRepositoryPort reservationRepository;
 
     public ReserveInventoryService(InventoryRepositoryPort inventoryRepository,
-                                 InventoryEventPublisherPort eventPublisher) {
+                                 InventoryEventPublisherPort eventPublisher,
+                                 StockLedgerPort stockLedger,
+                                 ReservationWriterPort reservationWriter,
+                                 ReservationIndexPort reservationIndex,
+                                 ReservationRepositoryPort reservationRepository) {
         this.inventoryRepository = inventoryRepository;
         this.eventPublisher = eventPublisher;
+        this.stockLedger = stockLedger;
+        this.reservationWriter = reservationWriter;
+        this.reservationIndex = reservationIndex;
+        this.reservationRepository = reservationRepository;
     }
 
     @Override
     @Transactional
     @Caching(evict = {
         @CacheEvict(value = "products", allEntries = true),
-        @CacheEvict(value = "stock-levels", allEntries = true),
-        @CacheEvict(value = "stock-reservations", key = "#command.orderId()")
+        @CacheEvict(value = "stock-levels", allEntries = true)
     })
     public Result<ReserveInventoryResponse> execute(ReserveInventoryCommand command) {
         try {
@@ -45,77 +64,107 @@ public class ReserveInventoryService implements ReserveInventoryUseCase {
                 command.orderId(), command.idempotencyKey());
 
             // Check if reservation already exists (idempotency)
-            // For MVP, we'll use a simpler approach - check if product already reserved for this order
-            var existingReservations = new ArrayList<Inventory>();
-            for (var itemCommand : command.items()) {
-                var inventory = inventoryRepository.findByProductId(itemCommand.productId());
-                if (inventory.isPresent()) {
-                    var existing = inventory.get().getReservations().stream()
-                        .anyMatch(r -> r.getOrderId().equals(command.orderId()));
-                    if (existing) {
-                        logger.info("Inventory already reserved for order: {}", command.orderId());
-                        return createResponseFromExistingReservations(command.orderId(), existingReservations);
-                    }
-                    existingReservations.add(inventory.get());
-                }
+            // The index also covers reservations still waiting in the write-behind queue
+            var indexed = reservationIndex.findByOrderId(command.orderId());
+            if (indexed.isPresent()) {
+                logger.info("Inventory already reserved for order: {}", command.orderId());
+                return createResponseFromSnapshots(command.orderId(), indexed.get());
+            }
+
+            // Index miss (evicted, or reserved by another instance): order_id-indexed projection over the
+            // reservations and the journal - the Inventory aggregate is not loaded
+            var persisted = reservationRepository.findByOrderId(command.orderId());
+            if (!persisted.isEmpty()) {
+                logger.info("Inventory already reserved for order: {}", command.orderId());
+                reservationIndex.put(command.orderId(), persisted);
+                return createResponseFromSnapshots(command.orderId(), persisted);
             }
 
             // Generate reservation reference
             String reservationReference = generateReservationReference();
             
             var reservedItems = new ArrayList<ReservedItemResponse>();
+            var admitted = new ArrayList<PendingReservation>();
 
-            // Reserve each item
-            for (var itemCommand : command.items()) {
-                var inventoryOpt = inventoryRepository.findByProductId(itemCommand.productId());
-                
-                if (inventoryOpt.isEmpty()) {
-                    // Create inventory with zero quantity if product doesn't exist
-                    var newInventory = new Inventory(itemCommand.productId(), itemCommand.productName(), 0);
-                    inventoryRepository.save(newInventory);
-                    
-                    return Result.failure("INSUFFICIENT_INVENTORY", 
-                        "Product " + itemCommand.productName() + " is out of stock");
-                }
+            try {
+                // Admission control against the in-memory ledger - no row lock, no version bump
+                for (var itemCommand : command.items()) {
+                    var levelOpt = stockLedger.getStockLevel(itemCommand.productId());
 
-                var inventory = inventoryOpt.get();
-                
-                // Check if can reserve
-                if (!inventory.canReserve(itemCommand.quantity())) {
-                    return Result.failure("INSUFFICIENT_INVENTORY", 
-                        "Insufficient inventory for product: " + itemCommand.productName() + 
-                        ". Available: " + inventory.getAvailableQuantity() + 
-                        ", Requested: " + itemCommand.quantity());
+                    if (levelOpt.isEmpty()) {
+                        // Create inventory with zero quantity if product doesn't exist
+                        var newInventory = new Inventory(itemCommand.productId(), itemCommand.productName(), 0);
+                        inventoryRepository.save(newInventory);
+
+                        releaseAdmitted(admitted);
+                        return Result.failure("INSUFFICIENT_INVENTORY", 
+                            "Product " + itemCommand.productName() + " is out of stock");
+                    }
+
+                    var level = levelOpt.get();
+                    var remaining = stockLedger.reserve(itemCommand.productId(), itemCommand.quantity());
+
+                    if (remaining.isEmpty()) {
+                        releaseAdmitted(admitted);
+                        return Result.failure("INSUFFICIENT_INVENTORY", 
+                            "Insufficient inventory for product: " + itemCommand.productName() + 
+                            ". Available: " + stockLedger.getStockLevel(itemCommand.productId())
+                                .map(StockLevel::availableQuantity).orElse(0) + 
+                            ", Requested: " + itemCommand.quantity());
+                    }
+
+                    admitted.add(new PendingReservation(
+                        level.inventoryId(),
+                        level.productId(),
+                        level.productName(),
+                        command.orderId(),
+                        itemCommand.quantity(),
+                        reservationReference
+                    ));
+
+                    reservedItems.add(new ReservedItemResponse(
+                        level.productId(),
+                        level.productName(),
+                        itemCommand.quantity(),
+                        remaining.getAsInt()
+                    ));
                 }
 
-                // Reserve inventory
-                inventory.reserve(itemCommand.quantity(), command.orderId(), reservationReference);
-                var savedInventory = inventoryRepository.save(inventory);
-                
+                // Journaled with this transaction; applied to the Inventory rows asynchronously, batched per product
+                reservationWriter.enqueue(admitted);
+                reservationIndex.put(command.orderId(), admitted.stream()
+                    .map(reservation -> new ReservationSnapshot(
+                        reservation.orderId(),
+                        reservation.productId(),
+                        reservation.productName(),
+                        reservation.quantity(),
+                        reservation.reservationReference(),
+                        ReservationStatus.PENDING
+                    ))
+                    .toList());
+
+            } catch (RuntimeException ex) {
+                releaseAdmitted(admitted);
+                throw ex;
+            }
+
+            for (var reservation : admitted) {
                 logger.info("Reserved {} units of product {} for order {}", 
-                    itemCommand.quantity(), itemCommand.productName(), command.orderId());
+                    reservation.quantity(), reservation.productName(), command.orderId());
 
                 // Publish inventory reserved event
                 var event = InventoryReservedEvent.create(
-                    savedInventory.getId(),
+                    reservation.inventoryId(),
                     command.orderId(),
-                    savedInventory.getProductId(),
-                    savedInventory.getProductName(),
-                    itemCommand.quantity(),
+                    reservation.productId(),
+                    reservation.productName(),
+                    reservation.quantity(),
                     reservationReference
                 );
                 
                 eventPublisher.publishInventoryReserved(event);
                 logger.info("InventoryReserved event published for order: {} product: {}", 
-                    command.orderId(), itemCommand.productName());
-
-                // Add to response
-                reservedItems.add(new ReservedItemResponse(
-                    savedInventory.getProductId(),
-                    savedInventory.getProductName(),
-                    itemCommand.quantity(),
-                    savedInventory.getAvailableQuantity()
-                ));
+                    command.orderId(), reservation.productName());
             }
 
             var response = new ReserveInventoryResponse(
@@ -140,34 +189,32 @@ public class ReserveInventoryService implements ReserveInventoryUseCase {
         }
     }
 
+    private void releaseAdmitted(java.util.List<PendingReservation> admitted) {
+        for (var reservation : admitted) {
+            stockLedger.release(reservation.productId(), reservation.quantity());
+        }
+        admitted.clear();
+    }
+
     private String generateReservationReference() {
         return "RES-" + System.currentTimeMillis() + "-" + 
                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
-    private Result<ReserveInventoryResponse> createResponseFromExistingReservations(UUID orderId, 
-                                                                                   java.util.List<Inventory> inventories) {
-        var reservedItems = new ArrayList<ReservedItemResponse>();
-        
-        for (var inventory : inventories) {
-            var reservation = inventory.getReservations().stream()
-                .filter(r -> r.getOrderId().equals(orderId))
-                .findFirst()
-                .orElse(null);
-                
-            if (reservation != null) {
-                reservedItems.add(new ReservedItemResponse(
-                    inventory.getProductId(),
-                    inventory.getProductName(),
-                    reservation.getQuantity(),
-                    inventory.getAvailableQuantity()
-                ));
-            }
-        }
+    private Result<ReserveInventoryResponse> createResponseFromSnapshots(UUID orderId,
+                                                                        java.util.List<ReservationSnapshot> snapshots) {
+        var reservedItems = snapshots.stream()
+            .map(snapshot -> new ReservedItemResponse(
+                snapshot.productId(),
+                snapshot.productName(),
+                snapshot.quantity(),
+                stockLedger.getStockLevel(snapshot.productId()).map(StockLevel::availableQuantity).orElse(0)
+            ))
+            .toList();
 
         var response = new ReserveInventoryResponse(
             orderId,
-            inventories.isEmpty() ? "N/A" : inventories.get(0).getReservations().get(0).getReservationReference(),
+            snapshots.isEmpty() ? "N/A" : snapshots.get(0).reservationReference(),
             reservedItems,
             "ALREADY_RESERVED",
             LocalDateTime.now()
@@ -175,4 +222,4 @@ public class ReserveInventoryService implements ReserveInventoryUseCase {
 
         return Result.success(response);
     }
-}
\ No newline at end of file
+}
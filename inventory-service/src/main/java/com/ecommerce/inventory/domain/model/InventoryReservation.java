@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "inventory_reservations")
+@Table(name = "inventory_reservations", indexes = {
+    @Index(name = "idx_inventory_reservations_order_id", columnList = "order_id")
+})
 public class InventoryReservation extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,13 @@
+package com.ecommerce.inventory.domain.model;
+
+import java.util.UUID;
+
+public record PendingReservation(
+    UUID inventoryId,
+    UUID productId,
+    String productName,
+    UUID orderId,
+    int quantity,
+    String reservationReference
+) {
+}
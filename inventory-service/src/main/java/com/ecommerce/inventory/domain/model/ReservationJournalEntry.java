@@ -0,0 +1,59 @@
+package com.ecommerce.inventory.domain.model;
+
+import com.ecommerce.shared.domain.entity.BaseEntity;
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+// Reserva admitida pelo ledger e ainda não aplicada ao Inventory. Gravada na mesma transação do
+// evento InventoryReserved e apagada na transação do flush - é o que sobrevive a um crash.
+@Entity
+@Table(name = "inventory_reservation_journal", indexes = {
+    @Index(name = "idx_reservation_journal_created_at", columnList = "created_at"),
+    @Index(name = "idx_reservation_journal_order_id", columnList = "order_id")
+})
+public class ReservationJournalEntry extends BaseEntity {
+
+    @Column(name = "inventory_id", nullable = false)
+    private UUID inventoryId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "reservation_reference", nullable = false)
+    private String reservationReference;
+
+    protected ReservationJournalEntry() {
+        // JPA Constructor
+    }
+
+    public ReservationJournalEntry(PendingReservation reservation) {
+        this.inventoryId = reservation.inventoryId();
+        this.productId = reservation.productId();
+        this.productName = reservation.productName();
+        this.orderId = reservation.orderId();
+        this.quantity = reservation.quantity();
+        this.reservationReference = reservation.reservationReference();
+    }
+
+    public PendingReservation toPendingReservation() {
+        return new PendingReservation(inventoryId, productId, productName, orderId, quantity, reservationReference);
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+}
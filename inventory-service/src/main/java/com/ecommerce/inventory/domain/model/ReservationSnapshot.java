@@ -0,0 +1,17 @@
+package com.ecommerce.inventory.domain.model;
+
+import java.util.UUID;
+
+public record ReservationSnapshot(
+    UUID orderId,
+    UUID productId,
+    String productName,
+    Integer quantity,
+    String reservationReference,
+    ReservationStatus status
+) {
+
+    public ReservationSnapshot withStatus(ReservationStatus newStatus) {
+        return new ReservationSnapshot(orderId, productId, productName, quantity, reservationReference, newStatus);
+    }
+}
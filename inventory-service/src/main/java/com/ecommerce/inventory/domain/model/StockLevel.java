@@ -0,0 +1,11 @@
+package com.ecommerce.inventory.domain.model;
+
+import java.util.UUID;
+
+public record StockLevel(
+    UUID inventoryId,
+    UUID productId,
+    String productName,
+    int availableQuantity
+) {
+}
@@ -21,7 +21,7 @@ public class CacheConfig {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeineCacheBuilder());
         // Cache names específicos para o domínio de inventory
-        cacheManager.setCacheNames(Arrays.asList("products", "stock-levels", "stock-reservations"));
+        cacheManager.setCacheNames(Arrays.asList("products", "stock-levels"));
         return cacheManager;
     }
 
@@ -25,6 +25,21 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:inventory-service}")
     private String groupId;
 
+    @Value("${inventory.kafka.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${inventory.kafka.batch.concurrency:3}")
+    private int batchConcurrency;
+
+    @Value("${spring.kafka.producer.batch-size:65536}")
+    private int producerBatchSize;
+
+    @Value("${spring.kafka.producer.properties.linger.ms:20}")
+    private int producerLingerMs;
+
+    @Value("${spring.kafka.producer.compression-type:lz4}")
+    private String producerCompressionType;
+
     @Bean
     public ProducerFactory<String, String> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -34,12 +49,19 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        // Lotes maiores para o relay do outbox
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, producerLingerMs);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producerCompressionType);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
     public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        var template = new KafkaTemplate<>(producerFactory());
+        // Propaga o trace do request para os eventos publicados pelo relay do outbox
+        template.setObservationEnabled(true);
+        return template;
     }
 
     @Bean
@@ -65,4 +87,21 @@ public class KafkaConfig {
         factory.setConcurrency(1); // Single consumer for MVP
         return factory;
     }
-}
\ No newline at end of file
+
+    // Batch mode: the listener fans a whole poll out with KeyOrderedParallelProcessor and commits offsets itself
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16384);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setConcurrency(batchConcurrency);
+        return factory;
+    }
+}
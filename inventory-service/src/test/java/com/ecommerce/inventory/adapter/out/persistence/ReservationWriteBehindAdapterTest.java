@@ -0,0 +1,210 @@
+package com.ecommerce.inventory.adapter.out.persistence;
+
+import com.ecommerce.inventory.application.port.out.InventoryEventPublisherPort;
+import com.ecommerce.inventory.application.port.out.InventoryRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.application.port.out.StockLedgerPort;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.PendingReservation;
+import com.ecommerce.inventory.domain.model.ReservationJournalEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationWriteBehindAdapterTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryRepository;
+
+    @Mock
+    private ReservationJournalJpaRepository journalRepository;
+
+    @Mock
+    private StockLedgerPort stockLedger;
+
+    @Mock
+    private InventoryEventPublisherPort eventPublisher;
+
+    @Mock
+    private ReservationIndexPort reservationIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationWriteBehindAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new ReservationWriteBehindAdapter(inventoryRepository, journalRepository, stockLedger, eventPublisher,
+            reservationIndex, transactionManager, new SimpleMeterRegistry(), 500, 10_000, Duration.ofSeconds(30));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldJournalInTransactionAndFlushOnlyAfterCommit() {
+        // Given
+        var productId = UUID.randomUUID();
+        var inventory = new Inventory(productId, "Test Product", 10);
+        var reservation = reservation(productId, 2);
+        var journaled = journalOnSave();
+        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+
+        // When - ainda dentro da transação de reserva
+        adapter.enqueue(List.of(reservation));
+        adapter.flush();
+
+        // Then - nada aplicado antes do commit
+        verify(journalRepository).saveAll(anyList());
+        verifyNoInteractions(inventoryRepository);
+
+        // When
+        when(journalRepository.lockAllById(anyCollection())).thenReturn(journaled);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        adapter.flush();
+
+        // Then - aplicado e removido do journal na mesma transação
+        assertEquals(8, inventory.getAvailableQuantity());
+        verify(inventoryRepository).save(inventory);
+        verify(journalRepository).deleteAllByIdInBatch(List.of(journaled.get(0).getId()));
+        verify(stockLedger, never()).release(any(), anyInt());
+    }
+
+    @Test
+    void shouldReleaseLedgerAndNeverFlushWhenTransactionRollsBack() {
+        // Given
+        var productId = UUID.randomUUID();
+        journalOnSave();
+
+        // When
+        adapter.enqueue(List.of(reservation(productId, 3)));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        adapter.flush();
+
+        // Then
+        verify(stockLedger).release(productId, 3);
+        verifyNoInteractions(inventoryRepository);
+        verify(journalRepository, never()).lockAllById(anyCollection());
+    }
+
+    @Test
+    void shouldSkipEntriesAlreadyAppliedByAnotherReplica() {
+        // Given
+        var productId = UUID.randomUUID();
+        journalOnSave();
+        when(journalRepository.lockAllById(anyCollection())).thenReturn(List.of());
+
+        // When
+        adapter.enqueue(List.of(reservation(productId, 1)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        adapter.flush();
+
+        // Then
+        verifyNoInteractions(inventoryRepository);
+        verify(journalRepository, never()).deleteAllByIdInBatch(anyCollection());
+    }
+
+    @Test
+    void shouldReplayJournalOnStartupAndResyncLedger() {
+        // Given - entrada deixada por uma instância que caiu antes do flush
+        var productId = UUID.randomUUID();
+        var inventory = new Inventory(productId, "Test Product", 10);
+        var entry = entry(reservation(productId, 4));
+        when(journalRepository.findStale(any(), any())).thenReturn(List.of(entry));
+        when(journalRepository.lockAllById(anyCollection())).thenReturn(List.of(entry));
+        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+
+        // When
+        adapter.recoverOnStartup();
+        adapter.flush();
+
+        // Then
+        assertEquals(6, inventory.getAvailableQuantity());
+        verify(journalRepository).deleteAllByIdInBatch(List.of(entry.getId()));
+        verify(stockLedger).resync(productId, 6);
+    }
+
+    @Test
+    void shouldResyncLedgerWithDatabaseMinusQueuedReservations() {
+        // Given - outra réplica consumiu estoque; uma reserva local ainda está na fila
+        var productId = UUID.randomUUID();
+        var inventory = new Inventory(productId, "Test Product", 10);
+        inventory.reserve(3, UUID.randomUUID(), "RES-OTHER");
+        journalOnSave();
+        adapter.enqueue(List.of(reservation(productId, 2)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(stockLedger.trackedProducts()).thenReturn(Set.of(productId));
+        when(inventoryRepository.findByProductIds(List.of(productId))).thenReturn(List.of(inventory));
+
+        // When
+        adapter.resyncLedger();
+
+        // Then
+        verify(stockLedger).resync(productId, 5);
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRequireReservingTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(IllegalStateException.class, () -> adapter.enqueue(List.of(reservation(UUID.randomUUID(), 1))));
+        verifyNoInteractions(journalRepository);
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private List<ReservationJournalEntry> journalOnSave() {
+        var saved = new ArrayList<ReservationJournalEntry>();
+        when(journalRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ReservationJournalEntry> entries = invocation.getArgument(0);
+            entries.forEach(entry -> ReflectionTestUtils.setField(entry, "id", UUID.randomUUID()));
+            saved.addAll(entries);
+            return entries;
+        });
+        return saved;
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private ReservationJournalEntry entry(PendingReservation reservation) {
+        var entry = new ReservationJournalEntry(reservation);
+        ReflectionTestUtils.setField(entry, "id", UUID.randomUUID());
+        return entry;
+    }
+
+    private PendingReservation reservation(UUID productId, int quantity) {
+        return new PendingReservation(UUID.randomUUID(), productId, "Test Product", UUID.randomUUID(), quantity, "RES-1");
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.application.port.in.GetReservationsByOrderQuery;
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.application.port.out.ReservationRepositoryPort;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import com.ecommerce.inventory.domain.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetReservationsByOrderServiceTest {
+
+    @Mock
+    private ReservationRepositoryPort reservationRepository;
+
+    @Mock
+    private ReservationIndexPort reservationIndex;
+
+    @InjectMocks
+    private GetReservationsByOrderService getReservationsByOrderService;
+
+    @Test
+    void shouldReturnReservationsFromIndexWithoutQueryingDatabase() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        var snapshot = new ReservationSnapshot(orderId, UUID.randomUUID(), "Test Product", 2, "RES-123", ReservationStatus.PENDING);
+
+        when(reservationIndex.findByOrderId(orderId)).thenReturn(Optional.of(List.of(snapshot)));
+
+        // When
+        var result = getReservationsByOrderService.execute(new GetReservationsByOrderQuery(orderId));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("RES-123", result.get(0).reservationReference());
+        assertEquals("PENDING", result.get(0).status());
+
+        verify(reservationRepository, never()).findByOrderId(any());
+    }
+
+    @Test
+    void shouldQueryByOrderIdAndPopulateIndexOnMiss() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        var snapshot = new ReservationSnapshot(orderId, UUID.randomUUID(), "Test Product", 3, "RES-456", ReservationStatus.CONFIRMED);
+
+        when(reservationIndex.findByOrderId(orderId)).thenReturn(Optional.empty());
+        when(reservationRepository.findByOrderId(orderId)).thenReturn(List.of(snapshot));
+
+        // When
+        var result = getReservationsByOrderService.execute(new GetReservationsByOrderQuery(orderId));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).quantityReserved());
+        assertEquals("CONFIRMED", result.get(0).status());
+
+        verify(reservationIndex).put(orderId, List.of(snapshot));
+    }
+
+    @Test
+    void shouldNotIndexEmptyResult() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+
+        when(reservationIndex.findByOrderId(orderId)).thenReturn(Optional.empty());
+        when(reservationRepository.findByOrderId(orderId)).thenReturn(List.of());
+
+        // When
+        var result = getReservationsByOrderService.execute(new GetReservationsByOrderQuery(orderId));
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(reservationIndex, never()).put(any(), anyList());
+    }
+}
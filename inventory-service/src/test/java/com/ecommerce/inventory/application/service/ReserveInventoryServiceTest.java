@@ -4,8 +4,14 @@ import com.ecommerce.inventory.application.port.in.ReserveInventoryCommand;
 import com.ecommerce.inventory.application.port.in.ReserveInventoryItemCommand;
 import com.ecommerce.inventory.application.port.out.InventoryEventPublisherPort;
 import com.ecommerce.inventory.application.port.out.InventoryRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationIndexPort;
+import com.ecommerce.inventory.application.port.out.ReservationRepositoryPort;
+import com.ecommerce.inventory.application.port.out.ReservationWriterPort;
+import com.ecommerce.inventory.application.port.out.StockLedgerPort;
 import com.ecommerce.inventory.domain.model.Inventory;
-import com.ecommerce.inventory.domain.model.InventoryReservation;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import com.ecommerce.inventory.domain.model.ReservationStatus;
+import com.ecommerce.inventory.domain.model.StockLevel;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +21,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +40,18 @@ class ReserveInventoryServiceTest {
     @Mock
     private InventoryEventPublisherPort eventPublisher;
 
+    @Mock
+    private StockLedgerPort stockLedger;
+
+    @Mock
+    private ReservationWriterPort reservationWriter;
+
+    @Mock
+    private ReservationIndexPort reservationIndex;
+
+    @Mock
+    private ReservationRepositoryPort reservationRepository;
+
     @InjectMocks
     private ReserveInventoryService reserveInventoryService;
 
@@ -54,10 +76,9 @@ class ReserveInventoryServiceTest {
                 idempotencyKey
         );
 
-        var inventory = new Inventory(productId, "Test Product", 10);
-
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(inventory);
+        when(stockLedger.getStockLevel(productId))
+                .thenReturn(Optional.of(new StockLevel(UUID.randomUUID(), productId, "Test Product", 10)));
+        when(stockLedger.reserve(productId, 2)).thenReturn(OptionalInt.of(8));
 
         // When
         var result = reserveInventoryService.execute(command);
@@ -68,8 +89,12 @@ class ReserveInventoryServiceTest {
         assertEquals(orderId, result.getValue().orderId());
         assertEquals("RESERVED", result.getValue().status());
         assertFalse(result.getValue().reservedItems().isEmpty());
+        assertEquals(8, result.getValue().reservedItems().get(0).availableQuantity());
 
-        verify(inventoryRepository).save(any(Inventory.class));
+        verify(reservationWriter).enqueue(anyList());
+        verify(reservationIndex).put(eq(orderId), anyList());
+        verify(inventoryRepository, never()).findByProductId(any());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
         verify(eventPublisher).publishInventoryReserved(any());
     }
 
@@ -93,9 +118,10 @@ class ReserveInventoryServiceTest {
                 "test-key"
         );
 
-        var inventory = new Inventory(productId, "Test Product", 5); // Only 5 available
+        var level = new StockLevel(UUID.randomUUID(), productId, "Test Product", 5);
 
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        when(stockLedger.getStockLevel(productId)).thenReturn(Optional.of(level));
+        when(stockLedger.reserve(productId, 10)).thenReturn(OptionalInt.empty());
 
         // When
         var result = reserveInventoryService.execute(command);
@@ -105,6 +131,7 @@ class ReserveInventoryServiceTest {
         assertEquals("INSUFFICIENT_INVENTORY", result.getErrorCode());
 
         verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(reservationWriter, never()).enqueue(anyList());
         verify(eventPublisher, never()).publishInventoryReserved(any());
     }
 
@@ -128,7 +155,7 @@ class ReserveInventoryServiceTest {
                 "test-key"
         );
 
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.empty());
+        when(stockLedger.getStockLevel(productId)).thenReturn(Optional.empty());
         when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -163,16 +190,10 @@ class ReserveInventoryServiceTest {
                 idempotencyKey
         );
 
-        // Mock InventoryReservation
-        var existingReservation = mock(InventoryReservation.class);
-        when(existingReservation.getOrderId()).thenReturn(orderId);
-
-        // Mock inventory with existing reservation
-        var inventory = mock(Inventory.class);
-        when(inventory.getReservations()).thenReturn(List.of(existingReservation));
-
-        // Mock repository
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        // Reserved by another instance: not in the local index, found by the order_id projection
+        var snapshot = new ReservationSnapshot(orderId, productId, "Test Product", 2, "RES-456", ReservationStatus.CONFIRMED);
+        when(reservationIndex.findByOrderId(orderId)).thenReturn(Optional.empty());
+        when(reservationRepository.findByOrderId(orderId)).thenReturn(List.of(snapshot));
 
         // When
         var result = reserveInventoryService.execute(command);
@@ -181,51 +202,47 @@ class ReserveInventoryServiceTest {
         assertTrue(result.isSuccess());
         assertEquals(orderId, result.getValue().orderId());
         assertEquals("ALREADY_RESERVED", result.getValue().status());
+        assertEquals("RES-456", result.getValue().reservationReference());
 
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(reservationIndex).put(orderId, List.of(snapshot));
+        verify(inventoryRepository, never()).findByProductId(any());
+        verify(stockLedger, never()).reserve(any(), anyInt());
         verify(eventPublisher, never()).publishInventoryReserved(any());
     }
 
     @Test
-    void shouldFailWhenBusinessExceptionOccurs() {
+    void shouldReturnExistingReservationFromIndexWithoutLoadingInventory() {
         // Given
         UUID orderId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
         UUID productId = UUID.randomUUID();
 
-        var itemCommand = new ReserveInventoryItemCommand(
-                productId,
-                "Test Product",
-                2
-        );
-
         var command = new ReserveInventoryCommand(
                 orderId,
                 customerId,
-                List.of(itemCommand),
+                List.of(new ReserveInventoryItemCommand(productId, "Test Product", 2)),
                 "test-key"
         );
 
-        var inventory = new Inventory(productId, "Test Product", 10);
-
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
-        when(inventoryRepository.save(any(Inventory.class)))
-                .thenThrow(new BusinessException("INVENTORY_LOCK_ERROR", "Could not lock inventory"));
+        var snapshot = new ReservationSnapshot(orderId, productId, "Test Product", 2, "RES-123", ReservationStatus.PENDING);
+        when(reservationIndex.findByOrderId(orderId)).thenReturn(Optional.of(List.of(snapshot)));
 
         // When
         var result = reserveInventoryService.execute(command);
 
         // Then
-        assertTrue(result.isFailure());
-        assertEquals("INVENTORY_LOCK_ERROR", result.getErrorCode());
-        assertEquals("Could not lock inventory", result.getErrorMessage());
+        assertTrue(result.isSuccess());
+        assertEquals("ALREADY_RESERVED", result.getValue().status());
+        assertEquals("RES-123", result.getValue().reservationReference());
+        assertEquals(1, result.getValue().reservedItems().size());
 
-        verify(inventoryRepository).save(any(Inventory.class));
-        verify(eventPublisher, never()).publishInventoryReserved(any());
+        verify(inventoryRepository, never()).findByProductId(any());
+        verify(stockLedger, never()).reserve(any(), anyInt());
+        verify(reservationWriter, never()).enqueue(anyList());
     }
 
     @Test
-    void shouldFailWhenUnexpectedExceptionOccurs() {
+    void shouldFailWhenBusinessExceptionOccurs() {
         // Given
         UUID orderId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
@@ -244,23 +261,26 @@ class ReserveInventoryServiceTest {
                 "test-key"
         );
 
-        when(inventoryRepository.findByProductId(productId))
-                .thenThrow(new RuntimeException("Database connection failed"));
+        when(stockLedger.getStockLevel(productId))
+                .thenReturn(Optional.of(new StockLevel(UUID.randomUUID(), productId, "Test Product", 10)));
+        when(stockLedger.reserve(productId, 2)).thenReturn(OptionalInt.of(8));
+        doThrow(new BusinessException("INVENTORY_LOCK_ERROR", "Could not lock inventory"))
+                .when(reservationWriter).enqueue(anyList());
 
         // When
         var result = reserveInventoryService.execute(command);
 
         // Then
         assertTrue(result.isFailure());
-        assertEquals("INVENTORY_RESERVATION_FAILED", result.getErrorCode());
-        assertEquals("Failed to reserve inventory", result.getErrorMessage());
+        assertEquals("INVENTORY_LOCK_ERROR", result.getErrorCode());
+        assertEquals("Could not lock inventory", result.getErrorMessage());
 
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockLedger).release(productId, 2); // Ledger gives the units back
         verify(eventPublisher, never()).publishInventoryReserved(any());
     }
 
     @Test
-    void shouldFailWhenEventPublishingFails() {
+    void shouldFailWhenUnexpectedExceptionOccurs() {
         // Given
         UUID orderId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
@@ -279,14 +299,8 @@ class ReserveInventoryServiceTest {
                 "test-key"
         );
 
-        var inventory = new Inventory(productId, "Test Product", 10);
-
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(inventory);
-
-        // Event publisher throws exception
-        doThrow(new RuntimeException("Kafka broker unavailable"))
-                .when(eventPublisher).publishInventoryReserved(any());
+        when(reservationRepository.findByOrderId(orderId))
+                .thenThrow(new RuntimeException("Database connection failed"));
 
         // When
         var result = reserveInventoryService.execute(command);
@@ -296,12 +310,12 @@ class ReserveInventoryServiceTest {
         assertEquals("INVENTORY_RESERVATION_FAILED", result.getErrorCode());
         assertEquals("Failed to reserve inventory", result.getErrorMessage());
 
-        verify(inventoryRepository).save(any(Inventory.class));
-        verify(eventPublisher).publishInventoryReserved(any());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(eventPublisher, never()).publishInventoryReserved(any());
     }
 
     @Test
-    void shouldHandleCreateResponseFromExistingReservationsWithEmptyList() {
+    void shouldFailWhenEventPublishingFails() {
         // Given
         UUID orderId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
@@ -320,24 +334,23 @@ class ReserveInventoryServiceTest {
                 "test-key"
         );
 
-        // Mock inventory with existing reservation but getReservations returns empty list in createResponseFromExistingReservations
-        var inventory = mock(Inventory.class);
-        var existingReservation = mock(InventoryReservation.class);
-
-        when(inventory.getReservations()).thenReturn(List.of(existingReservation))
-                .thenReturn(List.of()); // Second call in createResponseFromExistingReservations returns empty
+        when(stockLedger.getStockLevel(productId))
+                .thenReturn(Optional.of(new StockLevel(UUID.randomUUID(), productId, "Test Product", 10)));
+        when(stockLedger.reserve(productId, 2)).thenReturn(OptionalInt.of(8));
 
-        when(existingReservation.getOrderId()).thenReturn(orderId);
-
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        // Event publisher throws exception
+        doThrow(new RuntimeException("Kafka broker unavailable"))
+                .when(eventPublisher).publishInventoryReserved(any());
 
         // When
         var result = reserveInventoryService.execute(command);
 
         // Then
-        assertTrue(result.isSuccess());
-        assertEquals("ALREADY_RESERVED", result.getValue().status());
-        assertEquals("N/A", result.getValue().reservationReference());
-        assertTrue(result.getValue().reservedItems().isEmpty());
+        assertTrue(result.isFailure());
+        assertEquals("INVENTORY_RESERVATION_FAILED", result.getErrorCode());
+        assertEquals("Failed to reserve inventory", result.getErrorMessage());
+
+        verify(reservationWriter).enqueue(anyList());
+        verify(eventPublisher).publishInventoryReserved(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.inventory.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.ecommerce.inventory.adapter.out.ledger.InMemoryReservationIndexAdapter;
+import com.ecommerce.inventory.application.port.in.GetReservationResponse;
+import com.ecommerce.inventory.application.port.in.GetReservationsByOrderQuery;
+import com.ecommerce.inventory.application.port.out.ReservationRepositoryPort;
+import com.ecommerce.inventory.application.service.GetReservationsByOrderService;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.ReservationSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o scan completo do catálogo (implementação antiga, já carregado em memória) com o caminho do
+ * service: hit no índice em memória, ou miss indo a um repositório stub (HashMap). Não mede o banco -
+ * a query indexada real está em ReservationQueryPostgresBenchmark.
+ * Rodar com: mvn -pl inventory-service test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.inventory.benchmark.ReservationLookupBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "--enable-preview")
+public class ReservationLookupBenchmark {
+
+    @Param({"1000", "100000"})
+    private int products;
+
+    private List<Inventory> catalog;
+    private List<UUID> orderIds;
+    private GetReservationsByOrderService indexedService;
+    private GetReservationsByOrderService stubRepositoryService;
+
+    @Setup
+    public void setUp() {
+        // Evita que o log INFO do service domine a medição
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        catalog = new ArrayList<>(products);
+        orderIds = new ArrayList<>(products);
+        Map<UUID, List<ReservationSnapshot>> orderIdIndex = new HashMap<>();
+
+        for (int i = 0; i < products; i++) {
+            var inventory = new Inventory(UUID.randomUUID(), "Product " + i, 100);
+            var orderId = UUID.randomUUID();
+            inventory.reserve(1, orderId, "RES-" + i);
+            catalog.add(inventory);
+            orderIds.add(orderId);
+            orderIdIndex.put(orderId, List.of(new ReservationSnapshot(
+                orderId, inventory.getProductId(), inventory.getProductName(), 1, "RES-" + i,
+                inventory.getReservations().get(0).getStatus())));
+        }
+
+        // Stub repository: measures the service overhead on an index miss, not the database query
+        ReservationRepositoryPort stubRepository = orderId -> orderIdIndex.getOrDefault(orderId, List.of());
+
+        var warmIndex = new InMemoryReservationIndexAdapter(products, Duration.ofHours(24));
+        indexedService = new GetReservationsByOrderService(stubRepository, warmIndex);
+        orderIds.forEach(orderId -> indexedService.execute(new GetReservationsByOrderQuery(orderId)));
+
+        var coldIndex = new InMemoryReservationIndexAdapter(0, Duration.ofHours(24));
+        stubRepositoryService = new GetReservationsByOrderService(stubRepository, coldIndex);
+    }
+
+    @Benchmark
+    public List<GetReservationResponse> fullCatalogScan() {
+        var orderId = randomOrderId();
+        // Implementação anterior: findAll() + filtro em memória sobre todas as reservas
+        return catalog.stream()
+            .flatMap(inventory -> inventory.getReservations().stream())
+            .filter(reservation -> reservation.getOrderId().equals(orderId))
+            .map(reservation -> new GetReservationResponse(
+                reservation.getInventory().getProductId(),
+                reservation.getInventory().getProductName(),
+                reservation.getQuantity(),
+                reservation.getReservationReference(),
+                reservation.getStatus().name()
+            ))
+            .toList();
+    }
+
+    @Benchmark
+    public List<GetReservationResponse> indexMissStubRepository() {
+        return stubRepositoryService.execute(new GetReservationsByOrderQuery(randomOrderId()));
+    }
+
+    @Benchmark
+    public List<GetReservationResponse> inMemoryIndexHit() {
+        return indexedService.execute(new GetReservationsByOrderQuery(randomOrderId()));
+    }
+
+    private UUID randomOrderId() {
+        return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ReservationLookupBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.inventory.benchmark;
+
+import com.ecommerce.inventory.application.port.in.GetReservationResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query por order_id (a mesma SQL da projeção do InventoryReservationJpaRepository) num PostgreSQL real,
+ * com e sem o índice idx_inventory_reservations_order_id. Precisa de Docker (Testcontainers).
+ * Rodar com: mvn -pl inventory-service test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.inventory.benchmark.ReservationQueryPostgresBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationQueryPostgresBenchmark {
+
+    private static final String QUERY =
+        "SELECT r.order_id, i.product_id, i.product_name, r.quantity, r.reservation_reference, r.status " +
+        "FROM %s r JOIN inventory i ON i.id = r.inventory_id WHERE r.order_id = ?";
+
+    @Param({"1000", "100000"})
+    private int products;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement indexedQuery;
+    private PreparedStatement unindexedQuery;
+    private List<UUID> orderIds;
+
+    @Setup
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE inventory (id uuid PRIMARY KEY, product_id uuid NOT NULL UNIQUE, " +
+                "product_name varchar(255) NOT NULL)");
+            for (var table : List.of("inventory_reservations", "inventory_reservations_unindexed")) {
+                statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, " +
+                    "inventory_id uuid NOT NULL REFERENCES inventory (id), order_id uuid NOT NULL, " +
+                    "quantity integer NOT NULL, reservation_reference varchar(255) NOT NULL, status varchar(32) NOT NULL)");
+            }
+            statement.execute("CREATE INDEX idx_inventory_reservations_order_id ON inventory_reservations (order_id)");
+        }
+
+        orderIds = new ArrayList<>(products);
+        connection.setAutoCommit(false);
+        try (var inventory = connection.prepareStatement("INSERT INTO inventory VALUES (?, ?, ?)");
+             var indexed = connection.prepareStatement("INSERT INTO inventory_reservations VALUES (?, ?, ?, 1, ?, 'PENDING')");
+             var unindexed = connection.prepareStatement("INSERT INTO inventory_reservations_unindexed VALUES (?, ?, ?, 1, ?, 'PENDING')")) {
+            for (int i = 0; i < products; i++) {
+                var inventoryId = UUID.randomUUID();
+                var orderId = UUID.randomUUID();
+                orderIds.add(orderId);
+
+                inventory.setObject(1, inventoryId);
+                inventory.setObject(2, UUID.randomUUID());
+                inventory.setString(3, "Product " + i);
+                inventory.addBatch();
+                for (var reservation : List.of(indexed, unindexed)) {
+                    reservation.setObject(1, UUID.randomUUID());
+                    reservation.setObject(2, inventoryId);
+                    reservation.setObject(3, orderId);
+                    reservation.setString(4, "RES-" + i);
+                    reservation.addBatch();
+                }
+                if (i % 1000 == 999) {
+                    inventory.executeBatch();
+                    indexed.executeBatch();
+                    unindexed.executeBatch();
+                }
+            }
+            inventory.executeBatch();
+            indexed.executeBatch();
+            unindexed.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+
+        indexedQuery = connection.prepareStatement(QUERY.formatted("inventory_reservations"));
+        unindexedQuery = connection.prepareStatement(QUERY.formatted("inventory_reservations_unindexed"));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<GetReservationResponse> indexedQuery() throws SQLException {
+        return execute(indexedQuery);
+    }
+
+    @Benchmark
+    public List<GetReservationResponse> unindexedQuery() throws SQLException {
+        return execute(unindexedQuery);
+    }
+
+    private List<GetReservationResponse> execute(PreparedStatement query) throws SQLException {
+        query.setObject(1, orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size())));
+        var reservations = new ArrayList<GetReservationResponse>(1);
+        try (var rows = query.executeQuery()) {
+            while (rows.next()) {
+                reservations.add(new GetReservationResponse(
+                    rows.getObject(2, UUID.class),
+                    rows.getString(3),
+                    rows.getInt(4),
+                    rows.getString(5),
+                    rows.getString(6)
+                ));
+            }
+        }
+        return reservations;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ReservationQueryPostgresBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
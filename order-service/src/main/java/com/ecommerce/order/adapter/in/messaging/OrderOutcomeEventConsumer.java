@@ -0,0 +1,126 @@
+package com.ecommerce.order.adapter.in.messaging;
+
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeCommand;
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeCommand.Outcome;
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeUseCase;
+import com.ecommerce.shared.infrastructure.messaging.KeyOrderedParallelProcessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Observed(name = "kafka.consumer", contextualName = "order-outcome-events-consumer")
+public class OrderOutcomeEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutcomeEventConsumer.class);
+
+    private final RecordOrderOutcomeUseCase recordOrderOutcomeUseCase;
+    private final KeyOrderedParallelProcessor parallelProcessor;
+    private final ObjectMapper objectMapper;
+    private final int shards;
+    private final Counter outcomeEventsProcessedCounter;
+    private final Counter outcomeEventsIgnoredCounter;
+    private final Counter outcomeEventsFailedCounter;
+
+    public OrderOutcomeEventConsumer(RecordOrderOutcomeUseCase recordOrderOutcomeUseCase,
+                                     KeyOrderedParallelProcessor parallelProcessor,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${order.kafka.parallel.shards:8}") int shards) {
+        this.recordOrderOutcomeUseCase = recordOrderOutcomeUseCase;
+        this.parallelProcessor = parallelProcessor;
+        this.objectMapper = objectMapper;
+        this.shards = shards;
+        this.outcomeEventsProcessedCounter = Counter.builder("order.outcome.events.processed")
+                .description("Number of payment/inventory events applied to the order summary")
+                .register(meterRegistry);
+        this.outcomeEventsIgnoredCounter = Counter.builder("order.outcome.events.ignored")
+                .description("Number of payment/inventory events ignored (stale or unknown order)")
+                .register(meterRegistry);
+        this.outcomeEventsFailedCounter = Counter.builder("order.outcome.events.failed")
+                .description("Number of payment/inventory events that could not be read")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+        topics = {"billing.events", "inventory.events"},
+        groupId = "order-summary",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void handleOutcomeEvents(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer) {
+        logger.debug("Received batch of {} payment/inventory events", records.size());
+
+        // Both topics are keyed by orderId: an order always lands in the same shard,
+        // and each shard is applied by the saga as one batch (one transaction)
+        var outcome = parallelProcessor.processInShards(records, shards, this::processShard);
+
+        parallelProcessor.commit(outcome, consumer);
+    }
+
+    private void processShard(List<ConsumerRecord<String, String>> records) {
+        var commands = new ArrayList<RecordOrderOutcomeCommand>(records.size());
+        for (var record : records) {
+            var command = toCommand(record);
+            if (command != null) {
+                commands.add(command);
+            }
+        }
+
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        // Exceptions escape on purpose (e.g. @Version conflict): the shard is marked failed and redelivered
+        int applied = recordOrderOutcomeUseCase.execute(commands);
+
+        outcomeEventsProcessedCounter.increment(applied);
+        outcomeEventsIgnoredCounter.increment(commands.size() - applied);
+    }
+
+    private RecordOrderOutcomeCommand toCommand(ConsumerRecord<String, String> record) {
+        OrderOutcomeEventDto event;
+        try {
+            event = objectMapper.readValue(record.value(), OrderOutcomeEventDto.class);
+        } catch (JsonProcessingException ex) {
+            // Malformed messages are skipped so they don't block the partition
+            logger.error("Failed to deserialize outcome event. Topic: {}, Partition: {}, Offset: {}",
+                record.topic(), record.partition(), record.offset(), ex);
+            outcomeEventsFailedCounter.increment();
+            return null;
+        }
+
+        var outcome = toOutcome(event.eventType());
+        if (outcome == null || event.orderId() == null || event.occurredOn() == null) {
+            logger.debug("Ignoring event type: {} from topic: {}", event.eventType(), record.topic());
+            return null;
+        }
+
+        var reference = switch (outcome) {
+            case PAYMENT_COMPLETED, PAYMENT_FAILED -> event.paymentReference();
+            case INVENTORY_RESERVED, INVENTORY_RELEASED -> event.reservationReference();
+        };
+        return new RecordOrderOutcomeCommand(event.orderId(), outcome, reference, event.occurredOn());
+    }
+
+    private static Outcome toOutcome(String eventType) {
+        return switch (eventType == null ? "" : eventType) {
+            case "PaymentCompleted" -> Outcome.PAYMENT_COMPLETED;
+            case "PaymentFailed" -> Outcome.PAYMENT_FAILED;
+            case "InventoryReserved" -> Outcome.INVENTORY_RESERVED;
+            case "InventoryReleased" -> Outcome.INVENTORY_RELEASED;
+            default -> null;
+        };
+    }
+}
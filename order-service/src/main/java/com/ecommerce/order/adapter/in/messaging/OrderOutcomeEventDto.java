@@ -0,0 +1,17 @@
+package com.ecommerce.order.adapter.in.messaging;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Campos comuns de billing.events e inventory.events usados pelo read model
+public record OrderOutcomeEventDto(
+    @JsonProperty("eventId") UUID eventId,
+    @JsonProperty("eventType") String eventType,
+    @JsonProperty("occurredOn") LocalDateTime occurredOn,
+    @JsonProperty("orderId") UUID orderId,
+    @JsonProperty("paymentReference") String paymentReference,
+    @JsonProperty("reservationReference") String reservationReference
+) {
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.application.port.in.CreateOrderResponse;
+
+public record BatchOrderResultDto(
+    int index,
+    boolean success,
+    CreateOrderResponse order,
+    String errorCode,
+    String errorMessage
+) {
+
+    public static BatchOrderResultDto success(int index, CreateOrderResponse order) {
+        return new BatchOrderResultDto(index, true, order, null, null);
+    }
+
+    public static BatchOrderResultDto failure(int index, String errorCode, String errorMessage) {
+        return new BatchOrderResultDto(index, false, null, errorCode, errorMessage);
+    }
+}
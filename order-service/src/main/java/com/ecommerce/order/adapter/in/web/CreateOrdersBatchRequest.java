@@ -0,0 +1,20 @@
+package com.ecommerce.order.adapter.in.web;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request to create several orders at once")
+public record CreateOrdersBatchRequest(
+    @NotEmpty(message = "Orders cannot be empty")
+    @Size(max = CreateOrdersBatchRequest.MAX_ORDERS, message = "At most " + CreateOrdersBatchRequest.MAX_ORDERS + " orders per batch")
+    @Valid
+    @Schema(description = "Orders to create")
+    List<CreateOrderRequest> orders
+) {
+
+    public static final int MAX_ORDERS = 10_000;
+}
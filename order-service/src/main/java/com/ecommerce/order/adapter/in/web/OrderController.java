@@ -2,12 +2,11 @@ package com.ecommerce.order.adapter.in.web;
 
 import com.ecommerce.order.application.port.in.*;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -15,10 +14,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,17 +34,31 @@ import java.util.UUID;
 public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int EXPORT_FLUSH_EVERY = 1000;
 
     private final CreateOrderUseCase createOrderUseCase;
+    private final CreateOrdersBatchUseCase createOrdersBatchUseCase;
     private final GetOrdersByCustomerUseCase getOrdersByCustomerUseCase;
     private final GetOrderByIdUseCase getOrderByIdUseCase;
+    private final GetOrderWithItemsUseCase getOrderWithItemsUseCase;
+    private final ExportCustomerOrdersUseCase exportCustomerOrdersUseCase;
+    private final ObjectMapper objectMapper;
 
     public OrderController(CreateOrderUseCase createOrderUseCase,
+                           CreateOrdersBatchUseCase createOrdersBatchUseCase,
                            GetOrdersByCustomerUseCase getOrdersByCustomerUseCase,
-                           GetOrderByIdUseCase getOrderByIdUseCase) {
+                           GetOrderByIdUseCase getOrderByIdUseCase,
+                           GetOrderWithItemsUseCase getOrderWithItemsUseCase,
+                           ExportCustomerOrdersUseCase exportCustomerOrdersUseCase,
+                           ObjectMapper objectMapper) {
         this.createOrderUseCase = createOrderUseCase;
+        this.createOrdersBatchUseCase = createOrdersBatchUseCase;
         this.getOrdersByCustomerUseCase = getOrdersByCustomerUseCase;
         this.getOrderByIdUseCase = getOrderByIdUseCase;
+        this.getOrderWithItemsUseCase = getOrderWithItemsUseCase;
+        this.exportCustomerOrdersUseCase = exportCustomerOrdersUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -52,7 +72,6 @@ public class OrderController {
     @RateLimiter(name = "order-creation")
     @CircuitBreaker(name = "order-creation")
     @Retry(name = "order-creation")
-    @CacheEvict(value = {"orders", "customer-orders"}, allEntries = true)
     public ResponseEntity<CreateOrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
         logger.info("Received request to create order for customer: {}", request.customerId());
 
@@ -69,32 +88,98 @@ public class OrderController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk",
+            description = "Creates up to " + CreateOrdersBatchRequest.MAX_ORDERS + " orders in one transaction and returns one result per order, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed - check each result"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    @Bulkhead(name = "order-batch", type = Bulkhead.Type.SEMAPHORE)
+    @RateLimiter(name = "order-batch")
+    public ResponseEntity<List<BatchOrderResultDto>> createOrdersBatch(@Valid @RequestBody CreateOrdersBatchRequest request) {
+        logger.info("Received request to create batch of {} orders", request.orders().size());
+
+        var commands = request.orders().stream()
+                .map(order -> new CreateOrderCommand(order.customerId(), order.items()))
+                .toList();
+        var results = createOrdersBatchUseCase.execute(commands);
+
+        var response = new ArrayList<BatchOrderResultDto>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            var result = results.get(i);
+            response.add(result.isSuccess()
+                    ? BatchOrderResultDto.success(i, result.getValue())
+                    : BatchOrderResultDto.failure(i, result.getErrorCode(), result.getErrorMessage()));
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/customers/{customerId}/orders")
-    @Operation(summary = "Get orders by customer", description = "Retrieves all orders for a specific customer")
+    @Operation(summary = "Get orders by customer",
+            description = "Retrieves a page of orders for a specific customer, newest first. " +
+                    "Pass the X-Next-Cursor header of the previous response as 'cursor' to get the next page")
     @Bulkhead(name = "order-query", type = Bulkhead.Type.SEMAPHORE)
     @RateLimiter(name = "order-query")
     @CircuitBreaker(name = "order-query")
     @Retry(name = "order-query")
-    @Cacheable(value = "customer-orders", key = "#customerId")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByCustomer(@PathVariable UUID customerId) {
+    public ResponseEntity<List<OrderResponseDto>> getOrdersByCustomer(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + GetOrdersByCustomerQuery.DEFAULT_LIMIT) int size) {
         logger.info("Received request to get orders for customer: {}", customerId);
 
-        var query = new GetOrdersByCustomerQuery(customerId);
-        var orders = getOrdersByCustomerUseCase.execute(query);
-
-        var response = orders.stream()
-                .map(order -> new OrderResponseDto(
-                        order.orderId(),
-                        order.orderNumber(),
-                        order.customerId(),
-                        order.totalAmount(),
-                        order.currency(),
-                        order.status(),
-                        order.orderDate()
-                ))
+        var after = cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor) : null;
+        var query = new GetOrdersByCustomerQuery(customerId, after, size);
+        var page = getOrdersByCustomerUseCase.execute(query);
+
+        var response = page.orders().stream()
+                .map(OrderController::toDto)
                 .toList();
 
-        return ResponseEntity.ok(response);
+        // Corpo continua sendo a lista (compatível com o BFF); o cursor vai no header
+        var builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+        }
+        return builder.body(response);
+    }
+
+    @GetMapping(value = "/customers/{customerId}/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export orders by customer",
+            description = "Streams every order of a customer (optionally within [from, to)) as newline-delimited JSON")
+    @RateLimiter(name = "order-export")
+    public ResponseEntity<StreamingResponseBody> exportOrdersByCustomer(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Received request to export orders for customer: {}", customerId);
+
+        var query = new ExportCustomerOrdersQuery(customerId, from, to);
+
+        // Roda numa thread assíncrona do MVC: cada linha vai direto para o response, heap constante
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.createGenerator(outputStream)) {
+                var written = new long[1];
+                exportCustomerOrdersUseCase.execute(query, order -> {
+                    try {
+                        generator.writeObject(toDto(order));
+                        generator.writeRaw('\n');
+                        if (++written[0] % EXPORT_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        // Client went away - abort the query instead of reading the rest of the cursor
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{orderId}")
@@ -105,7 +190,6 @@ public class OrderController {
     @RateLimiter(name = "order-query")
     @CircuitBreaker(name = "order-query")
     @Retry(name = "order-query")
-    @Cacheable(value = "orders", key = "#orderId")
     public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable UUID orderId) {
         logger.info("Received request to get order: {}", orderId);
 
@@ -116,18 +200,54 @@ public class OrderController {
             throw new BusinessException("ORDER_NOT_FOUND", "Order not found: " + orderId);
         }
 
-        var order = orderOpt.get();
-        var response = new OrderResponseDto(
+        return ResponseEntity.ok(toDto(orderOpt.get()));
+    }
+
+    @GetMapping("/{orderId}/with-items")
+    @Operation(summary = "Get order with items", description = "Retrieves an order and its items in a single query")
+    @ApiResponse(responseCode = "200", description = "Order retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Order not found")
+    @Bulkhead(name = "order-query", type = Bulkhead.Type.SEMAPHORE)
+    @RateLimiter(name = "order-query")
+    @CircuitBreaker(name = "order-query")
+    @Retry(name = "order-query")
+    public ResponseEntity<OrderWithItemsResponse> getOrderWithItems(@PathVariable UUID orderId) {
+        logger.info("Received request to get order with items: {}", orderId);
+
+        var order = getOrderWithItemsUseCase.execute(new GetOrderByIdQuery(orderId))
+                .orElseThrow(() -> new BusinessException("ORDER_NOT_FOUND", "Order not found: " + orderId));
+
+        return ResponseEntity.ok(order);
+    }
+
+    @PostMapping("/with-items")
+    @Operation(summary = "Get orders with items",
+            description = "Retrieves up to " + OrderIdsRequest.MAX_IDS + " orders and all their items with a single IN query; unknown IDs are omitted")
+    @Bulkhead(name = "order-query", type = Bulkhead.Type.SEMAPHORE)
+    @RateLimiter(name = "order-query")
+    @CircuitBreaker(name = "order-query")
+    @Retry(name = "order-query")
+    public ResponseEntity<List<OrderWithItemsResponse>> getOrdersWithItems(@Valid @RequestBody OrderIdsRequest request) {
+        logger.info("Received request to get {} orders with items", request.orderIds().size());
+
+        var orders = getOrderWithItemsUseCase.execute(new GetOrdersWithItemsQuery(request.orderIds()));
+
+        return ResponseEntity.ok(orders);
+    }
+
+    private static OrderResponseDto toDto(GetOrderResponse order) {
+        return new OrderResponseDto(
                 order.orderId(),
                 order.orderNumber(),
                 order.customerId(),
                 order.totalAmount(),
                 order.currency(),
                 order.status(),
-                order.orderDate()
+                order.orderDate(),
+                order.paymentStatus(),
+                order.reservationStatus(),
+                order.updatedAt()
         );
-
-        return ResponseEntity.ok(response);
     }
 
 }
\ No newline at end of file
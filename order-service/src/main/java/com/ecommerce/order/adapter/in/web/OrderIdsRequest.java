@@ -0,0 +1,19 @@
+package com.ecommerce.order.adapter.in.web;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Order IDs to load in one request")
+public record OrderIdsRequest(
+    @NotEmpty(message = "Order IDs cannot be empty")
+    @Size(max = OrderIdsRequest.MAX_IDS, message = "At most " + OrderIdsRequest.MAX_IDS + " order IDs per request")
+    @Schema(description = "Order IDs")
+    List<UUID> orderIds
+) {
+
+    public static final int MAX_IDS = 500;
+}
@@ -11,6 +11,9 @@ public record OrderResponseDto(
     BigDecimal totalAmount,
     String currency,
     String status,
-    LocalDateTime orderDate
+    LocalDateTime orderDate,
+    String paymentStatus,
+    String reservationStatus,
+    LocalDateTime updatedAt
 ) {
 }
\ No newline at end of file
@@ -2,60 +2,41 @@ package com.ecommerce.order.adapter.out.messaging;
 
 import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
 import com.ecommerce.order.domain.event.OrderCreatedEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.micrometer.observation.ObservationRegistry;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import com.ecommerce.order.domain.event.OrderStatusChangedEvent;
+import com.ecommerce.shared.infrastructure.outbox.OutboxWriter;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
 
 @Component
 public class OrderEventPublisherAdapter implements OrderEventPublisherPort {
 
-    private static final Logger logger = LoggerFactory.getLogger(OrderEventPublisherAdapter.class);
     private static final String ORDER_EVENTS_TOPIC = "order.events";
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
-    private final ObservationRegistry observationRegistry;
+    private final OutboxWriter outboxWriter;
 
-    public OrderEventPublisherAdapter(KafkaTemplate<String, String> kafkaTemplate,
-                                      ObjectMapper objectMapper,
-                                      ObservationRegistry observationRegistry) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
-        this.observationRegistry = observationRegistry;
-
-        // Configurar observação no KafkaTemplate
-        this.kafkaTemplate.setObservationEnabled(true);
+    public OrderEventPublisherAdapter(OutboxWriter outboxWriter) {
+        this.outboxWriter = outboxWriter;
     }
 
     @Override
     public void publishOrderCreated(OrderCreatedEvent event) {
-        try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            String key = event.aggregateId().toString();
-
-            CompletableFuture<SendResult<String, String>> future = 
-                kafkaTemplate.send(ORDER_EVENTS_TOPIC, key, eventJson);
-
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    logger.info("OrderCreated event published successfully. Topic: {}, Key: {}, Offset: {}", 
-                        ORDER_EVENTS_TOPIC, key, result.getRecordMetadata().offset());
-                } else {
-                    logger.error("Failed to publish OrderCreated event. Topic: {}, Key: {}", 
-                        ORDER_EVENTS_TOPIC, key, ex);
-                }
-            });
-
-        } catch (JsonProcessingException ex) {
-            logger.error("Failed to serialize OrderCreated event", ex);
-            throw new RuntimeException("Failed to publish event", ex);
+        // Gravado no outbox na mesma transação; o OutboxRelay publica no Kafka
+        outboxWriter.append(ORDER_EVENTS_TOPIC, event.aggregateId().toString(), "OrderCreated", event);
+    }
+
+    @Override
+    public void publishOrdersCreated(List<OrderCreatedEvent> events) {
+        // Linhas do outbox entram no mesmo JDBC batch; o relay manda tudo junto para o producer
+        for (var event : events) {
+            outboxWriter.append(ORDER_EVENTS_TOPIC, event.aggregateId().toString(), "OrderCreated", event);
+        }
+    }
+
+    @Override
+    public void publishOrderStatusChanged(List<OrderStatusChangedEvent> events) {
+        for (var event : events) {
+            outboxWriter.append(ORDER_EVENTS_TOPIC, event.aggregateId().toString(), "OrderStatusChanged", event);
         }
     }
-}
\ No newline at end of file
+}
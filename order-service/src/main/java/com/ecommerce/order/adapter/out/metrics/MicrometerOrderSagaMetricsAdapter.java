@@ -0,0 +1,72 @@
+package com.ecommerce.order.adapter.out.metrics;
+
+import com.ecommerce.order.application.port.out.OrderSagaMetricsPort;
+import com.ecommerce.order.domain.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+@Component
+public class MicrometerOrderSagaMetricsAdapter implements OrderSagaMetricsPort {
+
+    private final MeterRegistry meterRegistry;
+
+    public MicrometerOrderSagaMetricsAdapter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recordStep(String step, String outcome, Duration duration) {
+        afterCommit(() -> Timer.builder("order.saga.step.duration")
+                .description("Time taken by each saga step")
+                .tag("step", step)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nonNegative(duration)));
+    }
+
+    @Override
+    public void recordTransition(OrderStatus from, OrderStatus to) {
+        afterCommit(() -> Counter.builder("order.saga.transitions")
+                .description("Order status transitions driven by the saga")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment());
+    }
+
+    @Override
+    public void recordCompletion(OrderStatus status, Duration duration) {
+        afterCommit(() -> Timer.builder("order.saga.completion.duration")
+                .description("End-to-end time from order creation to the final saga status")
+                .tag("status", status.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nonNegative(duration)));
+    }
+
+    // A rolled-back batch is redelivered; only committed work is measured so retries don't double count
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Duration nonNegative(Duration duration) {
+        // Timestamps come from different services; clock skew can make a step look negative
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
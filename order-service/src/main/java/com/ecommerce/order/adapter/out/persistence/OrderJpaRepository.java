@@ -1,11 +1,14 @@
 package com.ecommerce.order.adapter.out.persistence;
 
 import com.ecommerce.order.domain.model.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,8 +18,16 @@ public interface OrderJpaRepository extends JpaRepository<Order, UUID> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
-    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId ORDER BY o.orderDate DESC")
-    List<Order> findByCustomerIdOrderByOrderDateDesc(@Param("customerId") UUID customerId);
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdWithItems(@Param("id") UUID id);
 
-    boolean existsByOrderNumber(String orderNumber);
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllByIdWithItems(@Param("ids") Collection<UUID> ids);
+
+    // Keyset over the primary key; the anti-join uses the order_summary primary key
+    @Query("SELECT o FROM Order o WHERE o.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM OrderSummary s WHERE s.orderId = o.id) " +
+           "ORDER BY o.id")
+    List<Order> findWithoutSummaryAfter(@Param("afterId") UUID afterId, Limit limit);
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.ecommerce.order.adapter.out.persistence;
 
 import com.ecommerce.order.application.port.out.OrderRepositoryPort;
 import com.ecommerce.order.domain.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,28 +24,43 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
         return jpaRepository.save(order);
     }
 
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return jpaRepository.saveAll(orders);
+    }
+
     @Override
     public Optional<Order> findById(UUID id) {
         return jpaRepository.findById(id);
     }
 
+    @Override
+    public List<Order> findAllById(Collection<UUID> ids) {
+        return jpaRepository.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Order> findByIdWithItems(UUID id) {
+        return jpaRepository.findByIdWithItems(id);
+    }
+
+    @Override
+    public List<Order> findAllByIdWithItems(Collection<UUID> ids) {
+        return jpaRepository.findAllByIdWithItems(ids);
+    }
+
     @Override
     public Optional<Order> findByOrderNumber(String orderNumber) {
         return jpaRepository.findByOrderNumber(orderNumber);
     }
 
     @Override
-    public List<Order> findByCustomerId(UUID customerId) {
-        return jpaRepository.findByCustomerIdOrderByOrderDateDesc(customerId);
+    public List<Order> findWithoutSummary(UUID afterId, int limit) {
+        return jpaRepository.findWithoutSummaryAfter(afterId, Limit.of(limit));
     }
 
     @Override
     public void deleteById(UUID id) {
         jpaRepository.deleteById(id);
     }
-
-    @Override
-    public boolean existsByOrderNumber(String orderNumber) {
-        return jpaRepository.existsByOrderNumber(orderNumber);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.order.application.port.out.OrderSummaryView;
+import com.ecommerce.order.domain.model.OrderSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface OrderSummaryJpaRepository extends JpaRepository<OrderSummary, UUID> {
+
+    // Every selected column is in idx_order_summary_customer_covering (index-only scan)
+    String VIEW_SELECT = "SELECT new com.ecommerce.order.application.port.out.OrderSummaryView(" +
+            "s.orderId, s.orderNumber, s.customerId, s.totalAmount, s.currency, s.orderStatus, s.orderDate, " +
+            "s.paymentStatus, s.reservationStatus) FROM OrderSummary s ";
+
+    @Query(VIEW_SELECT +
+           "WHERE s.customerId = :customerId " +
+           "ORDER BY s.orderDate DESC, s.orderId DESC")
+    List<OrderSummaryView> findFirstPage(@Param("customerId") UUID customerId, Limit limit);
+
+    // orderDate <= :afterDate is the index range condition (the scan starts at the cursor);
+    // the OR only drops rows already returned with the same orderDate
+    @Query(VIEW_SELECT +
+           "WHERE s.customerId = :customerId " +
+           "AND s.orderDate <= :afterDate " +
+           "AND (s.orderDate < :afterDate OR s.orderId < :afterId) " +
+           "ORDER BY s.orderDate DESC, s.orderId DESC")
+    List<OrderSummaryView> findPageAfter(@Param("customerId") UUID customerId,
+                                         @Param("afterDate") LocalDateTime afterDate,
+                                         @Param("afterId") UUID afterId,
+                                         Limit limit);
+
+    // Fetch size makes the PostgreSQL driver use a server-side cursor instead of loading the whole result
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT +
+           "WHERE s.customerId = :customerId " +
+           "AND s.orderDate >= :from AND s.orderDate < :to " +
+           "ORDER BY s.orderDate DESC, s.orderId DESC")
+    Stream<OrderSummaryView> streamByCustomerId(@Param("customerId") UUID customerId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryView;
+import com.ecommerce.order.domain.model.OrderSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+public class OrderSummaryRepositoryAdapter implements OrderSummaryRepositoryPort {
+
+    // Limites abertos do export viram datas fixas (evita parâmetro null tipado no PostgreSQL)
+    private static final LocalDateTime EXPORT_RANGE_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime EXPORT_RANGE_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final OrderSummaryJpaRepository jpaRepository;
+
+    public OrderSummaryRepositoryAdapter(OrderSummaryJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public OrderSummary save(OrderSummary summary) {
+        return jpaRepository.save(summary);
+    }
+
+    @Override
+    public void saveAll(List<OrderSummary> summaries) {
+        jpaRepository.saveAll(summaries);
+    }
+
+    @Override
+    public Optional<OrderSummary> findById(UUID orderId) {
+        return jpaRepository.findById(orderId);
+    }
+
+    @Override
+    public List<OrderSummary> findAllById(Collection<UUID> orderIds) {
+        return jpaRepository.findAllById(orderIds);
+    }
+
+    @Override
+    public List<OrderSummaryView> findPageByCustomerId(UUID customerId, LocalDateTime afterDate,
+                                                       UUID afterId, int limit) {
+        if (afterDate == null) {
+            return jpaRepository.findFirstPage(customerId, Limit.of(limit));
+        }
+        return jpaRepository.findPageAfter(customerId, afterDate, afterId, Limit.of(limit));
+    }
+
+    @Override
+    public void streamByCustomerId(UUID customerId, LocalDateTime from, LocalDateTime to,
+                                   Consumer<OrderSummaryView> consumer) {
+        try (var rows = jpaRepository.streamByCustomerId(customerId,
+                from != null ? from : EXPORT_RANGE_START,
+                to != null ? to : EXPORT_RANGE_END)) {
+            rows.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.order.application.port.out.OrderNumberAllocatorPort;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pooled allocation: one nextval() reserves a block of BLOCK_SIZE numbers for this instance
+@Component
+public class SequenceOrderNumberAllocator implements OrderNumberAllocatorPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceOrderNumberAllocator.class);
+
+    static final String SEQUENCE_NAME = "order_number_seq";
+    static final int BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    // ReentrantLock instead of synchronized: callers may be virtual threads and the refill does I/O
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long blockEnd;
+
+    public SequenceOrderNumberAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void createSequence() {
+        // Not an entity id, so Hibernate's schema tooling does not create it
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME + " START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+    }
+
+    @Override
+    public String next() {
+        return format(allocate());
+    }
+
+    @Override
+    public List<String> next(int count) {
+        var numbers = new ArrayList<String>(count);
+        // Lock held for the whole list so a batch gets a contiguous run when possible
+        lock.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                numbers.add(format(allocate()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return numbers;
+    }
+
+    private long allocate() {
+        lock.lock();
+        try {
+            if (next >= blockEnd) {
+                var blockStart = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE_NAME + "')", Long.class);
+                next = blockStart;
+                blockEnd = blockStart + BLOCK_SIZE;
+                logger.debug("Reserved order numbers [{}, {})", next, blockEnd);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String format(long value) {
+        return String.format("ORD-%010d", value);
+    }
+}
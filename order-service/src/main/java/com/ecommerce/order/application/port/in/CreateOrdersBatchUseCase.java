@@ -0,0 +1,11 @@
+package com.ecommerce.order.application.port.in;
+
+import com.ecommerce.shared.domain.common.Result;
+
+import java.util.List;
+
+public interface CreateOrdersBatchUseCase {
+
+    // One result per command, in the same order
+    List<Result<CreateOrderResponse>> execute(List<CreateOrderCommand> commands);
+}
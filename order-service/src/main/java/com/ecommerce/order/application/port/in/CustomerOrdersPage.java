@@ -0,0 +1,13 @@
+package com.ecommerce.order.application.port.in;
+
+import java.util.List;
+
+public record CustomerOrdersPage(
+    List<GetOrderResponse> orders,
+    OrderCursor nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.order.application.port.in;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// from/to são opcionais: null = sem limite naquele lado
+public record ExportCustomerOrdersQuery(
+    UUID customerId,
+    LocalDateTime from,
+    LocalDateTime to
+) {
+}
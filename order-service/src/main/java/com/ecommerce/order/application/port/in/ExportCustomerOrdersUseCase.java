@@ -0,0 +1,9 @@
+package com.ecommerce.order.application.port.in;
+
+import java.util.function.Consumer;
+
+public interface ExportCustomerOrdersUseCase {
+
+    // Pushes every matching order to the sink as it is read; returns how many were exported
+    long execute(ExportCustomerOrdersQuery query, Consumer<GetOrderResponse> sink);
+}
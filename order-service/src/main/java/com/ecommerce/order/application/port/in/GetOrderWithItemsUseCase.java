@@ -0,0 +1,12 @@
+package com.ecommerce.order.application.port.in;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface GetOrderWithItemsUseCase {
+
+    Optional<OrderWithItemsResponse> execute(GetOrderByIdQuery query);
+
+    // Orders + items for every id in one SQL statement; unknown ids are simply absent
+    List<OrderWithItemsResponse> execute(GetOrdersWithItemsQuery query);
+}
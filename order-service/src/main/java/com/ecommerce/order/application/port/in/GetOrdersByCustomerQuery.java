@@ -3,6 +3,20 @@ package com.ecommerce.order.application.port.in;
 import java.util.UUID;
 
 public record GetOrdersByCustomerQuery(
-    UUID customerId
+    UUID customerId,
+    OrderCursor after,
+    int limit
 ) {
-}
\ No newline at end of file
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public GetOrdersByCustomerQuery {
+        limit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    // Só a primeira página com tamanho padrão vai para o cache (chave = customerId)
+    public boolean isDefaultFirstPage() {
+        return after == null && limit == DEFAULT_LIMIT;
+    }
+}
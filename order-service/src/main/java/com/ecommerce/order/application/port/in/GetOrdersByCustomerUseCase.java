@@ -1,8 +1,6 @@
 package com.ecommerce.order.application.port.in;
 
-import java.util.List;
-
 public interface GetOrdersByCustomerUseCase {
 
-    List<GetOrderResponse> execute(GetOrdersByCustomerQuery query);
-}
\ No newline at end of file
+    CustomerOrdersPage execute(GetOrdersByCustomerQuery query);
+}
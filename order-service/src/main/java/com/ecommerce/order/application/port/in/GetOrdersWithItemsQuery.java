@@ -0,0 +1,9 @@
+package com.ecommerce.order.application.port.in;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GetOrdersWithItemsQuery(
+    List<UUID> orderIds
+) {
+}
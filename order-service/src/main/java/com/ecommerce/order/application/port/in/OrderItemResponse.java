@@ -0,0 +1,15 @@
+package com.ecommerce.order.application.port.in;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderItemResponse(
+    UUID itemId,
+    UUID productId,
+    String productName,
+    Integer quantity,
+    BigDecimal unitPrice,
+    String currency,
+    BigDecimal subtotal
+) {
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.order.application.port.in;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderWithItemsResponse(
+    UUID orderId,
+    String orderNumber,
+    UUID customerId,
+    BigDecimal totalAmount,
+    String currency,
+    String status,
+    LocalDateTime orderDate,
+    List<OrderItemResponse> items
+) {
+}
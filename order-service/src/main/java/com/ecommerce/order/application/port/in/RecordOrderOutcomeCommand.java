@@ -0,0 +1,19 @@
+package com.ecommerce.order.application.port.in;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RecordOrderOutcomeCommand(
+    UUID orderId,
+    Outcome outcome,
+    String reference,
+    LocalDateTime occurredOn
+) {
+
+    public enum Outcome {
+        PAYMENT_COMPLETED,
+        PAYMENT_FAILED,
+        INVENTORY_RESERVED,
+        INVENTORY_RELEASED
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.application.port.in;
+
+import java.util.List;
+
+public interface RecordOrderOutcomeUseCase {
+
+    // Applies the batch in one transaction and advances the order saga; returns how many outcomes were applied
+    // (unknown orders and events older than what is already recorded are skipped)
+    int execute(List<RecordOrderOutcomeCommand> commands);
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.order.application.port.out;
+
+import java.util.UUID;
+
+public interface OrderCachePort {
+
+    // Inside a transaction the eviction runs after the commit: evicting earlier lets a concurrent read
+    // put the old row back into the cache
+    void evictOrder(UUID orderId, String source);
+
+    void evictCustomerOrders(UUID customerId, String source);
+}
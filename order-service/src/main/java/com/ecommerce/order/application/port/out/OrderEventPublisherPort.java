@@ -1,8 +1,15 @@
 package com.ecommerce.order.application.port.out;
 
 import com.ecommerce.order.domain.event.OrderCreatedEvent;
+import com.ecommerce.order.domain.event.OrderStatusChangedEvent;
+
+import java.util.List;
 
 public interface OrderEventPublisherPort {
     
     void publishOrderCreated(OrderCreatedEvent event);
+
+    void publishOrdersCreated(List<OrderCreatedEvent> events);
+
+    void publishOrderStatusChanged(List<OrderStatusChangedEvent> events);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.ecommerce.order.application.port.out;
+
+import java.util.List;
+
+public interface OrderNumberAllocatorPort {
+
+    // Unique across instances without a lookup - no existsByOrderNumber needed
+    String next();
+
+    List<String> next(int count);
+}
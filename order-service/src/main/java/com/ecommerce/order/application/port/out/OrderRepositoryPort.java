@@ -2,6 +2,7 @@ package com.ecommerce.order.application.port.out;
 
 import com.ecommerce.order.domain.model.Order;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,13 +11,23 @@ public interface OrderRepositoryPort {
     
     Order save(Order order);
     
+    List<Order> saveAll(List<Order> orders);
+    
     Optional<Order> findById(UUID id);
     
+    // Many orders in one IN query, without items
+    List<Order> findAllById(Collection<UUID> ids);
+    
+    // Order and its items in one round-trip
+    Optional<Order> findByIdWithItems(UUID id);
+    
+    // Many orders and all their items in one IN query
+    List<Order> findAllByIdWithItems(Collection<UUID> ids);
+    
     Optional<Order> findByOrderNumber(String orderNumber);
     
-    List<Order> findByCustomerId(UUID customerId);
+    // Orders with no order_summary row, by id after afterId
+    List<Order> findWithoutSummary(UUID afterId, int limit);
     
     void deleteById(UUID id);
-    
-    boolean existsByOrderNumber(String orderNumber);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.ecommerce.order.application.port.out;
+
+import com.ecommerce.order.domain.model.OrderStatus;
+
+import java.time.Duration;
+
+public interface OrderSagaMetricsPort {
+
+    // Time a saga step took (e.g. order created -> payment reported)
+    void recordStep(String step, String outcome, Duration duration);
+
+    void recordTransition(OrderStatus from, OrderStatus to);
+
+    // Order created -> saga reached a final status in order-service
+    void recordCompletion(OrderStatus status, Duration duration);
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.order.application.port.out;
+
+import com.ecommerce.order.domain.model.OrderSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface OrderSummaryRepositoryPort {
+
+    OrderSummary save(OrderSummary summary);
+
+    void saveAll(List<OrderSummary> summaries);
+
+    Optional<OrderSummary> findById(UUID orderId);
+
+    List<OrderSummary> findAllById(Collection<UUID> orderIds);
+
+    // Keyset page ordered by (orderDate, orderId) DESC; afterDate/afterId null means first page
+    List<OrderSummaryView> findPageByCustomerId(UUID customerId, LocalDateTime afterDate, UUID afterId, int limit);
+
+    // Rows are handed to the consumer while the cursor is open - nothing is collected in memory
+    void streamByCustomerId(UUID customerId, LocalDateTime from, LocalDateTime to,
+                            Consumer<OrderSummaryView> consumer);
+}
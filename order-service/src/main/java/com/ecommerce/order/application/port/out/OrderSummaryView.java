@@ -0,0 +1,22 @@
+package com.ecommerce.order.application.port.out;
+
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.model.OrderSummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Projeção só com as colunas do índice de cobertura - sem entidade, sem dirty checking
+public record OrderSummaryView(
+    UUID id,
+    String orderNumber,
+    UUID customerId,
+    BigDecimal totalAmount,
+    String currency,
+    OrderStatus status,
+    LocalDateTime orderDate,
+    OrderSummary.PaymentStatus paymentStatus,
+    OrderSummary.ReservationStatus reservationStatus
+) {
+}
@@ -4,10 +4,13 @@ import com.ecommerce.order.application.port.in.CreateOrderCommand;
 import com.ecommerce.order.application.port.in.CreateOrderResponse;
 import com.ecommerce.order.application.port.in.CreateOrderUseCase;
 import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
+import com.ecommerce.order.application.port.out.OrderNumberAllocatorPort;
 import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
 import com.ecommerce.order.domain.event.OrderCreatedEvent;
 import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.domain.model.OrderSummary;
 import com.ecommerce.shared.domain.common.Result;
 import com.ecommerce.shared.domain.valueobject.Money;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
@@ -18,7 +21,6 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
 
 @Service
 public class CreateOrderService implements CreateOrderUseCase {
@@ -27,11 +29,17 @@ public class CreateOrderService implements CreateOrderUseCase {
 
     private final OrderRepositoryPort orderRepository;
     private final OrderEventPublisherPort eventPublisher;
+    private final OrderNumberAllocatorPort orderNumberAllocator;
+    private final OrderSummaryRepositoryPort orderSummaryRepository;
 
     public CreateOrderService(OrderRepositoryPort orderRepository,
-                              OrderEventPublisherPort eventPublisher) {
+                              OrderEventPublisherPort eventPublisher,
+                              OrderNumberAllocatorPort orderNumberAllocator,
+                              OrderSummaryRepositoryPort orderSummaryRepository) {
         this.orderRepository = orderRepository;
         this.eventPublisher = eventPublisher;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.orderSummaryRepository = orderSummaryRepository;
     }
 
     @Override
@@ -42,33 +50,18 @@ public class CreateOrderService implements CreateOrderUseCase {
         try {
             logger.info("Creating order for customer: {}", command.customerId());
 
-            // Generate unique order number
-            String orderNumber = generateOrderNumber();
-
-            // Validate order number uniqueness
-            if (orderRepository.existsByOrderNumber(orderNumber)) {
-                return Result.failure("ORDER_NUMBER_EXISTS", "Order number already exists");
-            }
-
-            // Create order with initial amount (will be recalculated)
-            var order = new Order(orderNumber, command.customerId(), Money.zero("USD"));
-
-            // Add items to order
-            for (var itemCommand : command.items()) {
-                var unitPrice = Money.of(itemCommand.unitPrice(), itemCommand.currency());
-                var orderItem = new OrderItem(
-                        itemCommand.productId(),
-                        itemCommand.productName(),
-                        itemCommand.quantity(),
-                        unitPrice
-                );
-                order.addItem(orderItem);
-            }
+            // Allocated from a pooled sequence - unique by construction, no existence check
+            String orderNumber = orderNumberAllocator.next();
+
+            var order = buildOrder(orderNumber, command);
 
             // Save order
             var savedOrder = orderRepository.save(order);
             logger.info("Order created with ID: {} and number: {}", savedOrder.getId(), savedOrder.getOrderNumber());
 
+            // Read model nasce na mesma transação; pagamento/reserva chegam depois via eventos
+            orderSummaryRepository.save(OrderSummary.of(savedOrder));
+
             // Publish domain event
             var event = OrderCreatedEvent.create(
                     savedOrder.getId(),
@@ -81,18 +74,7 @@ public class CreateOrderService implements CreateOrderUseCase {
             eventPublisher.publishOrderCreated(event);
             logger.info("OrderCreated event published for order: {}", savedOrder.getOrderNumber());
 
-            // Create response
-            var response = new CreateOrderResponse(
-                    savedOrder.getId(),
-                    savedOrder.getOrderNumber(),
-                    savedOrder.getCustomerId(),
-                    savedOrder.getTotalAmount().amount(),
-                    savedOrder.getTotalAmount().getCurrencyCode(),
-                    savedOrder.getStatus().name(),
-                    savedOrder.getOrderDate()
-            );
-
-            return Result.success(response);
+            return Result.success(toResponse(savedOrder));
 
         } catch (BusinessException ex) {
             logger.error("Business error creating order: {}", ex.getMessage());
@@ -103,8 +85,34 @@ public class CreateOrderService implements CreateOrderUseCase {
         }
     }
 
-    private String generateOrderNumber() {
-        // Simple implementation - in production, use a more sophisticated approach
-        return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    static Order buildOrder(String orderNumber, CreateOrderCommand command) {
+        // Create order with initial amount (will be recalculated)
+        var order = new Order(orderNumber, command.customerId(), Money.zero("USD"));
+
+        // Add items to order
+        for (var itemCommand : command.items()) {
+            var unitPrice = Money.of(itemCommand.unitPrice(), itemCommand.currency());
+            var orderItem = new OrderItem(
+                    itemCommand.productId(),
+                    itemCommand.productName(),
+                    itemCommand.quantity(),
+                    unitPrice
+            );
+            order.addItem(orderItem);
+        }
+        return order;
+    }
+
+    static CreateOrderResponse toResponse(Order order) {
+        return new CreateOrderResponse(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomerId(),
+                order.getTotalAmount().amount(),
+                order.getTotalAmount().getCurrencyCode(),
+                order.getStatus().name(),
+                order.getOrderDate()
+        );
     }
+
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.CreateOrderCommand;
+import com.ecommerce.order.application.port.in.CreateOrderResponse;
+import com.ecommerce.order.application.port.in.CreateOrdersBatchUseCase;
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
+import com.ecommerce.order.application.port.out.OrderNumberAllocatorPort;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.event.OrderCreatedEvent;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderSummary;
+import com.ecommerce.shared.domain.common.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CreateOrdersBatchService implements CreateOrdersBatchUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreateOrdersBatchService.class);
+
+    private final OrderRepositoryPort orderRepository;
+    private final OrderEventPublisherPort eventPublisher;
+    private final OrderNumberAllocatorPort orderNumberAllocator;
+    private final OrderSummaryRepositoryPort orderSummaryRepository;
+    private final OrderCachePort orderCache;
+
+    public CreateOrdersBatchService(OrderRepositoryPort orderRepository,
+                                    OrderEventPublisherPort eventPublisher,
+                                    OrderNumberAllocatorPort orderNumberAllocator,
+                                    OrderSummaryRepositoryPort orderSummaryRepository,
+                                    OrderCachePort orderCache) {
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderCache = orderCache;
+    }
+
+    @Override
+    @Transactional
+    public List<Result<CreateOrderResponse>> execute(List<CreateOrderCommand> commands) {
+        logger.info("Creating order batch of {} commands", commands.size());
+
+        var results = new ArrayList<Result<CreateOrderResponse>>(commands.size());
+        var newOrders = new ArrayList<Order>();
+        var positions = new ArrayList<Integer>();
+        // Números do lote saem do bloco já reservado (um nextval a cada 50), sem existsByOrderNumber
+        var orderNumbers = orderNumberAllocator.next(commands.size()).iterator();
+
+        // Validação/montagem em memória; um pedido inválido não derruba o lote
+        for (var command : commands) {
+            var orderNumber = orderNumbers.next();
+            try {
+                var order = CreateOrderService.buildOrder(orderNumber, command);
+                positions.add(results.size());
+                newOrders.add(order);
+                results.add(null); // preenchido depois do saveAll
+            } catch (RuntimeException ex) {
+                logger.warn("Invalid order in batch for customer: {} - {}", command.customerId(), ex.getMessage());
+                results.add(Result.failure("INVALID_ORDER", ex.getMessage()));
+            }
+        }
+
+        // Orders, items and outbox rows go out as JDBC batches (hibernate.jdbc.batch_size + order_inserts)
+        var savedOrders = orderRepository.saveAll(newOrders);
+        orderSummaryRepository.saveAll(savedOrders.stream().map(OrderSummary::of).toList());
+
+        var events = new ArrayList<OrderCreatedEvent>(savedOrders.size());
+        for (int i = 0; i < savedOrders.size(); i++) {
+            var savedOrder = savedOrders.get(i);
+            events.add(OrderCreatedEvent.create(
+                    savedOrder.getId(),
+                    savedOrder.getOrderNumber(),
+                    savedOrder.getCustomerId(),
+                    savedOrder.getTotalAmount().amount(),
+                    savedOrder.getTotalAmount().getCurrencyCode()
+            ));
+            results.set(positions.get(i), Result.success(CreateOrderService.toResponse(savedOrder)));
+        }
+        eventPublisher.publishOrdersCreated(events);
+        evictCustomerOrders(savedOrders);
+
+        logger.info("Order batch created. Commands: {}, New orders: {}", commands.size(), savedOrders.size());
+        return results;
+    }
+
+    // Só a primeira página de cada cliente do lote; "orders" não tem entrada para pedidos novos
+    private void evictCustomerOrders(List<Order> savedOrders) {
+        savedOrders.stream()
+                .map(Order::getCustomerId)
+                .distinct()
+                .forEach(customerId -> orderCache.evictCustomerOrders(customerId, "order-batch"));
+    }
+}
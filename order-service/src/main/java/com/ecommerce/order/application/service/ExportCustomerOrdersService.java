@@ -0,0 +1,41 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.ExportCustomerOrdersQuery;
+import com.ecommerce.order.application.port.in.ExportCustomerOrdersUseCase;
+import com.ecommerce.order.application.port.in.GetOrderResponse;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Service
+public class ExportCustomerOrdersService implements ExportCustomerOrdersUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportCustomerOrdersService.class);
+
+    private final OrderSummaryRepositoryPort orderSummaryRepository;
+
+    public ExportCustomerOrdersService(OrderSummaryRepositoryPort orderSummaryRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
+    }
+
+    @Override
+    // The transaction keeps the JDBC cursor open while rows are streamed (PostgreSQL needs autocommit off)
+    @Transactional(readOnly = true)
+    public long execute(ExportCustomerOrdersQuery query, Consumer<GetOrderResponse> sink) {
+        logger.info("Exporting orders for customer: {} (from: {}, to: {})", query.customerId(), query.from(), query.to());
+
+        var exported = new AtomicLong();
+        orderSummaryRepository.streamByCustomerId(query.customerId(), query.from(), query.to(), order -> {
+            sink.accept(GetOrdersByCustomerService.toResponse(order));
+            exported.incrementAndGet();
+        });
+
+        logger.info("Exported {} orders for customer: {}", exported.get(), query.customerId());
+        return exported.get();
+    }
+}
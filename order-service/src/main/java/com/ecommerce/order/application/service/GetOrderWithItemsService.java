@@ -0,0 +1,79 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.GetOrderByIdQuery;
+import com.ecommerce.order.application.port.in.GetOrderWithItemsUseCase;
+import com.ecommerce.order.application.port.in.GetOrdersWithItemsQuery;
+import com.ecommerce.order.application.port.in.OrderItemResponse;
+import com.ecommerce.order.application.port.in.OrderWithItemsResponse;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class GetOrderWithItemsService implements GetOrderWithItemsUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(GetOrderWithItemsService.class);
+
+    private final OrderRepositoryPort orderRepository;
+
+    public GetOrderWithItemsService(OrderRepositoryPort orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderWithItemsResponse> execute(GetOrderByIdQuery query) {
+        logger.info("Getting order with items from database: {}", query.orderId());
+
+        return orderRepository.findByIdWithItems(query.orderId())
+            .map(GetOrderWithItemsService::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderWithItemsResponse> execute(GetOrdersWithItemsQuery query) {
+        if (query.orderIds().isEmpty()) {
+            return List.of();
+        }
+        logger.info("Getting {} orders with items from database", query.orderIds().size());
+
+        var orders = orderRepository.findAllByIdWithItems(query.orderIds());
+
+        logger.info("Found {} of {} orders with items", orders.size(), query.orderIds().size());
+        return orders.stream()
+            .map(GetOrderWithItemsService::toResponse)
+            .toList();
+    }
+
+    private static OrderWithItemsResponse toResponse(Order order) {
+        // Items já vieram no mesmo SELECT (join fetch) - getItems() não dispara query
+        var items = order.getItems().stream()
+            .map(item -> new OrderItemResponse(
+                item.getId(),
+                item.getProductId(),
+                item.getProductName(),
+                item.getQuantity(),
+                item.getUnitPrice().amount(),
+                item.getUnitPrice().getCurrencyCode(),
+                item.getSubtotal().amount()
+            ))
+            .toList();
+
+        return new OrderWithItemsResponse(
+            order.getId(),
+            order.getOrderNumber(),
+            order.getCustomerId(),
+            order.getTotalAmount().amount(),
+            order.getTotalAmount().getCurrencyCode(),
+            order.getStatus().name(),
+            order.getOrderDate(),
+            items
+        );
+    }
+}
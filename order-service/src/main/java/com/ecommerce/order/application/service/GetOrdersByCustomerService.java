@@ -1,47 +1,69 @@
 package com.ecommerce.order.application.service;
 
+import com.ecommerce.order.application.port.in.CustomerOrdersPage;
 import com.ecommerce.order.application.port.in.GetOrderResponse;
 import com.ecommerce.order.application.port.in.GetOrdersByCustomerQuery;
 import com.ecommerce.order.application.port.in.GetOrdersByCustomerUseCase;
-import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.in.OrderCursor;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class GetOrdersByCustomerService implements GetOrdersByCustomerUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(GetOrdersByCustomerService.class);
 
-    private final OrderRepositoryPort orderRepository;
+    private final OrderSummaryRepositoryPort orderSummaryRepository;
 
-    public GetOrdersByCustomerService(OrderRepositoryPort orderRepository) {
-        this.orderRepository = orderRepository;
+    public GetOrdersByCustomerService(OrderSummaryRepositoryPort orderSummaryRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
     }
 
     @Override
-    @Cacheable(value = "customer-orders", key = "#query.customerId()")
-    public List<GetOrderResponse> execute(GetOrdersByCustomerQuery query) {
-        logger.info("Getting orders for customer from database: {}", query.customerId());
-        
-        var orders = orderRepository.findByCustomerId(query.customerId());
-        
-        var response = orders.stream()
-            .map(order -> new GetOrderResponse(
-                order.getId(),
-                order.getOrderNumber(),
-                order.getCustomerId(),
-                order.getTotalAmount().amount(),
-                order.getTotalAmount().getCurrencyCode(),
-                order.getStatus().name(),
-                order.getOrderDate()
-            ))
+    @Cacheable(value = "customer-orders", key = "#query.customerId()", condition = "#query.isDefaultFirstPage()")
+    public CustomerOrdersPage execute(GetOrdersByCustomerQuery query) {
+        logger.info("Getting orders page for customer from database: {}", query.customerId());
+
+        var after = query.after();
+        // Pede um a mais só para saber se existe próxima página
+        var rows = orderSummaryRepository.findPageByCustomerId(
+            query.customerId(),
+            after != null ? after.orderDate() : null,
+            after != null ? after.orderId() : null,
+            query.limit() + 1
+        );
+
+        var hasNext = rows.size() > query.limit();
+        var page = hasNext ? rows.subList(0, query.limit()) : rows;
+
+        var orders = page.stream()
+            .map(GetOrdersByCustomerService::toResponse)
             .toList();
-        
-        logger.info("Found {} orders for customer: {}", response.size(), query.customerId());
-        return response;
+
+        var last = page.isEmpty() ? null : page.get(page.size() - 1);
+        var nextCursor = hasNext ? new OrderCursor(last.orderDate(), last.id()) : null;
+
+        logger.info("Found {} orders for customer: {} (hasNext: {})", orders.size(), query.customerId(), hasNext);
+        return new CustomerOrdersPage(orders, nextCursor);
+    }
+
+    static GetOrderResponse toResponse(OrderSummaryView order) {
+        return new GetOrderResponse(
+            order.id(),
+            order.orderNumber(),
+            order.customerId(),
+            order.totalAmount(),
+            order.currency(),
+            order.status().name(),
+            order.orderDate(),
+            order.paymentStatus().name(),
+            order.reservationStatus().name(),
+            // Not in the covering index; only the single-order read carries it
+            null
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeCommand;
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeUseCase;
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSagaMetricsPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.event.OrderStatusChangedEvent;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.model.OrderSummary;
+import com.ecommerce.order.domain.model.OrderSummary.PaymentStatus;
+import com.ecommerce.order.domain.model.OrderSummary.ReservationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Orchestrates the order saga: billing and inventory outcomes are recorded on the summary,
+// and the order is moved to the status those outcomes imply (see OrderSummary.targetOrderStatus)
+@Service
+public class OrderSagaService implements RecordOrderOutcomeUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSagaService.class);
+
+    private final OrderSummaryRepositoryPort orderSummaryRepository;
+    private final OrderRepositoryPort orderRepository;
+    private final OrderEventPublisherPort eventPublisher;
+    private final OrderSagaMetricsPort sagaMetrics;
+    private final OrderCachePort orderCache;
+
+    public OrderSagaService(OrderSummaryRepositoryPort orderSummaryRepository,
+                            OrderRepositoryPort orderRepository,
+                            OrderEventPublisherPort eventPublisher,
+                            OrderSagaMetricsPort sagaMetrics,
+                            OrderCachePort orderCache) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.sagaMetrics = sagaMetrics;
+        this.orderCache = orderCache;
+    }
+
+    // Um lote = uma transação: conflito de @Version derruba o lote inteiro e ele é reentregue
+    // (reaplicar é no-op, eventos antigos são ignorados pelo occurredOn)
+    @Override
+    @Transactional
+    public int execute(List<RecordOrderOutcomeCommand> commands) {
+        var orderIds = commands.stream().map(RecordOrderOutcomeCommand::orderId).collect(Collectors.toSet());
+        var summaries = orderSummaryRepository.findAllById(orderIds)
+            .stream()
+            .collect(Collectors.toMap(OrderSummary::getOrderId, Function.identity()));
+        rebuildMissingSummaries(orderIds, summaries);
+
+        var touched = new LinkedHashMap<UUID, OrderSummary>();
+        int applied = 0;
+
+        for (var command : commands) {
+            var summary = summaries.get(command.orderId());
+            if (summary == null) {
+                logger.warn("No order summary for order: {}, ignoring {}", command.orderId(), command.outcome());
+                continue;
+            }
+
+            var stepStartedAt = stepStart(summary, command);
+            if (!apply(summary, command)) {
+                logger.debug("Stale {} event ignored for order: {}", command.outcome(), command.orderId());
+                continue;
+            }
+
+            recordStep(command, Duration.between(stepStartedAt, command.occurredOn()));
+            touched.put(summary.getOrderId(), summary);
+            applied++;
+        }
+
+        if (touched.isEmpty()) {
+            return 0;
+        }
+
+        advanceOrders(touched.values());
+        orderSummaryRepository.saveAll(new ArrayList<>(touched.values()));
+        // Run after the commit (OrderCachePort)
+        touched.values().forEach(summary -> {
+            orderCache.evictOrder(summary.getOrderId(), "order-saga");
+            orderCache.evictCustomerOrders(summary.getCustomerId(), "order-saga");
+        });
+
+        logger.info("Order outcomes applied. Commands: {}, Applied: {}, Orders: {}",
+            commands.size(), applied, touched.size());
+        return applied;
+    }
+
+    // Pedidos anteriores ao read model ainda não alcançados pelo backfill; um conflito com o backfill
+    // derruba o lote, que é reentregue e encontra o resumo
+    private void rebuildMissingSummaries(Set<UUID> orderIds, Map<UUID, OrderSummary> summaries) {
+        var missing = orderIds.stream().filter(id -> !summaries.containsKey(id)).collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        orderRepository.findAllById(missing)
+            .forEach(order -> summaries.put(order.getId(), OrderSummary.rebuiltFrom(order)));
+    }
+
+    private void advanceOrders(Collection<OrderSummary> summaries) {
+        var needTransition = summaries.stream()
+            .filter(summary -> summary.targetOrderStatus() != summary.getOrderStatus())
+            .collect(Collectors.toMap(OrderSummary::getOrderId, Function.identity()));
+        if (needTransition.isEmpty()) {
+            return;
+        }
+
+        // Todas as transições do lote: um SELECT ... IN, um saveAll, um append no outbox por pedido
+        var now = LocalDateTime.now();
+        var changed = new ArrayList<Order>();
+        var events = new ArrayList<OrderStatusChangedEvent>();
+
+        for (var order : orderRepository.findAllById(needTransition.keySet())) {
+            var summary = needTransition.get(order.getId());
+            var target = summary.targetOrderStatus();
+            var previous = order.getStatus();
+
+            if (!order.advanceTo(target)) {
+                logger.warn("Saga cannot move order: {} from {} to {}", order.getId(), previous, target);
+                summary.applyOrderStatus(previous);
+                continue;
+            }
+
+            summary.applyOrderStatus(order.getStatus());
+            changed.add(order);
+            events.add(OrderStatusChangedEvent.create(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomerId(),
+                previous.name(),
+                order.getStatus().name()
+            ));
+
+            sagaMetrics.recordTransition(previous, order.getStatus());
+            if (order.getStatus() == OrderStatus.PROCESSING || order.getStatus() == OrderStatus.CANCELLED) {
+                sagaMetrics.recordCompletion(order.getStatus(), Duration.between(order.getOrderDate(), now));
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            orderRepository.saveAll(changed);
+            eventPublisher.publishOrderStatusChanged(events);
+            logger.info("Saga advanced {} orders", changed.size());
+        }
+    }
+
+    private boolean apply(OrderSummary summary, RecordOrderOutcomeCommand command) {
+        return switch (command.outcome()) {
+            case PAYMENT_COMPLETED ->
+                summary.applyPayment(PaymentStatus.COMPLETED, command.reference(), command.occurredOn());
+            case PAYMENT_FAILED ->
+                summary.applyPayment(PaymentStatus.FAILED, command.reference(), command.occurredOn());
+            case INVENTORY_RESERVED ->
+                summary.applyReservation(ReservationStatus.RESERVED, command.reference(), command.occurredOn());
+            case INVENTORY_RELEASED ->
+                summary.applyReservation(ReservationStatus.RELEASED, command.reference(), command.occurredOn());
+        };
+    }
+
+    // Payment is measured from order creation, inventory from the payment that triggered it
+    private static LocalDateTime stepStart(OrderSummary summary, RecordOrderOutcomeCommand command) {
+        return switch (command.outcome()) {
+            case PAYMENT_COMPLETED, PAYMENT_FAILED -> summary.getOrderDate();
+            case INVENTORY_RESERVED, INVENTORY_RELEASED -> summary.getPaymentUpdatedAt() != null
+                ? summary.getPaymentUpdatedAt()
+                : summary.getOrderDate();
+        };
+    }
+
+    private void recordStep(RecordOrderOutcomeCommand command, Duration duration) {
+        switch (command.outcome()) {
+            case PAYMENT_COMPLETED -> sagaMetrics.recordStep("payment", "completed", duration);
+            case PAYMENT_FAILED -> sagaMetrics.recordStep("payment", "failed", duration);
+            case INVENTORY_RESERVED -> sagaMetrics.recordStep("inventory", "reserved", duration);
+            case INVENTORY_RELEASED -> sagaMetrics.recordStep("inventory", "released", duration);
+        }
+    }
+}
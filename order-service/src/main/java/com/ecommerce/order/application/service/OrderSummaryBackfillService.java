@@ -0,0 +1,94 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+// Orders created before order_summary existed have no row there; reads go only to the read model,
+// so they are rebuilt from orders once at startup. Idempotent: only orders without a summary are read.
+@Service
+public class OrderSummaryBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryBackfillService.class);
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    private final OrderRepositoryPort orderRepository;
+    private final OrderSummaryRepositoryPort orderSummaryRepository;
+    private final OrderCachePort orderCache;
+    private final int batchSize;
+
+    public OrderSummaryBackfillService(OrderRepositoryPort orderRepository,
+                                       OrderSummaryRepositoryPort orderSummaryRepository,
+                                       OrderCachePort orderCache,
+                                       @Value("${order.summary.backfill-batch-size:1000}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderCache = orderCache;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            var rebuilt = backfill();
+            if (rebuilt > 0) {
+                logger.info("Order summaries rebuilt from orders: {}", rebuilt);
+            }
+        } catch (Exception ex) {
+            // Pedidos sem resumo continuam visíveis pelo fallback de GetOrderByIdService
+            logger.error("Order summary backfill failed, will be retried on next startup", ex);
+        }
+    }
+
+    public long backfill() {
+        long rebuilt = 0;
+        var afterId = MIN_UUID;
+        int conflicts = 0;
+        while (true) {
+            var page = orderRepository.findWithoutSummary(afterId, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            try {
+                // saveAll is its own transaction per page
+                orderSummaryRepository.saveAll(page.stream().map(OrderSummary::rebuiltFrom).toList());
+            } catch (DataIntegrityViolationException ex) {
+                // Another replica (or a read-through) wrote some of these; the re-query skips them.
+                // Retried whatever the page size - the last page is usually a short one
+                if (++conflicts > MAX_CONFLICT_RETRIES) {
+                    throw ex;
+                }
+                continue;
+            }
+            conflicts = 0;
+            rebuilt += page.size();
+            evictCustomerOrders(page);
+            if (page.size() < batchSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return rebuilt;
+    }
+
+    private void evictCustomerOrders(List<Order> orders) {
+        orders.stream()
+                .map(Order::getCustomerId)
+                .distinct()
+                .forEach(customerId -> orderCache.evictCustomerOrders(customerId, "summary-backfill"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.order.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderStatusChangedEvent(
+        @JsonProperty("eventId") UUID eventId,
+        @JsonProperty("eventType") String eventType,
+        @JsonProperty("aggregateId") UUID aggregateId,
+        @JsonProperty("occurredOn") LocalDateTime occurredOn,
+        @JsonProperty("version") Integer version,
+        @JsonProperty("orderNumber") String orderNumber,
+        @JsonProperty("customerId") UUID customerId,
+        @JsonProperty("previousStatus") String previousStatus,
+        @JsonProperty("status") String status
+) {
+
+    @JsonCreator
+    public OrderStatusChangedEvent {
+        // Compact constructor
+    }
+
+    public static OrderStatusChangedEvent create(UUID orderId, String orderNumber, UUID customerId,
+                                                 String previousStatus, String status) {
+        return new OrderStatusChangedEvent(
+                UUID.randomUUID(),
+                "OrderStatusChanged",
+                orderId,
+                LocalDateTime.now(),
+                1,
+                orderNumber,
+                customerId,
+                previousStatus,
+                status
+        );
+    }
+}
@@ -12,7 +12,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_customer_id_order_date", columnList = "customer_id, order_date DESC, id DESC")
+})
 public class Order extends BaseEntity {
 
     @Column(name = "order_number", unique = true, nullable = false)
@@ -83,6 +85,40 @@ public class Order extends BaseEntity {
         this.status = OrderStatus.DELIVERED;
     }
 
+    // Saga: walks the allowed transitions up to the target; false when the target is not reachable
+    public boolean advanceTo(OrderStatus target) {
+        if (status == target) {
+            return false;
+        }
+        switch (target) {
+            case CONFIRMED -> {
+                if (status != OrderStatus.PENDING) {
+                    return false;
+                }
+                confirm();
+            }
+            case PROCESSING -> {
+                if (status == OrderStatus.PENDING) {
+                    confirm();
+                }
+                if (status != OrderStatus.CONFIRMED) {
+                    return false;
+                }
+                markAsProcessing();
+            }
+            case CANCELLED -> {
+                if (status == OrderStatus.DELIVERED) {
+                    return false;
+                }
+                cancel();
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void recalculateTotal() {
         var total = items.stream()
                 .map(OrderItem::getSubtotal)
@@ -0,0 +1,219 @@
+package com.ecommerce.order.domain.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Read model (CQRS): one row per order with the outcomes reported by billing and inventory.
+// Written with the order and then only by event projection - never by the order write path.
+@Entity
+@Table(name = "order_summary", indexes = {
+    // Covering index: the customer listing is answered from the index alone
+    @Index(name = "idx_order_summary_customer_covering",
+           columnList = "customer_id, order_date DESC, order_id DESC, order_number, total_amount, currency, " +
+                        "order_status, payment_status, reservation_status")
+})
+public class OrderSummary {
+
+    public enum PaymentStatus { PENDING, COMPLETED, FAILED }
+
+    public enum ReservationStatus { PENDING, RESERVED, RELEASED }
+
+    @Id
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private UUID orderId;
+
+    @Column(name = "order_number", nullable = false, updatable = false)
+    private String orderNumber;
+
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private UUID customerId;
+
+    @Column(name = "total_amount", precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "order_date", nullable = false, updatable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "payment_reference")
+    private String paymentReference;
+
+    @Column(name = "payment_updated_at")
+    private LocalDateTime paymentUpdatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reservation_status", nullable = false)
+    private ReservationStatus reservationStatus;
+
+    @Column(name = "reservation_reference")
+    private String reservationReference;
+
+    @Column(name = "reservation_updated_at")
+    private LocalDateTime reservationUpdatedAt;
+
+    // Newest change reflected in the row (event time for billing/inventory outcomes)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Billing and inventory events of the same order arrive on different topics/threads
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    protected OrderSummary() {
+        // JPA Constructor
+    }
+
+    public static OrderSummary of(Order order) {
+        var summary = new OrderSummary();
+        summary.orderId = order.getId();
+        summary.orderNumber = order.getOrderNumber();
+        summary.customerId = order.getCustomerId();
+        summary.totalAmount = order.getTotalAmount().amount();
+        summary.currency = order.getTotalAmount().getCurrencyCode();
+        summary.orderDate = order.getOrderDate();
+        summary.orderStatus = order.getStatus();
+        summary.paymentStatus = PaymentStatus.PENDING;
+        summary.reservationStatus = ReservationStatus.PENDING;
+        summary.updatedAt = order.getOrderDate();
+        return summary;
+    }
+
+    // Orders created before the read model existed. Billing/inventory outcomes are inferred from where
+    // the order already is; the timestamps stay null so the next real event still applies
+    public static OrderSummary rebuiltFrom(Order order) {
+        var summary = of(order);
+        switch (order.getStatus()) {
+            case CONFIRMED -> summary.paymentStatus = PaymentStatus.COMPLETED;
+            case PROCESSING, DELIVERED -> {
+                summary.paymentStatus = PaymentStatus.COMPLETED;
+                summary.reservationStatus = ReservationStatus.RESERVED;
+            }
+            default -> {
+                // PENDING ainda espera os eventos; CANCELLED não diz qual lado falhou
+            }
+        }
+        return summary;
+    }
+
+    // Events older than the last one applied are ignored: redeliveries and out-of-order delivery are no-ops
+    public boolean applyPayment(PaymentStatus status, String reference, LocalDateTime occurredOn) {
+        if (paymentUpdatedAt != null && !occurredOn.isAfter(paymentUpdatedAt)) {
+            return false;
+        }
+        this.paymentStatus = status;
+        this.paymentReference = reference;
+        this.paymentUpdatedAt = occurredOn;
+        touch(occurredOn);
+        return true;
+    }
+
+    public boolean applyReservation(ReservationStatus status, String reference, LocalDateTime occurredOn) {
+        if (reservationUpdatedAt != null && !occurredOn.isAfter(reservationUpdatedAt)) {
+            return false;
+        }
+        this.reservationStatus = status;
+        this.reservationReference = reference;
+        this.reservationUpdatedAt = occurredOn;
+        touch(occurredOn);
+        return true;
+    }
+
+    // Where the saga should take the order given what billing and inventory reported so far
+    public OrderStatus targetOrderStatus() {
+        // Inventory only releases a reservation it had already acknowledged (the write-behind rejected it),
+        // so the order can't be fulfilled any more whatever billing reported: compensate by cancelling.
+        // A captured payment is refunded by billing when it sees the OrderStatusChanged to CANCELLED
+        if (reservationStatus == ReservationStatus.RELEASED) {
+            return OrderStatus.CANCELLED;
+        }
+        return switch (paymentStatus) {
+            case PENDING -> OrderStatus.PENDING;
+            case FAILED -> OrderStatus.CANCELLED;
+            case COMPLETED -> reservationStatus == ReservationStatus.RESERVED
+                ? OrderStatus.PROCESSING
+                : OrderStatus.CONFIRMED;
+        };
+    }
+
+    public void applyOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+        touch(LocalDateTime.now());
+    }
+
+    private void touch(LocalDateTime changedAt) {
+        if (updatedAt == null || changedAt.isAfter(updatedAt)) {
+            this.updatedAt = changedAt;
+        }
+    }
+
+    // Getters
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+
+    public LocalDateTime getPaymentUpdatedAt() {
+        return paymentUpdatedAt;
+    }
+
+    public ReservationStatus getReservationStatus() {
+        return reservationStatus;
+    }
+
+    public String getReservationReference() {
+        return reservationReference;
+    }
+
+    public LocalDateTime getReservationUpdatedAt() {
+        return reservationUpdatedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.order.infrastructure.cache;
+
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+// Key-targeted eviction for the order caches. Hits, misses, puts and size/TTL evictions come from
+// Caffeine stats (cache.gets / cache.puts / cache.evictions per cache); explicit evictions are counted here.
+@Component
+public class OrderCacheInvalidator implements OrderCachePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCacheInvalidator.class);
+
+    public static final String ORDERS_CACHE = "orders";
+    public static final String CUSTOMER_ORDERS_CACHE = "customer-orders";
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public OrderCacheInvalidator(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void evictOrder(UUID orderId, String source) {
+        afterCommit(() -> evict(ORDERS_CACHE, orderId, source));
+    }
+
+    @Override
+    public void evictCustomerOrders(UUID customerId, String source) {
+        afterCommit(() -> evict(CUSTOMER_ORDERS_CACHE, customerId, source));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evict(String cacheName, UUID key, String source) {
+        if (key == null) {
+            return;
+        }
+        try {
+            var cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.evictIfPresent(key)) {
+                Counter.builder("order.cache.invalidations")
+                        .description("Cache entries removed by key-targeted invalidation")
+                        .tag("cache", cacheName)
+                        .tag("source", source)
+                        .register(meterRegistry)
+                        .increment();
+                logger.debug("Evicted {} entry for key: {} ({})", cacheName, key, source);
+            }
+        } catch (Exception e) {
+            logger.error("Error evicting {} entry for key: {}", cacheName, key, e);
+        }
+    }
+}
@@ -20,6 +20,8 @@ public class CacheConfig {
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeineCacheBuilder());
+        // Caches declarados aqui são ligados ao Micrometer no startup pelo Actuator:
+        // cache.gets{result=hit|miss}, cache.puts, cache.evictions e cache.size por cache
         cacheManager.setCacheNames(Arrays.asList("orders", "customer-orders"));
         return cacheManager;
     }
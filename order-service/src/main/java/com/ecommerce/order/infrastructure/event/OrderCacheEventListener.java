@@ -1,94 +1,54 @@
 package com.ecommerce.order.infrastructure.event;
 
+import com.ecommerce.order.infrastructure.cache.OrderCacheInvalidator;
+import com.ecommerce.shared.infrastructure.messaging.EventEnvelopeDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.CacheManager;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.util.Set;
 
 @Component
 public class OrderCacheEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderCacheEventListener.class);
-    
-    private final CacheManager cacheManager;
 
-    public OrderCacheEventListener(CacheManager cacheManager) {
-        this.cacheManager = cacheManager;
+    private static final Set<String> INVALIDATING_EVENT_TYPES = Set.of("OrderCreated", "OrderStatusChanged");
+
+    private final OrderCacheInvalidator cacheInvalidator;
+
+    public OrderCacheEventListener(OrderCacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
     }
 
-    @KafkaListener(topics = "order-events", groupId = "order-cache-invalidation")
+    // Caffeine is local to each replica, so every instance needs every event: one consumer group per instance,
+    // starting at the end of the topic (older events refer to entries this instance never cached).
+    // The group id is stable per instance (order.cache.instance-id) so restarts reuse it instead of
+    // leaving a new group behind on the broker each time
+    @KafkaListener(
+        topics = "order.events",
+        groupId = "order-cache-invalidation-${order.cache.instance-id}",
+        properties = "auto.offset.reset=latest"
+    )
     public void handleOrderEvent(String orderEventJson) {
         try {
-            logger.info("Received order event for cache invalidation: {}", orderEventJson);
-            
-            // Parse do evento (simplificado - em produção usar ObjectMapper)
-            if (orderEventJson.contains("\"eventType\":\"ORDER_CREATED\"") || 
-                orderEventJson.contains("\"eventType\":\"ORDER_UPDATED\"") ||
-                orderEventJson.contains("\"eventType\":\"ORDER_CANCELLED\"")) {
-                
-                // Invalida todos os caches relacionados a pedidos
-                invalidateOrderCaches();
-                
-                // Se conseguir extrair o customerId, invalida cache específico
-                String customerId = extractCustomerId(orderEventJson);
-                if (customerId != null) {
-                    invalidateCustomerOrdersCache(customerId);
-                }
+            // Lê só eventType/aggregateId/customerId do JSON, sem desserializar o evento inteiro
+            var event = EventEnvelopeDecoder.decode(orderEventJson);
+            if (!INVALIDATING_EVENT_TYPES.contains(event.eventType())) {
+                return;
             }
-            
-        } catch (Exception e) {
-            logger.error("Error processing order event for cache invalidation", e);
-        }
-    }
 
-    private void invalidateOrderCaches() {
-        try {
-            var ordersCache = cacheManager.getCache("orders");
-            if (ordersCache != null) {
-                ordersCache.clear();
-                logger.info("Invalidated 'orders' cache");
-            }
-            
-            var customerOrdersCache = cacheManager.getCache("customer-orders");
-            if (customerOrdersCache != null) {
-                customerOrdersCache.clear();
-                logger.info("Invalidated 'customer-orders' cache");
-            }
-        } catch (Exception e) {
-            logger.error("Error invalidating order caches", e);
-        }
-    }
+            logger.debug("Received {} event for cache invalidation - order: {}", event.eventType(), event.aggregateId());
 
-    private void invalidateCustomerOrdersCache(String customerId) {
-        try {
-            var customerOrdersCache = cacheManager.getCache("customer-orders");
-            if (customerOrdersCache != null) {
-                customerOrdersCache.evict(UUID.fromString(customerId));
-                logger.info("Invalidated customer-orders cache for customer: {}", customerId);
-            }
-        } catch (Exception e) {
-            logger.error("Error invalidating customer orders cache for customer: {}", customerId, e);
-        }
-    }
+            // Só as chaves afetadas: o pedido e a primeira página do cliente
+            cacheInvalidator.evictOrder(event.aggregateId(), "event");
+            cacheInvalidator.evictCustomerOrders(event.customerId(), "event");
 
-    private String extractCustomerId(String orderEventJson) {
-        try {
-            // Extração simples do customerId do JSON
-            // Em produção, usar ObjectMapper para parsing adequado
-            int customerIdIndex = orderEventJson.indexOf("\"customerId\":\"");
-            if (customerIdIndex != -1) {
-                int start = customerIdIndex + 14; // tamanho de "customerId":"
-                int end = orderEventJson.indexOf("\"", start);
-                if (end != -1) {
-                    return orderEventJson.substring(start, end);
-                }
-            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed order event: {}", e.getMessage());
         } catch (Exception e) {
-            logger.warn("Could not extract customerId from event: {}", orderEventJson);
+            logger.error("Error processing order event for cache invalidation", e);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
@@ -3,9 +3,12 @@ package com.ecommerce.order.application.service;
 import com.ecommerce.order.application.port.in.CreateOrderCommand;
 import com.ecommerce.order.application.port.in.CreateOrderItemCommand;
 import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
+import com.ecommerce.order.application.port.out.OrderNumberAllocatorPort;
 import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
 import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.model.OrderSummary;
 import com.ecommerce.shared.domain.valueobject.Money;
 import com.ecommerce.shared.infrastructure.exception.BusinessException;
 import org.junit.jupiter.api.Test;
@@ -21,7 +24,6 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +35,12 @@ class CreateOrderServiceTest {
     @Mock
     private OrderEventPublisherPort eventPublisher;
 
+    @Mock
+    private OrderNumberAllocatorPort orderNumberAllocator;
+
+    @Mock
+    private OrderSummaryRepositoryPort orderSummaryRepository;
+
     @InjectMocks
     private CreateOrderService createOrderService;
 
@@ -67,7 +75,7 @@ class CreateOrderServiceTest {
         when(savedOrder.getStatus()).thenReturn(OrderStatus.PENDING);
         when(savedOrder.getOrderDate()).thenReturn(LocalDateTime.now());
 
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+        when(orderNumberAllocator.next()).thenReturn("ORD-0000000001");
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // When
@@ -79,11 +87,12 @@ class CreateOrderServiceTest {
         assertEquals(customerId, result.getValue().customerId());
 
         verify(orderRepository).save(any(Order.class));
+        verify(orderSummaryRepository).save(any(OrderSummary.class));
         verify(eventPublisher).publishOrderCreated(any());
     }
 
     @Test
-    void shouldFailWhenOrderNumberExists() {
+    void shouldUseAllocatedOrderNumberWithoutExistenceCheck() {
         // Given
         UUID customerId = UUID.randomUUID();
         var itemCommand = new CreateOrderItemCommand(
@@ -96,17 +105,18 @@ class CreateOrderServiceTest {
 
         var command = new CreateOrderCommand(customerId, List.of(itemCommand));
 
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(true);
+        when(orderNumberAllocator.next()).thenReturn("ORD-0000000051");
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         var result = createOrderService.execute(command);
 
         // Then
-        assertTrue(result.isFailure());
-        assertEquals("ORDER_NUMBER_EXISTS", result.getErrorCode());
+        assertTrue(result.isSuccess());
+        assertEquals("ORD-0000000051", result.getValue().orderNumber());
 
-        verify(orderRepository, never()).save(any(Order.class));
-        verify(eventPublisher, never()).publishOrderCreated(any());
+        verify(orderNumberAllocator, times(1)).next();
+        verify(eventPublisher).publishOrderCreated(any());
     }
 
     @Test
@@ -123,7 +133,7 @@ class CreateOrderServiceTest {
 
         var command = new CreateOrderCommand(customerId, List.of(itemCommand));
 
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+        when(orderNumberAllocator.next()).thenReturn("ORD-0000000001");
         when(orderRepository.save(any(Order.class)))
                 .thenThrow(new BusinessException("INVALID_ORDER", "Invalid order data"));
 
@@ -153,7 +163,7 @@ class CreateOrderServiceTest {
 
         var command = new CreateOrderCommand(customerId, List.of(itemCommand));
 
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+        when(orderNumberAllocator.next()).thenReturn("ORD-0000000001");
         when(orderRepository.save(any(Order.class)))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
@@ -195,7 +205,7 @@ class CreateOrderServiceTest {
         when(savedOrder.getCustomerId()).thenReturn(customerId);
         when(savedOrder.getTotalAmount()).thenReturn(totalAmount);
 
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
+        when(orderNumberAllocator.next()).thenReturn("ORD-0000000001");
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Event publisher throws exception
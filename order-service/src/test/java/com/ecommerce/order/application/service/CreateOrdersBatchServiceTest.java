@@ -0,0 +1,106 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.CreateOrderCommand;
+import com.ecommerce.order.application.port.in.CreateOrderItemCommand;
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
+import com.ecommerce.order.application.port.out.OrderNumberAllocatorPort;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreateOrdersBatchServiceTest {
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private OrderEventPublisherPort eventPublisher;
+
+    @Mock
+    private OrderNumberAllocatorPort orderNumberAllocator;
+
+    @Mock
+    private OrderSummaryRepositoryPort orderSummaryRepository;
+
+    @Mock
+    private OrderCachePort orderCache;
+
+    @InjectMocks
+    private CreateOrdersBatchService createOrdersBatchService;
+
+    @Test
+    void shouldCreateWholeBatchWithSingleSaveAndOneNumberAllocation() {
+        // Given
+        var first = command("USD");
+        var second = command("USD");
+        when(orderNumberAllocator.next(2)).thenReturn(List.of("ORD-0000000001", "ORD-0000000002"));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var results = createOrdersBatchService.execute(List.of(first, second));
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(first.customerId(), results.get(0).getValue().customerId());
+        assertEquals(second.customerId(), results.get(1).getValue().customerId());
+        assertEquals("ORD-0000000001", results.get(0).getValue().orderNumber());
+        assertEquals("ORD-0000000002", results.get(1).getValue().orderNumber());
+        assertEquals(new BigDecimal("100.00"), results.get(0).getValue().totalAmount());
+
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any());
+        verify(orderSummaryRepository, times(1)).saveAll(argThat(summaries -> summaries.size() == 2));
+        verify(eventPublisher, times(1)).publishOrdersCreated(argThat(events -> events.size() == 2));
+        verify(orderCache).evictCustomerOrders(first.customerId(), "order-batch");
+        verify(orderCache).evictCustomerOrders(second.customerId(), "order-batch");
+        verify(orderCache, never()).evictOrder(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportInvalidOrderWithoutFailingTheBatch() {
+        // Given
+        var valid = command("USD");
+        var invalid = command("EUR"); // pedido é totalizado em USD
+        when(orderNumberAllocator.next(2)).thenReturn(List.of("ORD-0000000001", "ORD-0000000002"));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var results = createOrdersBatchService.execute(List.of(invalid, valid));
+
+        // Then
+        assertTrue(results.get(0).isFailure());
+        assertEquals("INVALID_ORDER", results.get(0).getErrorCode());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(valid.customerId(), results.get(1).getValue().customerId());
+
+        ArgumentCaptor<List<Order>> saved = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+    }
+
+    private CreateOrderCommand command(String currency) {
+        return new CreateOrderCommand(UUID.randomUUID(), List.of(
+                new CreateOrderItemCommand(UUID.randomUUID(), "Test Product", 2, new BigDecimal("50.00"), currency)
+        ));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.GetOrderByIdQuery;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderSummary;
+import com.ecommerce.shared.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetOrderByIdServiceTest {
+
+    @Mock
+    private OrderSummaryRepositoryPort orderSummaryRepository;
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @InjectMocks
+    private GetOrderByIdService getOrderByIdService;
+
+    @Test
+    void shouldServeOrderFromSummary() {
+        // Given
+        var order = order();
+        when(orderSummaryRepository.findById(order.getId())).thenReturn(Optional.of(OrderSummary.of(order)));
+
+        // When
+        var response = getOrderByIdService.execute(new GetOrderByIdQuery(order.getId()));
+
+        // Then
+        assertTrue(response.isPresent());
+        assertEquals("PENDING", response.get().paymentStatus());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void shouldRebuildSummaryFromOrderOnMiss() {
+        // Given - order created before order_summary existed, already confirmed
+        var order = order();
+        order.confirm();
+        when(orderSummaryRepository.findById(order.getId())).thenReturn(Optional.empty());
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+        // When
+        var response = getOrderByIdService.execute(new GetOrderByIdQuery(order.getId()));
+
+        // Then
+        assertTrue(response.isPresent());
+        assertEquals("CONFIRMED", response.get().status());
+        assertEquals("COMPLETED", response.get().paymentStatus());
+        verify(orderSummaryRepository).save(argThat(summary -> summary.getOrderId().equals(order.getId())));
+    }
+
+    @Test
+    void shouldStillAnswerWhenBackfillWroteSummaryConcurrently() {
+        // Given
+        var order = order();
+        when(orderSummaryRepository.findById(order.getId())).thenReturn(Optional.empty());
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        when(orderSummaryRepository.save(any())).thenThrow(new DataIntegrityViolationException("order_summary_pkey"));
+
+        // When
+        var response = getOrderByIdService.execute(new GetOrderByIdQuery(order.getId()));
+
+        // Then
+        assertEquals(order.getOrderNumber(), response.orElseThrow().orderNumber());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenOrderDoesNotExist() {
+        // Given
+        var orderId = UUID.randomUUID();
+        when(orderSummaryRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertTrue(getOrderByIdService.execute(new GetOrderByIdQuery(orderId)).isEmpty());
+        verify(orderSummaryRepository, never()).save(any());
+    }
+
+    private Order order() {
+        var order = new Order("ORD-0000000001", UUID.randomUUID(), Money.zero("USD"));
+        ReflectionTestUtils.setField(order, "id", UUID.randomUUID());
+        return order;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.GetOrderByIdQuery;
+import com.ecommerce.order.application.port.in.GetOrdersWithItemsQuery;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.shared.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetOrderWithItemsServiceTest {
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @InjectMocks
+    private GetOrderWithItemsService getOrderWithItemsService;
+
+    @Test
+    void shouldReturnOrderWithItemsFromSingleLookup() {
+        // Given
+        var orderId = UUID.randomUUID();
+        when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(order(2)));
+
+        // When
+        var result = getOrderWithItemsService.execute(new GetOrderByIdQuery(orderId));
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().items().size());
+        assertEquals(new BigDecimal("30.00"), result.get().items().get(0).subtotal());
+        assertEquals(new BigDecimal("60.00"), result.get().totalAmount());
+
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldLoadManyOrdersWithOneRepositoryCall() {
+        // Given
+        var ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(orderRepository.findAllByIdWithItems(ids)).thenReturn(List.of(order(1), order(3)));
+
+        // When
+        var result = getOrderWithItemsService.execute(new GetOrdersWithItemsQuery(ids));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).items().size());
+        assertEquals(3, result.get(1).items().size());
+
+        verify(orderRepository, times(1)).findAllByIdWithItems(anyCollection());
+    }
+
+    @Test
+    void shouldSkipQueryForEmptyBatch() {
+        var result = getOrderWithItemsService.execute(new GetOrdersWithItemsQuery(List.of()));
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(orderRepository);
+    }
+
+    private Order order(int itemCount) {
+        var order = new Order("ORD-0000000001", UUID.randomUUID(), Money.zero("USD"));
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(new OrderItem(UUID.randomUUID(), "Product " + i, 3, Money.of(new BigDecimal("10.00"), "USD")));
+        }
+        return order;
+    }
+}
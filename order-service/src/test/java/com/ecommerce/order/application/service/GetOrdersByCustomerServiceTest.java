@@ -0,0 +1,106 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.GetOrdersByCustomerQuery;
+import com.ecommerce.order.application.port.in.OrderCursor;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryView;
+import com.ecommerce.order.domain.model.OrderSummary;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.shared.infrastructure.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetOrdersByCustomerServiceTest {
+
+    @Mock
+    private OrderSummaryRepositoryPort orderSummaryRepository;
+
+    @InjectMocks
+    private GetOrdersByCustomerService getOrdersByCustomerService;
+
+    @Test
+    void shouldReturnFirstPageWithNextCursor() {
+        // Given
+        var customerId = UUID.randomUUID();
+        var rows = rows(customerId, 3);
+        when(orderSummaryRepository.findPageByCustomerId(eq(customerId), isNull(), isNull(), eq(3)))
+            .thenReturn(rows);
+
+        // When
+        var page = getOrdersByCustomerService.execute(new GetOrdersByCustomerQuery(customerId, null, 2));
+
+        // Then
+        assertEquals(2, page.orders().size());
+        assertTrue(page.hasNext());
+        assertEquals(rows.get(1).id(), page.nextCursor().orderId());
+        assertEquals(rows.get(1).orderDate(), page.nextCursor().orderDate());
+    }
+
+    @Test
+    void shouldPassCursorAndStopOnLastPage() {
+        // Given
+        var customerId = UUID.randomUUID();
+        var cursor = new OrderCursor(LocalDateTime.now(), UUID.randomUUID());
+        when(orderSummaryRepository.findPageByCustomerId(customerId, cursor.orderDate(), cursor.orderId(), 3))
+            .thenReturn(rows(customerId, 1));
+
+        // When
+        var page = getOrdersByCustomerService.execute(new GetOrdersByCustomerQuery(customerId, cursor, 2));
+
+        // Then
+        assertEquals(1, page.orders().size());
+        assertFalse(page.hasNext());
+        assertEquals("CONFIRMED", page.orders().get(0).status());
+        assertEquals("COMPLETED", page.orders().get(0).paymentStatus());
+        assertEquals("RESERVED", page.orders().get(0).reservationStatus());
+    }
+
+    @Test
+    void shouldClampPageSize() {
+        var customerId = UUID.randomUUID();
+
+        assertEquals(GetOrdersByCustomerQuery.MAX_LIMIT, new GetOrdersByCustomerQuery(customerId, null, 10_000).limit());
+        assertEquals(GetOrdersByCustomerQuery.DEFAULT_LIMIT, new GetOrdersByCustomerQuery(customerId, null, 0).limit());
+    }
+
+    @Test
+    void shouldRoundTripCursorAndRejectGarbage() {
+        var cursor = new OrderCursor(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000), UUID.randomUUID());
+
+        assertEquals(cursor, OrderCursor.decode(cursor.encode()));
+
+        var ex = assertThrows(BusinessException.class, () -> OrderCursor.decode("not-a-cursor"));
+        assertEquals("INVALID_CURSOR", ex.getErrorCode());
+    }
+
+    private List<OrderSummaryView> rows(UUID customerId, int count) {
+        var now = LocalDateTime.now();
+        return IntStream.range(0, count)
+            .mapToObj(i -> new OrderSummaryView(
+                UUID.randomUUID(),
+                "ORD-" + i,
+                customerId,
+                new BigDecimal("10.00"),
+                "USD",
+                OrderStatus.CONFIRMED,
+                now.minusMinutes(i),
+                OrderSummary.PaymentStatus.COMPLETED,
+                OrderSummary.ReservationStatus.RESERVED
+            ))
+            .toList();
+    }
+}
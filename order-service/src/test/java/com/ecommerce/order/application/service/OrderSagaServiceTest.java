@@ -0,0 +1,194 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeCommand;
+import com.ecommerce.order.application.port.in.RecordOrderOutcomeCommand.Outcome;
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import com.ecommerce.order.application.port.out.OrderEventPublisherPort;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSagaMetricsPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.model.OrderSummary;
+import com.ecommerce.shared.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSagaServiceTest {
+
+    @Mock
+    private OrderSummaryRepositoryPort orderSummaryRepository;
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private OrderEventPublisherPort eventPublisher;
+
+    @Mock
+    private OrderSagaMetricsPort sagaMetrics;
+
+    @Mock
+    private OrderCachePort orderCache;
+
+    @InjectMocks
+    private OrderSagaService orderSagaService;
+
+    @Test
+    void shouldConfirmAndThenProcessOrderInOneBatch() {
+        // Given
+        var order = order();
+        var summary = OrderSummary.of(order);
+        var now = LocalDateTime.now();
+        when(orderSummaryRepository.findAllById(anyCollection())).thenReturn(List.of(summary));
+        when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(order));
+
+        // When - reserva chega antes do pagamento (tópicos diferentes)
+        var applied = orderSagaService.execute(List.of(
+            new RecordOrderOutcomeCommand(order.getId(), Outcome.INVENTORY_RESERVED, "RES-1", now),
+            new RecordOrderOutcomeCommand(order.getId(), Outcome.PAYMENT_COMPLETED, "PAY-1", now.minusSeconds(1))
+        ));
+
+        // Then
+        assertEquals(2, applied);
+        assertEquals(OrderStatus.PROCESSING, order.getStatus());
+        assertEquals(OrderStatus.PROCESSING, summary.getOrderStatus());
+        assertEquals(OrderSummary.PaymentStatus.COMPLETED, summary.getPaymentStatus());
+        assertEquals(OrderSummary.ReservationStatus.RESERVED, summary.getReservationStatus());
+
+        verify(orderRepository, times(1)).findAllById(anyCollection());
+        verify(orderRepository, times(1)).saveAll(List.of(order));
+        verify(orderSummaryRepository, times(1)).saveAll(List.of(summary));
+        verify(eventPublisher).publishOrderStatusChanged(argThat(events ->
+            events.size() == 1 && "PROCESSING".equals(events.get(0).status())));
+        verify(sagaMetrics).recordStep(eq("payment"), eq("completed"), any());
+        verify(sagaMetrics).recordStep(eq("inventory"), eq("reserved"), any());
+        verify(sagaMetrics).recordCompletion(eq(OrderStatus.PROCESSING), any());
+        verify(orderCache).evictOrder(order.getId(), "order-saga");
+        verify(orderCache).evictCustomerOrders(order.getCustomerId(), "order-saga");
+    }
+
+    @Test
+    void shouldCancelOrderWhenPaymentFails() {
+        // Given
+        var order = order();
+        var summary = OrderSummary.of(order);
+        when(orderSummaryRepository.findAllById(anyCollection())).thenReturn(List.of(summary));
+        when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(order));
+
+        // When
+        orderSagaService.execute(List.of(
+            new RecordOrderOutcomeCommand(order.getId(), Outcome.PAYMENT_FAILED, "PAY-1", LocalDateTime.now())));
+
+        // Then
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(OrderSummary.PaymentStatus.FAILED, summary.getPaymentStatus());
+        verify(sagaMetrics).recordTransition(OrderStatus.PENDING, OrderStatus.CANCELLED);
+        verify(sagaMetrics).recordCompletion(eq(OrderStatus.CANCELLED), any());
+    }
+
+    @Test
+    void shouldCancelProcessingOrderWhenReservationIsReleasedLate() {
+        // Given - pagamento e reserva já aplicados, pedido em PROCESSING
+        var order = order();
+        order.confirm();
+        order.markAsProcessing();
+        var summary = OrderSummary.of(order);
+        var now = LocalDateTime.now();
+        summary.applyPayment(OrderSummary.PaymentStatus.COMPLETED, "PAY-1", now.minusSeconds(10));
+        summary.applyReservation(OrderSummary.ReservationStatus.RESERVED, "RES-1", now.minusSeconds(5));
+        when(orderSummaryRepository.findAllById(anyCollection())).thenReturn(List.of(summary));
+        when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(order));
+
+        // When - o write-behind rejeitou a reserva depois de confirmá-la
+        var applied = orderSagaService.execute(List.of(
+            new RecordOrderOutcomeCommand(order.getId(), Outcome.INVENTORY_RELEASED, "RES-1", now)));
+
+        // Then
+        assertEquals(1, applied);
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(OrderStatus.CANCELLED, summary.getOrderStatus());
+        verify(orderRepository).saveAll(List.of(order));
+        verify(eventPublisher).publishOrderStatusChanged(argThat(events ->
+            events.size() == 1 && "CANCELLED".equals(events.get(0).status())));
+        verify(sagaMetrics).recordTransition(OrderStatus.PROCESSING, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void shouldIgnoreStaleEventWithoutTouchingOrder() {
+        // Given
+        var order = order();
+        var summary = OrderSummary.of(order);
+        var now = LocalDateTime.now();
+        summary.applyReservation(OrderSummary.ReservationStatus.RELEASED, "RES-2", now);
+        when(orderSummaryRepository.findAllById(anyCollection())).thenReturn(List.of(summary));
+
+        // When - reserva antiga chegando depois da liberação
+        var applied = orderSagaService.execute(List.of(
+            new RecordOrderOutcomeCommand(order.getId(), Outcome.INVENTORY_RESERVED, "RES-1", now.minusSeconds(5))));
+
+        // Then
+        assertEquals(0, applied);
+        assertEquals(OrderSummary.ReservationStatus.RELEASED, summary.getReservationStatus());
+
+        verify(orderSummaryRepository, never()).saveAll(anyList());
+        verifyNoInteractions(orderRepository, eventPublisher, orderCache);
+    }
+
+    @Test
+    void shouldSkipUnknownOrder() {
+        // Given
+        when(orderSummaryRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        // When
+        var applied = orderSagaService.execute(List.of(
+            new RecordOrderOutcomeCommand(UUID.randomUUID(), Outcome.PAYMENT_FAILED, "PAY-1", LocalDateTime.now())));
+
+        // Then
+        assertEquals(0, applied);
+        verify(orderSummaryRepository, never()).saveAll(anyList());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRebuildSummaryForOrderCreatedBeforeReadModel() {
+        // Given - sem linha em order_summary, o backfill ainda não chegou nesse pedido
+        var order = order();
+        when(orderSummaryRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(order));
+
+        // When
+        var applied = orderSagaService.execute(List.of(
+            new RecordOrderOutcomeCommand(order.getId(), Outcome.PAYMENT_COMPLETED, "PAY-1", LocalDateTime.now())));
+
+        // Then
+        assertEquals(1, applied);
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        verify(orderSummaryRepository).saveAll(argThat(summaries -> summaries.size() == 1
+            && summaries.get(0).getOrderId().equals(order.getId())
+            && summaries.get(0).getPaymentStatus() == OrderSummary.PaymentStatus.COMPLETED));
+    }
+
+    private Order order() {
+        var order = new Order("ORD-0000000001", UUID.randomUUID(), Money.zero("USD"));
+        ReflectionTestUtils.setField(order, "id", UUID.randomUUID());
+        return order;
+    }
+}
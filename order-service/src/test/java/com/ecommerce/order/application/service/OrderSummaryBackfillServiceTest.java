@@ -0,0 +1,135 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.out.OrderCachePort;
+import com.ecommerce.order.application.port.out.OrderRepositoryPort;
+import com.ecommerce.order.application.port.out.OrderSummaryRepositoryPort;
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderStatus;
+import com.ecommerce.order.domain.model.OrderSummary;
+import com.ecommerce.shared.domain.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryBackfillServiceTest {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private OrderSummaryRepositoryPort orderSummaryRepository;
+
+    @Mock
+    private OrderCachePort orderCache;
+
+    private OrderSummaryBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        backfillService = new OrderSummaryBackfillService(orderRepository, orderSummaryRepository, orderCache, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRebuildMissingSummariesPageByPage() {
+        // Given
+        var pending = order();
+        var processing = order();
+        processing.confirm();
+        processing.markAsProcessing();
+        var cancelled = order();
+        cancelled.cancel();
+        when(orderRepository.findWithoutSummary(MIN_UUID, 2)).thenReturn(List.of(pending, processing));
+        when(orderRepository.findWithoutSummary(processing.getId(), 2)).thenReturn(List.of(cancelled));
+
+        // When
+        var rebuilt = backfillService.backfill();
+
+        // Then
+        assertEquals(3, rebuilt);
+        ArgumentCaptor<List<OrderSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderSummaryRepository, times(2)).saveAll(captor.capture());
+        var summaries = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(OrderSummary.PaymentStatus.PENDING, summaries.get(0).getPaymentStatus());
+        assertEquals(OrderSummary.PaymentStatus.COMPLETED, summaries.get(1).getPaymentStatus());
+        assertEquals(OrderSummary.ReservationStatus.RESERVED, summaries.get(1).getReservationStatus());
+        assertEquals(OrderStatus.PROCESSING, summaries.get(1).getOrderStatus());
+        assertEquals(OrderStatus.CANCELLED, summaries.get(2).getOrderStatus());
+        verify(orderCache).evictCustomerOrders(pending.getCustomerId(), "summary-backfill");
+        verify(orderCache).evictCustomerOrders(cancelled.getCustomerId(), "summary-backfill");
+    }
+
+    @Test
+    void shouldRequeryPageWhenAnotherReplicaWroteSomeSummaries() {
+        // Given
+        var first = order();
+        var second = order();
+        when(orderRepository.findWithoutSummary(MIN_UUID, 2))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(second));
+        doThrow(new DataIntegrityViolationException("order_summary_pkey"))
+                .doNothing()
+                .when(orderSummaryRepository).saveAll(anyList());
+
+        // When
+        var rebuilt = backfillService.backfill();
+
+        // Then
+        assertEquals(1, rebuilt);
+        verify(orderRepository, times(2)).findWithoutSummary(MIN_UUID, 2);
+    }
+
+    @Test
+    void shouldRetryShortLastPageAfterConflict() {
+        // Given - a single order left (page smaller than the batch) and a conflicting write
+        var last = order();
+        var fromOtherReplica = order();
+        when(orderRepository.findWithoutSummary(MIN_UUID, 2))
+                .thenReturn(List.of(fromOtherReplica))
+                .thenReturn(List.of(last));
+        doThrow(new DataIntegrityViolationException("order_summary_pkey"))
+                .doNothing()
+                .when(orderSummaryRepository).saveAll(anyList());
+
+        // When
+        var rebuilt = backfillService.backfill();
+
+        // Then
+        assertEquals(1, rebuilt);
+        verify(orderRepository, times(2)).findWithoutSummary(MIN_UUID, 2);
+        verify(orderCache).evictCustomerOrders(last.getCustomerId(), "summary-backfill");
+    }
+
+    @Test
+    void shouldDoNothingWhenEveryOrderHasSummary() {
+        // Given
+        when(orderRepository.findWithoutSummary(any(), anyInt())).thenReturn(List.of());
+
+        // When / Then
+        assertEquals(0, backfillService.backfill());
+        verifyNoInteractions(orderSummaryRepository, orderCache);
+    }
+
+    private Order order() {
+        var order = new Order("ORD-" + UUID.randomUUID(), UUID.randomUUID(), Money.zero("USD"));
+        ReflectionTestUtils.setField(order, "id", UUID.randomUUID());
+        return order;
+    }
+}
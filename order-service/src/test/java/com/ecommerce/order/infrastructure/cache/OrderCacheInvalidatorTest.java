@@ -0,0 +1,92 @@
+package com.ecommerce.order.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCacheInvalidatorTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(OrderCacheInvalidator.ORDERS_CACHE,
+                OrderCacheInvalidator.CUSTOMER_ORDERS_CACHE);
+        meterRegistry = new SimpleMeterRegistry();
+        invalidator = new OrderCacheInvalidator(cacheManager, meterRegistry);
+    }
+
+    @Test
+    void shouldEvictOnlyTheTargetedOrder() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var otherOrderId = UUID.randomUUID();
+        var orders = cacheManager.getCache(OrderCacheInvalidator.ORDERS_CACHE);
+        orders.put(orderId, "order");
+        orders.put(otherOrderId, "other");
+
+        // When
+        invalidator.evictOrder(orderId, "event");
+
+        // Then
+        assertNull(orders.get(orderId));
+        assertNotNull(orders.get(otherOrderId));
+        assertEquals(1.0, meterRegistry.get("order.cache.invalidations")
+                .tag("cache", OrderCacheInvalidator.ORDERS_CACHE).tag("source", "event").counter().count());
+    }
+
+    @Test
+    void shouldEvictCustomerFirstPage() {
+        // Given
+        var customerId = UUID.randomUUID();
+        var customerOrders = cacheManager.getCache(OrderCacheInvalidator.CUSTOMER_ORDERS_CACHE);
+        customerOrders.put(customerId, "page");
+
+        // When
+        invalidator.evictCustomerOrders(customerId, "event");
+
+        // Then
+        assertNull(customerOrders.get(customerId));
+        assertNull(cacheManager.getCache(OrderCacheInvalidator.ORDERS_CACHE).get(customerId));
+    }
+
+    @Test
+    void shouldNotCountMissesOrNullKeys() {
+        // When
+        invalidator.evictOrder(UUID.randomUUID(), "event");
+        invalidator.evictCustomerOrders(null, "event");
+
+        // Then
+        assertTrue(meterRegistry.find("order.cache.invalidations").counters().isEmpty());
+    }
+
+    @Test
+    void shouldEvictOnlyAfterCommitInsideTransaction() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var orders = cacheManager.getCache(OrderCacheInvalidator.ORDERS_CACHE);
+        orders.put(orderId, "order");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            invalidator.evictOrder(orderId, "order-saga");
+
+            // Then - a read before the commit would cache the old row again
+            assertNotNull(orders.get(orderId));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(orders.get(orderId));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
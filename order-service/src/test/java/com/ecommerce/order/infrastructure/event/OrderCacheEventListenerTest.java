@@ -0,0 +1,76 @@
+package com.ecommerce.order.infrastructure.event;
+
+import com.ecommerce.order.infrastructure.cache.OrderCacheInvalidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCacheEventListenerTest {
+
+    @Mock
+    private OrderCacheInvalidator cacheInvalidator;
+
+    @InjectMocks
+    private OrderCacheEventListener listener;
+
+    @Test
+    void shouldEvictOrderAndCustomerPageOnStatusChange() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var customerId = UUID.randomUUID();
+
+        // When
+        listener.handleOrderEvent(event("OrderStatusChanged", orderId, customerId));
+
+        // Then
+        verify(cacheInvalidator).evictOrder(orderId, "event");
+        verify(cacheInvalidator).evictCustomerOrders(customerId, "event");
+        verifyNoMoreInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void shouldEvictOnOrderCreated() {
+        // Given
+        var orderId = UUID.randomUUID();
+        var customerId = UUID.randomUUID();
+
+        // When
+        listener.handleOrderEvent(event("OrderCreated", orderId, customerId));
+
+        // Then
+        verify(cacheInvalidator).evictOrder(orderId, "event");
+        verify(cacheInvalidator).evictCustomerOrders(customerId, "event");
+    }
+
+    @Test
+    void shouldIgnoreEventTypesThatDoNotChangeCachedData() {
+        // When
+        listener.handleOrderEvent(event("OrderShipmentRequested", UUID.randomUUID(), UUID.randomUUID()));
+
+        // Then
+        verifyNoInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void shouldIgnoreMalformedPayload() {
+        // When
+        listener.handleOrderEvent("not json");
+
+        // Then
+        verifyNoInteractions(cacheInvalidator);
+    }
+
+    private static String event(String eventType, UUID orderId, UUID customerId) {
+        return """
+            {"eventId":"%s","eventType":"%s","aggregateId":"%s","customerId":"%s",\
+            "items":[{"productId":"%s","quantity":1}],"occurredOn":"2026-10-17T10:15:30"}"""
+            .formatted(UUID.randomUUID(), eventType, orderId, customerId, UUID.randomUUID());
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.shared.domain.entity;
 
+import com.ecommerce.shared.infrastructure.id.UuidV7Id;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -14,7 +15,7 @@ import java.util.UUID;
 public abstract class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -0,0 +1,103 @@
+package com.ecommerce.shared.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_created_at", columnList = "created_at"),
+    // Per-key ordering check of the relay claim
+    @Index(name = "idx_outbox_events_key_created", columnList = "topic, message_key, created_at")
+})
+public class OutboxEvent extends BaseEntity {
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Lease of the relay instance publishing the row, or the earliest retry after a failure
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+    protected OutboxEvent() {
+        // JPA Constructor
+    }
+
+    public OutboxEvent(String topic, String messageKey, String eventType, String payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.attempts = 0;
+    }
+
+    public void claim(LocalDateTime until) {
+        this.claimedUntil = until;
+    }
+
+    public void release() {
+        this.claimedUntil = null;
+    }
+
+    public void markFailed(String error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        this.claimedUntil = retryAt;
+    }
+
+    // Kept for inspection and manual replay; the relay no longer picks it up
+    public void markDeadLettered() {
+        this.deadLetteredAt = LocalDateTime.now();
+        this.claimedUntil = null;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public LocalDateTime getDeadLetteredAt() {
+        return deadLetteredAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.shared.infrastructure.id;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 UUIDv7: 48-bit unix millis | version | 12-bit counter | variant | 62 random bits.
+// Time-ordered keys append to the right edge of the B-tree instead of splitting random pages.
+public final class UuidV7 {
+
+    // (unixMillis << 12) | counter - monotonic per JVM, even with several ids in the same millisecond
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        // Counter overflow (>4096 ids/ms) or clock going back just borrows the next millisecond
+        long state = lastTimeAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long msb = (state >>> 12) << 16 | 0x7000L | (state & 0xFFFL);
+        // Uniqueness across instances comes from the random bits; they don't need to be unguessable
+        long lsb = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    public static Instant timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a UUIDv7: " + uuid);
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    }
+}
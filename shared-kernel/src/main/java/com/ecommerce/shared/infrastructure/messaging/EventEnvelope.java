@@ -0,0 +1,20 @@
+package com.ecommerce.shared.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// The few top-level fields listeners route on; any of them may be null depending on the event
+public record EventEnvelope(
+    String eventType,
+    UUID aggregateId,
+    UUID orderId,
+    UUID customerId,
+    String status,
+    LocalDateTime occurredOn
+) {
+
+    // Order events identify the order by aggregateId; billing and inventory events carry orderId
+    public UUID orderIdOrAggregateId() {
+        return orderId != null ? orderId : aggregateId;
+    }
+}
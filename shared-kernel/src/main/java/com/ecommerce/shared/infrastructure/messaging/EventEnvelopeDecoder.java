@@ -0,0 +1,74 @@
+package com.ecommerce.shared.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+// Streaming decoder for event envelopes: one pass over the tokens, no tree and no event class binding.
+// Fields other than the envelope ones (amounts, items, nested objects) are skipped without being materialized.
+public final class EventEnvelopeDecoder {
+
+    // JsonFactory is thread-safe and meant to be shared
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+
+    private EventEnvelopeDecoder() {
+    }
+
+    public static EventEnvelope decode(String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Event payload is not a JSON object");
+            }
+
+            String eventType = null;
+            UUID aggregateId = null;
+            UUID orderId = null;
+            UUID customerId = null;
+            String status = null;
+            LocalDateTime occurredOn = null;
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                var token = parser.nextToken();
+                switch (field) {
+                    case "eventType" -> eventType = text(parser, token);
+                    case "aggregateId" -> aggregateId = uuid(parser, token);
+                    case "orderId" -> orderId = uuid(parser, token);
+                    case "customerId" -> customerId = uuid(parser, token);
+                    case "status" -> status = text(parser, token);
+                    case "occurredOn" -> occurredOn = dateTime(parser, token);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return new EventEnvelope(eventType, aggregateId, orderId, customerId, status, occurredOn);
+
+        } catch (IOException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed event payload", ex);
+        }
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static UUID uuid(JsonParser parser, JsonToken token) throws IOException {
+        var text = text(parser, token);
+        return text != null ? UUID.fromString(text) : null;
+    }
+
+    // Producers write LocalDateTime as ISO-8601 text (write-dates-as-timestamps disabled)
+    private static LocalDateTime dateTime(JsonParser parser, JsonToken token) throws IOException {
+        var text = text(parser, token);
+        return text != null ? LocalDateTime.parse(text) : null;
+    }
+}
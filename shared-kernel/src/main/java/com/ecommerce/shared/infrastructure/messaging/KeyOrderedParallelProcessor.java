@@ -0,0 +1,330 @@
+package com.ecommerce.shared.infrastructure.messaging;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+@Component
+public class KeyOrderedParallelProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedParallelProcessor.class);
+
+    static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+    private final int maxAttempts;
+    private final ConsumerRecordRecoverer deadLetterRecoverer;
+
+    // Attempts of the record each partition is currently stuck on; only touched from listener threads
+    private final Map<TopicPartition, Attempt> attempts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public KeyOrderedParallelProcessor(@Value("${kafka.parallel.max-in-flight:32}") int maxInFlight,
+                                       @Value("${kafka.parallel.retry-backoff-ms:1000}") long retryBackoffMs,
+                                       @Value("${kafka.parallel.max-retry-backoff-ms:10000}") long maxRetryBackoffMs,
+                                       @Value("${kafka.parallel.max-attempts:5}") int maxAttempts,
+                                       ObjectProvider<KafkaTemplate<String, String>> kafkaTemplate) {
+        this(maxInFlight, retryBackoffMs, maxRetryBackoffMs, maxAttempts, deadLetterRecoverer(kafkaTemplate.getIfAvailable()));
+    }
+
+    KeyOrderedParallelProcessor(int maxInFlight, long retryBackoffMs, long maxRetryBackoffMs, int maxAttempts,
+                                ConsumerRecordRecoverer deadLetterRecoverer) {
+        // Bound parallelism by what the downstream (DB pool) can take, not by the number of partitions
+        this.inFlight = new Semaphore(maxInFlight);
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+        this.maxAttempts = maxAttempts;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+    }
+
+    // One virtual thread per key; records of the same key run sequentially and stop at the first failure
+    public <K, V> BatchOutcome processEach(List<ConsumerRecord<K, V>> records,
+                                           java.util.function.Consumer<ConsumerRecord<K, V>> handler) {
+        var byKey = new LinkedHashMap<Object, List<ConsumerRecord<K, V>>>();
+        for (var record : records) {
+            byKey.computeIfAbsent(keyOf(record), key -> new ArrayList<>()).add(record);
+        }
+        return run(records, new ArrayList<>(byKey.values()), group -> {
+            for (int i = 0; i < group.size(); i++) {
+                try {
+                    handler.accept(group.get(i));
+                } catch (RuntimeException ex) {
+                    throw new RecordsFailedException(failedFrom(group, i, ex));
+                }
+            }
+        });
+    }
+
+    // Same key always lands in the same shard; each shard is handed to the handler as one sub-batch
+    public <K, V> BatchOutcome processInShards(List<ConsumerRecord<K, V>> records, int shards,
+                                               java.util.function.Consumer<List<ConsumerRecord<K, V>>> handler) {
+        var buckets = new ArrayList<List<ConsumerRecord<K, V>>>(shards);
+        for (int i = 0; i < shards; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (var record : records) {
+            buckets.get(shardOf(record, shards)).add(record);
+        }
+        buckets.removeIf(List::isEmpty);
+        return run(records, buckets, shard -> {
+            try {
+                handler.accept(shard);
+            } catch (RuntimeException ex) {
+                // The shard rolled back as a whole: replay it one record at a time so only the culprit
+                // (and the records of its key after it) are retried or dead-lettered
+                logger.warn("Shard of {} records failed, isolating the failing record", shard.size(), ex);
+                isolate(shard, record -> handler.accept(List.of(record)));
+            }
+        });
+    }
+
+    // Must be called on the listener thread (the consumer is not thread-safe)
+    public void commit(BatchOutcome outcome, Consumer<?, ?> consumer) {
+        var offsets = new HashMap<>(outcome.offsetsToCommit());
+        var seekTo = new HashMap<TopicPartition, Long>();
+        int retryAttempt = 0;
+
+        for (var entry : outcome.failures().entrySet()) {
+            var partition = entry.getKey();
+            var failure = entry.getValue();
+            var offset = failure.record().offset();
+            var attempt = attempts.merge(partition, new Attempt(offset, 1),
+                (previous, current) -> previous.offset() == offset ? new Attempt(offset, previous.count() + 1) : current);
+
+            if (attempt.count() < maxAttempts) {
+                seekTo.put(partition, offset);
+                retryAttempt = Math.max(retryAttempt, attempt.count());
+            } else if (deadLetter(failure, attempt.count())) {
+                // Move past the poison record; whatever followed it in this poll is redelivered
+                attempts.remove(partition);
+                offsets.put(partition, new OffsetAndMetadata(offset + 1));
+                seekTo.put(partition, offset + 1);
+            } else {
+                seekTo.put(partition, offset);
+                retryAttempt = Math.max(retryAttempt, attempt.count());
+            }
+        }
+        outcome.offsetsToCommit().keySet().stream()
+            .filter(partition -> !outcome.failures().containsKey(partition))
+            .forEach(attempts::remove);
+
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+        if (!seekTo.isEmpty()) {
+            // Rewind so the next poll redelivers from the first record still to be processed
+            seekTo.forEach(consumer::seek);
+            logger.warn("Batch had failures, partitions rewound: {}", seekTo);
+        }
+        if (retryAttempt > 0) {
+            backOff(retryAttempt);
+        }
+    }
+
+    private boolean deadLetter(Failure failure, int attempt) {
+        var record = failure.record();
+        try {
+            var cause = failure.cause() instanceof Exception ex ? ex : new RuntimeException(failure.cause());
+            deadLetterRecoverer.accept(record, cause);
+            logger.error("Gave up on record after {} attempts. Topic: {}, Partition: {}, Offset: {}, Key: {}",
+                attempt, record.topic(), record.partition(), record.offset(), record.key(), failure.cause());
+            return true;
+        } catch (RuntimeException ex) {
+            logger.error("Failed to dead-letter record. Topic: {}, Partition: {}, Offset: {}",
+                record.topic(), record.partition(), record.offset(), ex);
+            return false;
+        }
+    }
+
+    // Runs on the listener thread, so it counts against max.poll.interval.ms: exponential but capped
+    private void backOff(int attempt) {
+        var delay = Math.min(retryBackoffMs << Math.min(attempt - 1, 20), maxRetryBackoffMs);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <K, V> BatchOutcome run(List<ConsumerRecord<K, V>> records,
+                                    List<List<ConsumerRecord<K, V>>> groups,
+                                    java.util.function.Consumer<List<ConsumerRecord<K, V>>> handler) {
+        var firstFailed = new ConcurrentHashMap<TopicPartition, Failure>();
+
+        var futures = groups.stream()
+            .map(group -> CompletableFuture.runAsync(() -> runGroup(group, handler, firstFailed), executor))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        return BatchOutcome.of(records, firstFailed);
+    }
+
+    private <K, V> void runGroup(List<ConsumerRecord<K, V>> group,
+                                 java.util.function.Consumer<List<ConsumerRecord<K, V>>> handler,
+                                 Map<TopicPartition, Failure> firstFailed) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            markFailed(failedFrom(group, 0, ex), firstFailed);
+            return;
+        }
+
+        try {
+            handler.accept(group);
+        } catch (RecordsFailedException ex) {
+            // Records before the failing ones are done; only the rest of those keys is retried
+            for (var failure : ex.failures) {
+                if (failure.cause() != null) {
+                    var failed = failure.record();
+                    logger.error("Failed to process record. Partition: {}, Offset: {}, Key: {}",
+                        failed.partition(), failed.offset(), failed.key(), failure.cause());
+                }
+            }
+            markFailed(ex.failures, firstFailed);
+        } catch (Exception ex) {
+            logger.error("Failed to process {} records starting at partition: {}, offset: {}",
+                group.size(), group.get(0).partition(), group.get(0).offset(), ex);
+            markFailed(failedFrom(group, 0, ex), firstFailed);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    // In offset order, stopping each key at its first failure
+    private <K, V> void isolate(List<ConsumerRecord<K, V>> shard,
+                                java.util.function.Consumer<ConsumerRecord<K, V>> handler) {
+        var failedKeys = new HashSet<Object>();
+        var failures = new ArrayList<Failure>();
+        for (var record : shard.stream().sorted(Comparator.comparingLong(ConsumerRecord::offset)).toList()) {
+            var key = keyOf(record);
+            if (failedKeys.contains(key)) {
+                failures.add(new Failure(record, null));
+                continue;
+            }
+            try {
+                handler.accept(record);
+            } catch (RuntimeException ex) {
+                failedKeys.add(key);
+                failures.add(new Failure(record, ex));
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new RecordsFailedException(failures);
+        }
+    }
+
+    // The failing record carries the cause; the ones after it were not attempted
+    private static <K, V> List<Failure> failedFrom(List<ConsumerRecord<K, V>> group, int index, Throwable cause) {
+        var failures = new ArrayList<Failure>(group.size() - index);
+        for (int i = index; i < group.size(); i++) {
+            failures.add(new Failure(group.get(i), i == index ? cause : null));
+        }
+        return failures;
+    }
+
+    private static void markFailed(List<Failure> failures, Map<TopicPartition, Failure> firstFailed) {
+        for (var failure : failures) {
+            firstFailed.merge(new TopicPartition(failure.record().topic(), failure.record().partition()), failure,
+                (a, b) -> a.record().offset() <= b.record().offset() ? a : b);
+        }
+    }
+
+    static int shardOf(ConsumerRecord<?, ?> record, int shards) {
+        return Math.floorMod(Objects.hashCode(keyOf(record)), shards);
+    }
+
+    private static Object keyOf(ConsumerRecord<?, ?> record) {
+        // Records without a key are independent of each other
+        return record.key() != null ? record.key() : record.topic() + "-" + record.partition() + "-" + record.offset();
+    }
+
+    private static ConsumerRecordRecoverer deadLetterRecoverer(KafkaTemplate<String, String> kafkaTemplate) {
+        if (kafkaTemplate == null) {
+            return (record, ex) -> logger.error("No KafkaTemplate for dead letters, skipping record. Topic: {}, Offset: {}",
+                record.topic(), record.offset());
+        }
+        // <topic>.DLT, partition chosen by the producer; the exception goes in the kafka_dlt-* headers
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+            (record, ex) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private record Attempt(long offset, int count) {
+    }
+
+    private static final class RecordsFailedException extends RuntimeException {
+
+        private final List<Failure> failures;
+
+        private RecordsFailedException(List<Failure> failures) {
+            super(null, null, false, false);
+            this.failures = failures;
+        }
+    }
+
+    // cause is null for records skipped because an earlier record of their key failed
+    public record Failure(ConsumerRecord<?, ?> record, Throwable cause) {
+    }
+
+    public record BatchOutcome(Map<TopicPartition, OffsetAndMetadata> offsetsToCommit,
+                               Map<TopicPartition, Long> retryFrom,
+                               Map<TopicPartition, Failure> failures) {
+
+        static <K, V> BatchOutcome of(List<ConsumerRecord<K, V>> records, Map<TopicPartition, Failure> firstFailed) {
+            var commits = new HashMap<TopicPartition, OffsetAndMetadata>();
+            for (var record : records) {
+                var partition = new TopicPartition(record.topic(), record.partition());
+                if (!firstFailed.containsKey(partition)) {
+                    commits.merge(partition, new OffsetAndMetadata(record.offset() + 1),
+                        (a, b) -> a.offset() >= b.offset() ? a : b);
+                }
+            }
+            var retryFrom = new HashMap<TopicPartition, Long>();
+            firstFailed.forEach((partition, failure) -> {
+                commits.put(partition, new OffsetAndMetadata(failure.record().offset()));
+                retryFrom.put(partition, failure.record().offset());
+            });
+            return new BatchOutcome(commits, Map.copyOf(retryFrom), Map.copyOf(firstFailed));
+        }
+
+        public boolean hasFailures() {
+            return !retryFrom.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.ecommerce.shared.infrastructure.outbox;
+
+import com.ecommerce.shared.domain.entity.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Three steps per batch, none of them holding a connection during the Kafka round-trip:
+// claim rows (short transaction, lease in claimed_until), publish, then delete/release them (short transaction)
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Claims are serialized across instances (transaction-scoped advisory lock, released at commit);
+    // the claim itself is a single indexed query, the publishing still runs in parallel
+    private static final long CLAIM_LOCK_KEY = 0x6f7574626f78L;
+    private static final String CLAIM_LOCK_SQL = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(:key)) l";
+
+    // A row is skipped while an older row of the same key is leased or waiting for its retry,
+    // so a key is never published out of order by two instances
+    private static final String SELECT_BATCH_SQL =
+        "SELECT * FROM outbox_events o " +
+        "WHERE o.dead_lettered_at IS NULL " +
+        "AND (o.claimed_until IS NULL OR o.claimed_until < :now) " +
+        "AND NOT EXISTS (SELECT 1 FROM outbox_events p " +
+        "    WHERE p.topic = o.topic AND p.message_key = o.message_key AND p.created_at < o.created_at " +
+        "    AND p.dead_lettered_at IS NULL AND p.claimed_until >= :now) " +
+        "ORDER BY o.created_at LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    private final EntityManager entityManager;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long retryBackoffMs;
+    private final int maxAttempts;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong deadEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(EntityManager entityManager,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${outbox.relay.retry-backoff-ms:1000}") long retryBackoffMs,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.entityManager = entityManager;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("outbox.events.pending", pendingEvents, AtomicLong::get)
+                .description("Number of events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.dead", deadEvents, AtomicLong::get)
+                .description("Number of outbox events that gave up after the max attempts")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest event waiting in the outbox")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Number of outbox events published to Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Number of outbox events that failed to publish")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("outbox.events.dead_lettered")
+                .description("Number of outbox events dead-lettered after the max attempts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch.duration")
+                .description("Time to publish one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            // Keep draining while batches come back full; stop as soon as something fails
+            int published;
+            do {
+                published = batchTimer.record(this::relayBatch);
+            } while (published == batchSize);
+
+        } catch (Exception ex) {
+            logger.error("Outbox relay cycle failed", ex);
+        } finally {
+            refreshBacklogMetrics();
+        }
+    }
+
+    private int relayBatch() {
+        var batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        var outcome = publish(batch);
+        transactionTemplate.executeWithoutResult(status -> record(batch, outcome));
+
+        publishedCounter.increment(outcome.published().size());
+        logger.debug("Outbox batch relayed. Published: {}, Failed: {}",
+            outcome.published().size(), outcome.failed().size());
+        return outcome.published().size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        var batch = transactionTemplate.execute(status -> {
+            entityManager.createNativeQuery(CLAIM_LOCK_SQL)
+                .setParameter("key", CLAIM_LOCK_KEY)
+                .getSingleResult();
+
+            var now = LocalDateTime.now();
+            @SuppressWarnings("unchecked")
+            List<OutboxEvent> claimed = entityManager.createNativeQuery(SELECT_BATCH_SQL, OutboxEvent.class)
+                .setParameter("now", now)
+                .setParameter("limit", batchSize)
+                .getResultList();
+
+            // The lease outlives the publish deadline, so no other instance takes the rows while they are in flight
+            var leaseUntil = now.plus(Duration.ofMillis(sendTimeoutMs * 3));
+            claimed.forEach(event -> event.claim(leaseUntil));
+            return claimed;
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    // Events of one key are sent one after the other, and a key stops at its first failure; keys run in
+    // parallel. Every send shares one deadline, so a batch never takes longer than sendTimeoutMs
+    PublishOutcome publish(List<OutboxEvent> batch) {
+        var byKey = new LinkedHashMap<String, List<OutboxEvent>>();
+        for (var event : batch) {
+            byKey.computeIfAbsent(event.getTopic() + "/" + event.getMessageKey(), key -> new ArrayList<>()).add(event);
+        }
+
+        var published = ConcurrentHashMap.<UUID>newKeySet();
+        var failed = new ConcurrentHashMap<UUID, String>();
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        var sends = byKey.values().stream()
+            .map(events -> CompletableFuture.runAsync(() -> publishInOrder(events, deadline, published, failed), executor))
+            .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(sends).get(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // Whatever has not answered yet is retried; it may then reach Kafka twice (at-least-once)
+            logger.warn("Outbox batch did not complete within {} ms", sendTimeoutMs);
+        }
+        return new PublishOutcome(Set.copyOf(published), Map.copyOf(failed));
+    }
+
+    private void publishInOrder(List<OutboxEvent> events, long deadline, Set<UUID> published, Map<UUID, String> failed) {
+        for (var event : events) {
+            try {
+                kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload())
+                    .get(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+                published.add(event.getId());
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // The later events of the key stay in the outbox behind this one
+                failed.put(event.getId(), ex instanceof TimeoutException ? "Send timed out" : String.valueOf(ex.getMessage()));
+                return;
+            }
+        }
+    }
+
+    private void record(List<OutboxEvent> batch, PublishOutcome outcome) {
+        if (!outcome.published().isEmpty()) {
+            entityManager.createQuery("DELETE FROM OutboxEvent o WHERE o.id IN :ids")
+                .setParameter("ids", outcome.published())
+                .executeUpdate();
+        }
+
+        var retryAt = LocalDateTime.now().plus(Duration.ofMillis(retryBackoffMs));
+        for (var claimed : batch) {
+            if (outcome.published().contains(claimed.getId())) {
+                continue;
+            }
+            var event = entityManager.find(OutboxEvent.class, claimed.getId());
+            if (event == null) {
+                continue;
+            }
+            var error = outcome.failed().get(event.getId());
+            if (error == null) {
+                // Not attempted (behind a failed event of its key, or past the deadline): back in the queue
+                event.release();
+                continue;
+            }
+
+            event.markFailed(error, retryAt);
+            failedCounter.increment();
+            if (event.getAttempts() >= maxAttempts) {
+                // Gives up so the rest of the key can move on; the row stays for inspection and replay
+                event.markDeadLettered();
+                deadLetteredCounter.increment();
+                logger.error("Dead-lettered {} event after {} attempts. Topic: {}, Key: {}, Error: {}",
+                    event.getEventType(), event.getAttempts(), event.getTopic(), event.getMessageKey(), error);
+            } else {
+                logger.warn("Failed to publish {} event from outbox. Topic: {}, Key: {}, Attempts: {}, Error: {}",
+                    event.getEventType(), event.getTopic(), event.getMessageKey(), event.getAttempts(), error);
+            }
+        }
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private void refreshBacklogMetrics() {
+        try {
+            var row = entityManager
+                .createQuery("SELECT MIN(o.createdAt), COUNT(o) FROM OutboxEvent o WHERE o.deadLetteredAt IS NULL", Object[].class)
+                .getSingleResult();
+
+            var oldest = (LocalDateTime) row[0];
+            pendingEvents.set((Long) row[1]);
+            lagMillis.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+            deadEvents.set(entityManager
+                .createQuery("SELECT COUNT(o) FROM OutboxEvent o WHERE o.deadLetteredAt IS NOT NULL", Long.class)
+                .getSingleResult());
+
+        } catch (Exception ex) {
+            logger.warn("Failed to refresh outbox backlog metrics: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.close();
+    }
+
+    record PublishOutcome(Set<UUID> published, Map<UUID, String> failed) {
+    }
+}
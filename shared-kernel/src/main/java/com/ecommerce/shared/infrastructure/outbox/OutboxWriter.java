@@ -0,0 +1,46 @@
+package com.ecommerce.shared.infrastructure.outbox;
+
+import com.ecommerce.shared.domain.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class OutboxWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxWriter.class);
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Counter writtenCounter;
+
+    public OutboxWriter(EntityManager entityManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.writtenCounter = Counter.builder("outbox.events.written")
+                .description("Number of events written to the outbox")
+                .register(meterRegistry);
+    }
+
+    // Joins the caller's transaction, so the event is committed (or rolled back) with the business change
+    @Transactional
+    public void append(String topic, String key, String eventType, Object event) {
+        try {
+            var payload = objectMapper.writeValueAsString(event);
+            entityManager.persist(new OutboxEvent(topic, key, eventType, payload));
+            writtenCounter.increment();
+
+            logger.debug("{} event added to outbox. Topic: {}, Key: {}", eventType, topic, key);
+
+        } catch (JsonProcessingException ex) {
+            logger.error("Failed to serialize {} event", eventType, ex);
+            throw new RuntimeException("Failed to publish event", ex);
+        }
+    }
+}
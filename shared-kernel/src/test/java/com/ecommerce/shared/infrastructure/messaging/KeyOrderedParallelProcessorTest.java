@@ -0,0 +1,219 @@
+package com.ecommerce.shared.infrastructure.messaging;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeyOrderedParallelProcessorTest {
+
+    private static final String TOPIC = "orders";
+    private static final TopicPartition P0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition P1 = new TopicPartition(TOPIC, 1);
+
+    @Mock
+    private Consumer<String, String> consumer;
+
+    @Mock
+    private ConsumerRecordRecoverer deadLetterRecoverer;
+
+    private KeyOrderedParallelProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new KeyOrderedParallelProcessor(8, 0, 0, 3, deadLetterRecoverer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void processEach_shouldKeepOffsetOrderWithinKey() {
+        var records = List.of(
+            record(0, 0, "a"), record(0, 1, "b"), record(0, 2, "a"),
+            record(0, 3, "b"), record(0, 4, "a"), record(0, 5, "c"));
+        var seen = new ConcurrentHashMap<String, List<Long>>();
+
+        var outcome = processor.processEach(records,
+            r -> seen.computeIfAbsent(r.key(), k -> Collections.synchronizedList(new ArrayList<>())).add(r.offset()));
+
+        assertEquals(List.of(0L, 2L, 4L), seen.get("a"));
+        assertEquals(List.of(1L, 3L), seen.get("b"));
+        assertEquals(List.of(5L), seen.get("c"));
+        assertFalse(outcome.hasFailures());
+        assertEquals(new OffsetAndMetadata(6), outcome.offsetsToCommit().get(P0));
+    }
+
+    @Test
+    void processEach_shouldStopKeyAtFirstFailureAndKeepOtherKeysGoing() {
+        var records = List.of(record(0, 0, "a"), record(0, 1, "a"), record(0, 2, "b"), record(0, 3, "a"));
+        var processed = Collections.synchronizedList(new ArrayList<Long>());
+
+        var outcome = processor.processEach(records, r -> {
+            if (r.offset() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            processed.add(r.offset());
+        });
+
+        assertEquals(Set.of(0L, 2L), Set.copyOf(processed));
+        assertTrue(outcome.hasFailures());
+        assertEquals(1L, outcome.retryFrom().get(P0));
+        assertEquals(1L, outcome.failures().get(P0).record().offset());
+        assertInstanceOf(IllegalStateException.class, outcome.failures().get(P0).cause());
+    }
+
+    @Test
+    void processEach_shouldRewindEachPartitionToItsMinFailedOffset() {
+        var records = List.of(
+            record(0, 10, "a"), record(0, 11, "b"), record(0, 12, "c"),
+            record(1, 20, "d"), record(1, 21, "e"), record(1, 22, "f"));
+
+        var outcome = processor.processEach(records, r -> {
+            if (r.offset() == 12 || r.offset() == 11 || r.offset() == 22) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertEquals(Map.of(P0, 11L, P1, 22L), outcome.retryFrom());
+        assertEquals(new OffsetAndMetadata(11), outcome.offsetsToCommit().get(P0));
+        assertEquals(new OffsetAndMetadata(22), outcome.offsetsToCommit().get(P1));
+    }
+
+    @Test
+    void batchOutcome_shouldCommitPastLastRecordOrAtFirstFailure() {
+        var first = record(0, 5, "a");
+        var records = List.of(first, record(0, 7, "b"), record(1, 3, "c"), record(1, 9, "d"));
+        var failed = new HashMap<TopicPartition, KeyOrderedParallelProcessor.Failure>();
+        failed.put(P1, new KeyOrderedParallelProcessor.Failure(records.get(2), new IllegalStateException()));
+
+        var outcome = KeyOrderedParallelProcessor.BatchOutcome.of(records, failed);
+
+        assertEquals(new OffsetAndMetadata(8), outcome.offsetsToCommit().get(P0));
+        assertEquals(new OffsetAndMetadata(3), outcome.offsetsToCommit().get(P1));
+        assertEquals(Map.of(P1, 3L), outcome.retryFrom());
+    }
+
+    @Test
+    void processInShards_shouldPlaceSameKeyInSameShardAcrossBatches() {
+        var records = new ArrayList<ConsumerRecord<String, String>>();
+        for (int i = 0; i < 200; i++) {
+            records.add(record(i % 2, i, "key-" + (i % 17)));
+        }
+        var shardsByKey = new ConcurrentHashMap<String, Set<Integer>>();
+
+        for (int batch = 0; batch < 2; batch++) {
+            processor.processInShards(records, 4, shard -> {
+                var shardIndex = KeyOrderedParallelProcessor.shardOf(shard.get(0), 4);
+                shard.forEach(r -> shardsByKey.computeIfAbsent(r.key(), k -> ConcurrentHashMap.newKeySet()).add(shardIndex));
+            });
+        }
+
+        assertEquals(17, shardsByKey.size());
+        shardsByKey.values().forEach(shards -> assertEquals(1, shards.size()));
+        records.forEach(r -> assertEquals(KeyOrderedParallelProcessor.shardOf(r, 4),
+            KeyOrderedParallelProcessor.shardOf(record(0, 0, r.key()), 4)));
+    }
+
+    @Test
+    void processInShards_shouldIsolatePoisonRecordWhenShardFails() {
+        var records = List.of(record(0, 0, "a"), record(0, 1, "a"), record(0, 2, "a"));
+
+        var outcome = processor.processInShards(records, 1, shard -> {
+            if (shard.stream().anyMatch(r -> r.offset() == 1)) {
+                throw new IllegalStateException("poison");
+            }
+        });
+
+        assertEquals(1L, outcome.retryFrom().get(P0));
+        assertEquals("poison", outcome.failures().get(P0).cause().getMessage());
+    }
+
+    @Test
+    void commit_shouldRewindUntilMaxAttemptsThenDeadLetterAndSkip() {
+        var poison = record(0, 4, "a");
+        var records = List.of(record(0, 3, "b"), poison);
+        java.util.function.Consumer<ConsumerRecord<String, String>> handler = r -> {
+            if (r.offset() == 4) {
+                throw new IllegalStateException("poison");
+            }
+        };
+
+        for (int attempt = 1; attempt < 3; attempt++) {
+            processor.commit(processor.processEach(records, handler), consumer);
+        }
+        verify(consumer, times(2)).seek(P0, 4L);
+        verify(consumer, times(2)).commitSync(Map.of(P0, new OffsetAndMetadata(4)));
+        verifyNoInteractions(deadLetterRecoverer);
+
+        processor.commit(processor.processEach(records, handler), consumer);
+
+        verify(deadLetterRecoverer).accept(eq(poison), any(IllegalStateException.class));
+        verify(consumer).commitSync(Map.of(P0, new OffsetAndMetadata(5)));
+        verify(consumer).seek(P0, 5L);
+    }
+
+    @Test
+    void commit_shouldKeepRetryingWhenDeadLetterPublishFails() {
+        var records = List.of(record(0, 0, "a"));
+        doThrow(new IllegalStateException("broker down")).when(deadLetterRecoverer).accept(any(), any());
+
+        for (int attempt = 0; attempt < 4; attempt++) {
+            processor.commit(processor.processEach(records, r -> {
+                throw new IllegalStateException("poison");
+            }), consumer);
+        }
+
+        verify(consumer, times(4)).seek(P0, 0L);
+        verify(consumer, never()).seek(eq(P0), eq(1L));
+    }
+
+    @Test
+    void commit_shouldResetAttemptsWhenPartitionMovesOn() {
+        var records = List.of(record(0, 0, "a"));
+        var failing = new boolean[]{true};
+        java.util.function.Consumer<ConsumerRecord<String, String>> handler = r -> {
+            if (failing[0]) {
+                throw new IllegalStateException("transient");
+            }
+        };
+
+        processor.commit(processor.processEach(records, handler), consumer);
+        processor.commit(processor.processEach(records, handler), consumer);
+        failing[0] = false;
+        processor.commit(processor.processEach(records, handler), consumer);
+        failing[0] = true;
+        processor.commit(processor.processEach(records, handler), consumer);
+        processor.commit(processor.processEach(records, handler), consumer);
+
+        verifyNoInteractions(deadLetterRecoverer);
+        verify(consumer, times(4)).seek(P0, 0L);
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset, String key) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, key, "{}");
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.shared.infrastructure.outbox;
+
+import com.ecommerce.shared.domain.entity.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final long SEND_TIMEOUT_MS = 300;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(entityManager, kafkaTemplate, transactionManager, new SimpleMeterRegistry(),
+                500, SEND_TIMEOUT_MS, 1000, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.close();
+    }
+
+    @Test
+    void shouldStopPublishingKeyAfterItsFirstFailure() {
+        // Given - two events of key a (the first one fails) and one of key b
+        var a1 = event("a", "a1");
+        var a2 = event("a", "a2");
+        var b1 = event("b", "b1");
+        when(kafkaTemplate.send("order.events", "a", "a1"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send("order.events", "b", "b1")).thenReturn(sent());
+
+        // When
+        var outcome = relay.publish(List.of(a1, a2, b1));
+
+        // Then - a2 is never sent, so it can't overtake a1
+        assertEquals(Set.of(b1.getId()), outcome.published());
+        assertEquals(Set.of(a1.getId()), outcome.failed().keySet());
+        verify(kafkaTemplate, never()).send(anyString(), eq("a"), eq("a2"));
+    }
+
+    @Test
+    void shouldSendEventsOfOneKeyInOrder() {
+        // Given
+        var a1 = event("a", "a1");
+        var a2 = event("a", "a2");
+        var first = new CompletableFuture<SendResult<String, String>>();
+        when(kafkaTemplate.send("order.events", "a", "a1")).thenReturn(first);
+        when(kafkaTemplate.send("order.events", "a", "a2")).thenReturn(sent());
+
+        // When - a2 only goes out once a1 is acknowledged
+        var publishing = CompletableFuture.supplyAsync(() -> relay.publish(List.of(a1, a2)));
+        verify(kafkaTemplate, after(50).never()).send("order.events", "a", "a2");
+        first.complete(null);
+
+        // Then
+        assertEquals(Set.of(a1.getId(), a2.getId()), publishing.join().published());
+    }
+
+    @Test
+    void shouldBoundTheWholeBatchByOneDeadline() {
+        // Given - one send never answers, the others do
+        var stuck = event("a", "a1");
+        var others = List.of(event("b", "b1"), event("c", "c1"));
+        when(kafkaTemplate.send("order.events", "a", "a1")).thenReturn(new CompletableFuture<>());
+        when(kafkaTemplate.send(eq("order.events"), anyString(), startsWith("b"))).thenReturn(sent());
+        when(kafkaTemplate.send(eq("order.events"), anyString(), startsWith("c"))).thenReturn(sent());
+
+        // When
+        var startedAt = System.nanoTime();
+        var outcome = relay.publish(List.of(stuck, others.get(0), others.get(1)));
+        var elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // Then - waited once for the deadline, not once per event; the stuck one is retried
+        assertTrue(elapsedMs < SEND_TIMEOUT_MS * 2, "took " + elapsedMs + " ms");
+        assertEquals(Set.of(others.get(0).getId(), others.get(1).getId()), outcome.published());
+        assertFalse(outcome.published().contains(stuck.getId()));
+    }
+
+    private static CompletableFuture<SendResult<String, String>> sent() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static OutboxEvent event(String key, String payload) {
+        var event = new OutboxEvent("order.events", key, "OrderCreated", payload);
+        ReflectionTestUtils.setField(event, "id", UUID.randomUUID());
+        return event;
+    }
+}